@@ -0,0 +1,102 @@
+package org.sgrewritten.stargate.benchmark;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sgrewritten.stargate.Stargate;
+import org.sgrewritten.stargate.thread.AsyncBackend;
+import org.sgrewritten.stargate.thread.AsyncExecutor;
+import org.sgrewritten.stargate.thread.task.StargateAsyncTask;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Compares the asynchronous backends under a burst of concurrent, blocking metadata writes
+ *
+ * <p>Each write is a {@link StargateAsyncTask} blocking for the round-trip time of a remote database, run on the
+ * backend selected through {@link AsyncExecutor}. Besides the time to finish all writes, the peak amount of platform
+ * threads and the tail latency of the writes are reported.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class AsyncBackendBenchmark {
+
+    private static final int CONCURRENT_WRITES = 10000;
+    private static final long WRITE_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    @Param({"BUKKIT", "VIRTUAL_THREADS"})
+    private AsyncBackend backend;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.start();
+        MockBukkit.load(Stargate.class);
+        AsyncExecutor.setBackend(backend);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeakThreadCount() {
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+    }
+
+    @TearDown
+    public void tearDown() {
+        AsyncExecutor.setBackend(AsyncBackend.BUKKIT);
+        BenchmarkEnvironment.stop();
+    }
+
+    @Benchmark
+    public void concurrentMetadataWrites(WriteStatistics statistics) throws InterruptedException {
+        long[] latencies = new long[CONCURRENT_WRITES];
+        CountDownLatch writesDone = new CountDownLatch(CONCURRENT_WRITES);
+        for (int i = 0; i < CONCURRENT_WRITES; i++) {
+            int write = i;
+            long submitTime = System.nanoTime();
+            new StargateAsyncTask() {
+                @Override
+                public void run() {
+                    LockSupport.parkNanos(WRITE_LATENCY_NANOS);
+                    latencies[write] = System.nanoTime() - submitTime;
+                    writesDone.countDown();
+                }
+            }.runNow();
+        }
+        writesDone.await();
+
+        Arrays.sort(latencies);
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        statistics.peakPlatformThreads = threadMXBean.getPeakThreadCount();
+        statistics.p99LatencyMicros = TimeUnit.NANOSECONDS.toMicros(latencies[(int) (CONCURRENT_WRITES * 0.99)]);
+        statistics.maxLatencyMicros = TimeUnit.NANOSECONDS.toMicros(latencies[CONCURRENT_WRITES - 1]);
+    }
+
+    /**
+     * The secondary results of one burst of writes
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WriteStatistics {
+        public long peakPlatformThreads;
+        public long p99LatencyMicros;
+        public long maxLatencyMicros;
+    }
+}
@@ -0,0 +1,48 @@
+package org.sgrewritten.stargate.benchmark;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import org.sgrewritten.stargate.Stargate;
+import org.sgrewritten.stargate.api.gate.GateFormatRegistry;
+import org.sgrewritten.stargate.gate.GateFormatHandler;
+import org.sgrewritten.stargate.thread.task.StargateQueuedAsyncTask;
+
+import java.io.File;
+import java.util.Objects;
+
+/**
+ * Sets up the mocked server every benchmark runs against
+ *
+ * <p>Mirrors what the test extension does before each test, so benchmarks can reuse the test helpers.</p>
+ */
+final class BenchmarkEnvironment {
+
+    private static final String SERVER_NAME = "benchmark_server";
+    private static final File GATES_DIR = new File("src/test/resources/gates");
+    private static final long QUEUE_ID = -2;
+
+    private BenchmarkEnvironment() {
+    }
+
+    /**
+     * Starts a mocked server with the test gate formats loaded
+     *
+     * @return <p>The mocked server</p>
+     */
+    static ServerMock start() {
+        ServerMock server = MockBukkit.mock();
+        System.setProperty("bstats.relocatecheck", "false");
+        Stargate.setServerName(SERVER_NAME);
+        StargateQueuedAsyncTask.enableAsyncQueue(QUEUE_ID);
+        GateFormatRegistry.setFormats(Objects.requireNonNull(GateFormatHandler.loadGateFormats(GATES_DIR)));
+        return server;
+    }
+
+    /**
+     * Stops the mocked server started by {@link #start()}
+     */
+    static void stop() {
+        StargateQueuedAsyncTask.disableAsyncQueue(QUEUE_ID);
+        MockBukkit.unmock();
+    }
+}
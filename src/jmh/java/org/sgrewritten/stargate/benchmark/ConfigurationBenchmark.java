@@ -0,0 +1,78 @@
+package org.sgrewritten.stargate.benchmark;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sgrewritten.stargate.Stargate;
+import org.sgrewritten.stargate.api.config.ConfigurationOption;
+import org.sgrewritten.stargate.config.ConfigurationHelper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading the settings used while teleporting and breaking blocks from the file configuration, as done
+ * before the configuration snapshot, with reading them through the configuration helper
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConfigurationBenchmark {
+
+    private FileConfiguration configuration;
+
+    @Setup
+    public void setUp() {
+        BenchmarkEnvironment.start();
+        MockBukkit.load(Stargate.class);
+        configuration = Stargate.getFileConfiguration();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkEnvironment.stop();
+    }
+
+    /**
+     * Looks every setting up in the file configuration
+     */
+    @Benchmark
+    public void fileConfiguration(Blackhole blackhole) {
+        blackhole.consume(getBoolean(ConfigurationOption.HANDLE_LEASHES));
+        blackhole.consume(getDouble(ConfigurationOption.GATE_EXIT_SPEED_MULTIPLIER));
+        blackhole.consume(getBoolean(ConfigurationOption.DESTROY_ON_EXPLOSION));
+        blackhole.consume(getBoolean(ConfigurationOption.REMEMBER_LAST_DESTINATION));
+    }
+
+    /**
+     * Reads every setting from the configuration snapshot
+     */
+    @Benchmark
+    public void configurationSnapshot(Blackhole blackhole) {
+        blackhole.consume(ConfigurationHelper.getBoolean(ConfigurationOption.HANDLE_LEASHES));
+        blackhole.consume(ConfigurationHelper.getDouble(ConfigurationOption.GATE_EXIT_SPEED_MULTIPLIER));
+        blackhole.consume(ConfigurationHelper.getBoolean(ConfigurationOption.DESTROY_ON_EXPLOSION));
+        blackhole.consume(ConfigurationHelper.getBoolean(ConfigurationOption.REMEMBER_LAST_DESTINATION));
+    }
+
+    private boolean getBoolean(ConfigurationOption option) {
+        if (configuration.isSet(option.getConfigNode())) {
+            return configuration.getBoolean(option.getConfigNode());
+        }
+        return (boolean) option.getDefaultValue();
+    }
+
+    private double getDouble(ConfigurationOption option) {
+        if (configuration.isSet(option.getConfigNode())) {
+            return configuration.getDouble(option.getConfigNode());
+        }
+        return ((Number) option.getDefaultValue()).doubleValue();
+    }
+}
@@ -0,0 +1,76 @@
+package org.sgrewritten.stargate.benchmark;
+
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sgrewritten.stargate.StargateAPIMock;
+import org.sgrewritten.stargate.api.network.portal.RealPortal;
+import org.sgrewritten.stargate.config.TableNameConfiguration;
+import org.sgrewritten.stargate.database.SQLDatabase;
+import org.sgrewritten.stargate.database.SQLiteDatabase;
+import org.sgrewritten.stargate.database.property.PropertiesDatabaseMock;
+import org.sgrewritten.stargate.exception.database.StorageReadException;
+import org.sgrewritten.stargate.network.NetworkType;
+import org.sgrewritten.stargate.network.StargateNetwork;
+import org.sgrewritten.stargate.network.StorageType;
+import org.sgrewritten.stargate.network.portal.TestPortalBuilder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading all portals from an SQLite database, as done on startup and reload
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DatabaseLoadBenchmark {
+
+    @Param({"100", "1000"})
+    private int portalCount;
+
+    private File databaseFile;
+    private SQLDatabase database;
+    private StargateAPIMock stargateAPI;
+
+    @Setup
+    public void setUp() throws Exception {
+        ServerMock server = BenchmarkEnvironment.start();
+        WorldMock world = server.addSimpleWorld("world");
+        databaseFile = Files.createTempFile("stargate-benchmark", ".db").toFile();
+        database = new SQLDatabase(new SQLiteDatabase(databaseFile), false, false,
+                new TableNameConfiguration("SG_Benchmark_", "Server_"), new PropertiesDatabaseMock());
+
+        StargateNetwork network = new StargateNetwork("network", NetworkType.CUSTOM, StorageType.LOCAL);
+        TestPortalBuilder portalBuilder = new TestPortalBuilder(new StargateAPIMock().getRegistry(), world).setNetwork(network);
+        for (RealPortal portal : portalBuilder.buildMultiple(portalCount).values()) {
+            database.savePortalToStorage(portal);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        stargateAPI = new StargateAPIMock();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        BenchmarkEnvironment.stop();
+        Files.deleteIfExists(databaseFile.toPath());
+    }
+
+    @Benchmark
+    public void loadFromStorage() throws StorageReadException {
+        database.loadFromStorage(stargateAPI);
+    }
+}
@@ -0,0 +1,80 @@
+package org.sgrewritten.stargate.benchmark;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sgrewritten.stargate.Stargate;
+import org.sgrewritten.stargate.StargateAPIMock;
+import org.sgrewritten.stargate.api.config.ConfigurationOption;
+import org.sgrewritten.stargate.api.network.portal.RealPortal;
+import org.sgrewritten.stargate.economy.LocalEconomyManager;
+import org.sgrewritten.stargate.network.NetworkType;
+import org.sgrewritten.stargate.network.StargateNetwork;
+import org.sgrewritten.stargate.network.StorageType;
+import org.sgrewritten.stargate.network.portal.TestPortalBuilder;
+import org.sgrewritten.stargate.thread.task.StargateQueuedAsyncTask;
+import org.sgrewritten.stargate.util.LanguageManagerMock;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long charging a player for using a portal blocks the teleporting thread, with an economy taking the
+ * given time for every call
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EconomyBenchmark {
+
+    @Param({"0", "1", "5"})
+    private long latencyMillis;
+
+    @Param({"false", "true"})
+    private boolean asyncEconomy;
+
+    private LocalEconomyManager economy;
+    private PlayerMock player;
+    private RealPortal origin;
+
+    @Setup
+    public void setUp() throws Exception {
+        ServerMock server = BenchmarkEnvironment.start();
+        Stargate plugin = MockBukkit.load(Stargate.class);
+        plugin.setConfigurationOptionValue(ConfigurationOption.ASYNC_ECONOMY, asyncEconomy);
+        WorldMock world = server.addSimpleWorld("world");
+        player = server.addPlayer();
+        origin = new TestPortalBuilder(new StargateAPIMock().getRegistry(), world).setName("origin")
+                .setNetwork(new StargateNetwork("network", NetworkType.CUSTOM, StorageType.LOCAL)).build();
+        economy = new LocalEconomyManager(new LanguageManagerMock(), latencyMillis);
+        economy.setBalance(player, Double.MAX_VALUE);
+    }
+
+    @TearDown(Level.Iteration)
+    public void waitForCharges() {
+        StargateQueuedAsyncTask.waitForEmptyQueue();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkEnvironment.stop();
+    }
+
+    /**
+     * Charges the player for using a portal, as done when teleporting
+     */
+    @Benchmark
+    public boolean chargePlayer() {
+        return economy.chargePlayer(player, origin, 1);
+    }
+}
@@ -0,0 +1,140 @@
+package org.sgrewritten.stargate.benchmark;
+
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sgrewritten.stargate.api.gate.GateFormatRegistry;
+import org.sgrewritten.stargate.exception.GateConflictException;
+import org.sgrewritten.stargate.exception.InvalidStructureException;
+import org.sgrewritten.stargate.exception.ParsingErrorException;
+import org.sgrewritten.stargate.gate.Gate;
+import org.sgrewritten.stargate.gate.GateFormat;
+import org.sgrewritten.stargate.gate.GateFormatMatcher;
+import org.sgrewritten.stargate.gate.GateFormatParser;
+import org.sgrewritten.stargate.network.RegistryMock;
+import org.sgrewritten.stargate.network.portal.PortalBlockGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares trying every gate format one by one with the compiled gate format matcher, when a sign is placed on a
+ * control block shared by many gate formats
+ *
+ * <p>The built structure only matches the last format, which is the worst case for trying formats one by one.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GateFormatMatcherBenchmark {
+
+    private static final String[] FRAME_MATERIALS = {"OBSIDIAN", "CRYING_OBSIDIAN", "GLOWSTONE", "SEA_LANTERN"};
+
+    @Param({"1", "16", "64"})
+    private int formatCount;
+
+    private List<GateFormat> formats;
+    private GateFormatMatcher matcher;
+    private Location signLocation;
+    private RegistryMock registry;
+
+    @Setup
+    public void setUp() throws ParsingErrorException {
+        ServerMock server = BenchmarkEnvironment.start();
+        WorldMock world = server.addSimpleWorld("world");
+        Block signBlock = PortalBlockGenerator.generatePortal(new Location(world, 0, 3, 0));
+        signLocation = signBlock.getLocation();
+        registry = new RegistryMock();
+
+        formats = new ArrayList<>();
+        for (int i = 0; i < formatCount - 1; i++) {
+            formats.add(createFormat(i));
+        }
+        formats.add(GateFormatRegistry.getFormat("nether.gate"));
+        matcher = GateFormatMatcher.compile(formats);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkEnvironment.stop();
+    }
+
+    /**
+     * Constructs a gate for each format in turn, as done before the compiled matcher
+     */
+    @Benchmark
+    public Gate formatLoop() throws GateConflictException {
+        for (GateFormat format : formats) {
+            try {
+                return new Gate(format, signLocation, BlockFace.SOUTH, false, registry);
+            } catch (InvalidStructureException ignored) {
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the matching format with one scan of the compiled matcher, and constructs its gate
+     */
+    @Benchmark
+    public Gate compiledMatcher() throws GateConflictException, InvalidStructureException {
+        for (GateFormatMatcher.Match match : matcher.findMatches(signLocation, BlockFace.SOUTH)) {
+            try {
+                return Gate.ofMatchedFormat(match.format(), match.topLeft(), match.facing(), match.flipZ(), false,
+                        registry);
+            } catch (InvalidStructureException ignored) {
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates an obsidian-controlled gate format which does not match the generated portal
+     *
+     * @param index <p>The index of the format, which decides its size and frame materials</p>
+     * @return <p>A new gate format</p>
+     * @throws ParsingErrorException <p>If the generated design is invalid</p>
+     */
+    private static GateFormat createFormat(int index) throws ParsingErrorException {
+        int width = 4 + index % 3;
+        int height = 5 + (index / 3) % 3;
+        String frameMaterial = FRAME_MATERIALS[(index / 9) % FRAME_MATERIALS.length];
+        if (width == 4 && height == 5 && frameMaterial.equals("OBSIDIAN")) {
+            // Would be the same design as the generated portal
+            height = 8;
+        }
+        StringBuilder design = new StringBuilder();
+        design.append("X=").append(frameMaterial).append('\n');
+        design.append("-=OBSIDIAN\n\n");
+        for (int row = 0; row < height; row++) {
+            for (int column = 0; column < width; column++) {
+                boolean edgeRow = row == 0 || row == height - 1;
+                boolean edgeColumn = column == 0 || column == width - 1;
+                if (edgeRow && edgeColumn) {
+                    design.append(' ');
+                } else if (edgeRow) {
+                    design.append('X');
+                } else if (edgeColumn) {
+                    design.append(row == height / 2 ? '-' : 'X');
+                } else {
+                    design.append(row == height - 2 && column == 1 ? '*' : '.');
+                }
+            }
+            design.append('\n');
+        }
+        return new GateFormatParser(new Scanner(design.toString()), "generated" + index + ".gate").parseGateFormat();
+    }
+}
@@ -0,0 +1,68 @@
+package org.sgrewritten.stargate.benchmark;
+
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sgrewritten.stargate.api.gate.GateFormatAPI;
+import org.sgrewritten.stargate.api.gate.GateFormatRegistry;
+import org.sgrewritten.stargate.exception.GateConflictException;
+import org.sgrewritten.stargate.exception.InvalidStructureException;
+import org.sgrewritten.stargate.gate.Gate;
+import org.sgrewritten.stargate.network.RegistryMock;
+import org.sgrewritten.stargate.network.portal.PortalBlockGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures matching a physical structure against a gate format, as done whenever a sign is placed
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GateMatchingBenchmark {
+
+    @Param({"nether.gate", "wool.gate"})
+    private String gateFormat;
+
+    private GateFormatAPI format;
+    private Location signLocation;
+    private RegistryMock registry;
+
+    @Setup
+    public void setUp() {
+        ServerMock server = BenchmarkEnvironment.start();
+        WorldMock world = server.addSimpleWorld("world");
+        Block signBlock = PortalBlockGenerator.generatePortal(new Location(world, 0, 3, 0));
+        signLocation = signBlock.getLocation();
+        format = GateFormatRegistry.getFormat(gateFormat);
+        registry = new RegistryMock();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkEnvironment.stop();
+    }
+
+    /**
+     * Matches the structure, which fails for formats other than the generated one after trying both orientations
+     */
+    @Benchmark
+    public Gate matchGate() throws GateConflictException {
+        try {
+            return new Gate(format, signLocation, BlockFace.SOUTH, false, registry);
+        } catch (InvalidStructureException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.sgrewritten.stargate.benchmark;
+
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sgrewritten.stargate.StargateAPIMock;
+import org.sgrewritten.stargate.api.network.Network;
+import org.sgrewritten.stargate.api.network.portal.Portal;
+import org.sgrewritten.stargate.network.NetworkType;
+import org.sgrewritten.stargate.network.StargateNetwork;
+import org.sgrewritten.stargate.network.StorageType;
+import org.sgrewritten.stargate.network.portal.TestPortalBuilder;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per network work done whenever a portal in the network is added, removed or renamed
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NetworkBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int portalCount;
+
+    private Network network;
+    private Portal requester;
+    private PlayerMock player;
+
+    @Setup
+    public void setUp() throws Exception {
+        ServerMock server = BenchmarkEnvironment.start();
+        WorldMock world = server.addSimpleWorld("world");
+        player = server.addPlayer();
+        network = new StargateNetwork("network", NetworkType.CUSTOM, StorageType.LOCAL);
+        TestPortalBuilder portalBuilder = new TestPortalBuilder(new StargateAPIMock().getRegistry(), world).setNetwork(network);
+        requester = portalBuilder.buildMultiple(portalCount).values().iterator().next();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkEnvironment.stop();
+    }
+
+    @Benchmark
+    public void updatePortals() {
+        network.updatePortals();
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public Set<String> getAvailablePortals() {
+        return network.getAvailablePortals(player, requester);
+    }
+}
@@ -0,0 +1,94 @@
+package org.sgrewritten.stargate.benchmark;
+
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sgrewritten.stargate.api.gate.GateStructureType;
+import org.sgrewritten.stargate.api.network.portal.BlockLocation;
+import org.sgrewritten.stargate.api.network.portal.RealPortal;
+import org.sgrewritten.stargate.network.RegistryMock;
+import org.sgrewritten.stargate.network.StargateRegistry;
+import org.sgrewritten.stargate.util.portal.PortalMock;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the block look-ups done by the registry for every block changing movement
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RegistryBenchmark {
+
+    private static final int QUERY_COUNT = 1024;
+    private static final int IRIS_HEIGHT = 3;
+    private static final int PORTAL_SPACING = 16;
+
+    @Param({"1000", "10000", "100000"})
+    private int portalCount;
+
+    private StargateRegistry registry;
+    private WorldMock world;
+    private Location[] hits;
+    private Location[] misses;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        ServerMock server = BenchmarkEnvironment.start();
+        world = server.addSimpleWorld("world");
+        registry = new RegistryMock();
+        int portalsPerRow = (int) Math.ceil(Math.sqrt(portalCount));
+        for (int i = 0; i < portalCount; i++) {
+            RealPortal portal = new PortalMock();
+            int x = (i % portalsPerRow) * PORTAL_SPACING;
+            int z = (i / portalsPerRow) * PORTAL_SPACING;
+            for (int y = 0; y < IRIS_HEIGHT; y++) {
+                registry.registerLocation(GateStructureType.IRIS, new BlockLocation(new Location(world, x, 64 + y, z)), portal);
+            }
+        }
+
+        Random random = new Random(portalCount);
+        hits = new Location[QUERY_COUNT];
+        misses = new Location[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            int portalIndex = random.nextInt(portalCount);
+            int x = (portalIndex % portalsPerRow) * PORTAL_SPACING;
+            int z = (portalIndex / portalsPerRow) * PORTAL_SPACING;
+            hits[i] = new Location(world, x, 64 + random.nextInt(IRIS_HEIGHT), z);
+            misses[i] = new Location(world, x + 1 + random.nextInt(PORTAL_SPACING - 1), 64, z);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkEnvironment.stop();
+    }
+
+    @Benchmark
+    public RealPortal getPortal_hit() {
+        return registry.getPortal(hits[index++ & (QUERY_COUNT - 1)], GateStructureType.IRIS);
+    }
+
+    @Benchmark
+    public RealPortal getPortal_miss() {
+        return registry.getPortal(misses[index++ & (QUERY_COUNT - 1)], GateStructureType.IRIS);
+    }
+
+    @Benchmark
+    public RealPortal getPortal_blockCoordinates() {
+        Location location = hits[index++ & (QUERY_COUNT - 1)];
+        return registry.getPortal(world, location.getBlockX(), location.getBlockY(), location.getBlockZ(),
+                GateStructureType.IRIS);
+    }
+}
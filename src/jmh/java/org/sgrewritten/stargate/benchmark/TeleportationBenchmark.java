@@ -0,0 +1,68 @@
+package org.sgrewritten.stargate.benchmark;
+
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import org.bukkit.Location;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sgrewritten.stargate.StargateAPIMock;
+import org.sgrewritten.stargate.api.StargateAPI;
+import org.sgrewritten.stargate.api.gate.ExplicitGateBuilder;
+import org.sgrewritten.stargate.api.gate.GateFormatRegistry;
+import org.sgrewritten.stargate.api.network.portal.RealPortal;
+import org.sgrewritten.stargate.exception.TranslatableException;
+import org.sgrewritten.stargate.network.NetworkType;
+import org.sgrewritten.stargate.network.StargateNetwork;
+import org.sgrewritten.stargate.network.StorageType;
+import org.sgrewritten.stargate.network.portal.TestPortalBuilder;
+import org.sgrewritten.stargate.util.portal.TeleportationHelper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the search for a spawn location in front of a destination portal, done for every teleportation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TeleportationBenchmark {
+
+    private RealPortal portal;
+    private Entity entity;
+
+    @Setup
+    public void setUp() throws Exception {
+        ServerMock server = BenchmarkEnvironment.start();
+        WorldMock world = server.addSimpleWorld("world");
+        StargateAPI stargateAPI = new StargateAPIMock();
+        Location topLeft = new Location(world, -1, 5, -3);
+        ExplicitGateBuilder gateBuilder = new ExplicitGateBuilder(stargateAPI.getRegistry(), topLeft, GateFormatRegistry.getFormat("nether.gate"));
+        gateBuilder.setFacing(BlockFace.EAST);
+        try {
+            portal = new TestPortalBuilder(stargateAPI.getRegistry(), world).setName("portal").setGateBuilder(gateBuilder)
+                    .setNetwork(new StargateNetwork("network", NetworkType.CUSTOM, StorageType.LOCAL)).build();
+        } catch (TranslatableException e) {
+            throw new IllegalStateException(e);
+        }
+        entity = world.spawnEntity(topLeft, EntityType.BAT);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkEnvironment.stop();
+    }
+
+    @Benchmark
+    public Location findViableSpawnLocation() {
+        return TeleportationHelper.findViableSpawnLocation(entity, portal);
+    }
+}
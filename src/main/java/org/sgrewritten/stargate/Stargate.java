@@ -48,24 +48,31 @@ import org.sgrewritten.stargate.command.CommandStargate;
 import org.sgrewritten.stargate.command.StargateTabCompleter;
 import org.sgrewritten.stargate.config.ConfigurationHelper;
 import org.sgrewritten.stargate.config.StargateYamlConfiguration;
+import org.sgrewritten.stargate.database.PortalDecodePipeline;
 import org.sgrewritten.stargate.database.SQLDatabase;
 import org.sgrewritten.stargate.database.SQLDatabaseAPI;
+import org.sgrewritten.stargate.database.WriteBehindStorage;
 import org.sgrewritten.stargate.database.property.PropertiesDatabase;
 import org.sgrewritten.stargate.database.property.StoredPropertiesAPI;
 import org.sgrewritten.stargate.database.property.StoredProperty;
 import org.sgrewritten.stargate.economy.StargateEconomyAPI;
 import org.sgrewritten.stargate.economy.VaultEconomyManager;
 import org.sgrewritten.stargate.exception.StargateInitializationException;
+import org.sgrewritten.stargate.exception.database.StorageWriteException;
 import org.sgrewritten.stargate.formatting.StargateLanguageManager;
 import org.sgrewritten.stargate.listener.*;
 import org.sgrewritten.stargate.manager.*;
 import org.sgrewritten.stargate.migration.DataMigrator;
+import org.sgrewritten.stargate.network.NetworkUpdateScheduler;
 import org.sgrewritten.stargate.network.StargateNetworkManager;
 import org.sgrewritten.stargate.network.StargateRegistry;
 import org.sgrewritten.stargate.network.StorageType;
+import org.sgrewritten.stargate.network.portal.LeashHolderIndex;
+import org.sgrewritten.stargate.network.portal.formatting.LineColorFormatter;
 import org.sgrewritten.stargate.property.NonLegacyClass;
 import org.sgrewritten.stargate.property.PluginChannel;
 import org.sgrewritten.stargate.property.StargateConstant;
+import org.sgrewritten.stargate.thread.AsyncExecutor;
 import org.sgrewritten.stargate.thread.task.StargateQueuedAsyncTask;
 import org.sgrewritten.stargate.thread.task.StargateRegionTask;
 import org.sgrewritten.stargate.thread.task.StargateTask;
@@ -73,6 +80,8 @@ import org.sgrewritten.stargate.util.BStatsHelper;
 import org.sgrewritten.stargate.util.BungeeHelper;
 import org.sgrewritten.stargate.util.FileHelper;
 import org.sgrewritten.stargate.util.database.DatabaseHelper;
+import org.sgrewritten.stargate.util.portal.DestinationChunkPreloader;
+import org.sgrewritten.stargate.util.portal.SpawnLocationCache;
 
 import java.io.File;
 import java.io.IOException;
@@ -209,7 +218,7 @@ public class Stargate extends JavaPlugin implements StargateAPI, ConfigurationAP
         languageManager = new StargateLanguageManager(new File(dataFolder, languageFolder));
         economyManager = new VaultEconomyManager(languageManager);
         database = DatabaseHelper.loadDatabase(this);
-        storageAPI = new SQLDatabase(database, storedProperties);
+        storageAPI = new WriteBehindStorage(new SQLDatabase(database, storedProperties));
         blockHandlerResolver = new BlockHandlerResolver(storageAPI);
         registry = new StargateRegistry(storageAPI, blockHandlerResolver);
         networkManager = new StargateNetworkManager(registry, storageAPI);
@@ -309,6 +318,8 @@ public class Stargate extends JavaPlugin implements StargateAPI, ConfigurationAP
         pluginManager.registerEvents(new PlayerEventListener(this.getLanguageManager(), getRegistry(), this.getBungeeManager(), this.getBlockLoggerManager(), this.getStorageAPI()), this);
         pluginManager.registerEvents(new PluginEventListener(getEconomyManager(), getBlockLoggerManager()), this);
         pluginManager.registerEvents(new WorldEventListener(this), this);
+        pluginManager.registerEvents(new PermissionCacheListener(), this);
+        pluginManager.registerEvents(new LeashIndexListener(), this);
         if (NonLegacyClass.PLAYER_ADVANCEMENT_CRITERION_EVENT.isImplemented()) {
             pluginManager.registerEvents(new PlayerAdvancementListener(getRegistry()), this);
         }
@@ -384,6 +395,7 @@ public class Stargate extends JavaPlugin implements StargateAPI, ConfigurationAP
     @Override
     public void setConfigurationOptionValue(ConfigurationOption configurationOption, Object newValue) {
         config.set(configurationOption.getConfigNode(), newValue);
+        ConfigurationHelper.invalidateSnapshot();
     }
 
     @Override
@@ -403,8 +415,8 @@ public class Stargate extends JavaPlugin implements StargateAPI, ConfigurationAP
         try {
             load();
             GateFormatRegistry.loadGateFormats(this.getDataFolder());
-            if (storageAPI instanceof SQLDatabase sqlDatabase) {
-                sqlDatabase.load(DatabaseHelper.loadDatabase(this));
+            if (storageAPI instanceof WriteBehindStorage writeBehindStorage) {
+                writeBehindStorage.load(DatabaseHelper.loadDatabase(this));
             }
             registry.clear();
             networkManager.loadPortals(this);
@@ -416,7 +428,12 @@ public class Stargate extends JavaPlugin implements StargateAPI, ConfigurationAP
     }
 
     private void load() throws StargateInitializationException {
+        ConfigurationHelper.invalidateSnapshot();
+        PermissionDecisionCache.invalidateAll();
+        SpawnLocationCache.invalidateAll();
+        StargatePermissionManager.loadMetadataProvider();
         ColorRegistry.loadDefaultColorsFromConfig();
+        LineColorFormatter.clearCache();
         fetchServerId();
         blockLogger.setUpLogging();
         String defaultNetwork = ConfigurationHelper.getString(ConfigurationOption.DEFAULT_NETWORK);
@@ -431,6 +448,7 @@ public class Stargate extends JavaPlugin implements StargateAPI, ConfigurationAP
         }
         languageManager.setLanguage(ConfigurationHelper.getString(ConfigurationOption.LANGUAGE));
         loadConfigLevel();
+        AsyncExecutor.setBackend(ConfigurationHelper.getString(ConfigurationOption.ASYNC_BACKEND));
         if (ConfigurationHelper.getBoolean(ConfigurationOption.USING_BUNGEE)) {
             Messenger messenger = Bukkit.getMessenger();
 
@@ -463,6 +481,15 @@ public class Stargate extends JavaPlugin implements StargateAPI, ConfigurationAP
         registry.getNetworkRegistry(StorageType.INTER_SERVER).closeAllPortals();
         StargateQueuedAsyncTask.disableAsyncQueue(threadQueueId);
         StargateTask.forceRunAllTasks();
+        if (storageAPI instanceof WriteBehindStorage writeBehindStorage) {
+            try {
+                writeBehindStorage.flush();
+            } catch (StorageWriteException e) {
+                Stargate.log(e);
+            }
+        }
+        AsyncExecutor.awaitBlockingTasks();
+        PortalDecodePipeline.shutdown();
         if (ConfigurationHelper.getBoolean(ConfigurationOption.USING_BUNGEE)) {
             Messenger messenger = Bukkit.getMessenger();
             messenger.unregisterOutgoingPluginChannel(this);
@@ -474,6 +501,11 @@ public class Stargate extends JavaPlugin implements StargateAPI, ConfigurationAP
         } else {
             getServer().getScheduler().cancelTasks(this);
         }
+        PermissionDecisionCache.invalidateAll();
+        SpawnLocationCache.invalidateAll();
+        DestinationChunkPreloader.clear();
+        LeashHolderIndex.clear();
+        NetworkUpdateScheduler.clear();
         setInstance(null);
 
         if (!ConfigurationHelper.getBoolean(ConfigurationOption.USING_BUNGEE)) {
@@ -246,6 +246,37 @@ public enum ConfigurationOption {
      */
     SPECIFIC_PROTECTION_OVERRIDE("specificProtectionOverrides", "Allows for specific events to destroy portals", null, OptionDataType.STRING_LIST, true),
 
+    /**
+     * The amount of threads used to decode portals while loading them, or 0 to use all but one available processor
+     */
+    PORTAL_LOADING_THREADS("portalLoadingThreads", "The amount of threads used to decode portals while loading " +
+            "them, or 0 to use all but one available processor", 0, OptionDataType.INTEGER, true),
+
+    /**
+     * What runs asynchronous tasks, like database queries and file writes
+     */
+    ASYNC_BACKEND("asyncBackend", "What runs asynchronous tasks, like database queries and file writes. BUKKIT " +
+            "uses the server's asynchronous scheduler, VIRTUAL_THREADS uses virtual threads", "BUKKIT",
+            OptionDataType.ASYNC_BACKEND, true),
+
+    /**
+     * Whether to validate the gates of loaded portals from chunk snapshots, off the thread owning the chunks
+     */
+    ASYNC_PORTAL_VALIDATION("asyncPortalValidation", "Whether to validate the gates of loaded portals from chunk " +
+            "snapshots, off the thread owning the chunks", false, OptionDataType.BOOLEAN, true),
+
+    /**
+     * How many seconds to remember the permission decisions made for a player, or 0 to not remember them
+     */
+    PERMISSION_CACHE_DURATION("permissionCacheDuration", "How many seconds to remember the permission decisions " +
+            "made for a player, or 0 to not remember them", 0, OptionDataType.INTEGER, true),
+
+    /**
+     * Whether to authorize portal charges from known balances, and carry out the transactions asynchronously
+     */
+    ASYNC_ECONOMY("asyncEconomy", "Whether to authorize portal charges from known balances, and carry out the " +
+            "transactions asynchronously", false, OptionDataType.BOOLEAN, true),
+
     /**
      * The folder to load gate files from
      */
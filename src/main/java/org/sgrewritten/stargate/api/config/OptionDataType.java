@@ -1,6 +1,7 @@
 package org.sgrewritten.stargate.api.config;
 
 import org.sgrewritten.stargate.property.PortalValidity;
+import org.sgrewritten.stargate.thread.AsyncBackend;
 
 import java.util.Arrays;
 
@@ -57,7 +58,12 @@ public enum OptionDataType {
     /**
      * How to handle invalid portals
      */
-    PORTAL_VALIDITY(Arrays.stream(PortalValidity.values()).map(Enum::name).toArray(String[]::new));
+    PORTAL_VALIDITY(Arrays.stream(PortalValidity.values()).map(Enum::name).toArray(String[]::new)),
+
+    /**
+     * What runs asynchronous tasks
+     */
+    ASYNC_BACKEND(Arrays.stream(AsyncBackend.values()).map(Enum::name).toArray(String[]::new));
 
     private final String[] values;
 
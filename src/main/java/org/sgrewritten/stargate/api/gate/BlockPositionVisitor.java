@@ -0,0 +1,21 @@
+package org.sgrewritten.stargate.api.gate;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Visits block positions one at a time, without a location object for every block
+ */
+@FunctionalInterface
+public interface BlockPositionVisitor {
+
+    /**
+     * Visits a block position
+     *
+     * @param worldName <p>The name of the world of the block</p>
+     * @param x         <p>The x coordinate of the block</p>
+     * @param y         <p>The y coordinate of the block</p>
+     * @param z         <p>The z coordinate of the block</p>
+     * @return <p>True to keep visiting, false to stop after this block</p>
+     */
+    boolean visit(@NotNull String worldName, int x, int y, int z);
+}
@@ -34,6 +34,14 @@ public interface GateAPI {
      */
     void redrawPosition(PortalPosition portalPosition, @Nullable LineData[] lines);
 
+    /**
+     * Forgets what was last drawn at the given portal position, so that it is drawn again on the next redraw
+     *
+     * @param portalPosition <p>The portal position to forget the drawing of</p>
+     */
+    default void invalidateRenderedPosition(PortalPosition portalPosition) {
+    }
+
     /**
      * Gets a copy of this gate's portal positions
      *
@@ -49,6 +57,29 @@ public interface GateAPI {
      */
     List<BlockLocation> getLocations(GateStructureType structureType);
 
+    /**
+     * Visits all locations of this gate containing the given structure type
+     *
+     * <p>Unlike {@link #getLocations(GateStructureType)}, this does not need to create any objects for the
+     * locations.</p>
+     *
+     * @param structureType <p>The structure type to visit the locations of</p>
+     * @param visitor       <p>The visitor to give each location to</p>
+     * @return <p>True if all locations were visited, false if the visitor stopped early</p>
+     */
+    default boolean visitLocations(GateStructureType structureType, BlockPositionVisitor visitor) {
+        List<BlockLocation> locations = getLocations(structureType);
+        if (locations == null) {
+            return true;
+        }
+        for (BlockLocation location : locations) {
+            if (!visitor.visit(location.getWorldName(), location.getX(), location.getY(), location.getZ())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Opens this gate
      */
@@ -4,6 +4,7 @@ import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.util.BlockVector;
 import org.bukkit.util.BoundingBox;
+import org.sgrewritten.stargate.api.gate.structure.GateBlockReader;
 import org.sgrewritten.stargate.api.gate.structure.GateFormatStructureType;
 import org.sgrewritten.stargate.api.gate.structure.GateStructure;
 import org.sgrewritten.stargate.api.vectorlogic.VectorOperation;
@@ -42,6 +43,18 @@ public interface GateFormatAPI {
      */
     boolean isIronDoorBlockable();
 
+    /**
+     * Gets whether this gate format looks the same when mirrored along its width
+     *
+     * <p>A mirrored build of a symmetric format matches the format without mirroring, so there is no need to check
+     * the mirrored orientation of such formats.</p>
+     *
+     * @return <p>True if this gate format is mirror-symmetric</p>
+     */
+    default boolean isMirrorSymmetric() {
+        return false;
+    }
+
     /**
      * @return <p>The coordinates of the exit point for this gate format</p>
      */
@@ -64,6 +77,26 @@ public interface GateFormatAPI {
      */
     boolean matches(VectorOperation converter, Location topLeft);
 
+    /**
+     * Determines whether the format matches the blocks read by the given reader
+     *
+     * <p>This can be called on any thread if the reader can be read on any thread.</p>
+     *
+     * @param converter <p>Vector operation which converts between format space and minecraft space</p>
+     * @param topLeft   <p>Origo in format space, top left of format in real space</p>
+     * @param reader    <p>The reader to read blocks with</p>
+     * @return <p>True if the read blocks match this format</p>
+     */
+    default boolean matches(VectorOperation converter, Location topLeft, GateBlockReader reader) {
+        for (GateFormatStructureType structureType : GateFormatStructureType.values()) {
+            GateStructure structure = getStructure(structureType);
+            if (structure != null && !structure.isValidState(converter, topLeft, reader)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * @return <p>the height of the format (Y axis)</p>
      */
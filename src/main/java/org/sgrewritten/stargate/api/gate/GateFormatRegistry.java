@@ -9,6 +9,7 @@ import org.sgrewritten.stargate.api.config.ConfigurationOption;
 import org.sgrewritten.stargate.config.ConfigurationHelper;
 import org.sgrewritten.stargate.gate.GateFormat;
 import org.sgrewritten.stargate.gate.GateFormatHandler;
+import org.sgrewritten.stargate.gate.GateFormatMatcher;
 import org.sgrewritten.stargate.property.StargateConstant;
 import org.sgrewritten.stargate.util.FileHelper;
 
@@ -26,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -38,6 +40,7 @@ public class GateFormatRegistry {
 
     private static Map<Material, List<GateFormat>> controlMaterialToGateFormatsMap;
     private static Map<String, GateFormat> knownGateFormats;
+    private static Map<Material, GateFormatMatcher> controlMaterialToMatcherMap = new ConcurrentHashMap<>();
     private static final Pattern GATE_FILE = Pattern.compile(".gate$");
 
 
@@ -77,6 +80,7 @@ public class GateFormatRegistry {
     @ApiStatus.Internal
     public static void setFormats(List<GateFormat> gateFormats) {
         controlMaterialToGateFormatsMap = new EnumMap<>(Material.class);
+        controlMaterialToMatcherMap = new ConcurrentHashMap<>();
         knownGateFormats = new HashMap<>();
         for (GateFormat format : gateFormats) {
             addGateFormat(controlMaterialToGateFormatsMap, format, format.getControlMaterials());
@@ -113,6 +117,19 @@ public class GateFormatRegistry {
         return possibleGates;
     }
 
+    /**
+     * Gets a matcher for all gate formats using the given control block material
+     *
+     * <p>The matcher is compiled the first time it is needed, and kept until the gate formats change.</p>
+     *
+     * @param signParentBlockMaterial <p>The material of a placed sign's parent block</p>
+     * @return <p>A matcher for all gate formats using the given control block</p>
+     */
+    public static GateFormatMatcher getMatcherFromControlBlockMaterial(Material signParentBlockMaterial) {
+        return controlMaterialToMatcherMap.computeIfAbsent(signParentBlockMaterial,
+                material -> GateFormatMatcher.compile(getPossibleGateFormatsFromControlBlockMaterial(material)));
+    }
+
     /**
      * Saves all the default gate designs to the gate folder
      *
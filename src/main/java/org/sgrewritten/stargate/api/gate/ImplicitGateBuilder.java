@@ -11,7 +11,7 @@ import org.sgrewritten.stargate.exception.GateConflictException;
 import org.sgrewritten.stargate.exception.InvalidStructureException;
 import org.sgrewritten.stargate.exception.NoFormatFoundException;
 import org.sgrewritten.stargate.gate.Gate;
-import org.sgrewritten.stargate.gate.GateFormat;
+import org.sgrewritten.stargate.gate.GateFormatMatcher;
 
 import java.util.List;
 import java.util.logging.Level;
@@ -59,14 +59,14 @@ public class ImplicitGateBuilder implements GateBuilder {
         //Get the block behind the sign; the material of that block is stored in a register with available gateFormats
         Directional signDirection = (Directional) sign.getBlockData();
         Block behind = sign.getRelative(signDirection.getFacing().getOppositeFace());
-        List<GateFormat> gateFormats = GateFormatRegistry.getPossibleGateFormatsFromControlBlockMaterial(behind.getType());
-        return findMatchingGate(gateFormats, sign.getLocation(), signDirection.getFacing(), !generateButtonPositions, registryAPI);
+        GateFormatMatcher matcher = GateFormatRegistry.getMatcherFromControlBlockMaterial(behind.getType());
+        return findMatchingGate(matcher, sign.getLocation(), signDirection.getFacing(), !generateButtonPositions, registryAPI);
     }
 
     /**
-     * Tries to find a gate at the given location matching one of the given gate formats
+     * Tries to find a gate at the given location matching one of the gate formats of the given matcher
      *
-     * @param gateFormats  <p>The gate formats to look for</p>
+     * @param matcher      <p>The matcher of the gate formats to look for</p>
      * @param signLocation <p>The location of the sign of the portal to look for</p>
      * @param signFacing   <p>The direction the sign is facing</p>
      * @param alwaysOn     <p>Whether the portal is always on</p>
@@ -74,14 +74,24 @@ public class ImplicitGateBuilder implements GateBuilder {
      * @throws NoFormatFoundException <p>If no gate was found at the given location matching any of the given formats</p>
      * @throws GateConflictException  <p>If the found gate conflicts with another gate</p>
      */
-    private Gate findMatchingGate(List<GateFormat> gateFormats, Location signLocation, BlockFace signFacing,
+    private Gate findMatchingGate(GateFormatMatcher matcher, Location signLocation, BlockFace signFacing,
                                   boolean alwaysOn, RegistryAPI registry)
             throws NoFormatFoundException, GateConflictException {
-        Stargate.log(Level.FINE, "Amount of GateFormats: " + gateFormats.size());
-        for (GateFormat gateFormat : gateFormats) {
-            Stargate.log(Level.FINE, "--------- " + gateFormat.getFileName() + " ---------");
+        List<GateFormatMatcher.Match> matches;
+        try {
+            matches = matcher.findMatches(signLocation, signFacing);
+        } catch (InvalidStructureException e) {
+            throw new NoFormatFoundException();
+        }
+        Stargate.log(Level.FINE, "Amount of matching gate formats: " + matches.size());
+        for (GateFormatMatcher.Match match : matches) {
+            Stargate.log(Level.FINE, "--------- " + match.format().getFileName() + " ---------");
+            if (!match.isInsideWorldBorder()) {
+                continue;
+            }
             try {
-                return new Gate(gateFormat, signLocation, signFacing, alwaysOn, registry);
+                return Gate.ofMatchedFormat(match.format(), match.topLeft(), match.facing(), match.flipZ(), alwaysOn,
+                        registry);
             } catch (InvalidStructureException ignored) {
             }
         }
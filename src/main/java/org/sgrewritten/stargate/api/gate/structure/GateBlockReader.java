@@ -0,0 +1,63 @@
+package org.sgrewritten.stargate.api.gate.structure;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.WorldBorder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Reads the blocks a gate structure is validated against
+ *
+ * <p>This is either the live world, which may only be read on the thread owning the blocks, or a snapshot of it,
+ * which may be read on any thread.</p>
+ */
+public interface GateBlockReader {
+
+    /**
+     * Gets the material of a block
+     *
+     * @param x <p>The x coordinate of the block</p>
+     * @param y <p>The y coordinate of the block</p>
+     * @param z <p>The z coordinate of the block</p>
+     * @return <p>The material of the block</p>
+     */
+    @NotNull Material getType(int x, int y, int z);
+
+    /**
+     * Checks whether a block is inside the world border
+     *
+     * @param x <p>The x coordinate of the block</p>
+     * @param y <p>The y coordinate of the block</p>
+     * @param z <p>The z coordinate of the block</p>
+     * @return <p>True if the block is inside the world border</p>
+     */
+    boolean isInsideWorldBorder(int x, int y, int z);
+
+    /**
+     * Gets a reader reading directly from the given world
+     *
+     * <p>The returned reader is not thread-safe, and needs to be used on the thread owning the read blocks.</p>
+     *
+     * @param world <p>The world to read from</p>
+     * @return <p>A reader of the given world</p>
+     */
+    static GateBlockReader of(@NotNull World world) {
+        WorldBorder border = world.getWorldBorder();
+        Location location = new Location(world, 0, 0, 0);
+        return new GateBlockReader() {
+            @Override
+            public @NotNull Material getType(int x, int y, int z) {
+                return world.getBlockAt(x, y, z).getType();
+            }
+
+            @Override
+            public boolean isInsideWorldBorder(int x, int y, int z) {
+                location.setX(x);
+                location.setY(y);
+                location.setZ(z);
+                return border.isInside(location);
+            }
+        };
+    }
+}
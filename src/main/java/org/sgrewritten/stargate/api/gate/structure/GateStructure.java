@@ -3,21 +3,28 @@ package org.sgrewritten.stargate.api.gate.structure;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
-import org.bukkit.WorldBorder;
-import org.bukkit.block.Block;
 import org.bukkit.util.BlockVector;
 import org.bukkit.util.BoundingBox;
 import org.sgrewritten.stargate.Stargate;
 import org.sgrewritten.stargate.api.vectorlogic.VectorOperation;
+import org.sgrewritten.stargate.util.MaterialBitSet;
 
 import java.util.List;
 import java.util.logging.Level;
 
 /**
  * Represents one of the structures used in a gate
+ *
+ * <p>A structure can let its positions, and the materials allowed at each of them, be compiled into material bitsets
+ * by returning true from {@link #isCompilable()}, which the built-in structures do. A compilable structure promises
+ * that {@link #isValidBlock(BlockVector, Material)} only depends on the position and material it is given, as it is
+ * only asked once for every material at every position, when compiling. The compiled result is kept until
+ * {@link #invalidateCompiledParts()} is called. Any other structure is asked for every block it validates.</p>
  */
 public abstract class GateStructure {
 
+    private volatile CompiledParts compiledParts;
+
     /**
      * Checks if all the blocks part of this structure matches a built structure
      *
@@ -30,32 +37,145 @@ public abstract class GateStructure {
      * @return true if all parts had valid materials
      */
     public boolean isValidState(VectorOperation vectorOperation, Location topLeft) {
-        List<BlockVector> partsPos = getStructureTypePositions();
         World world = topLeft.getWorld();
         if (world == null) {
             Stargate.log(Level.WARNING, "Unable to find the world of the portal at " + topLeft);
             return false;
         }
-        WorldBorder border = world.getWorldBorder();
-        for (BlockVector partPos : partsPos) {
-            BlockVector inverse = vectorOperation.performToRealSpaceOperation(partPos);
-            Location partLoc = topLeft.clone().add(inverse);
-            Stargate.log(Level.FINEST,
-                    "Checking location (" + partLoc.getBlockX() + "," + partLoc.getBlockY() + "," + partLoc.getBlockZ()
-                            + ") relative pos[" + inverse.getBlockX() + "," + inverse.getBlockY() + "," + inverse.getBlockZ() + "]");
-            Block block = partLoc.getBlock();
-
-            if (!border.isInside(partLoc)) {
+        return isValidState(vectorOperation, topLeft, GateBlockReader.of(world));
+    }
+
+    /**
+     * Checks if all the blocks part of this structure matches the blocks read by the given reader
+     *
+     * <p>This can be called on any thread if the reader can be read on any thread.</p>
+     *
+     * @param vectorOperation <p>The vector operation to use for rotating the structure</p>
+     * @param topLeft         <p>The location of the built portal's top-left block</p>
+     * @param reader          <p>The reader to read blocks with</p>
+     * @return true if all parts had valid materials
+     */
+    public boolean isValidState(VectorOperation vectorOperation, Location topLeft, GateBlockReader reader) {
+        if (!isCompilable()) {
+            return isValidStateUncompiled(vectorOperation, topLeft, reader);
+        }
+        CompiledParts parts = getCompiledParts();
+        int[] coordinates = parts.coordinates();
+        long[] materialBits = parts.materialBits();
+        int topLeftX = topLeft.getBlockX();
+        int topLeftY = topLeft.getBlockY();
+        int topLeftZ = topLeft.getBlockZ();
+        for (int i = 0, bitsOffset = 0; i < coordinates.length; i += 3, bitsOffset += MaterialBitSet.WORDS) {
+            int x = coordinates[i];
+            int y = coordinates[i + 1];
+            int z = coordinates[i + 2];
+            int realX = topLeftX + vectorOperation.getRealSpaceBlockX(x, y, z);
+            int realY = topLeftY + vectorOperation.getRealSpaceBlockY(x, y, z);
+            int realZ = topLeftZ + vectorOperation.getRealSpaceBlockZ(x, y, z);
+            if (!reader.isInsideWorldBorder(realX, realY, realZ)) {
                 return false;
             }
 
-            if (!isValidBlock(partPos, block.getType())) {
+            Material material = reader.getType(realX, realY, realZ);
+            boolean isValid = material.isLegacy() ? isValidBlock(new BlockVector(x, y, z), material)
+                    : MaterialBitSet.contains(materialBits, bitsOffset, material);
+            if (!isValid) {
+                Stargate.log(Level.FINEST, "Invalid material " + material + " at (" + realX + "," + realY + ","
+                        + realZ + ") relative pos[" + x + "," + y + "," + z + "]");
                 return false;
             }
         }
         return true;
     }
 
+    /**
+     * Checks if all the blocks part of this structure matches the blocks read by the given reader, asking this
+     * structure about every block
+     */
+    private boolean isValidStateUncompiled(VectorOperation vectorOperation, Location topLeft, GateBlockReader reader) {
+        int topLeftX = topLeft.getBlockX();
+        int topLeftY = topLeft.getBlockY();
+        int topLeftZ = topLeft.getBlockZ();
+        for (BlockVector position : getStructureTypePositions()) {
+            int x = position.getBlockX();
+            int y = position.getBlockY();
+            int z = position.getBlockZ();
+            int realX = topLeftX + vectorOperation.getRealSpaceBlockX(x, y, z);
+            int realY = topLeftY + vectorOperation.getRealSpaceBlockY(x, y, z);
+            int realZ = topLeftZ + vectorOperation.getRealSpaceBlockZ(x, y, z);
+            if (!reader.isInsideWorldBorder(realX, realY, realZ)) {
+                return false;
+            }
+            Material material = reader.getType(realX, realY, realZ);
+            if (!isValidBlock(position, material)) {
+                Stargate.log(Level.FINEST, "Invalid material " + material + " at (" + realX + "," + realY + ","
+                        + realZ + ") relative pos[" + x + "," + y + "," + z + "]");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the positions of this structure, and the materials allowed at them, can be compiled into material
+     * bitsets
+     *
+     * <p>Only return true if {@link #isValidBlock(BlockVector, Material)} depends on nothing but its position and
+     * material, and call {@link #invalidateCompiledParts()} whenever its result changes.</p>
+     *
+     * @return <p>True if this structure can be compiled</p>
+     */
+    protected boolean isCompilable() {
+        return false;
+    }
+
+    /**
+     * Compiles the positions and allowed materials of this structure ahead of its first validation
+     *
+     * <p>Compiling asks {@link #isValidBlock(BlockVector, Material)} about every material at every position, so it is
+     * better done while loading than when a gate is first validated. Does nothing if this structure is not
+     * compilable.</p>
+     */
+    public void compile() {
+        if (isCompilable()) {
+            getCompiledParts();
+        }
+    }
+
+    /**
+     * Discards the compiled positions and materials of this structure
+     *
+     * <p>Needs to be called whenever the positions, or the materials allowed at them, change.</p>
+     */
+    protected void invalidateCompiledParts() {
+        compiledParts = null;
+    }
+
+    /**
+     * Gets the positions and allowed materials of this structure, compiling them if necessary
+     *
+     * @return <p>The compiled positions and allowed materials of this structure</p>
+     */
+    private CompiledParts getCompiledParts() {
+        CompiledParts parts = compiledParts;
+        if (parts != null) {
+            return parts;
+        }
+        List<BlockVector> positions = getStructureTypePositions();
+        int[] coordinates = new int[positions.size() * 3];
+        long[] materialBits = new long[positions.size() * MaterialBitSet.WORDS];
+        for (int i = 0; i < positions.size(); i++) {
+            BlockVector position = positions.get(i);
+            coordinates[i * 3] = position.getBlockX();
+            coordinates[i * 3 + 1] = position.getBlockY();
+            coordinates[i * 3 + 2] = position.getBlockZ();
+            MaterialBitSet.addAll(materialBits, i * MaterialBitSet.WORDS, material -> isValidBlock(position, material));
+        }
+        parts = new CompiledParts(coordinates, materialBits);
+        compiledParts = parts;
+        return parts;
+    }
+
     /**
      * Gets all positions, represented by block vectors, where this structure type is used
      *
@@ -84,4 +204,13 @@ public abstract class GateStructure {
      * @return <p>The smallest box wherein this gate fits</p>
      */
     public abstract BoundingBox getBoundingBox();
+
+    /**
+     * The positions of a structure, and the materials allowed at each position
+     *
+     * @param coordinates  <p>The x, y and z coordinates of each position, in format space</p>
+     * @param materialBits <p>The allowed materials of each position, as material bitsets in the same order</p>
+     */
+    private record CompiledParts(int[] coordinates, long[] materialBits) {
+    }
 }
@@ -0,0 +1,271 @@
+package org.sgrewritten.stargate.api.network;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.sgrewritten.stargate.api.network.portal.Portal;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * The portals of a network sorted by id, shared by every portal listing destinations in the network
+ *
+ * <p>Changes are made incrementally and copy-on-write; every change publishes a new immutable snapshot with a higher
+ * version. Readers can keep a snapshot for as long as it is the current one, without copying or sorting anything.</p>
+ */
+public class DestinationIndex {
+
+    private static final Map<Network, DestinationIndex> indexByNetwork = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private volatile Snapshot snapshot = new Snapshot(0, new String[0], new Portal[0]);
+
+    /**
+     * Creates an index of the given portals, keyed by their ids
+     *
+     * @param portals <p>The portals to index</p>
+     * @return <p>A new destination index</p>
+     */
+    public static DestinationIndex of(Collection<? extends Portal> portals) {
+        DestinationIndex index = new DestinationIndex();
+        for (Portal portal : portals) {
+            index.put(portal.getId(), portal);
+        }
+        return index;
+    }
+
+    /**
+     * Gets an index of the portals of the given network, for networks not maintaining an index of their own
+     *
+     * <p>The index is kept for each network until the network is unregistered, and is only rebuilt if the portals of
+     * the network have changed since the last call. Checking for changes takes a look at every portal, but does not
+     * sort anything.</p>
+     *
+     * @param network <p>The network to get an index of the portals of</p>
+     * @return <p>The destination index of the network</p>
+     */
+    public static DestinationIndex of(Network network) {
+        DestinationIndex index = indexByNetwork.computeIfAbsent(network, key -> new DestinationIndex());
+        Collection<Portal> portals = network.getAllPortals();
+        if (!index.getSnapshot().contains(portals)) {
+            index.replaceAll(portals);
+        }
+        return index;
+    }
+
+    /**
+     * Forgets the index kept for the given network by {@link #of(Network)}
+     *
+     * @param network <p>The network to forget the index of</p>
+     */
+    public static void forget(Network network) {
+        indexByNetwork.remove(network);
+    }
+
+    /**
+     * Adds a portal to this index, replacing any portal with the same id
+     *
+     * @param id     <p>The id to sort the portal by</p>
+     * @param portal <p>The portal to add</p>
+     */
+    public synchronized void put(@NotNull String id, @NotNull Portal portal) {
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.ids, id);
+        if (index >= 0) {
+            Portal[] portals = current.portals.clone();
+            portals[index] = portal;
+            snapshot = new Snapshot(current.version + 1, current.ids, portals);
+            return;
+        }
+        int insertion = -(index + 1);
+        int size = current.ids.length;
+        String[] ids = new String[size + 1];
+        Portal[] portals = new Portal[size + 1];
+        System.arraycopy(current.ids, 0, ids, 0, insertion);
+        System.arraycopy(current.portals, 0, portals, 0, insertion);
+        ids[insertion] = id;
+        portals[insertion] = portal;
+        System.arraycopy(current.ids, insertion, ids, insertion + 1, size - insertion);
+        System.arraycopy(current.portals, insertion, portals, insertion + 1, size - insertion);
+        snapshot = new Snapshot(current.version + 1, ids, portals);
+    }
+
+    /**
+     * Removes the portal with the given id from this index
+     *
+     * @param id <p>The id of the portal to remove</p>
+     */
+    public synchronized void remove(@NotNull String id) {
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.ids, id);
+        if (index < 0) {
+            return;
+        }
+        int size = current.ids.length;
+        String[] ids = new String[size - 1];
+        Portal[] portals = new Portal[size - 1];
+        System.arraycopy(current.ids, 0, ids, 0, index);
+        System.arraycopy(current.portals, 0, portals, 0, index);
+        System.arraycopy(current.ids, index + 1, ids, index, size - index - 1);
+        System.arraycopy(current.portals, index + 1, portals, index, size - index - 1);
+        snapshot = new Snapshot(current.version + 1, ids, portals);
+    }
+
+    /**
+     * Replaces the portals of this index with the given portals, keyed by their ids
+     *
+     * @param portals <p>The portals to index</p>
+     */
+    public synchronized void replaceAll(Collection<? extends Portal> portals) {
+        Portal[] sortedPortals = portals.toArray(new Portal[0]);
+        Arrays.sort(sortedPortals, Comparator.comparing(Portal::getId));
+        String[] ids = new String[sortedPortals.length];
+        for (int i = 0; i < sortedPortals.length; i++) {
+            ids[i] = sortedPortals[i].getId();
+        }
+        snapshot = new Snapshot(snapshot.version + 1, ids, sortedPortals);
+    }
+
+    /**
+     * Removes every portal from this index
+     */
+    public synchronized void clear() {
+        snapshot = new Snapshot(snapshot.version + 1, new String[0], new Portal[0]);
+    }
+
+    /**
+     * Gets the current contents of this index
+     *
+     * @return <p>The current snapshot of this index</p>
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * An immutable state of a destination index
+     */
+    public static final class Snapshot {
+
+        private final long version;
+        private final String[] ids;
+        private final Portal[] portals;
+
+        private Snapshot(long version, String[] ids, Portal[] portals) {
+            this.version = version;
+            this.ids = ids;
+            this.portals = portals;
+        }
+
+        /**
+         * Gets the version of this snapshot, which increases with every change to the index
+         *
+         * @return <p>The version of this snapshot</p>
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        /**
+         * @return <p>The amount of portals in this snapshot</p>
+         */
+        public int size() {
+            return ids.length;
+        }
+
+        /**
+         * Gets the position of the portal with the given id
+         *
+         * @param id <p>The id of the portal</p>
+         * @return <p>The position of the portal, or a negative number if not in this snapshot</p>
+         */
+        public int indexOf(@Nullable String id) {
+            if (id == null) {
+                return -1;
+            }
+            return Math.max(-1, Arrays.binarySearch(ids, id));
+        }
+
+        /**
+         * Checks whether this snapshot contains exactly the given portals
+         *
+         * @param portals <p>The portals to check for</p>
+         * @return <p>True if this snapshot contains the given portals, and no others</p>
+         */
+        public boolean contains(Collection<? extends Portal> portals) {
+            if (portals.size() != this.portals.length) {
+                return false;
+            }
+            for (Portal portal : portals) {
+                int index = indexOf(portal.getId());
+                if (index < 0 || this.portals[index] != portal) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Gets the portals of this snapshot in sorted order, except for the portal with the given id
+         *
+         * <p>The returned list is a read-only view of this snapshot, and is not copied.</p>
+         *
+         * @param excludedId <p>The id of the portal to leave out, usually the portal asking for destinations</p>
+         * @return <p>The sorted destinations</p>
+         */
+        public List<Portal> getDestinations(@Nullable String excludedId) {
+            return new DestinationList(indexOf(excludedId));
+        }
+
+        /**
+         * A sorted list of the portals in a snapshot, except for one excluded position
+         */
+        private final class DestinationList extends AbstractList<Portal> implements RandomAccess {
+
+            private final int excludedIndex;
+
+            private DestinationList(int excludedIndex) {
+                this.excludedIndex = excludedIndex;
+            }
+
+            @Override
+            public Portal get(int index) {
+                if (index < 0 || index >= size()) {
+                    throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+                }
+                return portals[excludedIndex >= 0 && index >= excludedIndex ? index + 1 : index];
+            }
+
+            @Override
+            public int size() {
+                return excludedIndex >= 0 ? portals.length - 1 : portals.length;
+            }
+
+            @Override
+            public int indexOf(Object object) {
+                if (!(object instanceof Portal portal)) {
+                    return -1;
+                }
+                int index = Snapshot.this.indexOf(portal.getId());
+                if (index < 0 || portals[index] != portal) {
+                    return super.indexOf(object);
+                }
+                if (index == excludedIndex) {
+                    return -1;
+                }
+                return excludedIndex >= 0 && index > excludedIndex ? index - 1 : index;
+            }
+
+            @Override
+            public boolean contains(Object object) {
+                return indexOf(object) >= 0;
+            }
+        }
+    }
+}
@@ -70,9 +70,25 @@ public interface Network {
      * @param player    <p>The player to get portals </p>
      * @param requester <p>The portal the player is viewing other portals from</p>
      * @return <p>The names of all portals the player is allowed to see</p>
+     * @deprecated <p>Use the sorted destinations of {@link #getDestinationIndex()}, checked with
+     * {@link #canSeePortal(Portal, Portal, Player)}</p>
      */
+    @Deprecated
     Set<String> getAvailablePortals(Player player, Portal requester);
 
+    /**
+     * Gets the sorted index of the portals in this network, shared by every portal listing destinations in it
+     *
+     * <p>Networks maintaining their own index should override this, and keep the index up to date as portals are
+     * added, removed and renamed. By default, an index is built from {@link #getAllPortals()} and kept for the network,
+     * which is rebuilt whenever its portals have changed.</p>
+     *
+     * @return <p>The destination index of this network</p>
+     */
+    default DestinationIndex getDestinationIndex() {
+        return DestinationIndex.of(this);
+    }
+
     /**
      * Destroys this network and every portal contained in it
      */
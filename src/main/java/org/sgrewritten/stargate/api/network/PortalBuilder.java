@@ -416,12 +416,14 @@ public class PortalBuilder {
 
     private static List<Location> getLocationsAdjacentToPortal(GateAPI gate) {
         Set<BlockLocation> adjacentLocations = new HashSet<>();
-        for (BlockLocation blockLocation : gate.getLocations(GateStructureType.FRAME)) {
-            for (BlockVector adjacentVector : VectorUtils.getAdjacentRelativePositions()) {
-                BlockLocation adjacentLocation = new BlockLocation(blockLocation.getLocation().add(adjacentVector));
-                adjacentLocations.add(adjacentLocation);
+        BlockVector[] adjacentVectors = VectorUtils.getAdjacentRelativePositions();
+        gate.visitLocations(GateStructureType.FRAME, (worldName, x, y, z) -> {
+            for (BlockVector adjacentVector : adjacentVectors) {
+                adjacentLocations.add(new BlockLocation(worldName, x + adjacentVector.getBlockX(),
+                        y + adjacentVector.getBlockY(), z + adjacentVector.getBlockZ()));
             }
-        }
+            return true;
+        });
         List<Location> output = new ArrayList<>();
         for (BlockLocation blockLocation : adjacentLocations) {
             output.add(blockLocation.getLocation());
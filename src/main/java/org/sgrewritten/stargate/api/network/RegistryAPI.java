@@ -1,6 +1,7 @@
 package org.sgrewritten.stargate.api.network;
 
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.ApiStatus;
@@ -90,6 +91,53 @@ public interface RegistryAPI {
      */
     RealPortal getPortal(Location location);
 
+    /**
+     * Gets the portal with the given structure type at the given block coordinates
+     *
+     * <p>Does not allocate any location objects, and is therefore preferred on hot paths such as move events.</p>
+     *
+     * @param world         <p>The world to check for portal structures</p>
+     * @param x             <p>The x coordinate of the block to check</p>
+     * @param y             <p>The y coordinate of the block to check</p>
+     * @param z             <p>The z coordinate of the block to check</p>
+     * @param structureType <p>The structure type to look for</p>
+     * @return <p>The found portal, or null if no portal was found</p>
+     */
+    default RealPortal getPortal(World world, int x, int y, int z, GateStructureType structureType) {
+        return getPortal(new Location(world, x, y, z), structureType);
+    }
+
+    /**
+     * Gets the portal at the given block coordinates
+     *
+     * <p>Does not allocate any location objects, and is therefore preferred on hot paths such as block events.</p>
+     *
+     * @param world <p>The world to check for portal structures</p>
+     * @param x     <p>The x coordinate of the block to check</p>
+     * @param y     <p>The y coordinate of the block to check</p>
+     * @param z     <p>The z coordinate of the block to check</p>
+     * @return <p>The found portal, or null if no portal was found</p>
+     */
+    default RealPortal getPortal(World world, int x, int y, int z) {
+        return getPortal(new Location(world, x, y, z));
+    }
+
+    /**
+     * Checks whether any portal has a structure of the given type within the given chunk
+     *
+     * <p>This is a single primitive look-up, meant to reject events far away from any portal before doing any
+     * block look-ups.</p>
+     *
+     * @param world         <p>The world of the chunk</p>
+     * @param chunkX        <p>The x coordinate of the chunk</p>
+     * @param chunkZ        <p>The z coordinate of the chunk</p>
+     * @param structureType <p>The structure type to look for</p>
+     * @return <p>True if the chunk contains at least one block of the given structure type, or if it is not known</p>
+     */
+    default boolean hasStructureInChunk(World world, int chunkX, int chunkZ, GateStructureType structureType) {
+        return true;
+    }
+
     /**
      * Checks if any of the given blocks belong to a portal
      *
@@ -27,6 +27,21 @@ public class BlockLocation {
         this.world = worldObject == null ? "" : worldObject.getName();
     }
 
+    /**
+     * Instantiates a new block location
+     *
+     * @param worldName <p>The name of the world of the block</p>
+     * @param x         <p>The x coordinate of the block</p>
+     * @param y         <p>The y coordinate of the block</p>
+     * @param z         <p>The z coordinate of the block</p>
+     */
+    public BlockLocation(String worldName, int x, int y, int z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.world = worldName == null ? "" : worldName;
+    }
+
     /**
      * Gets the location corresponding to this block location
      *
@@ -36,6 +51,34 @@ public class BlockLocation {
         return new Location(Bukkit.getWorld(world), x, y, z);
     }
 
+    /**
+     * @return <p>The x coordinate of this block location</p>
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * @return <p>The y coordinate of this block location</p>
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * @return <p>The z coordinate of this block location</p>
+     */
+    public int getZ() {
+        return z;
+    }
+
+    /**
+     * @return <p>The name of the world of this block location</p>
+     */
+    public String getWorldName() {
+        return world;
+    }
+
     @Override
     public int hashCode() {
         int result = 18;
@@ -26,6 +26,7 @@ import org.sgrewritten.stargate.api.permission.PermissionManager;
 import org.sgrewritten.stargate.manager.StargatePermissionManager;
 import org.sgrewritten.stargate.thread.task.StargateGlobalTask;
 import org.sgrewritten.stargate.util.MessageUtils;
+import org.sgrewritten.stargate.util.portal.DestinationChunkPreloader;
 
 import java.util.Objects;
 import java.util.UUID;
@@ -84,6 +85,7 @@ public abstract class AbstractPortalBehavior implements PortalBehavior {
             }
             return;
         }
+        DestinationChunkPreloader.preload(stargateOpenEvent.getDestination());
         portal.open(stargateOpenEvent.getDestination(), player);
     }
 
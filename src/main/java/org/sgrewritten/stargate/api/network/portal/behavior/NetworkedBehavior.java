@@ -15,6 +15,7 @@ import org.sgrewritten.stargate.api.event.portal.StargateActivatePortalEvent;
 import org.sgrewritten.stargate.api.event.portal.message.MessageType;
 import org.sgrewritten.stargate.api.formatting.LanguageManager;
 import org.sgrewritten.stargate.api.formatting.TranslatableMessage;
+import org.sgrewritten.stargate.api.network.DestinationIndex;
 import org.sgrewritten.stargate.api.network.Network;
 import org.sgrewritten.stargate.api.network.portal.Portal;
 import org.sgrewritten.stargate.api.network.portal.flag.StargateFlag;
@@ -30,15 +31,17 @@ import org.sgrewritten.stargate.property.MetadataType;
 import org.sgrewritten.stargate.thread.task.StargateGlobalTask;
 import org.sgrewritten.stargate.thread.task.StargateQueuedAsyncTask;
 import org.sgrewritten.stargate.util.MessageUtils;
+import org.sgrewritten.stargate.util.portal.DestinationChunkPreloader;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.logging.Level;
 
 public class NetworkedBehavior extends AbstractPortalBehavior {
     private static final int NO_DESTINATION_SELECTED = -1;
     private List<Portal> destinations;
+    private DestinationIndex.Snapshot destinationSnapshot;
+    private List<Portal> sharedDestinations;
     private int selectedDestination = NO_DESTINATION_SELECTED;
     private long previousDestinationSelectionTime;
     private String loadedDestination;
@@ -81,16 +84,16 @@ public class NetworkedBehavior extends AbstractPortalBehavior {
             player = Bukkit.getPlayer(portal.getActivatorUUID());
         }
         destinations = getDestinations(player);
-        if (destinations.contains(destination)) {
-            return destinations.indexOf(destination);
-        }
-        return NO_DESTINATION_SELECTED;
+        return destinations.indexOf(destination);
     }
 
 
     /**
      * Gets the destinations available to the given player
      *
+     * <p>Without a player, the destinations are a view of the network's shared destination index, which is only
+     * fetched again once the index has changed.</p>
+     *
      * @param player <p>
      *               The player to get destinations for
      *               </p>
@@ -99,18 +102,20 @@ public class NetworkedBehavior extends AbstractPortalBehavior {
      * </p>
      */
     private List<Portal> getDestinations(@Nullable Player player) {
-        List<String> availablePortals;
         Network network = portal.getNetwork();
+        DestinationIndex.Snapshot snapshot = network.getDestinationIndex().getSnapshot();
         if (player == null) {
-            availablePortals = new ArrayList<>(network.getAllPortals().stream().map(Portal::getId).toList());
-            availablePortals.remove(portal.getId());
-        } else {
-            availablePortals = new ArrayList<>(network.getAvailablePortals(player, portal));
+            if (snapshot != destinationSnapshot) {
+                destinationSnapshot = snapshot;
+                sharedDestinations = snapshot.getDestinations(portal.getId());
+            }
+            return sharedDestinations;
         }
-        Collections.sort(availablePortals);
         List<Portal> output = new ArrayList<>();
-        for (String name : availablePortals) {
-            output.add(network.getPortal(name));
+        for (Portal destination : snapshot.getDestinations(portal.getId())) {
+            if (network.canSeePortal(destination, portal, player)) {
+                output.add(destination);
+            }
         }
         return output;
     }
@@ -145,6 +150,7 @@ public class NetworkedBehavior extends AbstractPortalBehavior {
         }
 
         setSelectedDestination(selectNewDestination(event.getAction(), previouslyActivated));
+        DestinationChunkPreloader.preload(getDestination());
         portal.updateState();
     }
 
@@ -271,7 +277,7 @@ public class NetworkedBehavior extends AbstractPortalBehavior {
                          * duplicate unnecessary calls
                          */
                         previousDestinationSelectionTime = -1;
-                        new StargateQueuedAsyncTask() {
+                        new StargateQueuedAsyncTask(portal.getNetwork()) {
                             @Override
                             public void run() {
                                 portal.setMetadata(new JsonPrimitive(destination.getId()), MetadataType.DESTINATION.name());
@@ -5,6 +5,7 @@ import org.jetbrains.annotations.Nullable;
 import org.sgrewritten.stargate.Stargate;
 import org.sgrewritten.stargate.api.formatting.LanguageManager;
 import org.sgrewritten.stargate.api.formatting.TranslatableMessage;
+import org.sgrewritten.stargate.api.network.Network;
 import org.sgrewritten.stargate.api.network.portal.Portal;
 import org.sgrewritten.stargate.api.network.portal.flag.StargateFlag;
 import org.sgrewritten.stargate.api.network.portal.formatting.SignLineType;
@@ -14,8 +15,10 @@ import org.sgrewritten.stargate.api.network.portal.formatting.data.PortalLineDat
 import org.sgrewritten.stargate.api.network.portal.formatting.data.TextLineData;
 import org.sgrewritten.stargate.network.portal.formatting.HighlightingStyle;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
-import java.util.Set;
 import java.util.logging.Level;
 
 public class RandomBehavior extends AbstractPortalBehavior {
@@ -33,17 +36,39 @@ public class RandomBehavior extends AbstractPortalBehavior {
         // Nothing needs to be done here
     }
 
+    /**
+     * Chooses a random destination among the portals this portal can see
+     *
+     * <p>Candidates are drawn from the network's destination index, and only a drawn candidate is checked for
+     * visibility. A hidden candidate is swapped with the last candidate not yet drawn, so that every visible candidate
+     * stays equally likely, and no candidate is drawn twice.</p>
+     *
+     * @return <p>A random destination, or null if this portal can not see any destination</p>
+     */
     @Override
     public @Nullable Portal getDestination() {
-        Set<String> allPortalNames = portal.getNetwork().getAvailablePortals(null, portal);
-        String[] destinations = allPortalNames.toArray(new String[0]);
-        if (destinations.length < 1) {
-            return null;
+        Network network = portal.getNetwork();
+        List<Portal> candidates = network.getDestinationIndex().getSnapshot().getDestinations(portal.getId());
+        Map<Integer, Integer> swappedCandidates = null;
+        for (int remaining = candidates.size(); remaining > 0; remaining--) {
+            int randomNumber = RANDOM.nextInt(remaining);
+            int candidateIndex = randomNumber;
+            if (swappedCandidates != null) {
+                candidateIndex = swappedCandidates.getOrDefault(randomNumber, randomNumber);
+            }
+            Portal destination = candidates.get(candidateIndex);
+            if (network.canSeePortal(destination, portal, null)) {
+                Stargate.log(Level.FINEST, String.format("Chose random destination %s, calculated from integer %d",
+                        destination.getName(), randomNumber));
+                return destination;
+            }
+            if (swappedCandidates == null) {
+                swappedCandidates = new HashMap<>();
+            }
+            int last = remaining - 1;
+            swappedCandidates.put(randomNumber, swappedCandidates.getOrDefault(last, last));
         }
-        int randomNumber = RANDOM.nextInt(destinations.length);
-        String destination = destinations[randomNumber];
-        Stargate.log(Level.FINEST, String.format("Chose random destination %s, calculated from integer %d", destination, randomNumber));
-        return portal.getNetwork().getPortal(destination);
+        return null;
     }
 
     @Override
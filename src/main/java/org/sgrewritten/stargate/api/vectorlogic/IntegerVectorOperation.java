@@ -0,0 +1,115 @@
+package org.sgrewritten.stargate.api.vectorlogic;
+
+import org.bukkit.Axis;
+import org.bukkit.block.BlockFace;
+import org.bukkit.util.BlockVector;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+import org.sgrewritten.stargate.exception.InvalidStructureException;
+
+/**
+ * A vector operation using exact integer rotations
+ *
+ * <p>Gates can only face one of the four horizontal directions, so every rotation is a multiple of pi/2 radians around
+ * the y-axis and its sine and cosine are always -1, 0 or 1. These are looked up once per facing, which gives the same
+ * results as {@link MatrixVectorOperation}, while block coordinates can be converted with plain int arithmetic and
+ * without creating any vectors.</p>
+ */
+public class IntegerVectorOperation implements VectorOperation {
+
+    private final BlockFace facing;
+    private final Axis irisNormal;
+    private final int sinTheta;
+    private final int cosTheta;
+    private boolean flipZAxis = false;
+
+    /**
+     * Instantiates a vector operation to rotate vectors in the direction of a sign face
+     *
+     * <p>Gate structures have their relative location represented by a vector where x = outwards, y = down and
+     * z = right. The vector operation rotates the given vectors so that "outwards" is going the same direction as the
+     * given sign face.</p>
+     *
+     * @param signFace <p>The sign face of a gate's sign</p>
+     * @throws InvalidStructureException <p>If given a sign face which is not one of EAST, SOUTH, WEST or NORTH</p>
+     */
+    public IntegerVectorOperation(BlockFace signFace) throws InvalidStructureException {
+        switch (signFace) {
+            case EAST -> {
+                sinTheta = 0;
+                cosTheta = 1;
+                irisNormal = Axis.Z;
+            }
+            case SOUTH -> {
+                sinTheta = 1;
+                cosTheta = 0;
+                irisNormal = Axis.X;
+            }
+            case WEST -> {
+                sinTheta = 0;
+                cosTheta = -1;
+                irisNormal = Axis.Z;
+            }
+            case NORTH -> {
+                sinTheta = -1;
+                cosTheta = 0;
+                irisNormal = Axis.X;
+            }
+            default -> throw new InvalidStructureException();
+        }
+        this.facing = signFace;
+    }
+
+    @Override
+    public BlockFace getFacing() {
+        return facing;
+    }
+
+    @Override
+    public Axis getIrisNormal() {
+        return irisNormal;
+    }
+
+    @Override
+    public void setFlipZAxis(boolean flipZAxis) {
+        this.flipZAxis = flipZAxis;
+    }
+
+    @Override
+    public Vector performToAbstractSpaceOperation(@NotNull Vector vector) {
+        double x = vector.getX();
+        double z = vector.getZ();
+        double outputZ = cosTheta * z - sinTheta * x;
+        return new Vector(sinTheta * z + cosTheta * x, vector.getY(), flipZAxis ? -outputZ : outputZ);
+    }
+
+    @Override
+    public Vector performToRealSpaceOperation(@NotNull Vector vector) {
+        double x = vector.getX();
+        double z = flipZAxis ? -vector.getZ() : vector.getZ();
+        return new Vector(-sinTheta * z + cosTheta * x, vector.getY(), cosTheta * z + sinTheta * x);
+    }
+
+    @Override
+    public BlockVector performToRealSpaceOperation(@NotNull BlockVector vector) {
+        int x = vector.getBlockX();
+        int y = vector.getBlockY();
+        int z = vector.getBlockZ();
+        return new BlockVector(getRealSpaceBlockX(x, y, z), getRealSpaceBlockY(x, y, z), getRealSpaceBlockZ(x, y, z));
+    }
+
+    @Override
+    public int getRealSpaceBlockX(int x, int y, int z) {
+        return -sinTheta * (flipZAxis ? -z : z) + cosTheta * x;
+    }
+
+    @Override
+    public int getRealSpaceBlockY(int x, int y, int z) {
+        return y;
+    }
+
+    @Override
+    public int getRealSpaceBlockZ(int x, int y, int z) {
+        return cosTheta * (flipZAxis ? -z : z) + sinTheta * x;
+    }
+}
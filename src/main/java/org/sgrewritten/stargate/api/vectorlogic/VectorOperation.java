@@ -64,4 +64,40 @@ public interface VectorOperation {
      */
     BlockVector performToRealSpaceOperation(@NotNull BlockVector vector);
 
+    /**
+     * Gets the x coordinate of the given block position after the reverse of this vector operation
+     *
+     * @param x <p>The x coordinate of the block position in format space</p>
+     * @param y <p>The y coordinate of the block position in format space</p>
+     * @param z <p>The z coordinate of the block position in format space</p>
+     * @return <p>The x coordinate of the block position in real space</p>
+     */
+    default int getRealSpaceBlockX(int x, int y, int z) {
+        return performToRealSpaceOperation(new BlockVector(x, y, z)).getBlockX();
+    }
+
+    /**
+     * Gets the y coordinate of the given block position after the reverse of this vector operation
+     *
+     * @param x <p>The x coordinate of the block position in format space</p>
+     * @param y <p>The y coordinate of the block position in format space</p>
+     * @param z <p>The z coordinate of the block position in format space</p>
+     * @return <p>The y coordinate of the block position in real space</p>
+     */
+    default int getRealSpaceBlockY(int x, int y, int z) {
+        return performToRealSpaceOperation(new BlockVector(x, y, z)).getBlockY();
+    }
+
+    /**
+     * Gets the z coordinate of the given block position after the reverse of this vector operation
+     *
+     * @param x <p>The x coordinate of the block position in format space</p>
+     * @param y <p>The y coordinate of the block position in format space</p>
+     * @param z <p>The z coordinate of the block position in format space</p>
+     * @return <p>The z coordinate of the block position in real space</p>
+     */
+    default int getRealSpaceBlockZ(int x, int y, int z) {
+        return performToRealSpaceOperation(new BlockVector(x, y, z)).getBlockZ();
+    }
+
 }
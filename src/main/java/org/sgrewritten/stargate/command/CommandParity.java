@@ -11,11 +11,11 @@ import org.sgrewritten.stargate.api.formatting.LanguageManager;
 import org.sgrewritten.stargate.api.formatting.TranslatableMessage;
 import org.sgrewritten.stargate.database.property.StoredPropertiesAPI;
 import org.sgrewritten.stargate.database.property.StoredProperty;
+import org.sgrewritten.stargate.thread.AsyncExecutor;
+import org.sgrewritten.stargate.util.WebHelper;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Objects;
@@ -82,22 +82,24 @@ public class CommandParity implements CommandExecutor {
         File mapperFile = determineDestinationJarName(mapper, MAPPER_NAME, pluginsFolder);
         sender.sendMessage(languageManager.getWarningMessage(TranslatableMessage.PARITY_UPGRADE).replace("%modules%",
                 String.format("%s, %s, %s, %s",MECHANICS_NAME,INTERFACES_NAME,CUSTOMIZATIONS_NAME,MAPPER_NAME)));
-        try {
-            downloadPlugin(mechanics, mechanicsFile);
-            downloadPlugin(interfaces, interfacesFile);
-            downloadPlugin(customizations, customizationsFile);
-            downloadPlugin(mapper, mapperFile);
-            if (oldConfig.exists()) {
-                File targetDir = new File(pluginsFolder, CUSTOMIZATIONS_NAME);
-                if (!targetDir.exists() && !targetDir.mkdir()) {
-                    throw new IOException("Could not create directory: " + targetDir);
+        AsyncExecutor.runBlocking(() -> {
+            try {
+                downloadPlugin(mechanics, mechanicsFile);
+                downloadPlugin(interfaces, interfacesFile);
+                downloadPlugin(customizations, customizationsFile);
+                downloadPlugin(mapper, mapperFile);
+                if (oldConfig.exists()) {
+                    File targetDir = new File(pluginsFolder, CUSTOMIZATIONS_NAME);
+                    if (!targetDir.exists() && !targetDir.mkdir()) {
+                        throw new IOException("Could not create directory: " + targetDir);
+                    }
+                    FileUtils.copyFile(oldConfig, new File(targetDir, "old_stargate_config.yml"));
                 }
-                FileUtils.copyFile(oldConfig, new File(targetDir, "old_stargate_config.yml"));
+            } catch (IOException e) {
+                Stargate.log(e);
+                Stargate.log(Level.WARNING, "Unable to download modules. It could be that they are not completed yet");
             }
-        } catch (IOException e) {
-            Stargate.log(e);
-            Stargate.log(Level.WARNING, "Unable to download modules. It could be that they are not completed yet");
-        }
+        });
         properties.setProperty(StoredProperty.PARITY_UPGRADES_AVAILABLE, false);
         return true;
     }
@@ -109,11 +111,7 @@ public class CommandParity implements CommandExecutor {
         if (!destination.createNewFile()) {
             throw new IOException("Could not create new file: " + destination);
         }
-        try (InputStream inputStream = source.openStream()) {
-            try (FileOutputStream outputStream = new FileOutputStream(destination)) {
-                inputStream.transferTo(outputStream);
-            }
-        }
+        WebHelper.downloadFile(source.toString(), destination);
     }
 
     private File determineDestinationJarName(URL url, String pluginName, File pluginsFolder) {
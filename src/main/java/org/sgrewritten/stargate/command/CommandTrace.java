@@ -13,6 +13,9 @@ import org.sgrewritten.stargate.api.config.ConfigurationOption;
 import org.sgrewritten.stargate.api.formatting.TranslatableMessage;
 import org.sgrewritten.stargate.config.ConfigurationHelper;
 import org.sgrewritten.stargate.property.CommandPermission;
+import org.sgrewritten.stargate.property.StargateStatistic;
+import org.sgrewritten.stargate.thread.StripedTaskQueue;
+import org.sgrewritten.stargate.thread.task.StargateQueuedAsyncTask;
 import org.sgrewritten.stargate.util.FileHelper;
 
 import java.io.BufferedReader;
@@ -24,6 +27,7 @@ import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 public class CommandTrace implements CommandExecutor {
@@ -64,6 +68,8 @@ public class CommandTrace implements CommandExecutor {
             writer.newLine();
             writer.write("OperatingSystem: " + System.getProperty("os.name"));
             writer.newLine();
+            writer.write(getStatistics());
+            writer.write(getQueueStatistics());
             writer.write(getGates());
             writer.close();
         } catch (IOException e) {
@@ -75,6 +81,32 @@ public class CommandTrace implements CommandExecutor {
         return true;
     }
 
+    private String getStatistics() {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (StargateStatistic statistic : StargateStatistic.values()) {
+            stringBuilder.append(statistic.name()).append(": ").append(statistic.getValue()).append("\n");
+        }
+        long signRedraws = StargateStatistic.SIGN_REDRAWS.getValue();
+        long skippedSignRedraws = StargateStatistic.SIGN_REDRAWS_SKIPPED.getValue();
+        long requestedSignRedraws = signRedraws + skippedSignRedraws;
+        double skipRatio = requestedSignRedraws == 0 ? 0 : (double) skippedSignRedraws / requestedSignRedraws;
+        stringBuilder.append(String.format("SIGN_REDRAWS_SKIP_RATIO: %.3f%n", skipRatio));
+        return stringBuilder.toString();
+    }
+
+    private String getQueueStatistics() {
+        StringBuilder stringBuilder = new StringBuilder();
+        StripedTaskQueue queue = StargateQueuedAsyncTask.getAsyncQueue();
+        for (int stripe = 0; stripe < queue.getStripeCount(); stripe++) {
+            StripedTaskQueue.StripeStatistics statistics = queue.getStatistics(stripe);
+            stringBuilder.append(String.format("ASYNC_QUEUE_STRIPE_%d: depth=%d, completed=%d, averageLatencyMicros=%d, maxLatencyMicros=%d%n",
+                    stripe, statistics.queueDepth(), statistics.completedTasks(),
+                    TimeUnit.NANOSECONDS.toMicros(statistics.averageLatencyNanos()),
+                    TimeUnit.NANOSECONDS.toMicros(statistics.maxLatencyNanos())));
+        }
+        return stringBuilder.toString();
+    }
+
     private String getGates() {
         File dir = new File(Stargate.getInstance().getAbsoluteDataFolder(), ConfigurationHelper.getString(ConfigurationOption.GATE_FOLDER));
         File[] files = dir.exists() ? dir.listFiles((directory, name) -> (name.endsWith(".gate") || name.endsWith(".gate.invalid"))) : new File[0];
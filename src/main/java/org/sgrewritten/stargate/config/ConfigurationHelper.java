@@ -1,21 +1,50 @@
 package org.sgrewritten.stargate.config;
 
+import org.bukkit.configuration.file.FileConfiguration;
 import org.jetbrains.annotations.NotNull;
 import org.sgrewritten.stargate.Stargate;
 import org.sgrewritten.stargate.api.config.ConfigurationOption;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Contains various methods for getting values of current settings
+ *
+ * <p>Values are read from a snapshot of the configuration, which is read again once the configuration is reloaded or
+ * changed through {@link #invalidateSnapshot()}.</p>
  */
 public final class ConfigurationHelper {
 
+    private static volatile ConfigurationSnapshot snapshot;
+
     private ConfigurationHelper() {
 
     }
 
+    /**
+     * Discards the current snapshot of the configuration, so that the next read reads the configuration again
+     *
+     * <p>Needs to be called whenever a value of the loaded configuration is changed.</p>
+     */
+    public static void invalidateSnapshot() {
+        snapshot = null;
+    }
+
+    /**
+     * Gets the snapshot of the current configuration, reading it if it has not been read yet
+     *
+     * @return <p>The snapshot of the current configuration</p>
+     */
+    private static ConfigurationSnapshot getSnapshot() {
+        FileConfiguration configuration = Stargate.getFileConfiguration();
+        ConfigurationSnapshot current = snapshot;
+        if (current == null || !current.isOf(configuration)) {
+            current = new ConfigurationSnapshot(configuration);
+            snapshot = current;
+        }
+        return current;
+    }
+
     /**
      * Gets the integer value of a setting
      *
@@ -23,11 +52,7 @@ public final class ConfigurationHelper {
      * @return <p>The value of the setting</p>
      */
     public static int getInteger(ConfigurationOption configurationOption) {
-        if (Stargate.getFileConfiguration().isSet(configurationOption.getConfigNode())) {
-            return Stargate.getFileConfiguration().getInt(configurationOption.getConfigNode());
-        } else {
-            return (int) configurationOption.getDefaultValue();
-        }
+        return getSnapshot().getInteger(configurationOption);
     }
 
     /**
@@ -37,11 +62,7 @@ public final class ConfigurationHelper {
      * @return <p>The value of the setting</p>
      */
     public static double getDouble(ConfigurationOption configurationOption) {
-        if (Stargate.getFileConfiguration().isSet(configurationOption.getConfigNode())) {
-            return Stargate.getFileConfiguration().getDouble(configurationOption.getConfigNode());
-        } else {
-            return (double) configurationOption.getDefaultValue();
-        }
+        return getSnapshot().getDouble(configurationOption);
     }
 
     /**
@@ -51,11 +72,7 @@ public final class ConfigurationHelper {
      * @return <p>The value of the setting</p>
      */
     public static String getString(ConfigurationOption configurationOption) {
-        if (Stargate.getFileConfiguration().isSet(configurationOption.getConfigNode())) {
-            return Stargate.getFileConfiguration().getString(configurationOption.getConfigNode());
-        } else {
-            return (String) configurationOption.getDefaultValue();
-        }
+        return getSnapshot().getString(configurationOption);
     }
 
     /**
@@ -65,27 +82,15 @@ public final class ConfigurationHelper {
      * @return <p>The value of the setting</p>
      */
     public static boolean getBoolean(ConfigurationOption configurationOption) {
-        if (Stargate.getFileConfiguration().isSet(configurationOption.getConfigNode())) {
-            return Stargate.getFileConfiguration().getBoolean(configurationOption.getConfigNode());
-        } else {
-            return (boolean) configurationOption.getDefaultValue();
-        }
+        return getSnapshot().getBoolean(configurationOption);
     }
 
     /**
      * @param configurationOption <p>The configuration option to get the data from</p>
-     * @return <p>A list of strings from the configuration option</p>
+     * @return <p>An unmodifiable list of strings from the configuration option</p>
      */
-    @SuppressWarnings("unchecked")
     public static @NotNull List<String> getStringList(ConfigurationOption configurationOption) {
-        if (Stargate.getFileConfiguration().isSet(configurationOption.getConfigNode())) {
-            return Stargate.getFileConfiguration().getStringList(configurationOption.getConfigNode());
-        } else {
-            if (configurationOption.getDefaultValue() == null) {
-                return new ArrayList<>();
-            }
-            return (List<String>) configurationOption.getDefaultValue();
-        }
+        return getSnapshot().getStringList(configurationOption);
     }
 
 }
@@ -0,0 +1,91 @@
+package org.sgrewritten.stargate.config;
+
+import org.bukkit.configuration.file.FileConfiguration;
+import org.sgrewritten.stargate.api.config.ConfigurationOption;
+
+import java.util.List;
+
+/**
+ * The value of every configuration option, read once from a file configuration
+ *
+ * <p>Values are stored in typed arrays indexed by the ordinal of their option, so reading one does not look up any
+ * configuration path. The snapshot remembers which file configuration it was read from, so that it can be replaced
+ * once the configuration is reloaded.</p>
+ */
+final class ConfigurationSnapshot {
+
+    private final FileConfiguration configuration;
+    private final int[] integers;
+    private final double[] doubles;
+    private final boolean[] booleans;
+    private final String[] strings;
+    private final List<?>[] stringLists;
+
+    /**
+     * Reads every configuration option from the given file configuration
+     *
+     * @param configuration <p>The file configuration to read</p>
+     */
+    ConfigurationSnapshot(FileConfiguration configuration) {
+        this.configuration = configuration;
+        ConfigurationOption[] options = ConfigurationOption.values();
+        integers = new int[options.length];
+        doubles = new double[options.length];
+        booleans = new boolean[options.length];
+        strings = new String[options.length];
+        stringLists = new List<?>[options.length];
+        for (ConfigurationOption option : options) {
+            int index = option.ordinal();
+            String node = option.getConfigNode();
+            if (configuration.isSet(node)) {
+                integers[index] = configuration.getInt(node);
+                doubles[index] = configuration.getDouble(node);
+                booleans[index] = configuration.getBoolean(node);
+                strings[index] = configuration.getString(node);
+                stringLists[index] = List.copyOf(configuration.getStringList(node));
+                continue;
+            }
+            Object defaultValue = option.getDefaultValue();
+            if (defaultValue instanceof Number number) {
+                integers[index] = number.intValue();
+                doubles[index] = number.doubleValue();
+            }
+            if (defaultValue instanceof Boolean bool) {
+                booleans[index] = bool;
+            }
+            if (defaultValue instanceof String string) {
+                strings[index] = string;
+            }
+            stringLists[index] = defaultValue instanceof List<?> list ? List.copyOf(list) : List.of();
+        }
+    }
+
+    /**
+     * @param configuration <p>A file configuration</p>
+     * @return <p>True if this snapshot was read from the given file configuration</p>
+     */
+    boolean isOf(FileConfiguration configuration) {
+        return this.configuration == configuration;
+    }
+
+    int getInteger(ConfigurationOption option) {
+        return integers[option.ordinal()];
+    }
+
+    double getDouble(ConfigurationOption option) {
+        return doubles[option.ordinal()];
+    }
+
+    boolean getBoolean(ConfigurationOption option) {
+        return booleans[option.ordinal()];
+    }
+
+    String getString(ConfigurationOption option) {
+        return strings[option.ordinal()];
+    }
+
+    @SuppressWarnings("unchecked")
+    List<String> getStringList(ConfigurationOption option) {
+        return (List<String>) stringLists[option.ordinal()];
+    }
+}
@@ -0,0 +1,243 @@
+package org.sgrewritten.stargate.container;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * A hash map from primitive longs to objects, using open addressing with linear probing
+ *
+ * <p>Keys are never boxed, and look-ups do not allocate. Null values are not allowed, as an empty value marks an
+ * empty slot.</p>
+ *
+ * @param <V> <p>The type of the stored values</p>
+ */
+public class LongObjectMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * Instantiates a new empty long to object map
+     */
+    public LongObjectMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Instantiates a new empty long to object map
+     *
+     * @param expectedSize <p>The amount of entries the map should be able to hold without resizing</p>
+     */
+    public LongObjectMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, expectedSize * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Gets the value stored for the given key
+     *
+     * @param key <p>The key to look up</p>
+     * @return <p>The stored value, or null if no value is stored for the key</p>
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(long key) {
+        int slot = getSlot(key);
+        Object value;
+        while ((value = values[slot]) != null) {
+            if (keys[slot] == key) {
+                return (V) value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a value is stored for the given key
+     *
+     * @param key <p>The key to check</p>
+     * @return <p>True if a value is stored for the key</p>
+     */
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Stores the given value for the given key
+     *
+     * @param key   <p>The key to store the value for</p>
+     * @param value <p>The value to store</p>
+     * @return <p>The previously stored value, or null if no value was stored</p>
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V put(long key, @NotNull V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values can not be stored in a long object map");
+        }
+        int slot = getSlot(key);
+        Object previous;
+        while ((previous = values[slot]) != null) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return (V) previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > values.length) {
+            resize(values.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the value stored for the given key
+     *
+     * @param key <p>The key to remove</p>
+     * @return <p>The removed value, or null if no value was stored</p>
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V remove(long key) {
+        int slot = getSlot(key);
+        Object value;
+        while ((value = values[slot]) != null) {
+            if (keys[slot] == key) {
+                shiftBackFrom(slot);
+                size--;
+                return (V) value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Runs the given action for every stored value
+     *
+     * @param action <p>The action to run</p>
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<V> action) {
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    /**
+     * Runs the given action for every stored entry
+     *
+     * @param action <p>The action to run</p>
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<V> action) {
+        for (int slot = 0; slot < values.length; slot++) {
+            if (values[slot] != null) {
+                action.accept(keys[slot], (V) values[slot]);
+            }
+        }
+    }
+
+    /**
+     * @return <p>The amount of stored entries</p>
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return <p>True if no entries are stored</p>
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all entries from this map
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Fills the hole at the given slot by moving any later entries of the same probe chain backwards
+     *
+     * <p>This avoids tombstones, meaning look-ups never get slower after many removals.</p>
+     *
+     * @param hole <p>The slot of the removed entry</p>
+     */
+    private void shiftBackFrom(int hole) {
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (values[slot] == null) {
+                break;
+            }
+            int home = getSlot(keys[slot]);
+            boolean homeInsideRange = hole <= slot ? (hole < home && home <= slot) : (hole < home || home <= slot);
+            if (homeInsideRange) {
+                continue;
+            }
+            keys[hole] = keys[slot];
+            values[hole] = values[slot];
+            hole = slot;
+        }
+        values[hole] = null;
+    }
+
+    private void resize(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[newCapacity];
+        values = new Object[newCapacity];
+        mask = newCapacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) {
+                continue;
+            }
+            int slot = getSlot(oldKeys[i]);
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private int getSlot(long key) {
+        // Finalization step of murmur3, spreads packed coordinates evenly over the table
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key & mask;
+    }
+
+    /**
+     * An action run for an entry of a long to object map, without boxing its key
+     *
+     * @param <V> <p>The type of the stored values</p>
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        /**
+         * Runs this action for the given entry
+         *
+         * @param key   <p>The key of the entry</p>
+         * @param value <p>The value of the entry</p>
+         */
+        void accept(long key, V value);
+    }
+}
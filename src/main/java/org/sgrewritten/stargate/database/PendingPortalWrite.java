@@ -0,0 +1,326 @@
+package org.sgrewritten.stargate.database;
+
+import org.bukkit.util.BlockVector;
+import org.sgrewritten.stargate.api.network.portal.Portal;
+import org.sgrewritten.stargate.api.network.portal.PortalPosition;
+import org.sgrewritten.stargate.api.network.portal.RealPortal;
+import org.sgrewritten.stargate.network.StorageType;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The storage changes of one portal which have not yet been written
+ *
+ * <p>Changes are coalesced as they are added, so that only the net result is written. A portal which is saved and
+ * removed before being written is never written at all, and a saved portal writes its positions and metadata as part
+ * of its insertion, including any changed after it was saved.</p>
+ */
+class PendingPortalWrite {
+
+    private final StorageType portalType;
+    private Portal portal;
+    private boolean save;
+    private boolean remove;
+    private boolean metaDataSet;
+    private String metaData;
+    private PortalSnapshot snapshot;
+    private int failedAttempts;
+    private final Map<BlockVector, PositionChange> positionChanges = new LinkedHashMap<>();
+
+    /**
+     * Instantiates a new pending portal write
+     *
+     * @param portal     <p>The portal the changes belong to</p>
+     * @param portalType <p>How the portal is stored</p>
+     */
+    PendingPortalWrite(Portal portal, StorageType portalType) {
+        this.portal = portal;
+        this.portalType = portalType;
+    }
+
+    /**
+     * Saves the portal, including its current positions and metadata
+     *
+     * @param portal   <p>The portal to save</p>
+     * @param snapshot <p>The positions, flags and metadata of the portal at the time it was saved</p>
+     */
+    void save(RealPortal portal, PortalSnapshot snapshot) {
+        this.portal = portal;
+        this.snapshot = snapshot;
+        save = true;
+        clearChanges();
+    }
+
+    /**
+     * Removes the portal, and all its positions
+     *
+     * @return <p>True if nothing is left to write, as the portal was never written</p>
+     */
+    boolean remove() {
+        if (save && !remove) {
+            return true;
+        }
+        save = false;
+        remove = true;
+        snapshot = null;
+        clearChanges();
+        return false;
+    }
+
+    /**
+     * Sets the metadata of the portal
+     *
+     * @param metaData <p>The new metadata</p>
+     */
+    void setMetaData(String metaData) {
+        if (remove) {
+            return;
+        }
+        if (save) {
+            snapshot = snapshot.withMetaData(metaData);
+            return;
+        }
+        metaDataSet = true;
+        this.metaData = metaData;
+    }
+
+    /**
+     * Adds a position to the portal
+     *
+     * @param portal         <p>The portal to add the position to</p>
+     * @param portalPosition <p>The position to add</p>
+     */
+    void addPosition(RealPortal portal, PortalPosition portalPosition) {
+        if (remove) {
+            return;
+        }
+        if (save) {
+            snapshot = snapshot.withPosition(portalPosition);
+            return;
+        }
+        this.portal = portal;
+        BlockVector key = portalPosition.getRelativePositionLocation();
+        PositionChange previous = positionChanges.get(key);
+        positionChanges.put(key, new PositionChange(portalPosition, previous != null && previous.removeStored(), true));
+    }
+
+    /**
+     * Removes a position from the portal
+     *
+     * @param portalPosition <p>The position to remove</p>
+     */
+    void removePosition(PortalPosition portalPosition) {
+        if (remove) {
+            return;
+        }
+        if (save) {
+            snapshot = snapshot.withoutPosition(portalPosition);
+            return;
+        }
+        BlockVector key = portalPosition.getRelativePositionLocation();
+        PositionChange previous = positionChanges.get(key);
+        if (previous != null && previous.add() && !previous.removeStored()) {
+            // The position was never written
+            positionChanges.remove(key);
+            return;
+        }
+        positionChanges.put(key, new PositionChange(portalPosition, true, false));
+    }
+
+    /**
+     * Adds the changes of the same portal recorded after these changes
+     *
+     * @param later <p>The changes recorded after these changes</p>
+     * @return <p>True if nothing is left to write, as the portal was never written</p>
+     */
+    boolean addLaterChanges(PendingPortalWrite later) {
+        if (later.remove && remove() && !later.save) {
+            return true;
+        }
+        if (later.save) {
+            save((RealPortal) later.portal, later.snapshot);
+            return false;
+        }
+        if (later.metaDataSet) {
+            setMetaData(later.metaData);
+        }
+        for (PositionChange positionChange : later.positionChanges.values()) {
+            if (positionChange.removeStored()) {
+                removePosition(positionChange.position());
+            }
+            if (positionChange.add()) {
+                addPosition((RealPortal) later.portal, positionChange.position());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return <p>The portal the changes belong to</p>
+     */
+    Portal getPortal() {
+        return portal;
+    }
+
+    /**
+     * @return <p>How the portal is stored</p>
+     */
+    StorageType getPortalType() {
+        return portalType;
+    }
+
+    /**
+     * @return <p>Whether the portal should be inserted</p>
+     */
+    boolean isSave() {
+        return save;
+    }
+
+    /**
+     * @return <p>The positions, flags and metadata to insert the portal with, or null if the portal is not saved</p>
+     */
+    PortalSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Counts a failed attempt at writing these changes
+     *
+     * @return <p>The amount of failed attempts, including this one</p>
+     */
+    int recordFailedAttempt() {
+        return ++failedAttempts;
+    }
+
+    /**
+     * @return <p>Whether the stored portal should be deleted</p>
+     */
+    boolean isRemove() {
+        return remove;
+    }
+
+    /**
+     * @return <p>Whether new metadata should be written</p>
+     */
+    boolean isMetaDataSet() {
+        return metaDataSet;
+    }
+
+    /**
+     * @return <p>The metadata to write</p>
+     */
+    String getMetaData() {
+        return metaData;
+    }
+
+    /**
+     * @return <p>Whether the metadata of the portal will be written, either by inserting the portal or by updating it</p>
+     */
+    boolean hasPendingMetaData() {
+        return save || metaDataSet;
+    }
+
+    /**
+     * @return <p>The metadata which will be written, if {@link #hasPendingMetaData()}</p>
+     */
+    String getPendingMetaData() {
+        return save ? snapshot.metaData() : metaData;
+    }
+
+    /**
+     * @return <p>The stored positions to delete</p>
+     */
+    List<PortalPosition> getRemovedPositions() {
+        List<PortalPosition> removedPositions = new ArrayList<>();
+        for (PositionChange positionChange : positionChanges.values()) {
+            if (positionChange.removeStored()) {
+                removedPositions.add(positionChange.position());
+            }
+        }
+        return removedPositions;
+    }
+
+    /**
+     * @return <p>The positions to insert</p>
+     */
+    List<PortalPosition> getAddedPositions() {
+        List<PortalPosition> addedPositions = new ArrayList<>();
+        for (PositionChange positionChange : positionChanges.values()) {
+            if (positionChange.add()) {
+                addedPositions.add(positionChange.position());
+            }
+        }
+        return addedPositions;
+    }
+
+    private void clearChanges() {
+        metaDataSet = false;
+        metaData = null;
+        positionChanges.clear();
+    }
+
+    /**
+     * The net change of one position
+     *
+     * @param position     <p>The last position written at the location</p>
+     * @param removeStored <p>Whether the stored position at the location should be deleted</p>
+     * @param add          <p>Whether the position should be inserted</p>
+     */
+    private record PositionChange(PortalPosition position, boolean removeStored, boolean add) {
+    }
+
+    /**
+     * The state of a portal which is written when inserting it
+     *
+     * <p>Taken on the thread saving the portal, so that writing never reads the live portal.</p>
+     *
+     * @param positions <p>The positions of the portal</p>
+     * @param flags     <p>The flags of the portal</p>
+     * @param metaData  <p>The metadata of the portal</p>
+     */
+    record PortalSnapshot(List<PortalPosition> positions, String flags, String metaData) {
+
+        /**
+         * Takes a snapshot of the given portal
+         *
+         * @param portal <p>The portal to take a snapshot of</p>
+         * @return <p>The snapshot</p>
+         */
+        static PortalSnapshot of(RealPortal portal) {
+            return new PortalSnapshot(List.copyOf(portal.getGate().getPortalPositions()), portal.getAllFlagsString(),
+                    portal.getMetadata());
+        }
+
+        /**
+         * @param metaData <p>The new metadata of the portal</p>
+         * @return <p>A copy of this snapshot with the given metadata</p>
+         */
+        PortalSnapshot withMetaData(String metaData) {
+            return new PortalSnapshot(positions, flags, metaData);
+        }
+
+        /**
+         * @param portalPosition <p>The position added to the portal</p>
+         * @return <p>A copy of this snapshot with the given position, replacing any position at the same location</p>
+         */
+        PortalSnapshot withPosition(PortalPosition portalPosition) {
+            List<PortalPosition> newPositions = new ArrayList<>(withoutPosition(portalPosition).positions);
+            newPositions.add(portalPosition);
+            return new PortalSnapshot(List.copyOf(newPositions), flags, metaData);
+        }
+
+        /**
+         * @param portalPosition <p>The position removed from the portal</p>
+         * @return <p>A copy of this snapshot without any position at the location of the given position</p>
+         */
+        PortalSnapshot withoutPosition(PortalPosition portalPosition) {
+            BlockVector location = portalPosition.getRelativePositionLocation();
+            List<PortalPosition> newPositions = new ArrayList<>(positions);
+            newPositions.removeIf(position -> position.getRelativePositionLocation().equals(location));
+            return new PortalSnapshot(List.copyOf(newPositions), flags, metaData);
+        }
+    }
+}
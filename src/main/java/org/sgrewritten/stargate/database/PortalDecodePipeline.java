@@ -0,0 +1,346 @@
+package org.sgrewritten.stargate.database;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.sgrewritten.stargate.exception.PortalLoadException;
+import org.sgrewritten.stargate.network.StorageType;
+import org.sgrewritten.stargate.network.portal.portaldata.PortalData;
+import org.sgrewritten.stargate.network.portal.portaldata.RawPortalData;
+import org.sgrewritten.stargate.property.StargateStatistic;
+import org.sgrewritten.stargate.util.database.PortalStorageHelper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decodes the rows of a portal query on several threads
+ *
+ * <p>The calling thread reads the raw rows, as a result set may only be used by one thread, and streams them through
+ * a bounded queue to a pool of decoding threads shared by all pipelines. Decoding parses the UUIDs, flags and facing of
+ * a portal, and looks up its world and gate format. Worlds are looked up in a copy of the loaded worlds taken on the
+ * calling thread. The decoded portals are returned in the order they were read.</p>
+ *
+ * <p>The pool is owned by this class, and is stopped by {@link #shutdown()} when the plugin is disabled.</p>
+ */
+public class PortalDecodePipeline {
+
+    private static final int QUEUE_CAPACITY_PER_THREAD = 256;
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final IndexedRow END_OF_ROWS = new IndexedRow(-1, null);
+    private static final ThreadFactory DECODER_THREAD_FACTORY = Thread.ofPlatform().daemon()
+            .name("Stargate portal decoder ", 0).factory();
+    private static ThreadPoolExecutor sharedPool;
+
+    private final int parallelism;
+
+    /**
+     * Instantiates a new portal decode pipeline
+     *
+     * @param parallelism <p>The amount of threads to decode rows on, or 1 to decode on the calling thread</p>
+     */
+    PortalDecodePipeline(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism of a portal decode pipeline must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Stops the threads decoding portals
+     *
+     * <p>Any decoders still running are interrupted. A later pipeline starts a new pool.</p>
+     */
+    public static synchronized void shutdown() {
+        if (sharedPool != null) {
+            sharedPool.shutdownNow();
+            sharedPool = null;
+        }
+    }
+
+    /**
+     * Reads and decodes all rows of the given result set
+     *
+     * @param resultSet  <p>The result set of a portal query</p>
+     * @param portalType <p>How the portals are stored</p>
+     * @return <p>The decoded portals, and the worlds and gate formats of any portals which could not be decoded</p>
+     * @throws SQLException <p>If unable to read from the result set, or if the decoders stopped early</p>
+     * @throws RuntimeException <p>If unable to decode a row for any reason other than a {@link PortalLoadException}</p>
+     */
+    SQLDatabase.PortalLoadData decode(ResultSet resultSet, StorageType portalType) throws SQLException {
+        if (parallelism == 1) {
+            return decodeOnCallingThread(resultSet, portalType);
+        }
+        BlockingQueue<IndexedRow> rows = new ArrayBlockingQueue<>(parallelism * QUEUE_CAPACITY_PER_THREAD);
+        Queue<IndexedPortalData> decoded = new ConcurrentLinkedQueue<>();
+        Set<String> worldsToRemove = ConcurrentHashMap.newKeySet();
+        Set<String> gateFormatsToRemove = ConcurrentHashMap.newKeySet();
+        LongAdder decodeNanos = new LongAdder();
+        AtomicReference<Throwable> decodeError = new AtomicReference<>();
+        AtomicBoolean readingEnded = new AtomicBoolean(false);
+        Map<UUID, World> worlds = new HashMap<>();
+        for (World world : Bukkit.getWorlds()) {
+            worlds.put(world.getUID(), world);
+        }
+
+        ExecutorService pool = getPool(parallelism);
+        DecoderGroup decoders = new DecoderGroup(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            try {
+                pool.execute(() -> {
+                    try {
+                        decodeUntilEnd(rows, decoded, worlds, worldsToRemove, gateFormatsToRemove, decodeNanos,
+                                readingEnded);
+                    } catch (Throwable throwable) {
+                        addError(decodeError, throwable);
+                    } finally {
+                        decoders.onDecoderEnded();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // The pool was shut down, which leaves fewer decoders to wait for
+                decoders.onDecoderEnded();
+            }
+        }
+        long readStart = System.nanoTime();
+        boolean readAll = true;
+        try {
+            int index = 0;
+            while (resultSet.next()) {
+                if (!offer(rows, new IndexedRow(index++, PortalStorageHelper.readRawPortalData(resultSet, portalType)),
+                        decoders)) {
+                    readAll = false;
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while reading portals", e);
+        } finally {
+            StargateStatistic.PORTAL_LOAD_READ_NANOS.add(System.nanoTime() - readStart);
+            readingEnded.set(true);
+            endDecoders(rows, decoders, pool);
+        }
+        Throwable error = decodeError.get();
+        if (error instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (error instanceof Error unexpectedError) {
+            throw unexpectedError;
+        }
+        if (error != null || !readAll || decoders.getRunningDecoders() > 0) {
+            throw new SQLException("The portal decoders stopped before decoding every portal", error);
+        }
+        StargateStatistic.PORTAL_LOAD_DECODE_NANOS.add(decodeNanos.sum());
+        StargateStatistic.PORTALS_DECODED.add(decoded.size());
+
+        List<IndexedPortalData> sortedDecoded = new ArrayList<>(decoded);
+        sortedDecoded.sort(Comparator.comparingInt(IndexedPortalData::index));
+        List<PortalData> portalDataList = new ArrayList<>(sortedDecoded.size());
+        sortedDecoded.forEach(indexedPortalData -> portalDataList.add(indexedPortalData.portalData()));
+        return new SQLDatabase.PortalLoadData(portalDataList, worldsToRemove, gateFormatsToRemove);
+    }
+
+    private SQLDatabase.PortalLoadData decodeOnCallingThread(ResultSet resultSet, StorageType portalType) throws SQLException {
+        List<PortalData> portalDataList = new ArrayList<>();
+        Set<String> worldsToRemove = new HashSet<>();
+        Set<String> gateFormatsToRemove = new HashSet<>();
+        long readNanos = 0;
+        long decodeNanos = 0;
+        while (true) {
+            long readStart = System.nanoTime();
+            if (!resultSet.next()) {
+                readNanos += System.nanoTime() - readStart;
+                break;
+            }
+            RawPortalData rawPortalData = PortalStorageHelper.readRawPortalData(resultSet, portalType);
+            long decodeStart = System.nanoTime();
+            readNanos += decodeStart - readStart;
+            try {
+                portalDataList.add(PortalStorageHelper.decodePortalData(rawPortalData));
+            } catch (PortalLoadException e) {
+                addFailure(e, rawPortalData, worldsToRemove, gateFormatsToRemove);
+            }
+            decodeNanos += System.nanoTime() - decodeStart;
+        }
+        StargateStatistic.PORTAL_LOAD_READ_NANOS.add(readNanos);
+        StargateStatistic.PORTAL_LOAD_DECODE_NANOS.add(decodeNanos);
+        StargateStatistic.PORTALS_DECODED.add(portalDataList.size());
+        return new SQLDatabase.PortalLoadData(portalDataList, worldsToRemove, gateFormatsToRemove);
+    }
+
+    /**
+     * Decodes rows from the given queue until the end of the rows has been reached
+     *
+     * <p>A decoder also stops once reading has ended and no rows are left, in case the end of the rows could not be
+     * queued. An unexpected failure to decode a row is kept to be thrown on the reading thread, rather than stopping
+     * the decoder, so that the remaining rows are still taken from the queue.</p>
+     */
+    private static void decodeUntilEnd(BlockingQueue<IndexedRow> rows, Queue<IndexedPortalData> decoded,
+                                       Map<UUID, World> worlds, Set<String> worldsToRemove,
+                                       Set<String> gateFormatsToRemove, LongAdder decodeNanos,
+                                       AtomicBoolean readingEnded) throws InterruptedException {
+        RuntimeException firstError = null;
+        while (true) {
+            IndexedRow row = rows.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            if (row == null) {
+                if (readingEnded.get() && rows.isEmpty()) {
+                    break;
+                }
+                continue;
+            }
+            if (row == END_OF_ROWS) {
+                break;
+            }
+            long decodeStart = System.nanoTime();
+            try {
+                decoded.add(new IndexedPortalData(row.index(), PortalStorageHelper.decodePortalData(row.rawPortalData(),
+                        worlds::get)));
+            } catch (PortalLoadException e) {
+                addFailure(e, row.rawPortalData(), worldsToRemove, gateFormatsToRemove);
+            } catch (RuntimeException e) {
+                if (firstError == null) {
+                    firstError = e;
+                } else {
+                    firstError.addSuppressed(e);
+                }
+            }
+            decodeNanos.add(System.nanoTime() - decodeStart);
+        }
+        if (firstError != null) {
+            throw firstError;
+        }
+    }
+
+    /**
+     * Queues the given row, giving up if every decoder has stopped
+     *
+     * @return <p>False if the row could not be queued, as there are no decoders left to take it</p>
+     */
+    private static boolean offer(BlockingQueue<IndexedRow> rows, IndexedRow row, DecoderGroup decoders)
+            throws InterruptedException {
+        while (!rows.offer(row, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (decoders.getRunningDecoders() == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Signals every decoder that there are no more rows, and waits for them to finish
+     */
+    private static void endDecoders(BlockingQueue<IndexedRow> rows, DecoderGroup decoders, ExecutorService pool) {
+        try {
+            for (int i = 0; i < decoders.size(); i++) {
+                if (!offer(rows, END_OF_ROWS, decoders)) {
+                    return;
+                }
+            }
+            decoders.awaitEnd(pool);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // Skip the remaining rows, letting the decoders stop without waiting for them
+            rows.clear();
+        }
+    }
+
+    /**
+     * Gets the pool shared by all pipelines, replacing it if the amount of decoding threads has been reconfigured
+     *
+     * @param parallelism <p>The amount of threads to decode rows on</p>
+     * @return <p>The shared pool</p>
+     */
+    private static synchronized ExecutorService getPool(int parallelism) {
+        if (sharedPool == null || sharedPool.getCorePoolSize() != parallelism) {
+            if (sharedPool != null) {
+                // Lets any decoders still running finish
+                sharedPool.shutdown();
+            }
+            sharedPool = new ThreadPoolExecutor(parallelism, parallelism, 0, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), DECODER_THREAD_FACTORY);
+        }
+        return sharedPool;
+    }
+
+    private static void addError(AtomicReference<Throwable> decodeError, Throwable throwable) {
+        if (!decodeError.compareAndSet(null, throwable)) {
+            decodeError.get().addSuppressed(throwable);
+        }
+    }
+
+    private static void addFailure(PortalLoadException exception, RawPortalData rawPortalData,
+                                   Set<String> worldsToRemove, Set<String> gateFormatsToRemove) {
+        switch (exception.getFailureType()) {
+            case WORLD -> worldsToRemove.add(rawPortalData.worldUUID());
+            case GATE_FORMAT -> gateFormatsToRemove.add(rawPortalData.gateFileName());
+        }
+    }
+
+    private record IndexedRow(int index, RawPortalData rawPortalData) {
+    }
+
+    /**
+     * The decoders of one pipeline, which are waited for until every one of them has ended
+     */
+    private static class DecoderGroup {
+
+        private final int size;
+        private final CountDownLatch running;
+
+        private DecoderGroup(int size) {
+            this.size = size;
+            this.running = new CountDownLatch(size);
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private void onDecoderEnded() {
+            running.countDown();
+        }
+
+        private long getRunningDecoders() {
+            return running.getCount();
+        }
+
+        /**
+         * Waits for every decoder to end, or for the given pool to be shut down without running them
+         *
+         * @param pool <p>The pool running the decoders</p>
+         */
+        private void awaitEnd(ExecutorService pool) throws InterruptedException {
+            while (!running.await(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (pool.isTerminated()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private record IndexedPortalData(int index, PortalData portalData) {
+    }
+}
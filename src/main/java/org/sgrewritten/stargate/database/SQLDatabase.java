@@ -2,6 +2,7 @@ package org.sgrewritten.stargate.database;
 
 import org.bukkit.Bukkit;
 import org.bukkit.World;
+import org.jetbrains.annotations.Nullable;
 import org.sgrewritten.stargate.Stargate;
 import org.sgrewritten.stargate.api.StargateAPI;
 import org.sgrewritten.stargate.api.config.ConfigurationOption;
@@ -15,6 +16,8 @@ import org.sgrewritten.stargate.api.network.portal.PortalPosition;
 import org.sgrewritten.stargate.api.network.portal.RealPortal;
 import org.sgrewritten.stargate.api.network.portal.flag.PortalFlag;
 import org.sgrewritten.stargate.api.network.portal.flag.StargateFlag;
+import org.sgrewritten.stargate.api.vectorlogic.IntegerVectorOperation;
+import org.sgrewritten.stargate.api.vectorlogic.VectorOperation;
 import org.sgrewritten.stargate.config.ConfigurationHelper;
 import org.sgrewritten.stargate.config.TableNameConfiguration;
 import org.sgrewritten.stargate.database.property.StoredPropertiesAPI;
@@ -25,6 +28,7 @@ import org.sgrewritten.stargate.exception.database.StorageWriteException;
 import org.sgrewritten.stargate.exception.name.InvalidNameException;
 import org.sgrewritten.stargate.exception.name.NameConflictException;
 import org.sgrewritten.stargate.exception.name.NameLengthException;
+import org.sgrewritten.stargate.gate.ChunkSnapshotCache;
 import org.sgrewritten.stargate.gate.Gate;
 import org.sgrewritten.stargate.network.NetworkType;
 import org.sgrewritten.stargate.network.StargateNetwork;
@@ -32,7 +36,10 @@ import org.sgrewritten.stargate.network.StorageType;
 import org.sgrewritten.stargate.network.portal.GlobalPortalId;
 import org.sgrewritten.stargate.network.portal.StargatePortal;
 import org.sgrewritten.stargate.network.portal.VirtualPortal;
+import org.sgrewritten.stargate.network.portal.portaldata.GateData;
 import org.sgrewritten.stargate.network.portal.portaldata.PortalData;
+import org.sgrewritten.stargate.property.StargateStatistic;
+import org.sgrewritten.stargate.thread.task.StargateAsyncTask;
 import org.sgrewritten.stargate.thread.task.StargateRegionTask;
 import org.sgrewritten.stargate.util.NetworkCreationHelper;
 import org.sgrewritten.stargate.util.database.DatabaseHelper;
@@ -45,6 +52,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import static javax.management.timer.Timer.ONE_WEEK;
@@ -54,6 +62,7 @@ import static javax.management.timer.Timer.ONE_WEEK;
  */
 public class SQLDatabase implements StorageAPI {
 
+    private static final int PORTAL_POSITION_FETCH_SIZE = 1000;
     private final StoredPropertiesAPI propertiesDatabase;
     private SQLDatabaseAPI database;
     private SQLQueryGenerator sqlQueryGenerator;
@@ -105,6 +114,9 @@ public class SQLDatabase implements StorageAPI {
 
     @Override
     public void loadFromStorage(StargateAPI stargateAPI) throws StorageReadException {
+        long decodedBefore = StargateStatistic.PORTALS_DECODED.getValue();
+        long readNanosBefore = StargateStatistic.PORTAL_LOAD_READ_NANOS.getValue();
+        long decodeNanosBefore = StargateStatistic.PORTAL_LOAD_DECODE_NANOS.getValue();
         try {
             Stargate.log(Level.FINER, "Loading portals from base database");
             loadAllPortals(database, StorageType.LOCAL, stargateAPI);
@@ -120,6 +132,11 @@ public class SQLDatabase implements StorageAPI {
         } catch (SQLException exception) {
             throw new StorageReadException(exception);
         }
+        Stargate.log(Level.INFO, String.format("Decoded %d portals (reading took %d ms, decoding took %d ms over %d threads)",
+                StargateStatistic.PORTALS_DECODED.getValue() - decodedBefore,
+                TimeUnit.NANOSECONDS.toMillis(StargateStatistic.PORTAL_LOAD_READ_NANOS.getValue() - readNanosBefore),
+                TimeUnit.NANOSECONDS.toMillis(StargateStatistic.PORTAL_LOAD_DECODE_NANOS.getValue() - decodeNanosBefore),
+                getPortalLoadingThreads()));
     }
 
     @Override
@@ -192,6 +209,154 @@ public class SQLDatabase implements StorageAPI {
         }
     }
 
+    /**
+     * Writes the given pending portal writes as batches, in one transaction
+     *
+     * <p>Each kind of statement is prepared once per storage type, and executed as one batch for all portals. Deletions
+     * run before insertions, so that a portal removed and saved again is written as the saved portal.</p>
+     *
+     * @param writes <p>The pending writes to write</p>
+     * @throws StorageWriteException <p>If unable to write the changes. None of the changes are written in that case</p>
+     */
+    void runPortalWrites(Collection<PendingPortalWrite> writes) throws StorageWriteException {
+        if (writes.isEmpty()) {
+            return;
+        }
+        Connection connection = null;
+        try {
+            connection = database.getConnection();
+            connection.setAutoCommit(false);
+            for (StorageType portalType : StorageType.values()) {
+                List<PendingPortalWrite> writesOfType = new ArrayList<>();
+                for (PendingPortalWrite write : writes) {
+                    if (write.getPortalType() == portalType) {
+                        writesOfType.add(write);
+                    }
+                }
+                if (!writesOfType.isEmpty()) {
+                    runPortalWrites(connection, writesOfType, portalType);
+                }
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+            connection.close();
+        } catch (SQLException exception) {
+            try {
+                if (connection != null) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                    connection.close();
+                }
+            } catch (SQLException e) {
+                throw new StorageWriteException(e);
+            }
+            throw new StorageWriteException(exception);
+        }
+    }
+
+    private void runPortalWrites(Connection connection, List<PendingPortalWrite> writes, StorageType portalType) throws SQLException {
+        List<PendingPortalWrite> removedPortals = new ArrayList<>();
+        List<PendingPortalWrite> savedPortals = new ArrayList<>();
+        for (PendingPortalWrite write : writes) {
+            if (write.isRemove()) {
+                removedPortals.add(write);
+            }
+            if (write.isSave()) {
+                savedPortals.add(write);
+            }
+        }
+
+        if (!removedPortals.isEmpty()) {
+            try (PreparedStatement removeFlagsStatement = sqlQueryGenerator.generateRemoveFlagsStatement(connection, portalType);
+                 PreparedStatement removePositionsStatement = sqlQueryGenerator.generateRemovePortalPositionsStatement(connection, portalType);
+                 PreparedStatement removePortalStatement = sqlQueryGenerator.generateRemovePortalStatement(connection, portalType)) {
+                for (PendingPortalWrite write : removedPortals) {
+                    SQLQueryGenerator.setPortalIdParameters(removeFlagsStatement, write.getPortal(), 1);
+                    removeFlagsStatement.addBatch();
+                    SQLQueryGenerator.setPortalIdParameters(removePositionsStatement, write.getPortal(), 1);
+                    removePositionsStatement.addBatch();
+                    SQLQueryGenerator.setPortalIdParameters(removePortalStatement, write.getPortal(), 1);
+                    removePortalStatement.addBatch();
+                }
+                removeFlagsStatement.executeBatch();
+                removePositionsStatement.executeBatch();
+                removePortalStatement.executeBatch();
+            }
+        }
+
+        try (PreparedStatement removePositionStatement = sqlQueryGenerator.generateRemovePortalPositionStatement(connection, portalType)) {
+            int batchSize = 0;
+            for (PendingPortalWrite write : writes) {
+                for (PortalPosition portalPosition : write.getRemovedPositions()) {
+                    SQLQueryGenerator.setRemovePortalPositionParameters(removePositionStatement, write.getPortal(), portalPosition);
+                    removePositionStatement.addBatch();
+                    batchSize++;
+                }
+            }
+            if (batchSize > 0) {
+                removePositionStatement.executeBatch();
+            }
+        }
+
+        if (!savedPortals.isEmpty()) {
+            try (PreparedStatement addPortalStatement = sqlQueryGenerator.generateAddPortalStatement(connection, portalType);
+                 PreparedStatement addFlagStatement = sqlQueryGenerator.generateAddPortalFlagRelationStatement(connection, portalType)) {
+                boolean hasFlags = false;
+                for (PendingPortalWrite write : savedPortals) {
+                    RealPortal portal = (RealPortal) write.getPortal();
+                    SQLQueryGenerator.setAddPortalParameters(addPortalStatement, portal, portalType,
+                            write.getSnapshot().metaData());
+                    addPortalStatement.addBatch();
+                    for (Character flagCharacter : write.getSnapshot().flags().toCharArray()) {
+                        setFlagParameters(addFlagStatement, portal, flagCharacter);
+                        addFlagStatement.addBatch();
+                        hasFlags = true;
+                    }
+                }
+                addPortalStatement.executeBatch();
+                if (hasFlags) {
+                    addFlagStatement.executeBatch();
+                }
+            }
+        }
+
+        try (PreparedStatement addPositionStatement = sqlQueryGenerator.generateAddPortalPositionStatement(connection, portalType)) {
+            int batchSize = 0;
+            for (PendingPortalWrite write : savedPortals) {
+                for (PortalPosition portalPosition : write.getSnapshot().positions()) {
+                    PortalStorageHelper.setPortalPositionParameters(addPositionStatement, (RealPortal) write.getPortal(), portalPosition);
+                    addPositionStatement.addBatch();
+                    batchSize++;
+                }
+            }
+            for (PendingPortalWrite write : writes) {
+                for (PortalPosition portalPosition : write.getAddedPositions()) {
+                    PortalStorageHelper.setPortalPositionParameters(addPositionStatement, (RealPortal) write.getPortal(), portalPosition);
+                    addPositionStatement.addBatch();
+                    batchSize++;
+                }
+            }
+            if (batchSize > 0) {
+                addPositionStatement.executeBatch();
+            }
+        }
+
+        try (PreparedStatement setMetaStatement = sqlQueryGenerator.generateSetPortalMetaStatement(connection, portalType)) {
+            int batchSize = 0;
+            for (PendingPortalWrite write : writes) {
+                if (write.isMetaDataSet()) {
+                    setMetaStatement.setString(1, write.getMetaData());
+                    SQLQueryGenerator.setPortalIdParameters(setMetaStatement, write.getPortal(), 2);
+                    setMetaStatement.addBatch();
+                    batchSize++;
+                }
+            }
+            if (batchSize > 0) {
+                setMetaStatement.executeBatch();
+            }
+        }
+    }
+
     /**
      * Loads all portals from the given database of the given portal type into the given registry
      *
@@ -202,12 +367,14 @@ public class SQLDatabase implements StorageAPI {
      */
     private void loadAllPortals(SQLDatabaseAPI database, StorageType portalType, StargateAPI stargateAPI) throws SQLException {
         PortalLoadData portalLoadData;
+        Map<GlobalPortalId, List<PortalPosition>> portalPositions;
         try (Connection connection = database.getConnection()) {
             PreparedStatement statement = sqlQueryGenerator.generateGetAllPortalsStatement(connection, portalType);
 
             ResultSet resultSet = statement.executeQuery();
             portalLoadData = loadPortalsInQuery(resultSet, portalType);
             statement.close();
+            portalPositions = loadAllPortalPositions(connection, portalType);
         }
         String scheduledGateFormatClearing = propertiesDatabase.getProperty(StoredProperty.SCHEDULED_GATE_CLEARING);
         if (scheduledGateFormatClearing != null && Long.parseLong(scheduledGateFormatClearing) > System.currentTimeMillis()) {
@@ -216,27 +383,27 @@ public class SQLDatabase implements StorageAPI {
             invalidGateFormats.addAll(portalLoadData.invalidGates);
         }
 
+        ChunkSnapshotCache snapshotCache = new ChunkSnapshotCache();
         for (PortalData portalData : portalLoadData.loadedPortals) {
-            loadPortal(portalData, stargateAPI);
+            loadPortal(portalData, stargateAPI, portalPositions, snapshotCache);
         }
     }
 
     private PortalLoadData loadPortalsInQuery(ResultSet resultSet, StorageType portalType) throws SQLException {
-        List<PortalData> portalDataList = new ArrayList<>();
-        Set<String> worldsToRemove = new HashSet<>();
-        Set<String> gateFormatsToRemove = new HashSet<>();
-        while (resultSet.next()) {
-            try {
-                PortalData portalData = PortalStorageHelper.loadPortalData(resultSet, portalType);
-                portalDataList.add(portalData);
-            } catch (PortalLoadException e) {
-                switch (e.getFailureType()) {
-                    case WORLD -> worldsToRemove.add(resultSet.getString("world"));
-                    case GATE_FORMAT -> gateFormatsToRemove.add(resultSet.getString("gateFileName"));
-                }
-            }
+        return new PortalDecodePipeline(getPortalLoadingThreads()).decode(resultSet, portalType);
+    }
+
+    /**
+     * Gets the amount of threads to decode loaded portals on
+     *
+     * @return <p>The configured amount of threads, or all but one available processor if not configured</p>
+     */
+    private static int getPortalLoadingThreads() {
+        int configuredThreads = ConfigurationHelper.getInteger(ConfigurationOption.PORTAL_LOADING_THREADS);
+        if (configuredThreads > 0) {
+            return configuredThreads;
         }
-        return new PortalLoadData(portalDataList, worldsToRemove, gateFormatsToRemove);
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
     }
 
     private void removeGateFormats(Collection<String> gateFormatsToRemove, StorageType storageType) throws SQLException {
@@ -252,10 +419,13 @@ public class SQLDatabase implements StorageAPI {
     /**
      * Loads one portal from the given result set into the given registry
      *
-     * @param stargateAPI <p>The stargate API</p>
-     * @throws SQLException <p>If an SQL error occurs</p>
+     * @param portalData         <p>The data of the portal to load</p>
+     * @param stargateAPI        <p>The stargate API</p>
+     * @param allPortalPositions <p>The portal positions of every portal of the portal's storage type</p>
+     * @param snapshotCache      <p>The cache to capture chunk snapshots for validating the portal's gate with</p>
      */
-    private void loadPortal(PortalData portalData, StargateAPI stargateAPI) throws SQLException {
+    private void loadPortal(PortalData portalData, StargateAPI stargateAPI, Map<GlobalPortalId, List<PortalPosition>> allPortalPositions,
+                            ChunkSnapshotCache snapshotCache) {
         if (portalData == null) {
             return;
         }
@@ -275,43 +445,144 @@ public class SQLDatabase implements StorageAPI {
             portalData.flags().add(StargateFlag.NETWORKED);
         }
 
-        final List<PortalPosition> portalPositions = getPortalPositions(portalData, portalData.flags().contains(PortalFlag.LEGACY_INTERSERVER) ? portalData.networkName() : network.getId());
+        final List<PortalPosition> portalPositions = getPortalPositions(allPortalPositions, portalData,
+                portalData.flags().contains(PortalFlag.LEGACY_INTERSERVER) ? portalData.networkName() : network.getId());
+
+        if (ConfigurationHelper.getBoolean(ConfigurationOption.ASYNC_PORTAL_VALIDATION)) {
+            validatePortalGate(portalData, network, stargateAPI, portalPositions, snapshotCache);
+            return;
+        }
 
         //Actually register the gate and its positions
         new StargateRegionTask(portalData.gateData().topLeft()) {
             @Override
             public void run() {
+                registerPortalGate(portalData, network, stargateAPI, portalPositions, null);
+            }
+        }.runNow();
+    }
+
+    /**
+     * Validates the gate of a loaded portal from chunk snapshots off-thread, and then registers it
+     *
+     * <p>Only capturing the snapshots and the final registration is done on the thread owning the gate's chunks. If
+     * the gate cannot be captured, it is validated and registered directly on that thread instead.</p>
+     *
+     * @param portalData      <p>The data of the portal to load</p>
+     * @param network         <p>The network the portal belongs to</p>
+     * @param stargateAPI     <p>The stargate API</p>
+     * @param portalPositions <p>The portal positions of the portal</p>
+     * @param snapshotCache   <p>The cache to capture chunk snapshots with</p>
+     */
+    private void validatePortalGate(PortalData portalData, Network network, StargateAPI stargateAPI,
+                                    List<PortalPosition> portalPositions, ChunkSnapshotCache snapshotCache) {
+        GateData gateData = portalData.gateData();
+        new StargateRegionTask(gateData.topLeft()) {
+            @Override
+            public void run() {
+                long snapshotStart = System.nanoTime();
+                ChunkSnapshotCache.GateSnapshot snapshot;
+                VectorOperation converter;
                 try {
-                    registerPortalGate(portalData, network, stargateAPI, portalPositions);
-                } catch (TranslatableException e) {
-                    Stargate.log(e);
+                    converter = new IntegerVectorOperation(gateData.facing());
+                    converter.setFlipZAxis(gateData.flipZ());
+                    snapshot = snapshotCache.capture(converter, gateData.topLeft(), gateData.gateFormat().getBoundingBox());
                 } catch (InvalidStructureException e) {
-                    Stargate.log(Level.WARNING, String.format(
-                            "The portal %s in %snetwork %s located at %s is in an invalid state, and could therefore not be recreated",
-                            portalData.name(), (portalData.portalType() == StorageType.INTER_SERVER ? "inter-server-" : ""), portalData.networkName(),
-                            portalData.gateData().topLeft()));
+                    snapshot = null;
+                    converter = null;
+                } finally {
+                    StargateStatistic.PORTAL_LOAD_SNAPSHOT_NANOS.add(System.nanoTime() - snapshotStart);
+                }
+                if (snapshot == null) {
+                    registerPortalGate(portalData, network, stargateAPI, portalPositions, null);
+                    return;
                 }
+
+                ChunkSnapshotCache.GateSnapshot capturedSnapshot = snapshot;
+                VectorOperation capturedConverter = converter;
+                new StargateAsyncTask() {
+                    @Override
+                    public void run() {
+                        long validateStart = System.nanoTime();
+                        Boolean structureMatches;
+                        try {
+                            structureMatches = gateData.gateFormat().matches(capturedConverter, gateData.topLeft(),
+                                    capturedSnapshot);
+                        } catch (RuntimeException e) {
+                            // Validate the gate in the world instead, once back on the thread owning its blocks
+                            Stargate.log(Level.WARNING, "Unable to validate the gate of portal " + portalData.name()
+                                    + " from a snapshot");
+                            Stargate.log(e);
+                            structureMatches = null;
+                        } finally {
+                            capturedSnapshot.release();
+                            StargateStatistic.PORTAL_LOAD_VALIDATE_NANOS.add(System.nanoTime() - validateStart);
+                        }
+                        Boolean validatedStructureMatches = structureMatches;
+                        new StargateRegionTask(gateData.topLeft()) {
+                            @Override
+                            public void run() {
+                                registerPortalGate(portalData, network, stargateAPI, portalPositions,
+                                        validatedStructureMatches);
+                            }
+                        }.runNow();
+                    }
+                }.runNow();
             }
         }.runNow();
     }
 
+    /**
+     * Registers the gate and portal positions for the given portal data, logging any failure
+     *
+     * @param portalData       <p>The portal data to register positions for</p>
+     * @param network          <p>The network the portal belongs to</p>
+     * @param stargateAPI      <p>The portal stargate API</p>
+     * @param portalPositions  <p>The portal positions of the portal</p>
+     * @param structureMatches <p>Whether the gate's structure has been found to match its format, or null to check it in the world</p>
+     */
+    private void registerPortalGate(PortalData portalData, Network network, StargateAPI stargateAPI,
+                                    List<PortalPosition> portalPositions, @Nullable Boolean structureMatches) {
+        long registerStart = System.nanoTime();
+        try {
+            registerPortalGateUnchecked(portalData, network, stargateAPI, portalPositions, structureMatches);
+        } catch (TranslatableException e) {
+            Stargate.log(e);
+        } catch (InvalidStructureException e) {
+            Stargate.log(Level.WARNING, String.format(
+                    "The portal %s in %snetwork %s located at %s is in an invalid state, and could therefore not be recreated",
+                    portalData.name(), (portalData.portalType() == StorageType.INTER_SERVER ? "inter-server-" : ""), portalData.networkName(),
+                    portalData.gateData().topLeft()));
+        } finally {
+            StargateStatistic.PORTAL_LOAD_REGISTER_NANOS.add(System.nanoTime() - registerStart);
+        }
+    }
+
     /**
      * Registers the gate and portal positions for the given portal data
      *
-     * @param portalData  <p>The portal data to register positions for</p>
-     * @param network     <p>The network the portal belongs to</p>
-     * @param stargateAPI <p>The portal stargate API</p>
-     * @throws SQLException              <p>If unable to interact with the database</p>
+     * @param portalData       <p>The portal data to register positions for</p>
+     * @param network          <p>The network the portal belongs to</p>
+     * @param stargateAPI      <p>The portal stargate API</p>
+     * @param portalPositions  <p>The portal positions of the portal</p>
+     * @param structureMatches <p>Whether the gate's structure has been found to match its format, or null to check it in the world</p>
      * @throws InvalidStructureException <p>If the portal's gate is invalid</p>
      * @throws TranslatableException     <p>If some input is invalid</p>
      */
-    private void registerPortalGate(PortalData portalData, Network network, StargateAPI stargateAPI, List<PortalPosition> portalPositions) throws
-            InvalidStructureException, TranslatableException {
+    private void registerPortalGateUnchecked(PortalData portalData, Network network, StargateAPI stargateAPI,
+                                             List<PortalPosition> portalPositions, @Nullable Boolean structureMatches)
+            throws InvalidStructureException, TranslatableException {
         Gate gate = new Gate(portalData.gateData(), stargateAPI.getRegistry());
 
         gate.addPortalPositions(portalPositions);
         RealPortal portal = PortalCreationHelper.createPortal(network, portalData, gate, stargateAPI);
-        if (!PortalHelper.portalValidityCheck(portal, stargateAPI.getNetworkManager())) {
+        boolean isValid;
+        try {
+            isValid = structureMatches == null ? gate.isValid() : gate.isValid(structureMatches);
+        } catch (GateConflictException e) {
+            return;
+        }
+        if (!PortalHelper.portalValidityCheck(portal, stargateAPI.getNetworkManager(), isValid)) {
             return;
         }
         if (portal instanceof StargatePortal stargatePortal) {
@@ -382,29 +653,75 @@ public class SQLDatabase implements StorageAPI {
     }
 
     /**
-     * Gets all portal positions for the given portal
+     * Loads the portal positions of every portal of the given storage type in one query
      *
-     * @param portalData <p>The portal data to use for the query</p>
-     * @param id
-     * @return <p>The portal positions belonging to the portal</p>
+     * <p>Querying the positions of each portal separately means one round-trip per portal, which makes loading slow
+     * for remote databases with many portals.</p>
+     *
+     * @param connection <p>The database connection to use</p>
+     * @param portalType <p>The type of the portals to load positions for</p>
+     * @return <p>All portal positions, grouped by the id of the portal they belong to</p>
+     * @throws SQLException <p>If the SQL query fails to successfully execute</p>
+     */
+    private Map<GlobalPortalId, List<PortalPosition>> loadAllPortalPositions(Connection connection, StorageType portalType) throws SQLException {
+        try (PreparedStatement statement = sqlQueryGenerator.generateGetAllPortalPositionsStatement(connection, portalType)) {
+            return loadPortalPositions(statement);
+        }
+    }
+
+    /**
+     * Loads the portal positions of every portal of the given storage type in the given world in one query
+     *
+     * @param connection <p>The database connection to use</p>
+     * @param world      <p>The world to load portal positions in</p>
+     * @param portalType <p>The type of the portals to load positions for</p>
+     * @return <p>The portal positions in the world, grouped by the id of the portal they belong to</p>
      * @throws SQLException <p>If the SQL query fails to successfully execute</p>
      */
-    private List<PortalPosition> getPortalPositions(PortalData portalData, String id) throws SQLException {
-        Connection connection = database.getConnection();
-        PreparedStatement statement = sqlQueryGenerator.generateGetPortalPositionsStatement(connection, portalData.portalType());
-        statement.setString(1, id);
-        statement.setString(2, portalData.name());
+    private Map<GlobalPortalId, List<PortalPosition>> loadPortalPositionsInWorld(Connection connection, World world,
+                                                                                 StorageType portalType) throws SQLException {
+        try (PreparedStatement statement = sqlQueryGenerator.generateGetAllPortalPositionsInWorldStatement(connection,
+                world, portalType)) {
+            return loadPortalPositions(statement);
+        }
+    }
 
-        List<PortalPosition> portalPositions = new ArrayList<>();
+    /**
+     * Loads the portal positions selected by the given statement
+     *
+     * @param statement <p>A statement selecting portal positions</p>
+     * @return <p>The portal positions, grouped by the id of the portal they belong to</p>
+     * @throws SQLException <p>If the SQL query fails to successfully execute</p>
+     */
+    private static Map<GlobalPortalId, List<PortalPosition>> loadPortalPositions(PreparedStatement statement) throws SQLException {
+        Map<GlobalPortalId, List<PortalPosition>> portalPositions = new HashMap<>();
+        statement.setFetchSize(PORTAL_POSITION_FETCH_SIZE);
         ResultSet resultSet = statement.executeQuery();
         while (resultSet.next()) {
-            portalPositions.add(PortalStorageHelper.loadPortalPosition(resultSet));
+            GlobalPortalId portalId = new GlobalPortalId(resultSet.getString("portalName"), resultSet.getString("networkName"));
+            portalPositions.computeIfAbsent(portalId, key -> new ArrayList<>()).add(PortalStorageHelper.loadPortalPosition(resultSet));
         }
-        statement.close();
-        connection.close();
         return portalPositions;
     }
 
+    /**
+     * Gets all portal positions for the given portal
+     *
+     * @param allPortalPositions <p>The portal positions of every loaded portal, grouped by portal id</p>
+     * @param portalData         <p>The portal data of the portal</p>
+     * @param networkId          <p>The id of the network the portal belongs to</p>
+     * @return <p>The portal positions belonging to the portal</p>
+     */
+    private static List<PortalPosition> getPortalPositions(Map<GlobalPortalId, List<PortalPosition>> allPortalPositions,
+                                                           PortalData portalData, String networkId) {
+        List<PortalPosition> portalPositions = allPortalPositions.get(new GlobalPortalId(portalData.name(), networkId));
+        if (portalPositions == null) {
+            // The network might have been renamed while loading, after the positions were read with the stored name
+            portalPositions = allPortalPositions.get(new GlobalPortalId(portalData.name(), portalData.networkName()));
+        }
+        return portalPositions == null ? new ArrayList<>() : portalPositions;
+    }
+
     /**
      * Adds a portal position to the portal positions table
      *
@@ -432,11 +749,14 @@ public class SQLDatabase implements StorageAPI {
     }
 
     private void addFlag(PreparedStatement addFlagStatement, Portal portal, Character flagCharacter) throws SQLException {
+        setFlagParameters(addFlagStatement, portal, flagCharacter);
+        addFlagStatement.execute();
+    }
+
+    private void setFlagParameters(PreparedStatement addFlagStatement, Portal portal, Character flagCharacter) throws SQLException {
         Stargate.log(Level.FINER, "Adding flag " + flagCharacter + " to portal: " + portal);
-        addFlagStatement.setString(1, portal.getName());
-        addFlagStatement.setString(2, portal.getNetwork().getId());
+        SQLQueryGenerator.setPortalIdParameters(addFlagStatement, portal, 1);
         addFlagStatement.setString(3, String.valueOf(flagCharacter));
-        addFlagStatement.execute();
     }
 
     /**
@@ -651,9 +971,11 @@ public class SQLDatabase implements StorageAPI {
     @Override
     public void loadPortalsInWorld(World world, StorageType storageType, StargateAPI stargateAPI) throws StorageReadException, StorageWriteException {
         PortalLoadData portalLoadData;
+        Map<GlobalPortalId, List<PortalPosition>> portalPositions;
         try (Connection connection = database.getConnection()) {
             ResultSet resultSet = sqlQueryGenerator.generateLoadPortalsInWorldStatement(connection, world, storageType).executeQuery();
             portalLoadData = loadPortalsInQuery(resultSet, storageType);
+            portalPositions = loadPortalPositionsInWorld(connection, world, storageType);
         } catch (SQLException e) {
             throw new StorageReadException(e);
         }
@@ -669,16 +991,13 @@ public class SQLDatabase implements StorageAPI {
             invalidGateFormats.addAll(portalLoadData.invalidGates);
         }
 
+        ChunkSnapshotCache snapshotCache = new ChunkSnapshotCache();
         for (PortalData portalData : portalLoadData.loadedPortals) {
-            try {
-                loadPortal(portalData, stargateAPI);
-            } catch (SQLException e) {
-                throw new StorageReadException(e);
-            }
+            loadPortal(portalData, stargateAPI, portalPositions, snapshotCache);
         }
     }
 
-    private record PortalLoadData(Collection<PortalData> loadedPortals, Collection<String> invalidWorlds,
+    record PortalLoadData(Collection<PortalData> loadedPortals, Collection<String> invalidWorlds,
                                   Collection<String> invalidGates) {
 
     }
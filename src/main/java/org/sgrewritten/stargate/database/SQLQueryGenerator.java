@@ -187,31 +187,63 @@ public class SQLQueryGenerator {
      * @throws SQLException <p>If unable to prepare the statement</p>
      */
     public PreparedStatement generateRemovePortalPositionsStatement(Connection connection, StorageType portalType, Portal portal) throws SQLException {
-        PreparedStatement removePositionsStatement;
+        PreparedStatement removePositionsStatement = generateRemovePortalPositionsStatement(connection, portalType);
+        setPortalIdParameters(removePositionsStatement, portal, 1);
+        return removePositionsStatement;
+    }
+
+    /**
+     * Gets a prepared statement for removing all positions of a portal, without setting its parameters
+     *
+     * @param connection <p>The database connection to use</p>
+     * @param portalType <p>The type of the portal (used to determine which table to select from)</p>
+     * @return <p>A prepared statement</p>
+     * @throws SQLException <p>If unable to prepare the statement</p>
+     */
+    public PreparedStatement generateRemovePortalPositionsStatement(Connection connection, StorageType portalType) throws SQLException {
         if (portalType == StorageType.LOCAL) {
-            removePositionsStatement = prepareQuery(connection, getQuery(SQLQuery.DELETE_PORTAL_POSITIONS));
+            return prepareQuery(connection, getQuery(SQLQuery.DELETE_PORTAL_POSITIONS));
         } else {
-            removePositionsStatement = prepareQuery(connection, getQuery(SQLQuery.DELETE_INTER_PORTAL_POSITIONS));
+            return prepareQuery(connection, getQuery(SQLQuery.DELETE_INTER_PORTAL_POSITIONS));
         }
-        removePositionsStatement.setString(1, portal.getName());
-        removePositionsStatement.setString(2, portal.getNetwork().getId());
-        return removePositionsStatement;
     }
 
     public PreparedStatement generateRemovePortalPositionStatement(Connection connection, StorageType portalType, Portal portal, PortalPosition portalPosition) throws SQLException {
-        PreparedStatement removePositionsStatement;
+        PreparedStatement removePositionsStatement = generateRemovePortalPositionStatement(connection, portalType);
+        setRemovePortalPositionParameters(removePositionsStatement, portal, portalPosition);
+        return removePositionsStatement;
+    }
+
+    /**
+     * Gets a prepared statement for removing one position of a portal, without setting its parameters
+     *
+     * @param connection <p>The database connection to use</p>
+     * @param portalType <p>The type of the portal (used to determine which table to select from)</p>
+     * @return <p>A prepared statement</p>
+     * @throws SQLException <p>If unable to prepare the statement</p>
+     */
+    public PreparedStatement generateRemovePortalPositionStatement(Connection connection, StorageType portalType) throws SQLException {
         if (portalType == StorageType.LOCAL) {
-            removePositionsStatement = prepareQuery(connection, getQuery(SQLQuery.DELETE_PORTAL_POSITION));
+            return prepareQuery(connection, getQuery(SQLQuery.DELETE_PORTAL_POSITION));
         } else {
-            removePositionsStatement = prepareQuery(connection, getQuery(SQLQuery.DELETE_INTER_PORTAL_POSITION));
+            return prepareQuery(connection, getQuery(SQLQuery.DELETE_INTER_PORTAL_POSITION));
         }
-        removePositionsStatement.setString(1, portal.getName());
-        removePositionsStatement.setString(2, portal.getNetwork().getId());
+    }
+
+    /**
+     * Sets the parameters of a statement for removing one position of a portal
+     *
+     * @param statement      <p>A statement prepared by {@link #generateRemovePortalPositionStatement(Connection, StorageType)}</p>
+     * @param portal         <p>The portal owning the portal position</p>
+     * @param portalPosition <p>The portal position to remove</p>
+     * @throws SQLException <p>If unable to set the parameters</p>
+     */
+    public static void setRemovePortalPositionParameters(PreparedStatement statement, Portal portal, PortalPosition portalPosition) throws SQLException {
+        setPortalIdParameters(statement, portal, 1);
         BlockVector positionLocation = portalPosition.getRelativePositionLocation();
-        removePositionsStatement.setInt(3, positionLocation.getBlockX());
-        removePositionsStatement.setInt(4, positionLocation.getBlockY());
-        removePositionsStatement.setInt(5, -positionLocation.getBlockZ());
-        return removePositionsStatement;
+        statement.setInt(3, positionLocation.getBlockX());
+        statement.setInt(4, positionLocation.getBlockY());
+        statement.setInt(5, -positionLocation.getBlockZ());
     }
 
     /**
@@ -230,6 +262,44 @@ public class SQLQueryGenerator {
         }
     }
 
+    /**
+     * Gets a prepared statement for getting the portal positions of every portal
+     *
+     * @param connection <p>The database connection to use</p>
+     * @param portalType <p>The type of the portal (used to determine which table to select from)</p>
+     * @return <p>A prepared statement</p>
+     * @throws SQLException <p>If unable to prepare the statement</p>
+     */
+    public PreparedStatement generateGetAllPortalPositionsStatement(Connection connection, StorageType portalType) throws SQLException {
+        if (portalType == StorageType.LOCAL) {
+            return prepareQuery(connection, getQuery(SQLQuery.GET_ALL_PORTAL_POSITIONS));
+        } else {
+            return prepareQuery(connection, getQuery(SQLQuery.GET_ALL_INTER_PORTAL_POSITIONS));
+        }
+    }
+
+    /**
+     * Gets a prepared statement for getting the portal positions of every portal in a world
+     *
+     * @param connection <p>The database connection to use</p>
+     * @param world      <p>The world to get the portal positions in</p>
+     * @param portalType <p>The type of the portal (used to determine which table to select from)</p>
+     * @return <p>A prepared statement</p>
+     * @throws SQLException <p>If unable to prepare the statement</p>
+     */
+    public PreparedStatement generateGetAllPortalPositionsInWorldStatement(Connection connection, World world,
+                                                                           StorageType portalType) throws SQLException {
+        PreparedStatement statement;
+        if (portalType == StorageType.LOCAL) {
+            statement = prepareQuery(connection, getQuery(SQLQuery.GET_ALL_PORTAL_POSITIONS_IN_WORLD));
+        } else {
+            statement = prepareQuery(connection, getQuery(SQLQuery.GET_ALL_INTER_PORTAL_POSITIONS_IN_WORLD));
+            statement.setString(2, Stargate.getServerUUID());
+        }
+        statement.setString(1, world.getUID().toString());
+        return statement;
+    }
+
     /**
      * Gets a prepared statement for creating the flag table
      *
@@ -336,16 +406,25 @@ public class SQLQueryGenerator {
      */
     public PreparedStatement generateRemoveFlagsStatement(Connection connection,
                                                           StorageType portalType, Portal portal) throws SQLException {
-        String stringStatement;
+        PreparedStatement removeFlagsStatement = generateRemoveFlagsStatement(connection, portalType);
+        setPortalIdParameters(removeFlagsStatement, portal, 1);
+        return removeFlagsStatement;
+    }
+
+    /**
+     * Gets a prepared statement for removing the relation between a portal and its flags, without setting its parameters
+     *
+     * @param connection <p>The database connection to use</p>
+     * @param portalType <p>The portal type to remove the flags from</p>
+     * @return <p>A prepared statement</p>
+     * @throws SQLException <p>If unable to prepare the statement</p>
+     */
+    public PreparedStatement generateRemoveFlagsStatement(Connection connection, StorageType portalType) throws SQLException {
         if (portalType == StorageType.LOCAL) {
-            stringStatement = getQuery(SQLQuery.DELETE_PORTAL_FLAG_RELATIONS);
+            return prepareQuery(connection, getQuery(SQLQuery.DELETE_PORTAL_FLAG_RELATIONS));
         } else {
-            stringStatement = getQuery(SQLQuery.DELETE_INTER_PORTAL_FLAG_RELATIONS);
+            return prepareQuery(connection, getQuery(SQLQuery.DELETE_INTER_PORTAL_FLAG_RELATIONS));
         }
-        PreparedStatement removeFlagsStatement = prepareQuery(connection, stringStatement);
-        removeFlagsStatement.setString(1, portal.getName());
-        removeFlagsStatement.setString(2, portal.getNetwork().getId());
-        return removeFlagsStatement;
     }
 
     /**
@@ -385,17 +464,51 @@ public class SQLQueryGenerator {
      */
     public PreparedStatement generateAddPortalStatement(Connection connection, RealPortal portal,
                                                         StorageType portalType) throws SQLException {
-        boolean isInterServer = (portalType == StorageType.INTER_SERVER);
-        String statementMessage;
-        if (isInterServer) {
-            statementMessage = getQuery(SQLQuery.INSERT_INTER_PORTAL);
+        PreparedStatement statement = generateAddPortalStatement(connection, portalType);
+        setAddPortalParameters(statement, portal, portalType);
+        return statement;
+    }
+
+    /**
+     * Gets a prepared statement for adding a portal, without setting its parameters
+     *
+     * @param connection <p>The database connection to use</p>
+     * @param portalType <p>The type of the portal (used to determine which table to update)</p>
+     * @return <p>A prepared statement</p>
+     * @throws SQLException <p>If unable to prepare the statement</p>
+     */
+    public PreparedStatement generateAddPortalStatement(Connection connection, StorageType portalType) throws SQLException {
+        if (portalType == StorageType.INTER_SERVER) {
+            return prepareQuery(connection, getQuery(SQLQuery.INSERT_INTER_PORTAL));
         } else {
-            statementMessage = getQuery(SQLQuery.INSERT_PORTAL);
+            return prepareQuery(connection, getQuery(SQLQuery.INSERT_PORTAL));
         }
-        statementMessage = tableNameConfiguration.replaceKnownTableNames(statementMessage);
+    }
 
-        PreparedStatement statement = connection.prepareStatement(statementMessage);
+    /**
+     * Sets the parameters of a statement for adding a portal
+     *
+     * @param statement  <p>A statement prepared by {@link #generateAddPortalStatement(Connection, StorageType)}</p>
+     * @param portal     <p>The portal to add</p>
+     * @param portalType <p>The type of the portal</p>
+     * @throws SQLException <p>If unable to set the parameters</p>
+     */
+    public static void setAddPortalParameters(PreparedStatement statement, RealPortal portal, StorageType portalType) throws SQLException {
+        setAddPortalParameters(statement, portal, portalType, portal.getMetadata());
+    }
 
+    /**
+     * Sets the parameters of a statement for adding a portal, with the given metadata
+     *
+     * @param statement  <p>A statement prepared by {@link #generateAddPortalStatement(Connection, StorageType)}</p>
+     * @param portal     <p>The portal to add</p>
+     * @param portalType <p>The type of the portal</p>
+     * @param metaData   <p>The metadata to add the portal with</p>
+     * @throws SQLException <p>If unable to set the parameters</p>
+     */
+    public static void setAddPortalParameters(PreparedStatement statement, RealPortal portal, StorageType portalType,
+                                              String metaData) throws SQLException {
+        boolean isInterServer = (portalType == StorageType.INTER_SERVER);
         statement.setString(1, portal.getNetwork().getId());
         statement.setString(2, portal.getName());
         String destinationName = portal.getBehavior().getDestinationName();
@@ -419,13 +532,10 @@ public class SQLQueryGenerator {
 
         if (isInterServer) {
             statement.setString(12, Stargate.getServerUUID());
-            statement.setString(13, portal.getMetadata());
+            statement.setString(13, metaData);
         } else {
-            statement.setString(12, portal.getMetadata());
+            statement.setString(12, metaData);
         }
-
-        Stargate.log(Level.FINEST, "sql query: " + statementMessage);
-        return statement;
     }
 
     /**
@@ -439,19 +549,25 @@ public class SQLQueryGenerator {
      */
     public PreparedStatement generateRemovePortalStatement(Connection connection, Portal portal,
                                                            StorageType portalType) throws SQLException {
-        String statementMessage;
+        PreparedStatement statement = generateRemovePortalStatement(connection, portalType);
+        setPortalIdParameters(statement, portal, 1);
+        return statement;
+    }
+
+    /**
+     * Gets a prepared statement for removing a portal, without setting its parameters
+     *
+     * @param connection <p>The database connection to use</p>
+     * @param portalType <p>The type of the portal (used to determine which table to update)</p>
+     * @return <p>A prepared statement</p>
+     * @throws SQLException <p>If unable to prepare the statement</p>
+     */
+    public PreparedStatement generateRemovePortalStatement(Connection connection, StorageType portalType) throws SQLException {
         if (portalType == StorageType.LOCAL) {
-            statementMessage = getQuery(SQLQuery.DELETE_PORTAL);
+            return prepareQuery(connection, getQuery(SQLQuery.DELETE_PORTAL));
         } else {
-            statementMessage = getQuery(SQLQuery.DELETE_INTER_PORTAL);
+            return prepareQuery(connection, getQuery(SQLQuery.DELETE_INTER_PORTAL));
         }
-        statementMessage = tableNameConfiguration.replaceKnownTableNames(statementMessage);
-
-        PreparedStatement statement = connection.prepareStatement(statementMessage);
-        statement.setString(1, portal.getName());
-        statement.setString(2, portal.getNetwork().getId());
-        Stargate.log(Level.FINEST, "sql query: " + statementMessage);
-        return statement;
     }
 
     /**
@@ -556,16 +672,37 @@ public class SQLQueryGenerator {
      * @throws SQLException <p>If the syntax is incorrect or any other sql faults</p>
      */
     public PreparedStatement generateSetPortalMetaStatement(Connection connection, Portal portal, String meta, StorageType portalType) throws SQLException {
-        PreparedStatement statement;
+        PreparedStatement statement = generateSetPortalMetaStatement(connection, portalType);
+        statement.setString(1, meta);
+        setPortalIdParameters(statement, portal, 2);
+        return statement;
+    }
+
+    /**
+     * @param connection <p>A sql connection to the database</p>
+     * @param portalType <p>how the portal is being stored</p>
+     * @return <p>A prepared statement that can modify the metadata of a portal, without its parameters set</p>
+     * @throws SQLException <p>If the syntax is incorrect or any other sql faults</p>
+     */
+    public PreparedStatement generateSetPortalMetaStatement(Connection connection, StorageType portalType) throws SQLException {
         if (portalType == StorageType.LOCAL) {
-            statement = prepareQuery(connection, getQuery(SQLQuery.SET_PORTAL_META));
+            return prepareQuery(connection, getQuery(SQLQuery.SET_PORTAL_META));
         } else {
-            statement = prepareQuery(connection, getQuery(SQLQuery.SET_INTER_PORTAL_META));
+            return prepareQuery(connection, getQuery(SQLQuery.SET_INTER_PORTAL_META));
         }
-        statement.setString(1, meta);
-        statement.setString(2, portal.getName());
-        statement.setString(3, portal.getNetwork().getId());
-        return statement;
+    }
+
+    /**
+     * Sets the name and network of the given portal as two consecutive parameters of the given statement
+     *
+     * @param statement  <p>The statement to set the parameters of</p>
+     * @param portal     <p>The portal to identify</p>
+     * @param firstIndex <p>The index of the parameter to set the name of the portal to</p>
+     * @throws SQLException <p>If unable to set the parameters</p>
+     */
+    public static void setPortalIdParameters(PreparedStatement statement, Portal portal, int firstIndex) throws SQLException {
+        statement.setString(firstIndex, portal.getName());
+        statement.setString(firstIndex + 1, portal.getNetwork().getId());
     }
 
     /**
@@ -0,0 +1,489 @@
+package org.sgrewritten.stargate.database;
+
+import org.bukkit.World;
+import org.sgrewritten.stargate.Stargate;
+import org.sgrewritten.stargate.api.StargateAPI;
+import org.sgrewritten.stargate.api.database.StorageAPI;
+import org.sgrewritten.stargate.api.network.Network;
+import org.sgrewritten.stargate.api.network.portal.Portal;
+import org.sgrewritten.stargate.api.network.portal.PortalPosition;
+import org.sgrewritten.stargate.api.network.portal.RealPortal;
+import org.sgrewritten.stargate.exception.StargateInitializationException;
+import org.sgrewritten.stargate.exception.UnimplementedFlagException;
+import org.sgrewritten.stargate.exception.database.StorageReadException;
+import org.sgrewritten.stargate.exception.database.StorageWriteException;
+import org.sgrewritten.stargate.exception.name.InvalidNameException;
+import org.sgrewritten.stargate.exception.name.NameLengthException;
+import org.sgrewritten.stargate.network.NetworkType;
+import org.sgrewritten.stargate.network.StorageType;
+import org.sgrewritten.stargate.network.portal.GlobalPortalId;
+import org.sgrewritten.stargate.network.portal.StargatePortal;
+import org.sgrewritten.stargate.thread.task.StargateGlobalTask;
+import org.sgrewritten.stargate.thread.task.StargateQueuedAsyncTask;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+
+/**
+ * A write-behind layer in front of an SQL database
+ *
+ * <p>Saving and removing portals, and changing their positions and metadata, is only recorded when requested. The
+ * recorded changes are coalesced per portal, and written as batches in one transaction once enough portals have
+ * changed, or some time after the first change. Any other operation writes the recorded changes first, so that the
+ * database sees every change in the order it was requested.</p>
+ *
+ * <p>If a batch fails, its changes are written again one portal at a time, so that one bad write does not hold back
+ * the changes of every other portal. The changes of a portal which keep failing are dropped after
+ * {@value #MAX_WRITE_ATTEMPTS} attempts.</p>
+ */
+public class WriteBehindStorage implements StorageAPI {
+
+    private static final int DEFAULT_MAX_PENDING_PORTALS = 128;
+    private static final long DEFAULT_FLUSH_DELAY_TICKS = 20;
+    private static final int MAX_WRITE_ATTEMPTS = 5;
+
+    private final SQLDatabase database;
+    private final int maxPendingPortals;
+    private final long flushDelayTicks;
+    private final Object flushLock = new Object();
+    private Map<PortalKey, PendingPortalWrite> pendingWrites = new LinkedHashMap<>();
+    private boolean flushScheduled;
+    private boolean flushQueued;
+
+    /**
+     * Instantiates a new write-behind storage
+     *
+     * @param database <p>The database to write to</p>
+     */
+    public WriteBehindStorage(SQLDatabase database) {
+        this(database, DEFAULT_MAX_PENDING_PORTALS, DEFAULT_FLUSH_DELAY_TICKS);
+    }
+
+    /**
+     * Instantiates a new write-behind storage
+     *
+     * @param database          <p>The database to write to</p>
+     * @param maxPendingPortals <p>The amount of changed portals to immediately write the changes at</p>
+     * @param flushDelayTicks   <p>The amount of ticks to wait after the first change before writing the changes</p>
+     */
+    public WriteBehindStorage(SQLDatabase database, int maxPendingPortals, long flushDelayTicks) {
+        if (maxPendingPortals < 1) {
+            throw new IllegalArgumentException("The maximum amount of pending portals must be positive");
+        }
+        this.database = database;
+        this.maxPendingPortals = maxPendingPortals;
+        this.flushDelayTicks = flushDelayTicks;
+    }
+
+    /**
+     * Writes all recorded changes to the database
+     *
+     * <p>Writing happens on the calling thread, and only one flush runs at a time. Called on shutdown, to make sure
+     * no changes are lost.</p>
+     *
+     * @throws StorageWriteException <p>If unable to write the changes of some portals. The changes of any other portal
+     *                               are written, and the failed changes are kept and written again later</p>
+     */
+    public void flush() throws StorageWriteException {
+        synchronized (flushLock) {
+            Map<PortalKey, PendingPortalWrite> writes;
+            synchronized (this) {
+                if (pendingWrites.isEmpty()) {
+                    return;
+                }
+                writes = pendingWrites;
+                pendingWrites = new LinkedHashMap<>();
+                flushScheduled = false;
+                flushQueued = false;
+            }
+            Stargate.log(Level.FINER, "Writing the changes of " + writes.size() + " portals to storage");
+            try {
+                database.runPortalWrites(writes.values());
+                return;
+            } catch (StorageWriteException e) {
+                if (writes.size() == 1) {
+                    retainFailedWrites(writes, e);
+                    restoreFailedWrites(writes);
+                    throw e;
+                }
+                Stargate.log(Level.WARNING, "Unable to write the changes of " + writes.size()
+                        + " portals as one batch, writing them one portal at a time");
+            }
+            StorageWriteException firstException = writeSeparately(writes);
+            restoreFailedWrites(writes);
+            if (firstException != null) {
+                throw firstException;
+            }
+        }
+    }
+
+    /**
+     * @return <p>The amount of portals with changes which have not been written yet</p>
+     */
+    public synchronized int getPendingPortalCount() {
+        return pendingWrites.size();
+    }
+
+    /**
+     * Loads the given database API, after writing all recorded changes
+     *
+     * @param databaseAPI <p>The database API to get a connection from</p>
+     * @throws StargateInitializationException <p>If unable to initialize the database</p>
+     */
+    public void load(SQLDatabaseAPI databaseAPI) throws StargateInitializationException {
+        synchronized (flushLock) {
+            flushAndLog();
+            database.load(databaseAPI);
+        }
+    }
+
+    @Override
+    public void loadFromStorage(StargateAPI stargateAPI) throws StorageReadException {
+        synchronized (flushLock) {
+            flushAndLog();
+            database.loadFromStorage(stargateAPI);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The portal is only recorded to be written later, along with a snapshot of its positions, flags and metadata.
+     * Positions and metadata changed before the portal is written are applied to the snapshot.</p>
+     *
+     * @return <p>Whether the portal was recorded to be written, which fails if its state could not be read</p>
+     */
+    @Override
+    public boolean savePortalToStorage(RealPortal portal) {
+        PendingPortalWrite.PortalSnapshot snapshot;
+        try {
+            snapshot = PendingPortalWrite.PortalSnapshot.of(portal);
+        } catch (RuntimeException e) {
+            Stargate.log(e);
+            return false;
+        }
+        synchronized (this) {
+            getPendingWrite(portal, portal.getStorageType()).save(portal, snapshot);
+            onWriteRecorded();
+        }
+        // The portal is as good as saved, as any later change to it is written after it
+        if (portal instanceof StargatePortal stargatePortal) {
+            stargatePortal.setSavedToStorage();
+        }
+        return true;
+    }
+
+    @Override
+    public void removePortalFromStorage(Portal portal) {
+        synchronized (this) {
+            if (getPendingWrite(portal, portal.getStorageType()).remove()) {
+                pendingWrites.remove(PortalKey.of(portal, portal.getStorageType()));
+                return;
+            }
+            onWriteRecorded();
+        }
+    }
+
+    @Override
+    public void setPortalMetaData(Portal portal, String data, StorageType portalType) {
+        synchronized (this) {
+            getPendingWrite(portal, portalType).setMetaData(data);
+            onWriteRecorded();
+        }
+    }
+
+    @Override
+    public String getPortalMetaData(Portal portal, StorageType portalType) throws StorageReadException {
+        synchronized (this) {
+            PendingPortalWrite pendingWrite = pendingWrites.get(PortalKey.of(portal, portalType));
+            if (pendingWrite != null && pendingWrite.hasPendingMetaData()) {
+                return pendingWrite.getPendingMetaData();
+            }
+        }
+        synchronized (flushLock) {
+            flushAndLog();
+            return database.getPortalMetaData(portal, portalType);
+        }
+    }
+
+    @Override
+    public void setPortalPositionMetaData(RealPortal portal, PortalPosition portalPosition, String data,
+                                          StorageType portalType) throws StorageWriteException {
+        synchronized (flushLock) {
+            flushAndLog();
+            database.setPortalPositionMetaData(portal, portalPosition, data, portalType);
+        }
+    }
+
+    @Override
+    public String getPortalPositionMetaData(Portal portal, PortalPosition portalPosition,
+                                            StorageType portalType) throws StorageReadException {
+        synchronized (flushLock) {
+            flushAndLog();
+            return database.getPortalPositionMetaData(portal, portalPosition, portalType);
+        }
+    }
+
+    @Override
+    public Network createNetwork(String networkName, NetworkType type, StorageType storageType) throws InvalidNameException, NameLengthException, UnimplementedFlagException {
+        return database.createNetwork(networkName, type, storageType);
+    }
+
+    @Override
+    public void startInterServerConnection() throws StorageWriteException {
+        synchronized (flushLock) {
+            flushAndLog();
+            database.startInterServerConnection();
+        }
+    }
+
+    @Override
+    public void addFlagType(char flagChar) throws StorageWriteException {
+        synchronized (flushLock) {
+            flushAndLog();
+            database.addFlagType(flagChar);
+        }
+    }
+
+    @Override
+    public void addPortalPositionType(String portalPositionTypeName) throws StorageWriteException {
+        synchronized (flushLock) {
+            flushAndLog();
+            database.addPortalPositionType(portalPositionTypeName);
+        }
+    }
+
+    @Override
+    public void addFlag(Character flagChar, Portal portal, StorageType portalType) throws StorageWriteException {
+        synchronized (flushLock) {
+            flushAndLog();
+            database.addFlag(flagChar, portal, portalType);
+        }
+    }
+
+    @Override
+    public void removeFlag(Character flagChar, Portal portal, StorageType portalType) throws StorageWriteException {
+        synchronized (flushLock) {
+            flushAndLog();
+            database.removeFlag(flagChar, portal, portalType);
+        }
+    }
+
+    @Override
+    public void addPortalPosition(RealPortal portal, StorageType portalType, PortalPosition portalPosition) {
+        synchronized (this) {
+            getPendingWrite(portal, portalType).addPosition(portal, portalPosition);
+            onWriteRecorded();
+        }
+    }
+
+    @Override
+    public void removePortalPosition(RealPortal portal, StorageType portalType, PortalPosition portalPosition) {
+        synchronized (this) {
+            getPendingWrite(portal, portalType).removePosition(portalPosition);
+            onWriteRecorded();
+        }
+    }
+
+    @Override
+    public void updateNetworkName(String newName, String networkName, StorageType portalType) throws StorageWriteException {
+        synchronized (flushLock) {
+            flushAndLog();
+            database.updateNetworkName(newName, networkName, portalType);
+        }
+    }
+
+    @Override
+    public void updatePortalName(String newName, GlobalPortalId portalId, StorageType portalType) throws StorageWriteException {
+        synchronized (flushLock) {
+            flushAndLog();
+            database.updatePortalName(newName, portalId, portalType);
+        }
+    }
+
+    @Override
+    public boolean netWorkExists(String netName, StorageType portalType) throws StorageReadException {
+        synchronized (flushLock) {
+            flushAndLog();
+            return database.netWorkExists(netName, portalType);
+        }
+    }
+
+    @Override
+    public Set<String> getScheduledGatesClearing() {
+        return database.getScheduledGatesClearing();
+    }
+
+    @Override
+    public void loadPortalsInWorld(World world, StorageType storageType, StargateAPI stargateAPI) throws StorageReadException, StorageWriteException {
+        synchronized (flushLock) {
+            flushAndLog();
+            database.loadPortalsInWorld(world, storageType, stargateAPI);
+        }
+    }
+
+    /**
+     * Gets the recorded changes of the given portal, recording a new entry if necessary
+     *
+     * <p>The portal is identified by its current name, network and storage type, which is also how the database
+     * identifies it.</p>
+     *
+     * @param portal     <p>The portal to get the changes of</p>
+     * @param portalType <p>How the portal is stored</p>
+     * @return <p>The recorded changes of the portal</p>
+     */
+    private PendingPortalWrite getPendingWrite(Portal portal, StorageType portalType) {
+        return pendingWrites.computeIfAbsent(PortalKey.of(portal, portalType),
+                portalKey -> new PendingPortalWrite(portal, portalType));
+    }
+
+    /**
+     * Schedules writing the recorded changes, if not already scheduled
+     *
+     * <p>Must be called while holding the lock of this object.</p>
+     */
+    private void onWriteRecorded() {
+        if (pendingWrites.size() >= maxPendingPortals) {
+            if (!flushQueued) {
+                flushQueued = true;
+                queueFlush();
+            }
+            return;
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * Writes the recorded changes some time from now, if not already scheduled
+     *
+     * <p>Must be called while holding the lock of this object.</p>
+     */
+    private void scheduleFlush() {
+        if (!flushScheduled) {
+            flushScheduled = true;
+            new StargateGlobalTask() {
+                @Override
+                public void run() {
+                    queueFlush();
+                }
+            }.runDelayed(flushDelayTicks);
+        }
+    }
+
+    /**
+     * Writes the given changes one portal at a time, keeping only the changes which could not be written
+     *
+     * @param writes <p>The changes to write, which are left with the changes to write again</p>
+     * @return <p>The first exception thrown while writing, or null if every change was written</p>
+     */
+    private StorageWriteException writeSeparately(Map<PortalKey, PendingPortalWrite> writes) {
+        StorageWriteException firstException = null;
+        Iterator<PendingPortalWrite> iterator = writes.values().iterator();
+        while (iterator.hasNext()) {
+            PendingPortalWrite write = iterator.next();
+            try {
+                database.runPortalWrites(List.of(write));
+                iterator.remove();
+            } catch (StorageWriteException e) {
+                if (firstException == null) {
+                    firstException = e;
+                }
+                if (isDropped(write, e)) {
+                    iterator.remove();
+                }
+            }
+        }
+        return firstException;
+    }
+
+    /**
+     * Keeps the given failed changes to write again, unless they have failed too often
+     *
+     * @param failedWrites <p>The changes which could not be written</p>
+     * @param exception    <p>The exception thrown while writing</p>
+     */
+    private void retainFailedWrites(Map<PortalKey, PendingPortalWrite> failedWrites, StorageWriteException exception) {
+        failedWrites.values().removeIf(write -> isDropped(write, exception));
+    }
+
+    /**
+     * Counts a failed attempt at writing the given changes, and drops them if they have failed too often
+     *
+     * @param write     <p>The changes which could not be written</p>
+     * @param exception <p>The exception thrown while writing</p>
+     * @return <p>True if the changes are dropped</p>
+     */
+    private boolean isDropped(PendingPortalWrite write, StorageWriteException exception) {
+        if (write.recordFailedAttempt() < MAX_WRITE_ATTEMPTS) {
+            return false;
+        }
+        Stargate.log(Level.SEVERE, "Dropping the changes of portal " + write.getPortal().getName() + " after "
+                + MAX_WRITE_ATTEMPTS + " failed attempts at writing them");
+        Stargate.log(exception);
+        return true;
+    }
+
+    /**
+     * Records the changes of a failed write again, in front of any changes recorded since, and tries again later
+     *
+     * @param failedWrites <p>The changes which could not be written</p>
+     */
+    private synchronized void restoreFailedWrites(Map<PortalKey, PendingPortalWrite> failedWrites) {
+        if (failedWrites.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<PortalKey, PendingPortalWrite> laterWrite : pendingWrites.entrySet()) {
+            failedWrites.merge(laterWrite.getKey(), laterWrite.getValue(),
+                    (failedWrite, later) -> failedWrite.addLaterChanges(later) ? null : failedWrite);
+        }
+        pendingWrites = failedWrites;
+        if (pendingWrites.isEmpty()) {
+            return;
+        }
+        Stargate plugin = Stargate.getInstance();
+        // Nothing can be scheduled while disabling, in which case the changes are lost anyway
+        if (plugin != null && plugin.isEnabled()) {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Writes the recorded changes in the asynchronous queue
+     *
+     * <p>Flushes are not keyed, as they write the changes of every portal at once. They therefore all run on the same
+     * stripe of the queue, in order, which is no loss as the flush lock lets only one flush write at a time anyway.</p>
+     */
+    private void queueFlush() {
+        new StargateQueuedAsyncTask() {
+            @Override
+            public void run() {
+                flushAndLog();
+            }
+        }.runNow();
+    }
+
+    private void flushAndLog() {
+        try {
+            flush();
+        } catch (StorageWriteException e) {
+            Stargate.log(e);
+        }
+    }
+
+    /**
+     * The key of the recorded changes of one portal
+     *
+     * @param portalId   <p>The id of the portal</p>
+     * @param portalType <p>How the portal is stored</p>
+     */
+    private record PortalKey(GlobalPortalId portalId, StorageType portalType) {
+
+        private static PortalKey of(Portal portal, StorageType portalType) {
+            return new PortalKey(GlobalPortalId.getFromPortal(portal), portalType);
+        }
+    }
+}
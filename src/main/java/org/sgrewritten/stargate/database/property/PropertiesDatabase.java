@@ -2,6 +2,7 @@ package org.sgrewritten.stargate.database.property;
 
 import org.jetbrains.annotations.NotNull;
 import org.sgrewritten.stargate.Stargate;
+import org.sgrewritten.stargate.thread.AsyncExecutor;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -42,10 +43,22 @@ public class PropertiesDatabase implements StoredPropertiesAPI {
     @Override
     public void setProperty(@NotNull StoredProperty property, String value) {
         handle.setProperty(property.getKey(), value);
-        try (OutputStream outputStream = new FileOutputStream(fileLocation)) {
-            handle.store(outputStream, null);
-        } catch (IOException e) {
-            Stargate.log(e);
+        AsyncExecutor.runBlocking(this::store);
+    }
+
+    /**
+     * Writes all properties to the properties file
+     *
+     * <p>Writes are serialized, and each write stores every property, so the file always ends up with the latest
+     * values even if writes finish out of order.</p>
+     */
+    private void store() {
+        synchronized (fileLocation) {
+            try (OutputStream outputStream = new FileOutputStream(fileLocation)) {
+                handle.store(outputStream, null);
+            } catch (IOException e) {
+                Stargate.log(e);
+            }
         }
     }
 
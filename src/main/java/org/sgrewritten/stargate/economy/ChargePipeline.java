@@ -0,0 +1,277 @@
+package org.sgrewritten.stargate.economy;
+
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.Nullable;
+import org.sgrewritten.stargate.Stargate;
+import org.sgrewritten.stargate.property.StargateStatistic;
+import org.sgrewritten.stargate.thread.task.StargateQueuedAsyncTask;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Authorizes portal charges in memory, and carries out the actual transactions on an asynchronous worker
+ *
+ * <p>Every payer has an account of their last known balance and the amounts reserved by charges not yet carried out.
+ * A charge is authorized at once if the known balance covers it; only otherwise is the economy asked. Transactions of
+ * the same payer run in the order they were made, and each step is retried without repeating steps already done. A
+ * charge which can not be withdrawn after the payer has teleported is recorded as debt, which has to be paid before
+ * the payer is authorized again.</p>
+ */
+class ChargePipeline {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final double EPSILON = 1e-6;
+
+    private final EconomyManager economyManager;
+    private final Map<UUID, Account> accounts = new ConcurrentHashMap<>();
+
+    /**
+     * @param economyManager <p>The economy manager carrying out the transactions</p>
+     */
+    ChargePipeline(EconomyManager economyManager) {
+        this.economyManager = economyManager;
+    }
+
+    /**
+     * Authorizes a charge, and queues the transaction if authorized
+     *
+     * @param payer      <p>The player to charge</p>
+     * @param receiver   <p>The player receiving the payment, or null if nobody receives it</p>
+     * @param amount     <p>The amount to charge</p>
+     * @param portalName <p>The name of the portal charged for</p>
+     * @return <p>True if the charge was authorized</p>
+     */
+    boolean charge(OfflinePlayer payer, @Nullable OfflinePlayer receiver, double amount, String portalName) {
+        Account account = accounts.computeIfAbsent(payer.getUniqueId(),
+                id -> new Account(economyManager.getBalance(payer)));
+        synchronized (account) {
+            if (account.balanceOutdated) {
+                account.setBalance(economyManager.getBalance(payer));
+            }
+            if (account.getAvailable() < amount) {
+                // The known balance might be outdated, so ask the economy before denying the charge
+                double owed = account.reserved + account.debt;
+                if (!economyManager.has(payer, owed + amount)) {
+                    return false;
+                }
+                account.setBalance(economyManager.getBalance(payer));
+            }
+            account.reserved += amount;
+        }
+        StargateStatistic.ECONOMY_CHARGES_DEFERRED.increment();
+        new StargateQueuedAsyncTask(payer.getUniqueId()) {
+            @Override
+            public void run() {
+                carryOutCharge(account, payer, receiver, amount, portalName);
+            }
+        }.runNow();
+        return true;
+    }
+
+    /**
+     * Queues a refund, which runs after every charge of the player queued before it
+     *
+     * @param player <p>The player to refund</p>
+     * @param payer  <p>The player paying the refund, or null if the refund is not paid by anybody</p>
+     * @param amount <p>The amount to refund</p>
+     */
+    void refund(OfflinePlayer player, @Nullable OfflinePlayer payer, double amount) {
+        new StargateQueuedAsyncTask(player.getUniqueId()) {
+            @Override
+            public void run() {
+                boolean refunded = payer == null ? economyManager.depositPlayer(player, amount)
+                        : economyManager.chargeAndDepositPlayer(payer, player, amount);
+                if (!refunded) {
+                    Stargate.log(Level.WARNING, "Unable to refund player " + player.getName() + " " + amount);
+                }
+                refreshBalance(player);
+            }
+        }.runNow();
+    }
+
+    /**
+     * Marks every known balance as outdated, as when the economy provider has changed
+     *
+     * <p>The reserved amounts and debts are kept, as charges already authorized are still carried out. The balance of
+     * an account is asked for again the next time the payer is charged.</p>
+     */
+    void invalidateBalances() {
+        for (Account account : accounts.values()) {
+            synchronized (account) {
+                account.balanceOutdated = true;
+            }
+        }
+    }
+
+    /**
+     * Gets the debt of a player, which is charges that could not be withdrawn after the player teleported
+     *
+     * @param player <p>The player to get the debt of</p>
+     * @return <p>The debt of the player</p>
+     */
+    double getDebt(OfflinePlayer player) {
+        Account account = accounts.get(player.getUniqueId());
+        if (account == null) {
+            return 0;
+        }
+        synchronized (account) {
+            return account.debt;
+        }
+    }
+
+    private void carryOutCharge(Account account, OfflinePlayer payer, @Nullable OfflinePlayer receiver, double amount,
+                                String portalName) {
+        collectDebt(account, payer);
+        boolean withdrawn = withdraw(payer, amount);
+        synchronized (account) {
+            account.reserved -= amount;
+            if (withdrawn) {
+                account.balance -= amount;
+            } else {
+                account.debt += amount;
+            }
+        }
+        if (!withdrawn) {
+            StargateStatistic.ECONOMY_DEBTS.increment();
+            Stargate.log(Level.WARNING, String.format("Unable to charge player %s %s for using portal %s; " +
+                    "recorded as debt", payer.getName(), amount, portalName));
+            refreshBalance(payer);
+            return;
+        }
+        if (receiver != null) {
+            if (deposit(receiver, amount)) {
+                economyManager.sendObtainSuccessMessage(receiver, amount, portalName);
+            } else if (!deposit(payer, amount)) {
+                Stargate.log(Level.WARNING, String.format("Unable to pay %s to %s, or to give it back to %s",
+                        amount, receiver.getName(), payer.getName()));
+            }
+        }
+        refreshBalance(payer);
+    }
+
+    /**
+     * Tries to withdraw the debt of a payer
+     *
+     * @param account <p>The account of the payer</p>
+     * @param payer   <p>The payer</p>
+     */
+    private void collectDebt(Account account, OfflinePlayer payer) {
+        double debt;
+        synchronized (account) {
+            debt = account.debt;
+        }
+        if (debt <= 0 || !withdraw(payer, debt)) {
+            return;
+        }
+        synchronized (account) {
+            account.debt -= debt;
+            account.balance -= debt;
+        }
+        Stargate.log(Level.INFO, String.format("Collected debt of %s from player %s", debt, payer.getName()));
+    }
+
+    /**
+     * Withdraws an amount from a payer, retrying failed attempts
+     *
+     * <p>An attempt which fails with an exception might still have withdrawn the amount, so the balance is compared
+     * with the balance before the attempt before trying again.</p>
+     *
+     * @param payer  <p>The player to withdraw from</p>
+     * @param amount <p>The amount to withdraw</p>
+     * @return <p>True if the amount was withdrawn</p>
+     */
+    private boolean withdraw(OfflinePlayer payer, double amount) {
+        double balanceBefore = getBalanceOrNaN(payer);
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                return economyManager.chargePlayer(payer, amount);
+            } catch (RuntimeException exception) {
+                Stargate.log(Level.FINE, String.format("Attempt %s to charge player %s failed", attempt,
+                        payer.getName()));
+                Stargate.log(Level.FINE, exception);
+                if (balanceBefore - getBalanceOrNaN(payer) >= amount - EPSILON) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Deposits an amount to a player, retrying failed attempts
+     *
+     * <p>An attempt which fails with an exception might still have deposited the amount, so the balance is compared
+     * with the balance before the attempt before trying again.</p>
+     *
+     * @param player <p>The player to deposit to</p>
+     * @param amount <p>The amount to deposit</p>
+     * @return <p>True if the amount was deposited</p>
+     */
+    private boolean deposit(OfflinePlayer player, double amount) {
+        double balanceBefore = getBalanceOrNaN(player);
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                if (economyManager.depositPlayer(player, amount)) {
+                    return true;
+                }
+            } catch (RuntimeException exception) {
+                Stargate.log(Level.FINE, String.format("Attempt %s to pay player %s failed", attempt,
+                        player.getName()));
+                Stargate.log(Level.FINE, exception);
+                if (getBalanceOrNaN(player) - balanceBefore >= amount - EPSILON) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void refreshBalance(OfflinePlayer player) {
+        Account account = accounts.get(player.getUniqueId());
+        double balance = getBalanceOrNaN(player);
+        if (account == null || Double.isNaN(balance)) {
+            return;
+        }
+        synchronized (account) {
+            account.setBalance(balance);
+        }
+    }
+
+    private double getBalanceOrNaN(OfflinePlayer player) {
+        try {
+            return economyManager.getBalance(player);
+        } catch (RuntimeException exception) {
+            Stargate.log(Level.FINE, exception);
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * What is known about the balance of a payer
+     *
+     * <p>Only used while synchronized on the account.</p>
+     */
+    private static class Account {
+
+        private double balance;
+        private double reserved;
+        private double debt;
+        private boolean balanceOutdated;
+
+        private Account(double balance) {
+            this.balance = balance;
+        }
+
+        private void setBalance(double balance) {
+            this.balance = balance;
+            this.balanceOutdated = false;
+        }
+
+        private double getAvailable() {
+            return balance - reserved - debt;
+        }
+    }
+}
@@ -16,6 +16,14 @@ public interface EconomyAPI {
      */
     boolean has(OfflinePlayer target, double amount);
 
+    /**
+     * Gets the balance of a player
+     *
+     * @param target <p>The player to get the balance of</p>
+     * @return <p>The balance of the player</p>
+     */
+    double getBalance(OfflinePlayer target);
+
     /**
      * Charges a player if possible
      *
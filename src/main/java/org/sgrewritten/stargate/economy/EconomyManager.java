@@ -18,6 +18,7 @@ import java.util.UUID;
 public abstract class EconomyManager implements EconomyAPI, StargateEconomyAPI {
 
     private final LanguageManager languageManager;
+    private final ChargePipeline chargePipeline = new ChargePipeline(this);
 
     /**
      * Instantiates a new economy manager
@@ -28,6 +29,17 @@ public abstract class EconomyManager implements EconomyAPI, StargateEconomyAPI {
         this.languageManager = languageManager;
     }
 
+    /**
+     * Marks every balance known by the asynchronous charge pipeline as outdated, as the economy provider might have
+     * changed
+     *
+     * <p>Implementations need to call this when setting up the economy.</p>
+     */
+    @Override
+    public void setupEconomy() {
+        chargePipeline.invalidateBalances();
+    }
+
     @Override
     public boolean chargePlayer(OfflinePlayer player, Portal origin, double amount) {
         //Skip if no payment is necessary
@@ -39,6 +51,12 @@ public abstract class EconomyManager implements EconomyAPI, StargateEconomyAPI {
         if (transactionReceiverId != null && transactionReceiverId.equals(player.getUniqueId())) {
             return true;
         }
+        if (origin != null && ConfigurationHelper.getBoolean(ConfigurationOption.ASYNC_ECONOMY)) {
+            //Authorize the charge now, and carry out the transactions asynchronously
+            OfflinePlayer transactionReceiver = transactionReceiverId == null ? null
+                    : Bukkit.getOfflinePlayer(transactionReceiverId);
+            return chargePipeline.charge(player, transactionReceiver, amount, origin.getName());
+        }
         if (transactionReceiverId != null) {
             //Pay the correct receiver
             OfflinePlayer transactionReceiver = Bukkit.getOfflinePlayer(transactionReceiverId);
@@ -69,6 +87,13 @@ public abstract class EconomyManager implements EconomyAPI, StargateEconomyAPI {
         if (transactionPayerId != null && transactionPayerId.equals(player.getUniqueId())) {
             return true;
         }
+        if (origin != null && ConfigurationHelper.getBoolean(ConfigurationOption.ASYNC_ECONOMY)) {
+            //Refund after any charges still being carried out
+            OfflinePlayer transactionPayer = transactionPayerId == null ? null
+                    : Bukkit.getOfflinePlayer(transactionPayerId);
+            chargePipeline.refund(player, transactionPayer, amount);
+            return true;
+        }
         if (transactionPayerId != null) {
             //Pay the correct receiver
             OfflinePlayer transactionPayer = Bukkit.getOfflinePlayer(transactionPayerId);
@@ -99,6 +124,16 @@ public abstract class EconomyManager implements EconomyAPI, StargateEconomyAPI {
         }
     }
 
+    /**
+     * Gets the debt of a player, which is portal charges that could not be carried out after the player teleported
+     *
+     * @param player <p>The player to get the debt of</p>
+     * @return <p>The debt of the player</p>
+     */
+    public double getDebt(OfflinePlayer player) {
+        return chargePipeline.getDebt(player);
+    }
+
     /**
      * Sends a message to a player telling them they've been successfully charged
      *
@@ -17,8 +17,8 @@ import java.util.logging.Level;
  */
 public class VaultEconomyManager extends EconomyManager {
 
-    private Economy economy;
-    private boolean hasVault;
+    private volatile Economy economy;
+    private volatile boolean hasVault;
 
     /**
      * Instantiates a new economy manager
@@ -38,6 +38,14 @@ public class VaultEconomyManager extends EconomyManager {
         return this.economy.has(target, amount);
     }
 
+    @Override
+    public double getBalance(OfflinePlayer target) {
+        if (!this.hasVault) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return this.economy.getBalance(target);
+    }
+
     @Override
     public boolean chargePlayer(OfflinePlayer offlinePlayer, double amount) {
         //Skip if no payment is necessary
@@ -85,6 +93,7 @@ public class VaultEconomyManager extends EconomyManager {
 
     @Override
     public void setupEconomy() {
+        super.setupEconomy();
         if (!ConfigurationHelper.getBoolean(ConfigurationOption.USE_ECONOMY)) {
             hasVault = false;
             return;
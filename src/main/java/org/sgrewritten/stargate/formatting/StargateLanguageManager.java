@@ -4,6 +4,7 @@ import org.bukkit.ChatColor;
 import org.sgrewritten.stargate.Stargate;
 import org.sgrewritten.stargate.api.formatting.LanguageManager;
 import org.sgrewritten.stargate.api.formatting.TranslatableMessage;
+import org.sgrewritten.stargate.gate.SignRenderCache;
 import org.sgrewritten.stargate.util.FileHelper;
 
 import java.io.BufferedReader;
@@ -116,6 +117,8 @@ public class StargateLanguageManager implements LanguageManager {
             if (chosenLanguage != null) {
                 updateLanguage(chosenLanguage, translatedStrings);
             }
+            // Signs drawn in the previous language need to be drawn again
+            SignRenderCache.invalidateAll();
         }
     }
 
@@ -0,0 +1,159 @@
+package org.sgrewritten.stargate.gate;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.WorldBorder;
+import org.bukkit.util.BoundingBox;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.sgrewritten.stargate.api.gate.structure.GateBlockReader;
+import org.sgrewritten.stargate.api.vectorlogic.VectorOperation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Captures chunk snapshots covering gates, so that their structures can be validated off the thread owning the chunks
+ *
+ * <p>Gates captured at the same time share the snapshots of their chunks. A snapshot is kept until every gate using it
+ * has been released, which keeps the memory used while loading many portals bounded by the gates being validated.</p>
+ */
+public class ChunkSnapshotCache {
+
+    private final Map<ChunkKey, SharedSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Captures snapshots of the chunks covered by a gate
+     *
+     * <p>This needs to be called on the thread owning the chunks of the gate. The returned snapshot can be read on any
+     * thread, and needs to be released once done with.</p>
+     *
+     * @param converter <p>The vector operation converting between the gate's format space and real space</p>
+     * @param topLeft   <p>The location of the gate's top-left block</p>
+     * @param formatBox <p>The bounding box of the gate's format, in format space</p>
+     * @return <p>A snapshot of the gate, or null if the gate is not fully inside the world border</p>
+     */
+    public @Nullable GateSnapshot capture(VectorOperation converter, Location topLeft, BoundingBox formatBox) {
+        World world = topLeft.getWorld();
+        if (world == null) {
+            return null;
+        }
+        int minX = (int) formatBox.getMinX();
+        int minY = (int) formatBox.getMinY();
+        int minZ = (int) formatBox.getMinZ();
+        int maxX = (int) formatBox.getMaxX();
+        int maxY = (int) formatBox.getMaxY();
+        int maxZ = (int) formatBox.getMaxZ();
+        int firstX = topLeft.getBlockX() + converter.getRealSpaceBlockX(minX, minY, minZ);
+        int firstZ = topLeft.getBlockZ() + converter.getRealSpaceBlockZ(minX, minY, minZ);
+        int secondX = topLeft.getBlockX() + converter.getRealSpaceBlockX(maxX, maxY, maxZ);
+        int secondZ = topLeft.getBlockZ() + converter.getRealSpaceBlockZ(maxX, maxY, maxZ);
+        int realMinX = Math.min(firstX, secondX);
+        int realMaxX = Math.max(firstX, secondX);
+        int realMinZ = Math.min(firstZ, secondZ);
+        int realMaxZ = Math.max(firstZ, secondZ);
+
+        // The world border is a square, so the whole gate is inside it if all corners are
+        WorldBorder border = world.getWorldBorder();
+        Location corner = new Location(world, 0, topLeft.getBlockY(), 0);
+        for (int x : new int[]{realMinX, realMaxX}) {
+            for (int z : new int[]{realMinZ, realMaxZ}) {
+                corner.setX(x);
+                corner.setZ(z);
+                if (!border.isInside(corner)) {
+                    return null;
+                }
+            }
+        }
+
+        UUID worldId = world.getUID();
+        List<ChunkKey> chunkKeys = new ArrayList<>();
+        for (int chunkX = realMinX >> 4; chunkX <= realMaxX >> 4; chunkX++) {
+            for (int chunkZ = realMinZ >> 4; chunkZ <= realMaxZ >> 4; chunkZ++) {
+                ChunkKey chunkKey = new ChunkKey(worldId, chunkX, chunkZ);
+                snapshots.compute(chunkKey, (key, shared) -> {
+                    if (shared == null) {
+                        ChunkSnapshot snapshot = world.getChunkAt(key.x(), key.z()).getChunkSnapshot(false, false, false);
+                        return new SharedSnapshot(snapshot, 1);
+                    }
+                    return new SharedSnapshot(shared.snapshot(), shared.users() + 1);
+                });
+                chunkKeys.add(chunkKey);
+            }
+        }
+        return new GateSnapshot(worldId, chunkKeys);
+    }
+
+    /**
+     * Gets the amount of chunk snapshots currently kept
+     *
+     * @return <p>The amount of chunk snapshots currently kept</p>
+     */
+    public int getSnapshotCount() {
+        return snapshots.size();
+    }
+
+    /**
+     * Stops using a chunk snapshot, discarding it if no other gate uses it
+     *
+     * @param chunkKey <p>The key of the chunk to stop using</p>
+     */
+    private void release(ChunkKey chunkKey) {
+        snapshots.computeIfPresent(chunkKey, (key, shared) ->
+                shared.users() <= 1 ? null : new SharedSnapshot(shared.snapshot(), shared.users() - 1));
+    }
+
+    /**
+     * The snapshots of the chunks covered by one gate
+     */
+    public class GateSnapshot implements GateBlockReader {
+
+        private final UUID worldId;
+        private final List<ChunkKey> chunkKeys;
+        private volatile boolean released = false;
+
+        private GateSnapshot(UUID worldId, List<ChunkKey> chunkKeys) {
+            this.worldId = worldId;
+            this.chunkKeys = chunkKeys;
+        }
+
+        @Override
+        public @NotNull Material getType(int x, int y, int z) {
+            SharedSnapshot shared = snapshots.get(new ChunkKey(worldId, x >> 4, z >> 4));
+            if (released || shared == null) {
+                throw new IllegalStateException("The block at " + x + "," + y + "," + z + " has not been captured");
+            }
+            return shared.snapshot().getBlockType(x & 15, y, z & 15);
+        }
+
+        @Override
+        public boolean isInsideWorldBorder(int x, int y, int z) {
+            // The whole gate was inside the world border when captured
+            return true;
+        }
+
+        /**
+         * Stops using this snapshot, allowing the captured chunks to be discarded
+         */
+        public void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+            for (ChunkKey chunkKey : chunkKeys) {
+                ChunkSnapshotCache.this.release(chunkKey);
+            }
+        }
+    }
+
+    private record ChunkKey(UUID worldId, int x, int z) {
+    }
+
+    private record SharedSnapshot(ChunkSnapshot snapshot, int users) {
+    }
+}
@@ -20,6 +20,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.sgrewritten.stargate.Stargate;
 import org.sgrewritten.stargate.api.event.portal.StargateSignFormatPortalEvent;
+import org.sgrewritten.stargate.api.gate.BlockPositionVisitor;
 import org.sgrewritten.stargate.api.gate.GateAPI;
 import org.sgrewritten.stargate.api.gate.GateFormatAPI;
 import org.sgrewritten.stargate.api.gate.GateStructureType;
@@ -35,18 +36,20 @@ import org.sgrewritten.stargate.api.network.portal.formatting.SignLine;
 import org.sgrewritten.stargate.api.network.portal.formatting.StargateComponent;
 import org.sgrewritten.stargate.api.network.portal.formatting.StargateComponentCombiner;
 import org.sgrewritten.stargate.api.network.portal.formatting.data.LineData;
-import org.sgrewritten.stargate.api.vectorlogic.MatrixVectorOperation;
+import org.sgrewritten.stargate.api.vectorlogic.IntegerVectorOperation;
 import org.sgrewritten.stargate.api.vectorlogic.VectorOperation;
 import org.sgrewritten.stargate.exception.GateConflictException;
 import org.sgrewritten.stargate.exception.InvalidStructureException;
 import org.sgrewritten.stargate.manager.BlockDropManager;
 import org.sgrewritten.stargate.network.portal.portaldata.GateData;
 import org.sgrewritten.stargate.property.StargateConstant;
+import org.sgrewritten.stargate.property.StargateStatistic;
 import org.sgrewritten.stargate.thread.task.StargateRegionTask;
 import org.sgrewritten.stargate.util.ButtonHelper;
 import org.sgrewritten.stargate.util.VectorUtils;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 /**
@@ -65,6 +68,9 @@ public class Gate implements GateAPI {
     private boolean flipped;
     private final @NotNull RegistryAPI registry;
     private RealPortal portal;
+    private volatile StructurePositions structurePositions;
+    private final Map<PortalPosition, SignLine[]> pendingSignLines = new ConcurrentHashMap<>();
+    private final SignRenderCache signRenderCache = new SignRenderCache();
 
 
     /**
@@ -83,14 +89,18 @@ public class Gate implements GateAPI {
         this.format = Objects.requireNonNull(format);
         this.registry = Objects.requireNonNull(registry);
         facing = signFace;
-        converter = new MatrixVectorOperation(signFace);
+        converter = new IntegerVectorOperation(signFace);
 
-        //Allow mirroring for non-symmetrical gates
         if (matchesFormat(signLocation, alwaysOn)) {
             return;
         }
+        //Allow mirroring for non-symmetrical gates, a mirrored symmetrical gate has already been matched above
+        if (format.isMirrorSymmetric()) {
+            throw new InvalidStructureException("Format does not match with signlocation in world");
+        }
         converter.setFlipZAxis(true);
         flipped = true;
+        structurePositions = null;
         if (matchesFormat(signLocation, alwaysOn)) {
             return;
         }
@@ -106,7 +116,7 @@ public class Gate implements GateAPI {
      */
     public Gate(GateData gateData, @NotNull RegistryAPI registry) throws InvalidStructureException {
         this.topLeft = gateData.topLeft();
-        this.converter = new MatrixVectorOperation(gateData.facing());
+        this.converter = new IntegerVectorOperation(gateData.facing());
         this.converter.setFlipZAxis(gateData.flipZ());
         this.format = Objects.requireNonNull(gateData.gateFormat());
         this.facing = gateData.facing();
@@ -114,6 +124,31 @@ public class Gate implements GateAPI {
         this.registry = Preconditions.checkNotNull(registry);
     }
 
+    /**
+     * Instantiates a gate at a location where the structure is already known to match the format
+     *
+     * <p>Only the portal positions are calculated and the gate is checked for conflicts; the structure itself is not
+     * validated again.</p>
+     *
+     * @param format   <p>The gate format used by this gate</p>
+     * @param topLeft  <p>The location of the gate's top-left block</p>
+     * @param facing   <p>The direction this gate's sign is facing</p>
+     * @param flipZ    <p>Whether the gate is mirrored</p>
+     * @param alwaysOn <p>Whether this gate has been set as always-on</p>
+     * @param registry <p>The registry to check for conflicting gates</p>
+     * @return <p>A new gate</p>
+     * @throws InvalidStructureException <p>If the facing is invalid or no button position could be found</p>
+     * @throws GateConflictException     <p>If this gate is in conflict with an existing one</p>
+     */
+    public static Gate ofMatchedFormat(@NotNull GateFormatAPI format, @NotNull Location topLeft, BlockFace facing,
+                                       boolean flipZ, boolean alwaysOn, @NotNull RegistryAPI registry)
+            throws InvalidStructureException, GateConflictException {
+        Gate gate = new Gate(new GateData(format, flipZ, topLeft, facing), registry);
+        gate.calculatePortalPositions(alwaysOn);
+        gate.checkConflicts();
+        return gate;
+    }
+
     @Override
     public void drawControlMechanisms(LineData[] lines) {
         portalPositions.forEach(portalPosition -> this.redrawPosition(portalPosition, lines));
@@ -128,6 +163,11 @@ public class Gate implements GateAPI {
         }
     }
 
+    @Override
+    public void invalidateRenderedPosition(PortalPosition portalPosition) {
+        signRenderCache.invalidate(portalPosition);
+    }
+
     @Override
     public List<PortalPosition> getPortalPositions() {
         return new ArrayList<>(this.portalPositions);
@@ -143,21 +183,40 @@ public class Gate implements GateAPI {
             throw new IllegalArgumentException("Expected attachment to be instance of line formatter");
         }
         SignLine[] signLines = lineFormatter.formatLineData(lineData);
+        if (!pendingSignLines.containsKey(portalPosition) && signRenderCache.isRendered(portalPosition, signLines)) {
+            StargateStatistic.SIGN_REDRAWS_SKIPPED.increment();
+            return;
+        }
+        // Only the latest lines are drawn if the sign is redrawn again before the previous redraw has run
+        if (pendingSignLines.put(portalPosition, signLines) != null) {
+            StargateStatistic.SIGN_REDRAWS_COLLAPSED.increment();
+            return;
+        }
         Location signLocation = getLocation(portalPosition.getRelativePositionLocation());
         new StargateRegionTask(signLocation) {
             @Override
             public void run() {
+                SignLine[] latestSignLines = pendingSignLines.remove(portalPosition);
+                if (latestSignLines == null) {
+                    return;
+                }
+                if (signRenderCache.isRendered(portalPosition, latestSignLines)) {
+                    StargateStatistic.SIGN_REDRAWS_SKIPPED.increment();
+                    return;
+                }
                 Stargate.log(Level.FINER, "Drawing sign at location " + signLocation);
                 BlockState signState = signLocation.getBlock().getState();
                 if (!(signState instanceof Sign sign)) {
                     Stargate.log(Level.FINE, "Could not find sign at position " + signLocation);
                     return;
                 }
-                StargateSignFormatPortalEvent event = new StargateSignFormatPortalEvent(portal, signLines, portalPosition, signLocation);
+                StargateSignFormatPortalEvent event = new StargateSignFormatPortalEvent(portal, latestSignLines, portalPosition, signLocation);
                 Bukkit.getPluginManager().callEvent(event);
                 SignLine[] newSignLines = event.getLines();
                 setSignLines(sign, newSignLines);
                 sign.update();
+                signRenderCache.setRendered(portalPosition, latestSignLines);
+                StargateStatistic.SIGN_REDRAWS.increment();
             }
         }.runNow();
     }
@@ -214,14 +273,65 @@ public class Gate implements GateAPI {
 
     @Override
     public List<BlockLocation> getLocations(GateStructureType structureType) {
-        List<BlockLocation> output = new ArrayList<>();
-        for (BlockVector structurePositionVector : getFormat().getStructure(structureType.getGateFormatEquivalent()).getStructureTypePositions()) {
-            Location structureLocation = getLocation(structurePositionVector);
-            output.add(new BlockLocation(structureLocation));
+        StructurePositions positions = getStructurePositions();
+        int[] coordinates = positions.coordinates()[structureType.ordinal()];
+        List<BlockLocation> output = new ArrayList<>(coordinates.length / 3);
+        for (int i = 0; i < coordinates.length; i += 3) {
+            output.add(new BlockLocation(positions.worldName(), coordinates[i], coordinates[i + 1], coordinates[i + 2]));
         }
         return output;
     }
 
+    @Override
+    public boolean visitLocations(GateStructureType structureType, BlockPositionVisitor visitor) {
+        StructurePositions positions = getStructurePositions();
+        int[] coordinates = positions.coordinates()[structureType.ordinal()];
+        for (int i = 0; i < coordinates.length; i += 3) {
+            if (!visitor.visit(positions.worldName(), coordinates[i], coordinates[i + 1], coordinates[i + 2])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the absolute block coordinates of every structure type of this gate
+     *
+     * <p>The coordinates only depend on the format, the top-left location, the facing and whether the gate is
+     * flipped, so they are calculated once and dropped whenever the top-left location or the flip changes.</p>
+     *
+     * @return <p>The absolute block coordinates of this gate's structures</p>
+     */
+    private StructurePositions getStructurePositions() {
+        StructurePositions positions = structurePositions;
+        if (positions == null) {
+            positions = calculateStructurePositions();
+            structurePositions = positions;
+        }
+        return positions;
+    }
+
+    private StructurePositions calculateStructurePositions() {
+        GateStructureType[] structureTypes = GateStructureType.values();
+        int[][] coordinates = new int[structureTypes.length][];
+        for (GateStructureType structureType : structureTypes) {
+            List<BlockVector> structureVectors = getFormat().getStructure(structureType.getGateFormatEquivalent()).getStructureTypePositions();
+            int[] structureCoordinates = new int[structureVectors.size() * 3];
+            int i = 0;
+            for (BlockVector structureVector : structureVectors) {
+                int x = structureVector.getBlockX();
+                int y = structureVector.getBlockY();
+                int z = structureVector.getBlockZ();
+                structureCoordinates[i++] = topLeft.getBlockX() + converter.getRealSpaceBlockX(x, y, z);
+                structureCoordinates[i++] = topLeft.getBlockY() + converter.getRealSpaceBlockY(x, y, z);
+                structureCoordinates[i++] = topLeft.getBlockZ() + converter.getRealSpaceBlockZ(x, y, z);
+            }
+            coordinates[structureType.ordinal()] = structureCoordinates;
+        }
+        World world = topLeft.getWorld();
+        return new StructurePositions(world == null ? "" : world.getName(), coordinates);
+    }
+
     @Override
     public void open() {
         changeOpenState(true);
@@ -282,15 +392,18 @@ public class Gate implements GateAPI {
      * @param material <p>The new material to use for the iris</p>
      */
     private void setIrisMaterial(Material material) {
-        List<BlockLocation> locations = getLocations(GateStructureType.IRIS);
         BlockData blockData = Bukkit.createBlockData(material);
 
         if (blockData instanceof Orientable orientation) {
             orientation.setAxis(converter.getIrisNormal());
         }
 
-        for (BlockLocation blockLocation : locations) {
-            Block block = blockLocation.getLocation().getBlock();
+        World world = topLeft.getWorld();
+        if (world == null) {
+            return;
+        }
+        visitLocations(GateStructureType.IRIS, (worldName, x, y, z) -> {
+            Block block = world.getBlockAt(x, y, z);
             new StargateRegionTask(block.getLocation()) {
                 @Override
                 public void run() {
@@ -307,7 +420,8 @@ public class Gate implements GateAPI {
                     }
                 }
             }.runNow();
-        }
+            return true;
+        });
     }
 
     @Override
@@ -318,9 +432,7 @@ public class Gate implements GateAPI {
     /**
      * Checks if the built stargate matches this gate's format
      *
-     * <p>This will try to match the format regardless of which control block the sign was placed on
-     * TODO: symmetric formats will be checked twice, make a way to determine if a format is symmetric to avoid this
-     * </p>
+     * <p>This will try to match the format regardless of which control block the sign was placed on</p>
      *
      * @param location <p>The location of a control-block</p>
      * @param alwaysOn <p>Whether the new portal is set as always-on</p>
@@ -336,6 +448,7 @@ public class Gate implements GateAPI {
              * hypothetical sign position in format space.
              */
             topLeft = location.clone().subtract(converter.performToRealSpaceOperation(controlBlock));
+            structurePositions = null;
             // Clear all portal positions
             portalPositions.clear();
             //Calculate all relevant portal positions
@@ -353,20 +466,49 @@ public class Gate implements GateAPI {
 
     @Override
     public boolean isValid() throws GateConflictException {
-        if (getFormat().matches(converter, topLeft)) {
-            if (hasGateFrameConflict(registry)) {
-                throw new GateConflictException();
-            }
+        return isValid(getFormat().matches(converter, topLeft));
+    }
 
-            //Make sure no controls conflict with existing controls
-            if (hasGateControlConflict()) {
-                throw new GateConflictException();
-            }
+    /**
+     * Checks whether this gate is valid, when its structure has already been matched against its format
+     *
+     * @param structureMatches <p>Whether the structure of this gate matches its format</p>
+     * @return <p>True if the structure matches</p>
+     * @throws GateConflictException <p>If the structure matches, but this gate is in conflict with an existing one</p>
+     */
+    public boolean isValid(boolean structureMatches) throws GateConflictException {
+        if (structureMatches) {
+            checkConflicts();
             return true;
         }
         return false;
     }
 
+    /**
+     * Gets the vector operation converting between this gate's format space and real space
+     *
+     * @return <p>The vector operation of this gate</p>
+     */
+    public VectorOperation getConverter() {
+        return converter;
+    }
+
+    /**
+     * Checks that neither this gate's frame nor its controls conflict with an existing gate
+     *
+     * @throws GateConflictException <p>If this gate is in conflict with an existing one</p>
+     */
+    private void checkConflicts() throws GateConflictException {
+        if (hasGateFrameConflict(registry)) {
+            throw new GateConflictException();
+        }
+
+        //Make sure no controls conflict with existing controls
+        if (hasGateControlConflict()) {
+            throw new GateConflictException();
+        }
+    }
+
     @Override
     public void calculatePortalPositions(boolean alwaysOn) throws InvalidStructureException {
         //First find buttons and signs on the Stargate
@@ -439,13 +581,16 @@ public class Gate implements GateAPI {
      * @return <p>True if there is a conflict</p>
      */
     private boolean hasGateFrameConflict(RegistryAPI registry) {
-        List<BlockLocation> frameLocations = this.getLocations(GateStructureType.FRAME);
-        for (BlockLocation blockLocation : frameLocations) {
-            if (registry.getPortal(blockLocation, GateStructureType.values()) != null) {
-                return true;
+        World world = topLeft.getWorld();
+        GateStructureType[] structureTypes = GateStructureType.values();
+        return !visitLocations(GateStructureType.FRAME, (worldName, x, y, z) -> {
+            for (GateStructureType structureType : structureTypes) {
+                if (registry.getPortal(world, x, y, z, structureType) != null) {
+                    return false;
+                }
             }
-        }
-        return false;
+            return true;
+        });
     }
 
     /**
@@ -554,4 +699,13 @@ public class Gate implements GateAPI {
     public RealPortal getPortal() {
         return this.portal;
     }
+
+    /**
+     * The absolute block coordinates of a gate's structures
+     *
+     * @param worldName   <p>The name of the world the gate is in</p>
+     * @param coordinates <p>The x, y and z coordinates of each block, one array per structure type ordinal</p>
+     */
+    private record StructurePositions(String worldName, int[][] coordinates) {
+    }
 }
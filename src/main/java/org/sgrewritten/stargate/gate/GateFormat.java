@@ -2,10 +2,12 @@ package org.sgrewritten.stargate.gate;
 
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.util.BlockVector;
 import org.bukkit.util.BoundingBox;
 import org.sgrewritten.stargate.Stargate;
 import org.sgrewritten.stargate.api.gate.GateFormatAPI;
+import org.sgrewritten.stargate.api.gate.structure.GateBlockReader;
 import org.sgrewritten.stargate.api.gate.structure.GateFormatStructureType;
 import org.sgrewritten.stargate.api.gate.structure.GateStructure;
 import org.sgrewritten.stargate.api.vectorlogic.VectorOperation;
@@ -28,6 +30,7 @@ public class GateFormat implements GateFormatAPI {
     private final Map<GateFormatStructureType, GateStructure> portalParts;
     private final String name;
     private final boolean isIronDoorBlockable;
+    private final boolean isMirrorSymmetric;
     private final BoundingBox boundingBox;
 
     /**
@@ -42,6 +45,23 @@ public class GateFormat implements GateFormatAPI {
      */
     public GateFormat(GateIris iris, GateFrame frame, GateControlBlock controlBlocks, String name,
                       boolean isIronDoorBlockable, Set<Material> controlMaterials) {
+        this(iris, frame, controlBlocks, name, isIronDoorBlockable, controlMaterials, false);
+    }
+
+    /**
+     * Instantiates a new gate format
+     *
+     * @param iris                <p>The format's iris structure</p>
+     * @param frame               <p>The format's frame structure</p>
+     * @param controlBlocks       <p>The format's control block structure</p>
+     * @param name                <p>The name of the new gate format</p>
+     * @param isIronDoorBlockable <p>Whether the gate format's iris can be blocked by a single iron door</p>
+     * @param controlMaterials    <b>The materials to use for this gates control blocks</b>
+     * @param isMirrorSymmetric   <p>Whether the gate format looks the same when mirrored along its width</p>
+     */
+    public GateFormat(GateIris iris, GateFrame frame, GateControlBlock controlBlocks, String name,
+                      boolean isIronDoorBlockable, Set<Material> controlMaterials, boolean isMirrorSymmetric) {
+        this.isMirrorSymmetric = isMirrorSymmetric;
         portalParts = new EnumMap<>(GateFormatStructureType.class);
         portalParts.put(GateFormatStructureType.IRIS, iris);
         portalParts.put(GateFormatStructureType.FRAME, frame);
@@ -50,6 +70,7 @@ public class GateFormat implements GateFormatAPI {
         this.isIronDoorBlockable = isIronDoorBlockable;
         this.controlMaterials = controlMaterials;
         this.boundingBox = calculateBoundingBox();
+        portalParts.values().forEach(GateStructure::compile);
     }
 
     private BoundingBox calculateBoundingBox() {
@@ -80,6 +101,11 @@ public class GateFormat implements GateFormatAPI {
         return isIronDoorBlockable;
     }
 
+    @Override
+    public boolean isMirrorSymmetric() {
+        return isMirrorSymmetric;
+    }
+
     /**
      * Checks if the structure of a physical stargate matches this one
      *
@@ -88,9 +114,19 @@ public class GateFormat implements GateFormatAPI {
      * @return <p>True if the stargate matches this format</p>
      */
     public boolean matches(VectorOperation converter, Location topLeft) {
-        for (Map.Entry<GateFormatStructureType, GateStructure> entry: portalParts.entrySet()) {
+        World world = topLeft.getWorld();
+        if (world == null) {
+            Stargate.log(Level.WARNING, "Unable to find the world of the portal at " + topLeft);
+            return false;
+        }
+        return matches(converter, topLeft, GateBlockReader.of(world));
+    }
+
+    @Override
+    public boolean matches(VectorOperation converter, Location topLeft, GateBlockReader reader) {
+        for (Map.Entry<GateFormatStructureType, GateStructure> entry : portalParts.entrySet()) {
             Stargate.log(Level.FINER, "---Validating " + entry.getKey());
-            if (!(entry.getValue().isValidState(converter, topLeft))) {
+            if (!(entry.getValue().isValidState(converter, topLeft, reader))) {
                 Stargate.log(Level.FINER, entry.getKey() + " returned negative");
                 return false;
             }
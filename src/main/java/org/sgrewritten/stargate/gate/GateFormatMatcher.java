@@ -0,0 +1,379 @@
+package org.sgrewritten.stargate.gate;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.WorldBorder;
+import org.bukkit.block.BlockFace;
+import org.bukkit.util.BlockVector;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.sgrewritten.stargate.api.gate.structure.GateFormatStructureType;
+import org.sgrewritten.stargate.api.vectorlogic.IntegerVectorOperation;
+import org.sgrewritten.stargate.api.vectorlogic.VectorOperation;
+import org.sgrewritten.stargate.container.LongObjectMap;
+import org.sgrewritten.stargate.exception.InvalidStructureException;
+import org.sgrewritten.stargate.gate.structure.GateControlBlock;
+import org.sgrewritten.stargate.gate.structure.GateFrame;
+import org.sgrewritten.stargate.gate.structure.GateIris;
+import org.sgrewritten.stargate.network.BlockPositionIndex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Matches a built structure against several gate formats at once
+ *
+ * <p>Every way a format can be built around a sign, that is every control block the sign could be on, mirrored or
+ * not, is a candidate. All candidates are compiled into one decision tree, where each node reads the block at an
+ * offset from the sign and follows the branches of all candidates expecting that block. Candidates expecting the same
+ * materials at the same offsets share their branches, and every block is read from the world at most once per
+ * scan.</p>
+ *
+ * <p>Offsets are stored relative to the sign before rotating by the sign's facing, so one tree serves all
+ * facings.</p>
+ */
+public class GateFormatMatcher {
+
+    private static final Condition CONTROL_CONDITION = new Condition(null);
+
+    private final List<Candidate> candidates;
+    private final Node root;
+
+    private GateFormatMatcher(List<Candidate> candidates, Node root) {
+        this.candidates = candidates;
+        this.root = root;
+    }
+
+    /**
+     * Compiles a matcher for the given gate formats
+     *
+     * @param gateFormats <p>The gate formats to match, in order of priority</p>
+     * @return <p>A matcher for the gate formats</p>
+     */
+    public static GateFormatMatcher compile(List<GateFormat> gateFormats) {
+        List<Candidate> candidates = new ArrayList<>();
+        List<PendingCandidate> pendingCandidates = new ArrayList<>();
+        for (GateFormat gateFormat : gateFormats) {
+            for (boolean flipZ : new boolean[]{false, true}) {
+                //A mirrored build of a symmetric format already matches the unmirrored candidates
+                if (flipZ && gateFormat.isMirrorSymmetric()) {
+                    continue;
+                }
+                for (BlockVector controlBlock : gateFormat.getControlBlocks()) {
+                    Candidate candidate = new Candidate(gateFormat, controlBlock, flipZ);
+                    pendingCandidates.add(new PendingCandidate(candidates.size(), getConstraints(candidate)));
+                    candidates.add(candidate);
+                }
+            }
+        }
+        return new GateFormatMatcher(candidates, compileNode(pendingCandidates));
+    }
+
+    /**
+     * Finds all candidates matching the structure built around the given sign
+     *
+     * <p>Matches are returned in order of priority: by gate format, then unmirrored before mirrored, then by control
+     * block. The world border and conflicts with other gates are not checked.</p>
+     *
+     * @param signLocation <p>The location of the sign</p>
+     * @param signFacing   <p>The direction the sign is facing</p>
+     * @return <p>All matching candidates</p>
+     * @throws InvalidStructureException <p>If the sign is not facing one of EAST, SOUTH, WEST or NORTH</p>
+     */
+    public List<Match> findMatches(@NotNull Location signLocation, @NotNull BlockFace signFacing)
+            throws InvalidStructureException {
+        World world = signLocation.getWorld();
+        if (world == null) {
+            return new ArrayList<>();
+        }
+        Scan scan = new Scan(world, signLocation.getBlockX(), signLocation.getBlockY(), signLocation.getBlockZ(),
+                new IntegerVectorOperation(signFacing));
+        boolean[] matched = new boolean[candidates.size()];
+        evaluate(root, scan, matched);
+
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < matched.length; i++) {
+            if (matched[i]) {
+                matches.add(candidates.get(i).toMatch(signLocation, signFacing));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * @return <p>The amount of ways the compiled gate formats can be built around a sign</p>
+     */
+    public int getCandidateCount() {
+        return candidates.size();
+    }
+
+    private static void evaluate(Node node, Scan scan, boolean[] matched) {
+        for (int candidate : node.matchedCandidates) {
+            matched[candidate] = true;
+        }
+        if (node.branches.length > 0) {
+            Material material = scan.getMaterial(node.x, node.y, node.z);
+            for (Branch branch : node.branches) {
+                if (branch.condition.accepts(material)) {
+                    evaluate(branch.node, scan, matched);
+                }
+            }
+        }
+        if (node.otherwise != null) {
+            evaluate(node.otherwise, scan, matched);
+        }
+    }
+
+    /**
+     * Compiles the candidates into a tree
+     *
+     * <p>The offset most candidates still need to check is read first. Candidates are grouped by what they expect at
+     * that offset, while candidates not needing the offset continue in a separate subtree.</p>
+     *
+     * @param pendingCandidates <p>The candidates with their remaining constraints</p>
+     * @return <p>The root of the compiled tree</p>
+     */
+    private static Node compileNode(List<PendingCandidate> pendingCandidates) {
+        List<Integer> matchedCandidates = new ArrayList<>();
+        List<PendingCandidate> unfinished = new ArrayList<>();
+        for (PendingCandidate pendingCandidate : pendingCandidates) {
+            if (pendingCandidate.constraints().isEmpty()) {
+                matchedCandidates.add(pendingCandidate.index());
+            } else {
+                unfinished.add(pendingCandidate);
+            }
+        }
+        int[] matched = matchedCandidates.stream().mapToInt(Integer::intValue).toArray();
+        if (unfinished.isEmpty()) {
+            return new Node(0, 0, 0, new Branch[0], null, matched);
+        }
+
+        Constraint mostCommon = getMostCommonOffset(unfinished);
+        Map<Condition, List<PendingCandidate>> groups = new LinkedHashMap<>();
+        List<PendingCandidate> otherwise = new ArrayList<>();
+        for (PendingCandidate pendingCandidate : unfinished) {
+            Constraint constraint = pendingCandidate.getConstraint(mostCommon.offset());
+            if (constraint == null) {
+                otherwise.add(pendingCandidate);
+                continue;
+            }
+            List<Constraint> remainingConstraints = new ArrayList<>(pendingCandidate.constraints());
+            remainingConstraints.remove(constraint);
+            groups.computeIfAbsent(constraint.condition(), key -> new ArrayList<>())
+                    .add(new PendingCandidate(pendingCandidate.index(), remainingConstraints));
+        }
+
+        Branch[] branches = new Branch[groups.size()];
+        int i = 0;
+        for (Map.Entry<Condition, List<PendingCandidate>> group : groups.entrySet()) {
+            branches[i++] = new Branch(group.getKey(), compileNode(group.getValue()));
+        }
+        return new Node(mostCommon.x(), mostCommon.y(), mostCommon.z(), branches,
+                otherwise.isEmpty() ? null : compileNode(otherwise), matched);
+    }
+
+    private static Constraint getMostCommonOffset(List<PendingCandidate> pendingCandidates) {
+        Map<Long, Integer> offsetCounts = new HashMap<>();
+        Constraint mostCommon = null;
+        int highestCount = 0;
+        for (PendingCandidate pendingCandidate : pendingCandidates) {
+            Set<Long> countedOffsets = new HashSet<>();
+            for (Constraint constraint : pendingCandidate.constraints()) {
+                if (!countedOffsets.add(constraint.offset())) {
+                    continue;
+                }
+                int count = offsetCounts.merge(constraint.offset(), 1, Integer::sum);
+                if (count > highestCount) {
+                    highestCount = count;
+                    mostCommon = constraint;
+                }
+            }
+        }
+        return mostCommon;
+    }
+
+    /**
+     * Gets what a candidate expects around the sign, in the order the gate format validates its structures
+     *
+     * @param candidate <p>The candidate to get the constraints of</p>
+     * @return <p>The constraints of the candidate</p>
+     */
+    private static List<Constraint> getConstraints(Candidate candidate) {
+        GateFormat format = candidate.format();
+        List<Constraint> constraints = new ArrayList<>();
+        for (BlockVector position : format.getControlBlocks()) {
+            constraints.add(candidate.toConstraint(position, CONTROL_CONDITION));
+        }
+        GateFrame frame = (GateFrame) format.getStructure(GateFormatStructureType.FRAME);
+        for (BlockVector position : frame.getStructureTypePositions()) {
+            constraints.add(candidate.toConstraint(position, new Condition(frame.getPartMaterials(position))));
+        }
+        GateIris iris = (GateIris) format.getStructure(GateFormatStructureType.IRIS);
+        Set<Material> irisMaterials = new HashSet<>(iris.irisOpen);
+        irisMaterials.addAll(iris.irisClosed);
+        Condition irisCondition = new Condition(irisMaterials);
+        for (BlockVector position : iris.getStructureTypePositions()) {
+            constraints.add(candidate.toConstraint(position, irisCondition));
+        }
+        return constraints;
+    }
+
+    /**
+     * A candidate which matched the structure around a sign
+     *
+     * @param format       <p>The matching gate format</p>
+     * @param controlBlock <p>The control block of the format the sign is on</p>
+     * @param flipZ        <p>Whether the structure is mirrored</p>
+     * @param facing       <p>The direction the sign is facing</p>
+     * @param topLeft      <p>The location of the top-left block of the structure</p>
+     */
+    public record Match(GateFormat format, BlockVector controlBlock, boolean flipZ, BlockFace facing,
+                        Location topLeft) {
+
+        /**
+         * Checks whether every block of the matched structure is inside the world border
+         *
+         * @return <p>True if the whole structure is inside the world border</p>
+         */
+        public boolean isInsideWorldBorder() {
+            World world = topLeft.getWorld();
+            if (world == null) {
+                return false;
+            }
+            WorldBorder border = world.getWorldBorder();
+            VectorOperation converter;
+            try {
+                converter = new IntegerVectorOperation(facing);
+            } catch (InvalidStructureException e) {
+                return false;
+            }
+            converter.setFlipZAxis(flipZ);
+            Location location = new Location(world, 0, 0, 0);
+            for (GateFormatStructureType structureType : GateFormatStructureType.values()) {
+                for (BlockVector position : format.getStructure(structureType).getStructureTypePositions()) {
+                    int x = position.getBlockX();
+                    int y = position.getBlockY();
+                    int z = position.getBlockZ();
+                    location.setX(topLeft.getBlockX() + converter.getRealSpaceBlockX(x, y, z));
+                    location.setY(topLeft.getBlockY() + converter.getRealSpaceBlockY(x, y, z));
+                    location.setZ(topLeft.getBlockZ() + converter.getRealSpaceBlockZ(x, y, z));
+                    if (!border.isInside(location)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * One way a gate format can be built around a sign
+     */
+    private record Candidate(GateFormat format, BlockVector controlBlock, boolean flipZ) {
+
+        /**
+         * Converts a position in format space to a constraint relative to the sign
+         */
+        private Constraint toConstraint(BlockVector position, Condition condition) {
+            int x = position.getBlockX() - controlBlock.getBlockX();
+            int y = position.getBlockY() - controlBlock.getBlockY();
+            int z = position.getBlockZ() - controlBlock.getBlockZ();
+            if (flipZ) {
+                z = -z;
+            }
+            return new Constraint(x, y, z, BlockPositionIndex.pack(x, y, z), condition);
+        }
+
+        private Match toMatch(Location signLocation, BlockFace signFacing) throws InvalidStructureException {
+            VectorOperation converter = new IntegerVectorOperation(signFacing);
+            converter.setFlipZAxis(flipZ);
+            Location topLeft = signLocation.clone().subtract(converter.performToRealSpaceOperation(controlBlock));
+            return new Match(format, controlBlock, flipZ, signFacing, topLeft);
+        }
+    }
+
+    /**
+     * A block a candidate expects at an offset from the sign
+     */
+    private record Constraint(int x, int y, int z, long offset, Condition condition) {
+    }
+
+    /**
+     * The materials a block may have, or the materials a control block may have if no materials are given
+     */
+    private record Condition(@Nullable Set<Material> materials) {
+
+        private boolean accepts(Material material) {
+            if (materials == null) {
+                return GateControlBlock.isValidControlMaterial(material);
+            }
+            return materials.contains(material);
+        }
+    }
+
+    private record PendingCandidate(int index, List<Constraint> constraints) {
+
+        private @Nullable Constraint getConstraint(long offset) {
+            for (Constraint constraint : constraints) {
+                if (constraint.offset() == offset) {
+                    return constraint;
+                }
+            }
+            return null;
+        }
+    }
+
+    private record Branch(Condition condition, Node node) {
+    }
+
+    /**
+     * A node of the decision tree
+     *
+     * @param x                 <p>The x offset from the sign of the block to read</p>
+     * @param y                 <p>The y offset from the sign of the block to read</p>
+     * @param z                 <p>The z offset from the sign of the block to read</p>
+     * @param branches          <p>The branches to follow if their condition accepts the block</p>
+     * @param otherwise         <p>The subtree of candidates not needing the block, if any</p>
+     * @param matchedCandidates <p>The candidates which have checked all their blocks when reaching this node</p>
+     */
+    private record Node(int x, int y, int z, Branch[] branches, @Nullable Node otherwise, int[] matchedCandidates) {
+    }
+
+    /**
+     * The blocks read around one sign
+     */
+    private static class Scan {
+        private final World world;
+        private final int signX;
+        private final int signY;
+        private final int signZ;
+        private final VectorOperation rotation;
+        private final LongObjectMap<Material> readMaterials = new LongObjectMap<>();
+
+        private Scan(World world, int signX, int signY, int signZ, VectorOperation rotation) {
+            this.world = world;
+            this.signX = signX;
+            this.signY = signY;
+            this.signZ = signZ;
+            this.rotation = rotation;
+        }
+
+        private Material getMaterial(int x, int y, int z) {
+            long offset = BlockPositionIndex.pack(x, y, z);
+            Material material = readMaterials.get(offset);
+            if (material == null) {
+                material = world.getBlockAt(signX + rotation.getRealSpaceBlockX(x, y, z),
+                        signY + rotation.getRealSpaceBlockY(x, y, z),
+                        signZ + rotation.getRealSpaceBlockZ(x, y, z)).getType();
+                readMaterials.put(offset, material);
+            }
+            return material;
+        }
+    }
+}
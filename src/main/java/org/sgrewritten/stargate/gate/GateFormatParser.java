@@ -10,6 +10,7 @@ import org.sgrewritten.stargate.gate.structure.GateIris;
 import org.sgrewritten.stargate.util.GateFormatReader;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -88,7 +89,120 @@ public class GateFormatParser {
             throw new ParsingErrorException("Design requires at least 2 control blocks '-' ");
         }
 
-        return new GateFormat(iris, frame, controlBlocks, filename, canBeBlockedByIronDoor, controlMaterials);
+        orderFrameByDiscrimination();
+        return new GateFormat(iris, frame, controlBlocks, filename, canBeBlockedByIronDoor, controlMaterials,
+                isMirrorSymmetric());
+    }
+
+    /**
+     * Checks whether the parsed design looks the same when mirrored along its width
+     *
+     * <p>The iris and control blocks need to be at mirrored positions, and every frame block needs the same materials
+     * as the frame block at its mirrored position. The exit is not considered, as it does not affect whether a built
+     * gate matches the format.</p>
+     *
+     * @return <p>True if the design is mirror-symmetric</p>
+     */
+    private boolean isMirrorSymmetric() {
+        int minZ = Integer.MAX_VALUE;
+        int maxZ = Integer.MIN_VALUE;
+        List<BlockVector> framePositions = frame.getStructureTypePositions();
+        List<BlockVector> irisPositions = iris.getStructureTypePositions();
+        for (List<BlockVector> positions : List.of(framePositions, irisPositions)) {
+            for (BlockVector position : positions) {
+                minZ = Math.min(minZ, position.getBlockZ());
+                maxZ = Math.max(maxZ, position.getBlockZ());
+            }
+        }
+        int mirrorSum = minZ + maxZ;
+
+        for (BlockVector position : framePositions) {
+            Set<Material> mirroredMaterials = frame.getPartMaterials(mirror(position, mirrorSum));
+            if (!frame.getPartMaterials(position).equals(mirroredMaterials)) {
+                return false;
+            }
+        }
+        Set<BlockVector> irisPositionSet = new HashSet<>(irisPositions);
+        for (BlockVector position : irisPositions) {
+            if (!irisPositionSet.contains(mirror(position, mirrorSum))) {
+                return false;
+            }
+        }
+        List<BlockVector> controlPositions = controlBlocks.getStructureTypePositions();
+        for (BlockVector position : controlPositions) {
+            if (!controlPositions.contains(mirror(position, mirrorSum))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Mirrors a position along the width of the design
+     *
+     * @param position  <p>The position to mirror</p>
+     * @param mirrorSum <p>The sum of the smallest and the largest z coordinate of the design</p>
+     * @return <p>The mirrored position</p>
+     */
+    private static BlockVector mirror(BlockVector position, int mirrorSum) {
+        return new BlockVector(position.getBlockX(), position.getBlockY(), mirrorSum - position.getBlockZ());
+    }
+
+    /**
+     * Orders the frame blocks so that a gate built around a different control block is rejected quickly
+     *
+     * <p>When a sign is placed on a gate, every control block of the format is tried as the sign's position, and all
+     * but one of these tries fail. A wrong try shifts the whole format by the distance between the two control blocks.
+     * The frame blocks which rule out the most of these shifts, by landing on a block which is not part of the frame or
+     * has other materials, are validated first.</p>
+     */
+    private void orderFrameByDiscrimination() {
+        List<BlockVector> controlPositions = controlBlocks.getStructureTypePositions();
+        Set<BlockVector> remainingShifts = new HashSet<>();
+        for (BlockVector assumedControl : controlPositions) {
+            for (BlockVector actualControl : controlPositions) {
+                if (!assumedControl.equals(actualControl)) {
+                    remainingShifts.add(actualControl.clone().subtract(assumedControl).toBlockVector());
+                }
+            }
+        }
+
+        List<BlockVector> framePositions = frame.getStructureTypePositions();
+        List<BlockVector> partOrder = new ArrayList<>();
+        while (!remainingShifts.isEmpty()) {
+            BlockVector bestPosition = null;
+            List<BlockVector> bestRejectedShifts = List.of();
+            for (BlockVector position : framePositions) {
+                List<BlockVector> rejectedShifts = new ArrayList<>();
+                for (BlockVector shift : remainingShifts) {
+                    if (rejectsShift(position, shift)) {
+                        rejectedShifts.add(shift);
+                    }
+                }
+                if (rejectedShifts.size() > bestRejectedShifts.size()) {
+                    bestPosition = position;
+                    bestRejectedShifts = rejectedShifts;
+                }
+            }
+            if (bestPosition == null) {
+                break;
+            }
+            partOrder.add(bestPosition);
+            bestRejectedShifts.forEach(remainingShifts::remove);
+        }
+        frame.setPartOrder(partOrder);
+    }
+
+    /**
+     * Checks whether a frame block fails to validate when the format is shifted
+     *
+     * @param position <p>The position of the frame block</p>
+     * @param shift    <p>The shift of the format</p>
+     * @return <p>True if the shifted format can not have a valid block at the position</p>
+     */
+    private boolean rejectsShift(BlockVector position, BlockVector shift) {
+        Set<Material> shiftedMaterials = frame.getPartMaterials(position.clone().add(shift).toBlockVector());
+        return shiftedMaterials == null || Collections.disjoint(frame.getPartMaterials(position), shiftedMaterials);
     }
 
     /**
@@ -0,0 +1,99 @@
+package org.sgrewritten.stargate.gate;
+
+import org.jetbrains.annotations.Nullable;
+import org.sgrewritten.stargate.api.container.Holder;
+import org.sgrewritten.stargate.api.network.portal.PortalPosition;
+import org.sgrewritten.stargate.api.network.portal.formatting.AdventureStargateComponent;
+import org.sgrewritten.stargate.api.network.portal.formatting.LegacyStargateComponent;
+import org.sgrewritten.stargate.api.network.portal.formatting.SignLine;
+import org.sgrewritten.stargate.api.network.portal.formatting.StargateComponent;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers the lines last drawn on each sign of a gate, so that signs are only drawn again once their lines change
+ */
+public class SignRenderCache {
+
+    private static final AtomicLong generation = new AtomicLong();
+    private final Map<PortalPosition, RenderedLines> renderedLines = new ConcurrentHashMap<>();
+
+    /**
+     * Forgets the lines drawn on every sign of every gate, as when the language has changed
+     */
+    public static void invalidateAll() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Checks whether the given lines are the lines last drawn at the given position
+     *
+     * @param portalPosition <p>The position of the sign</p>
+     * @param lines          <p>The lines to draw</p>
+     * @return <p>True if the sign already shows the given lines</p>
+     */
+    public boolean isRendered(PortalPosition portalPosition, SignLine[] lines) {
+        RenderedLines rendered = renderedLines.get(portalPosition);
+        return rendered != null && rendered.generation() == generation.get()
+                && Arrays.deepEquals(rendered.fingerprint(), getFingerprint(lines));
+    }
+
+    /**
+     * Remembers the given lines as drawn at the given position
+     *
+     * @param portalPosition <p>The position of the sign</p>
+     * @param lines          <p>The drawn lines</p>
+     */
+    public void setRendered(PortalPosition portalPosition, SignLine[] lines) {
+        renderedLines.put(portalPosition, new RenderedLines(generation.get(), getFingerprint(lines)));
+    }
+
+    /**
+     * Forgets the lines drawn at the given position
+     *
+     * @param portalPosition <p>The position of the sign</p>
+     */
+    public void invalidate(PortalPosition portalPosition) {
+        renderedLines.remove(portalPosition);
+    }
+
+    /**
+     * Gets the text of every component of the given lines, which are equal if the lines are drawn the same
+     *
+     * @param lines <p>The lines to get the fingerprint of</p>
+     * @return <p>The text of every component, per line</p>
+     */
+    private static Object[][] getFingerprint(SignLine[] lines) {
+        Object[][] fingerprint = new Object[lines.length][];
+        for (int i = 0; i < lines.length; i++) {
+            fingerprint[i] = getFingerprint(lines[i]);
+        }
+        return fingerprint;
+    }
+
+    private static Object[] getFingerprint(@Nullable SignLine line) {
+        if (line == null) {
+            return new Object[0];
+        }
+        List<Holder<StargateComponent>> components = line.getComponents();
+        Object[] fingerprint = new Object[components.size()];
+        for (int i = 0; i < fingerprint.length; i++) {
+            StargateComponent component = components.get(i).value;
+            if (component instanceof LegacyStargateComponent legacyComponent) {
+                // A legacy component without text leaves the line as it is, unlike an empty component
+                fingerprint[i] = legacyComponent.getText() == null ? LegacyStargateComponent.class
+                        : legacyComponent.getText();
+            } else if (component instanceof AdventureStargateComponent adventureComponent) {
+                fingerprint[i] = adventureComponent.getText();
+            }
+        }
+        return fingerprint;
+    }
+
+    private record RenderedLines(long generation, Object[][] fingerprint) {
+    }
+}
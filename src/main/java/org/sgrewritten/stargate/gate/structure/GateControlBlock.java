@@ -42,6 +42,12 @@ public class GateControlBlock extends GateStructure {
     public void addPart(BlockVector blockVector) {
         parts.add(blockVector);
         boundingBox.union(blockVector);
+        invalidateCompiledParts();
+    }
+
+    @Override
+    protected boolean isCompilable() {
+        return true;
     }
 
     @Override
@@ -51,6 +57,16 @@ public class GateControlBlock extends GateStructure {
 
     @Override
     protected boolean isValidBlock(BlockVector blockVector, Material material) {
+        return isValidControlMaterial(material);
+    }
+
+    /**
+     * Checks whether the given material can be at the position of a control block
+     *
+     * @param material <p>The material found at the position of a control block</p>
+     * @return <p>True if the material is a control, or leaves room for one</p>
+     */
+    public static boolean isValidControlMaterial(Material material) {
         material = material.isLegacy() ? XMaterial.matchXMaterial(material).parseMaterial() : material;
         if (Tag.WALL_SIGNS.isTagged(material) || ButtonHelper.isButton(material)) {
             return true;
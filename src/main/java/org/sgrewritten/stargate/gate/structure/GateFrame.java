@@ -5,13 +5,14 @@ import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.util.BlockVector;
 import org.bukkit.util.BoundingBox;
+import org.jetbrains.annotations.Nullable;
 import org.sgrewritten.stargate.Stargate;
 import org.sgrewritten.stargate.api.gate.structure.GateStructure;
 import org.sgrewritten.stargate.api.vectorlogic.VectorOperation;
 import org.sgrewritten.stargate.manager.BlockDropManager;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -31,7 +32,7 @@ public class GateFrame extends GateStructure {
      * Instantiates a new gate frame
      */
     public GateFrame() {
-        parts = new HashMap<>();
+        parts = new LinkedHashMap<>();
         this.boundingBox = new BoundingBox();
     }
 
@@ -44,6 +45,41 @@ public class GateFrame extends GateStructure {
     public void addPart(BlockVector blockVector, Set<Material> materials) {
         parts.put(blockVector, materials);
         boundingBox.union(blockVector);
+        invalidateCompiledParts();
+    }
+
+    /**
+     * Gets the usable materials for a block of this gate frame
+     *
+     * @param blockVector <p>The block vector describing the location of the block</p>
+     * @return <p>The usable materials for the block, or null if the block is not part of this frame</p>
+     */
+    public @Nullable Set<Material> getPartMaterials(BlockVector blockVector) {
+        return parts.get(blockVector);
+    }
+
+    /**
+     * Changes the order this frame's blocks are validated in
+     *
+     * @param partOrder <p>The blocks to validate first, in order. Any other blocks keep their current order after these</p>
+     */
+    public void setPartOrder(List<BlockVector> partOrder) {
+        Map<BlockVector, Set<Material>> orderedParts = new LinkedHashMap<>();
+        for (BlockVector part : partOrder) {
+            Set<Material> materials = parts.get(part);
+            if (materials != null) {
+                orderedParts.put(part, materials);
+            }
+        }
+        orderedParts.putAll(parts);
+        parts.clear();
+        parts.putAll(orderedParts);
+        invalidateCompiledParts();
+    }
+
+    @Override
+    protected boolean isCompilable() {
+        return true;
     }
 
     @Override
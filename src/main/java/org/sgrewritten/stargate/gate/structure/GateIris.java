@@ -51,6 +51,7 @@ public class GateIris extends GateStructure {
     public void addPart(BlockVector blockVector) {
         blocks.add(blockVector);
         boundingBox.union(blockVector);
+        invalidateCompiledParts();
     }
 
     /**
@@ -63,6 +64,11 @@ public class GateIris extends GateStructure {
         addPart(exitPoint);
     }
 
+    @Override
+    protected boolean isCompilable() {
+        return true;
+    }
+
     @Override
     public List<BlockVector> getStructureTypePositions() {
         return blocks;
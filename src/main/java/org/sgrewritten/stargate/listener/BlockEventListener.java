@@ -43,6 +43,7 @@ import org.sgrewritten.stargate.property.BlockEventType;
 import org.sgrewritten.stargate.util.BlockEventHelper;
 import org.sgrewritten.stargate.util.MessageUtils;
 import org.sgrewritten.stargate.util.portal.PortalDestructionHelper;
+import org.sgrewritten.stargate.util.portal.SpawnLocationCache;
 
 import java.util.List;
 import java.util.Objects;
@@ -83,6 +84,7 @@ public class BlockEventListener implements Listener {
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onBlockBreak(BlockBreakEvent event) {
         Location location = event.getBlock().getLocation();
+        SpawnLocationCache.invalidate(location);
         RealPortal portal = registry.getPortal(location, GateStructureType.FRAME);
         if (portal != null) {
             Runnable destroyAction = () -> {
@@ -241,7 +243,8 @@ public class BlockEventListener implements Listener {
     public void onBlockFromTo(BlockFromToEvent event) {
         Block toBlock = event.getToBlock();
         Block fromBlock = event.getBlock();
-        if ((registry.getPortal(toBlock.getLocation(), GateStructureType.IRIS) != null) || (registry.getPortal(fromBlock.getLocation()) != null)) {
+        if ((registry.getPortal(toBlock.getWorld(), toBlock.getX(), toBlock.getY(), toBlock.getZ(), GateStructureType.IRIS) != null)
+                || (registry.getPortal(fromBlock.getWorld(), fromBlock.getX(), fromBlock.getY(), fromBlock.getZ()) != null)) {
             event.setCancelled(true);
             return;
         }
@@ -36,7 +36,7 @@ public class EntityInsideBlockEventListener implements Listener {
         Block block = event.getBlock();
         //Block any results of entering a default portal block
         if ((block.getType() == Material.END_PORTAL || block.getType() == Material.NETHER_PORTAL) &&
-                registry.getPortal(block.getLocation(), GateStructureType.IRIS) != null) {
+                registry.getPortal(block.getWorld(), block.getX(), block.getY(), block.getZ(), GateStructureType.IRIS) != null) {
             event.setCancelled(true);
         }
     }
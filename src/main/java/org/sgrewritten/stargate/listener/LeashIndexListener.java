@@ -0,0 +1,73 @@
+package org.sgrewritten.stargate.listener;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.entity.EntityUnleashEvent;
+import org.bukkit.event.entity.PlayerLeashEntityEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.sgrewritten.stargate.network.portal.LeashHolderIndex;
+
+/**
+ * Keeps the index of leash holders up to date
+ */
+public class LeashIndexListener implements Listener {
+
+    /**
+     * Remembers the holder of a newly leashed entity
+     *
+     * @param event <p>The triggered player leash entity event</p>
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerLeashEntity(PlayerLeashEntityEvent event) {
+        if (event.getEntity() instanceof LivingEntity leashed) {
+            LeashHolderIndex.add(leashed, event.getLeashHolder());
+        }
+    }
+
+    /**
+     * Forgets the holder of an unleashed entity
+     *
+     * @param event <p>The triggered entity unleash event</p>
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityUnleash(EntityUnleashEvent event) {
+        LeashHolderIndex.remove(event.getEntity());
+    }
+
+    /**
+     * Forgets everything about an entity which died
+     *
+     * @param event <p>The triggered entity death event</p>
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityDeath(EntityDeathEvent event) {
+        LeashHolderIndex.removeEntity(event.getEntity());
+    }
+
+    /**
+     * Forgets everything about a player leaving the server
+     *
+     * @param event <p>The triggered player quit event</p>
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        LeashHolderIndex.removeEntity(event.getPlayer());
+    }
+
+    /**
+     * Forgets everything about entities in an unloaded chunk
+     *
+     * @param event <p>The triggered entities unload event</p>
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            LeashHolderIndex.removeEntity(entity);
+        }
+    }
+}
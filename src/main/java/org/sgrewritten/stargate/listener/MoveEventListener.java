@@ -21,6 +21,7 @@ import org.sgrewritten.stargate.api.network.RegistryAPI;
 import org.sgrewritten.stargate.api.network.portal.RealPortal;
 import org.sgrewritten.stargate.network.portal.TeleportedEntityRelationDFS;
 import org.sgrewritten.stargate.property.NonLegacyClass;
+import org.sgrewritten.stargate.property.StargateStatistic;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -139,7 +140,15 @@ public class MoveEventListener implements Listener {
         }
 
         if (portal == null) {
-            portal = registry.getPortal(toLocation, GateStructureType.IRIS);
+            World world = toLocation.getWorld();
+            StargateStatistic.MOVE_EVENTS_CHECKED.increment();
+            if (!registry.hasStructureInChunk(world, toLocation.getBlockX() >> 4, toLocation.getBlockZ() >> 4,
+                    GateStructureType.IRIS)) {
+                StargateStatistic.MOVE_EVENTS_REJECTED_EARLY.increment();
+                return;
+            }
+            portal = registry.getPortal(world, toLocation.getBlockX(), toLocation.getBlockY(), toLocation.getBlockZ(),
+                    GateStructureType.IRIS);
         }
         if (portal == null || !portal.isOpen()) {
             return;
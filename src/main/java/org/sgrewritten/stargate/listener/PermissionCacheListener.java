@@ -0,0 +1,89 @@
+package org.sgrewritten.stargate.listener;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
+import org.bukkit.event.server.ServiceRegisterEvent;
+import org.bukkit.event.server.ServiceUnregisterEvent;
+import org.sgrewritten.stargate.manager.PermissionDecisionCache;
+import org.sgrewritten.stargate.manager.StargatePermissionManager;
+
+/**
+ * Forgets remembered permission decisions whenever the permissions of players might have changed
+ */
+public class PermissionCacheListener implements Listener {
+
+    private static final String CHAT_SERVICE = "net.milkbowl.vault.chat.Chat";
+
+    /**
+     * Forgets the decisions made for a player leaving the server
+     *
+     * @param event <p>The triggered player quit event</p>
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        PermissionDecisionCache.invalidate(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Forgets the decisions made for a player changing world, as permissions may be given per world
+     *
+     * @param event <p>The triggered player changed world event</p>
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        PermissionDecisionCache.invalidate(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Forgets every decision when a plugin is enabled, as it might be a reloaded permission plugin
+     *
+     * @param event <p>The triggered plugin enable event</p>
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginEnable(PluginEnableEvent event) {
+        PermissionDecisionCache.invalidateAll();
+    }
+
+    /**
+     * Forgets every decision when a plugin is disabled, as it might be a permission plugin
+     *
+     * @param event <p>The triggered plugin disable event</p>
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginDisable(PluginDisableEvent event) {
+        PermissionDecisionCache.invalidateAll();
+    }
+
+    /**
+     * Forgets every decision when a service is registered, and looks up the chat metadata provider again if needed
+     *
+     * @param event <p>The triggered service register event</p>
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onServiceRegister(ServiceRegisterEvent event) {
+        onServiceChange(event.getProvider().getService());
+    }
+
+    /**
+     * Forgets every decision when a service is unregistered, and looks up the chat metadata provider again if needed
+     *
+     * @param event <p>The triggered service unregister event</p>
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onServiceUnregister(ServiceUnregisterEvent event) {
+        onServiceChange(event.getProvider().getService());
+    }
+
+    private void onServiceChange(Class<?> service) {
+        PermissionDecisionCache.invalidateAll();
+        // Compared by name, as Vault might not be installed
+        if (service.getName().equals(CHAT_SERVICE)) {
+            StargatePermissionManager.loadMetadataProvider();
+        }
+    }
+}
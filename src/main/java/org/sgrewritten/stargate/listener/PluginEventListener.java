@@ -5,6 +5,8 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.event.server.PluginEnableEvent;
+import org.bukkit.event.server.ServiceRegisterEvent;
+import org.bukkit.event.server.ServiceUnregisterEvent;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 import org.sgrewritten.stargate.Stargate;
@@ -19,6 +21,8 @@ import java.util.logging.Level;
  */
 public class PluginEventListener implements Listener {
 
+    private static final String ECONOMY_SERVICE = "net.milkbowl.vault.economy.Economy";
+
     private final @NotNull StargateEconomyAPI economyManager;
     private final @NotNull BlockLoggingManager blockLoggingManager;
 
@@ -61,6 +65,35 @@ public class PluginEventListener implements Listener {
         }
     }
 
+    /**
+     * Listens for economy providers being registered, and sets up economy with the new provider
+     *
+     * @param event <p>The triggered service register event</p>
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onServiceRegister(ServiceRegisterEvent event) {
+        if (isEconomyService(event.getProvider().getService())) {
+            economyManager.setupEconomy();
+        }
+    }
+
+    /**
+     * Listens for economy providers being unregistered, and sets up economy with any remaining provider
+     *
+     * @param event <p>The triggered service unregister event</p>
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onServiceUnregister(ServiceUnregisterEvent event) {
+        if (isEconomyService(event.getProvider().getService())) {
+            economyManager.setupEconomy();
+        }
+    }
+
+    private boolean isEconomyService(Class<?> service) {
+        // Compared by name, as Vault might not be installed
+        return service.getName().equals(ECONOMY_SERVICE);
+    }
+
     private boolean isEconomyPlugin(Plugin plugin) {
         return plugin.getName().equals("Vault");
     }
@@ -6,6 +6,8 @@ import org.bukkit.event.world.WorldLoadEvent;
 import org.bukkit.event.world.WorldUnloadEvent;
 import org.sgrewritten.stargate.api.StargateAPI;
 import org.sgrewritten.stargate.api.network.portal.RealPortal;
+import org.sgrewritten.stargate.network.NetworkUpdateScheduler;
+import org.sgrewritten.stargate.util.portal.SpawnLocationCache;
 
 import java.util.List;
 
@@ -26,12 +28,13 @@ public class WorldEventListener implements Listener {
                 .toList();
         unloadedPortals.forEach(stargateAPI.getRegistry()::unregisterPortal);
         unloadedPortals.forEach(portal -> portal.getNetwork().removePortal(portal));
-        stargateAPI.getRegistry().updateAllPortals();
+        unloadedPortals.forEach(SpawnLocationCache::invalidate);
+        NetworkUpdateScheduler.scheduleUpdate(stargateAPI.getRegistry());
     }
 
     @EventHandler
     void onWorldLoad(WorldLoadEvent event) {
         stargateAPI.getNetworkManager().loadWorld(event.getWorld(), stargateAPI);
-        stargateAPI.getRegistry().updateAllPortals();
+        NetworkUpdateScheduler.scheduleUpdate(stargateAPI.getRegistry());
     }
 }
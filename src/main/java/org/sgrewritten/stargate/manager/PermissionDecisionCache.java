@@ -0,0 +1,88 @@
+package org.sgrewritten.stargate.manager;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+import org.sgrewritten.stargate.api.config.ConfigurationOption;
+import org.sgrewritten.stargate.config.ConfigurationHelper;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers the permission decisions made for online players, keyed by player and permission node
+ *
+ * <p>Bukkit does not tell when a player's permissions change, so decisions are forgotten when the player leaves or
+ * changes world, when any plugin or service is enabled or disabled, and once they are older than the configured
+ * permission cache duration. Nothing is remembered unless that duration is configured, as permissions given through
+ * attachments apply at once.</p>
+ */
+public final class PermissionDecisionCache {
+
+    private static final Map<UUID, PlayerDecisions> decisions = new ConcurrentHashMap<>();
+
+    private PermissionDecisionCache() {
+    }
+
+    /**
+     * Gets the remembered decision of whether a player has a permission
+     *
+     * @param player     <p>The player to get the decision for</p>
+     * @param permission <p>The permission node</p>
+     * @return <p>The remembered decision, or null if none is remembered</p>
+     */
+    static @Nullable Boolean getDecision(Player player, String permission) {
+        PlayerDecisions playerDecisions = decisions.get(player.getUniqueId());
+        if (playerDecisions == null) {
+            return null;
+        }
+        // A player who has logged in again is a new player object, with permissions of its own
+        if (playerDecisions.player() != player || System.nanoTime() > playerDecisions.expiresAt()) {
+            decisions.remove(player.getUniqueId(), playerDecisions);
+            return null;
+        }
+        return playerDecisions.decisions().get(permission);
+    }
+
+    /**
+     * Remembers the decision of whether a player has a permission
+     *
+     * @param player     <p>The player the decision was made for</p>
+     * @param permission <p>The permission node</p>
+     * @param decision   <p>Whether the player has the permission</p>
+     */
+    static void putDecision(Player player, String permission, boolean decision) {
+        long duration = ConfigurationHelper.getInteger(ConfigurationOption.PERMISSION_CACHE_DURATION);
+        if (duration <= 0) {
+            return;
+        }
+        PlayerDecisions playerDecisions = decisions.compute(player.getUniqueId(), (uuid, current) -> {
+            if (current == null || current.player() != player || System.nanoTime() > current.expiresAt()) {
+                return new PlayerDecisions(player, System.nanoTime() + TimeUnit.SECONDS.toNanos(duration),
+                        new ConcurrentHashMap<>());
+            }
+            return current;
+        });
+        playerDecisions.decisions().put(permission, decision);
+    }
+
+    /**
+     * Forgets every decision made for a player
+     *
+     * @param playerId <p>The unique id of the player</p>
+     */
+    public static void invalidate(UUID playerId) {
+        decisions.remove(playerId);
+    }
+
+    /**
+     * Forgets every decision made for any player
+     */
+    public static void invalidateAll() {
+        decisions.clear();
+    }
+
+    private record PlayerDecisions(Player player, long expiresAt, Map<String, Boolean> decisions) {
+    }
+}
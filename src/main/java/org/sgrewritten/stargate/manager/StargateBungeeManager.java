@@ -20,6 +20,7 @@ import org.sgrewritten.stargate.exception.UnimplementedFlagException;
 import org.sgrewritten.stargate.exception.name.InvalidNameException;
 import org.sgrewritten.stargate.exception.name.NameConflictException;
 import org.sgrewritten.stargate.exception.name.NameLengthException;
+import org.sgrewritten.stargate.network.NetworkUpdateScheduler;
 import org.sgrewritten.stargate.network.StorageType;
 import org.sgrewritten.stargate.network.portal.VirtualPortal;
 import org.sgrewritten.stargate.property.StargateProtocolProperty;
@@ -121,7 +122,7 @@ public class StargateBungeeManager implements BungeeManager {
                 default -> throw new UnsupportedOperationException();
 
             }
-            targetNetwork.updatePortals();
+            NetworkUpdateScheduler.scheduleUpdate(targetNetwork);
         } catch (NameConflictException exception) {
             Stargate.log(Level.FINE, exception);
         }
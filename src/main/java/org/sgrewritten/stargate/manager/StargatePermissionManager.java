@@ -5,6 +5,7 @@ import org.bukkit.Bukkit;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.RegisteredServiceProvider;
+import org.jetbrains.annotations.Nullable;
 import org.sgrewritten.stargate.Stargate;
 import org.sgrewritten.stargate.api.config.ConfigurationOption;
 import org.sgrewritten.stargate.api.formatting.LanguageManager;
@@ -35,9 +36,11 @@ import java.util.logging.Level;
  */
 public class StargatePermissionManager implements PermissionManager {
 
+    private static volatile Chat loadedMetadataProvider;
+
     private final Entity target;
     private String denyMessage;
-    private Chat metadataProvider;
+    private final Chat metadataProvider;
     private final boolean canProcessMetaData;
     private final LanguageManager languageManager;
 
@@ -59,11 +62,21 @@ public class StargatePermissionManager implements PermissionManager {
      */
     public StargatePermissionManager(Entity target, LanguageManager languageManager) {
         this.target = target;
-        canProcessMetaData = setupMetadataProvider();
+        metadataProvider = loadedMetadataProvider;
+        canProcessMetaData = metadataProvider != null;
         this.languageManager = languageManager;
         Stargate.log(Level.CONFIG, "Checking permissions for entity " + target);
     }
 
+    /**
+     * Looks up the vault chat metadata provider used by every permission manager
+     *
+     * <p>Needs to be called when the plugin is enabled, and whenever the chat provider might have changed.</p>
+     */
+    public static void loadMetadataProvider() {
+        loadedMetadataProvider = findMetadataProvider();
+    }
+
     @Override
     public Set<PortalFlag> returnDisallowedFlags(Set<PortalFlag> flags) {
         Set<PortalFlag> disallowed = new HashSet<>();
@@ -80,20 +93,19 @@ public class StargatePermissionManager implements PermissionManager {
     }
 
     /**
-     * Tries to set up the vault chat metadata provider
+     * Tries to find the vault chat metadata provider
      *
-     * @return <p>True if successful</p>
+     * @return <p>The metadata provider, or null if not available</p>
      */
-    private boolean setupMetadataProvider() {
+    private static @Nullable Chat findMetadataProvider() {
         if (Bukkit.getPluginManager().getPlugin("Vault") == null) {
-            return false;
+            return null;
         }
         RegisteredServiceProvider<Chat> registeredServiceProvider = Bukkit.getServicesManager().getRegistration(Chat.class);
         if (registeredServiceProvider == null) {
-            return false;
+            return null;
         }
-        metadataProvider = registeredServiceProvider.getProvider();
-        return true;
+        return registeredServiceProvider.getProvider();
     }
 
     /**
@@ -128,6 +140,25 @@ public class StargatePermissionManager implements PermissionManager {
         if (permission == null) {
             return true;
         }
+        if (!(entity instanceof Player player)) {
+            return resolvePermission(entity, permission);
+        }
+        Boolean decision = PermissionDecisionCache.getDecision(player, permission);
+        if (decision == null) {
+            decision = resolvePermission(player, permission);
+            PermissionDecisionCache.putDecision(player, permission, decision);
+        }
+        return decision;
+    }
+
+    /**
+     * Decides whether the given entity has the given permission node, taking parent nodes into account
+     *
+     * @param entity     <p>The entity to check</p>
+     * @param permission <p>The permission required</p>
+     * @return <p>True if the entity has the given permission</p>
+     */
+    private boolean resolvePermission(Entity entity, String permission) {
         boolean hasGivenPermission = entity.hasPermission(permission);
 
         String parentPermission = getParentPermission(permission);
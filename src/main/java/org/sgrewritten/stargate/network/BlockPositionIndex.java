@@ -0,0 +1,271 @@
+package org.sgrewritten.stargate.network;
+
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.sgrewritten.stargate.api.network.portal.BlockLocation;
+import org.sgrewritten.stargate.container.LongObjectMap;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A per-world index of values by block position
+ *
+ * <p>Block coordinates are packed into a single long, so that look-ups neither box the key nor need a
+ * {@link BlockLocation}. The index also keeps track of which chunks contain any values, so that callers can reject
+ * most look-ups with a single probe.</p>
+ *
+ * @param <V> <p>The type of the indexed values</p>
+ */
+public class BlockPositionIndex<V> {
+
+    private static final int HORIZONTAL_BITS = 26;
+    private static final int VERTICAL_BITS = 12;
+    private static final long HORIZONTAL_MASK = (1L << HORIZONTAL_BITS) - 1;
+    private static final long VERTICAL_MASK = (1L << VERTICAL_BITS) - 1;
+
+    private final Map<String, WorldIndex<V>> worldIndexes = new HashMap<>();
+    private volatile WorldIndex<V> lastWorldIndex;
+
+    /**
+     * Gets the value at the given block position
+     *
+     * @param world <p>The world of the block position</p>
+     * @param x     <p>The x coordinate of the block</p>
+     * @param y     <p>The y coordinate of the block</p>
+     * @param z     <p>The z coordinate of the block</p>
+     * @return <p>The value at the position, or null if none was found</p>
+     */
+    public @Nullable V get(@Nullable World world, int x, int y, int z) {
+        return get(world == null ? "" : world.getName(), x, y, z);
+    }
+
+    /**
+     * Gets the value at the given block position
+     *
+     * @param worldName <p>The name of the world of the block position</p>
+     * @param x         <p>The x coordinate of the block</p>
+     * @param y         <p>The y coordinate of the block</p>
+     * @param z         <p>The z coordinate of the block</p>
+     * @return <p>The value at the position, or null if none was found</p>
+     */
+    public @Nullable V get(@NotNull String worldName, int x, int y, int z) {
+        WorldIndex<V> worldIndex = getWorldIndex(worldName);
+        if (worldIndex == null) {
+            return null;
+        }
+        return worldIndex.blocks.get(pack(x, y, z));
+    }
+
+    /**
+     * Gets the value at the given block location
+     *
+     * @param blockLocation <p>The block location to look up</p>
+     * @return <p>The value at the location, or null if none was found</p>
+     */
+    public @Nullable V get(@NotNull BlockLocation blockLocation) {
+        return get(blockLocation.getWorldName(), blockLocation.getX(), blockLocation.getY(), blockLocation.getZ());
+    }
+
+    /**
+     * Checks whether any value is stored in the given chunk
+     *
+     * @param world  <p>The world of the chunk</p>
+     * @param chunkX <p>The x coordinate of the chunk</p>
+     * @param chunkZ <p>The z coordinate of the chunk</p>
+     * @return <p>True if at least one value is stored within the chunk</p>
+     */
+    public boolean containsChunk(@Nullable World world, int chunkX, int chunkZ) {
+        WorldIndex<V> worldIndex = getWorldIndex(world == null ? "" : world.getName());
+        return worldIndex != null && worldIndex.chunkValueCounts.containsKey(packChunk(chunkX, chunkZ));
+    }
+
+    /**
+     * Stores a value at the given block location
+     *
+     * @param blockLocation <p>The block location to store the value at</p>
+     * @param value         <p>The value to store</p>
+     */
+    public void put(@NotNull BlockLocation blockLocation, @NotNull V value) {
+        put(blockLocation.getWorldName(), blockLocation.getX(), blockLocation.getY(), blockLocation.getZ(), value);
+    }
+
+    /**
+     * Stores a value at the given block position
+     *
+     * @param worldName <p>The name of the world of the block position</p>
+     * @param x         <p>The x coordinate of the block</p>
+     * @param y         <p>The y coordinate of the block</p>
+     * @param z         <p>The z coordinate of the block</p>
+     * @param value     <p>The value to store</p>
+     */
+    public void put(@NotNull String worldName, int x, int y, int z, @NotNull V value) {
+        WorldIndex<V> worldIndex = worldIndexes.computeIfAbsent(worldName, WorldIndex::new);
+        if (worldIndex.blocks.put(pack(x, y, z), value) != null) {
+            return;
+        }
+        long chunkKey = packChunk(x >> 4, z >> 4);
+        int[] chunkValueCount = worldIndex.chunkValueCounts.get(chunkKey);
+        if (chunkValueCount == null) {
+            worldIndex.chunkValueCounts.put(chunkKey, new int[]{1});
+        } else {
+            chunkValueCount[0]++;
+        }
+    }
+
+    /**
+     * Removes the value at the given block location
+     *
+     * @param blockLocation <p>The block location to remove the value from</p>
+     * @return <p>The removed value, or null if there was no value at the location</p>
+     */
+    public @Nullable V remove(@NotNull BlockLocation blockLocation) {
+        return remove(blockLocation.getWorldName(), blockLocation.getX(), blockLocation.getY(), blockLocation.getZ());
+    }
+
+    /**
+     * Removes the value at the given block position
+     *
+     * @param worldName <p>The name of the world of the block position</p>
+     * @param x         <p>The x coordinate of the block</p>
+     * @param y         <p>The y coordinate of the block</p>
+     * @param z         <p>The z coordinate of the block</p>
+     * @return <p>The removed value, or null if there was no value at the position</p>
+     */
+    public @Nullable V remove(@NotNull String worldName, int x, int y, int z) {
+        WorldIndex<V> worldIndex = worldIndexes.get(worldName);
+        if (worldIndex == null) {
+            return null;
+        }
+        V removed = worldIndex.blocks.remove(pack(x, y, z));
+        if (removed == null) {
+            return null;
+        }
+        long chunkKey = packChunk(x >> 4, z >> 4);
+        int[] chunkValueCount = worldIndex.chunkValueCounts.get(chunkKey);
+        if (chunkValueCount != null && --chunkValueCount[0] <= 0) {
+            worldIndex.chunkValueCounts.remove(chunkKey);
+        }
+        return removed;
+    }
+
+    /**
+     * Gets every stored value by its block location
+     *
+     * <p>Builds a new map, which is meant for occasional use, like exposing the index through the API.</p>
+     *
+     * @return <p>A new map of every stored value</p>
+     */
+    public @NotNull Map<BlockLocation, V> toMap() {
+        Map<BlockLocation, V> map = new HashMap<>();
+        for (WorldIndex<V> worldIndex : worldIndexes.values()) {
+            worldIndex.blocks.forEach((packed, value) -> map.put(new BlockLocation(worldIndex.worldName,
+                    unpackX(packed), unpackY(packed), unpackZ(packed)), value));
+        }
+        return map;
+    }
+
+    /**
+     * Removes all values from this index
+     */
+    public void clear() {
+        worldIndexes.clear();
+        lastWorldIndex = null;
+    }
+
+    /**
+     * Gets the index of the given world
+     *
+     * <p>Remembers the last used world, as almost all look-ups in a row happen in the same world. The world name is
+     * compared by identity first, as Bukkit hands out the same name instance for every call.</p>
+     *
+     * @param worldName <p>The name of the world</p>
+     * @return <p>The index of the world, or null if nothing has been stored in the world</p>
+     */
+    private @Nullable WorldIndex<V> getWorldIndex(@NotNull String worldName) {
+        WorldIndex<V> cached = lastWorldIndex;
+        //noinspection StringEquality
+        if (cached != null && cached.worldName == worldName) {
+            return cached;
+        }
+        WorldIndex<V> worldIndex = worldIndexes.get(worldName);
+        if (worldIndex != null) {
+            lastWorldIndex = worldIndex;
+        }
+        return worldIndex;
+    }
+
+    /**
+     * Packs block coordinates into a single long
+     *
+     * <p>Uses 26 bits for x and z, and 12 bits for y, which covers the whole vanilla world border and build
+     * height.</p>
+     *
+     * @param x <p>The x coordinate of the block</p>
+     * @param y <p>The y coordinate of the block</p>
+     * @param z <p>The z coordinate of the block</p>
+     * @return <p>The packed coordinates</p>
+     */
+    public static long pack(int x, int y, int z) {
+        return ((x & HORIZONTAL_MASK) << (HORIZONTAL_BITS + VERTICAL_BITS))
+                | ((z & HORIZONTAL_MASK) << VERTICAL_BITS)
+                | (y & VERTICAL_MASK);
+    }
+
+    /**
+     * Gets the x coordinate from coordinates packed by {@link #pack(int, int, int)}
+     *
+     * @param packed <p>The packed coordinates</p>
+     * @return <p>The x coordinate of the block</p>
+     */
+    public static int unpackX(long packed) {
+        return (int) (packed >> (HORIZONTAL_BITS + VERTICAL_BITS));
+    }
+
+    /**
+     * Gets the y coordinate from coordinates packed by {@link #pack(int, int, int)}
+     *
+     * @param packed <p>The packed coordinates</p>
+     * @return <p>The y coordinate of the block</p>
+     */
+    public static int unpackY(long packed) {
+        return (int) (packed << (Long.SIZE - VERTICAL_BITS) >> (Long.SIZE - VERTICAL_BITS));
+    }
+
+    /**
+     * Gets the z coordinate from coordinates packed by {@link #pack(int, int, int)}
+     *
+     * @param packed <p>The packed coordinates</p>
+     * @return <p>The z coordinate of the block</p>
+     */
+    public static int unpackZ(long packed) {
+        return (int) (packed << HORIZONTAL_BITS >> (HORIZONTAL_BITS + VERTICAL_BITS));
+    }
+
+    /**
+     * Packs chunk coordinates into a single long
+     *
+     * @param chunkX <p>The x coordinate of the chunk</p>
+     * @param chunkZ <p>The z coordinate of the chunk</p>
+     * @return <p>The packed coordinates</p>
+     */
+    public static long packChunk(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * The values stored in one world
+     *
+     * @param <V> <p>The type of the indexed values</p>
+     */
+    private static class WorldIndex<V> {
+        private final String worldName;
+        private final LongObjectMap<V> blocks = new LongObjectMap<>();
+        private final LongObjectMap<int[]> chunkValueCounts = new LongObjectMap<>();
+
+        private WorldIndex(String worldName) {
+            this.worldName = worldName;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.sgrewritten.stargate.network;
+
+import org.sgrewritten.stargate.Stargate;
+import org.sgrewritten.stargate.api.network.Network;
+import org.sgrewritten.stargate.api.network.RegistryAPI;
+import org.sgrewritten.stargate.property.StargateStatistic;
+import org.sgrewritten.stargate.thread.task.StargateGlobalTask;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * Coalesces updates of networks, so that each network is updated at most once per tick
+ *
+ * <p>Requesting an update marks the network as dirty. All dirty networks are updated together on the next tick, and
+ * any further requests for a network already marked dirty are collapsed into that update.</p>
+ */
+public final class NetworkUpdateScheduler {
+
+    private static final Set<Network> dirtyNetworks = ConcurrentHashMap.newKeySet();
+    private static final AtomicBoolean updateScheduled = new AtomicBoolean(false);
+
+    private NetworkUpdateScheduler() {
+
+    }
+
+    /**
+     * Schedules an update of all portals in the given network
+     *
+     * @param network <p>The network to update</p>
+     */
+    public static void scheduleUpdate(Network network) {
+        if (!dirtyNetworks.add(network)) {
+            StargateStatistic.NETWORK_UPDATES_COLLAPSED.increment();
+            return;
+        }
+        if (updateScheduled.compareAndSet(false, true)) {
+            new StargateGlobalTask() {
+                @Override
+                public void run() {
+                    updateDirtyNetworks();
+                }
+            }.runNow();
+        }
+    }
+
+    /**
+     * Schedules an update of all portals in every network of the given registry
+     *
+     * @param registry <p>The registry containing the networks to update</p>
+     */
+    public static void scheduleUpdate(RegistryAPI registry) {
+        for (StorageType storageType : StorageType.values()) {
+            registry.getNetworkRegistry(storageType).stream().forEach(NetworkUpdateScheduler::scheduleUpdate);
+        }
+    }
+
+    /**
+     * Updates every network marked as dirty
+     *
+     * <p>Networks marked as dirty while updating are updated on the next tick. A network failing to update is logged,
+     * and does not keep any other network from updating.</p>
+     */
+    public static void updateDirtyNetworks() {
+        updateScheduled.set(false);
+        Iterator<Network> iterator = dirtyNetworks.iterator();
+        while (iterator.hasNext()) {
+            Network network = iterator.next();
+            iterator.remove();
+            try {
+                network.updatePortals();
+            } catch (RuntimeException e) {
+                Stargate.log(Level.WARNING, "Unable to update the portals of network " + network.getName());
+                Stargate.log(e);
+            }
+            StargateStatistic.NETWORK_UPDATES.increment();
+        }
+    }
+
+    /**
+     * Forgets every network marked as dirty, as when the plugin is disabled and its scheduled tasks are cancelled
+     */
+    public static void clear() {
+        dirtyNetworks.clear();
+        updateScheduled.set(false);
+    }
+}
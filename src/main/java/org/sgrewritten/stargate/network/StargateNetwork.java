@@ -6,6 +6,7 @@ import org.bukkit.entity.Player;
 import org.sgrewritten.stargate.Stargate;
 import org.sgrewritten.stargate.api.config.ConfigurationOption;
 import org.sgrewritten.stargate.api.event.portal.StargateListPortalEvent;
+import org.sgrewritten.stargate.api.network.DestinationIndex;
 import org.sgrewritten.stargate.api.network.Network;
 import org.sgrewritten.stargate.api.network.RegistryAPI;
 import org.sgrewritten.stargate.api.network.portal.Portal;
@@ -43,6 +44,7 @@ public class StargateNetwork implements Network {
     private final StorageType storageType;
 
     private Map<String, Portal> nameToPortalMap;
+    private final DestinationIndex destinationIndex = new DestinationIndex();
     private String name;
     private String id;
     private RegistryAPI registry;
@@ -146,7 +148,9 @@ public class StargateNetwork implements Network {
 
     @Override
     public void removePortal(Portal portal) {
-        nameToPortalMap.remove(portal.getId());
+        if (nameToPortalMap.remove(portal.getId()) != null) {
+            destinationIndex.remove(portal.getId());
+        }
     }
 
     @Override
@@ -159,6 +163,7 @@ public class StargateNetwork implements Network {
             registry.registerPortal(realPortal);
         }
         nameToPortalMap.put(portal.getId(), portal);
+        destinationIndex.put(portal.getId(), portal);
     }
 
     @Override
@@ -174,20 +179,22 @@ public class StargateNetwork implements Network {
     }
 
     @Override
+    @Deprecated
     public Set<String> getAvailablePortals(Player player, Portal requester) {
-        Set<String> output = new HashSet<>(nameToPortalMap.keySet());
-        output.remove(requester.getId());
-        Set<String> removeList = new HashSet<>();
-        for (String portalName : output) {
-            Portal target = getPortal(portalName);
-            if (!canSeePortal(target, requester, player)) {
-                removeList.add(portalName);
+        Set<String> output = new HashSet<>();
+        for (Portal target : destinationIndex.getSnapshot().getDestinations(requester.getId())) {
+            if (canSeePortal(target, requester, player)) {
+                output.add(target.getId());
             }
         }
-        output.removeAll(removeList);
         return output;
     }
 
+    @Override
+    public DestinationIndex getDestinationIndex() {
+        return destinationIndex;
+    }
+
     private boolean playerCanSeePrivatePortal(Portal portalToSee, Player player) {
         return player != null && (player.hasPermission(BypassPermission.PRIVATE.getPermissionString())
                 || player.getUniqueId().equals(portalToSee.getOwnerUUID()));
@@ -212,6 +219,7 @@ public class StargateNetwork implements Network {
             portal.destroy();
         }
         nameToPortalMap.clear();
+        destinationIndex.clear();
     }
 
     @Override
@@ -259,8 +267,10 @@ public class StargateNetwork implements Network {
         if (portal == null) {
             throw new InvalidNameException("Name does not exist, can not rename: " + oldName);
         }
+        destinationIndex.remove(oldName);
         portal.setName(NameHelper.getNormalizedName(newName));
         nameToPortalMap.put(portal.getName(), portal);
+        destinationIndex.put(portal.getName(), portal);
     }
 
 
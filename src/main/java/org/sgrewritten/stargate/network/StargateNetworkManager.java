@@ -33,6 +33,7 @@ import org.sgrewritten.stargate.thread.task.StargateGlobalTask;
 import org.sgrewritten.stargate.thread.task.StargateQueuedAsyncTask;
 import org.sgrewritten.stargate.util.NameHelper;
 import org.sgrewritten.stargate.util.NetworkCreationHelper;
+import org.sgrewritten.stargate.util.database.DatabaseHelper;
 
 import java.util.Set;
 import java.util.UUID;
@@ -167,7 +168,7 @@ public class StargateNetworkManager implements NetworkManager {
                 if (network != null && network.getType() != type) {
                     String newId = registry.getValidNewName(network);
                     registry.renameNetwork(newId, network.getId(), network.getStorageType());
-                    new StargateQueuedAsyncTask() {
+                    new StargateQueuedAsyncTask(network) {
                         @Override
                         public void run() {
                             try {
@@ -225,7 +226,7 @@ public class StargateNetworkManager implements NetworkManager {
         new StargateGlobalTask() {
             @Override
             public void run() {
-                registry.updateAllPortals();
+                NetworkUpdateScheduler.scheduleUpdate(registry);
             }
         }.runDelayed(20);
     }
@@ -246,24 +247,15 @@ public class StargateNetworkManager implements NetworkManager {
         network.removePortal(portal);
         portal.setName(newName);
         network.addPortal(portal);
-        portal.getNetwork().updatePortals();
+        NetworkUpdateScheduler.scheduleUpdate(portal.getNetwork());
     }
 
     @Override
     public void savePortal(RealPortal portal, Network network) throws NameConflictException {
         network.addPortal(portal);
-        new StargateQueuedAsyncTask() {
-            @Override
-            public void run() {
-                try {
-                    storageAPI.savePortalToStorage(portal);
-                } catch (StorageWriteException e) {
-                    Stargate.log(e);
-                }
-            }
-        }.runNow();
+        DatabaseHelper.runStorageWrite(storageAPI, network, () -> storageAPI.savePortalToStorage(portal));
         network.getPluginMessageSender().sendCreatePortal(portal);
-        network.updatePortals();
+        NetworkUpdateScheduler.scheduleUpdate(network);
     }
 
     @Override
@@ -272,23 +264,14 @@ public class StargateNetworkManager implements NetworkManager {
         network.removePortal(portal);
         portal.destroy();
         registry.unregisterPortal(portal);
-        network.updatePortals();
-        new StargateQueuedAsyncTask() {
-            @Override
-            public void run() {
-                try {
-                    storageAPI.removePortalFromStorage(portal);
-                } catch (StorageWriteException e) {
-                    Stargate.log(e);
-                }
-            }
-        }.runNow();
+        NetworkUpdateScheduler.scheduleUpdate(network);
+        DatabaseHelper.runStorageWrite(storageAPI, network, () -> storageAPI.removePortalFromStorage(portal));
         portal.getNetwork().getPluginMessageSender().sendDeletePortal(portal);
     }
 
     @Override
     public void loadWorld(World world, StargateAPI stargateAPI) {
-        new StargateQueuedAsyncTask() {
+        new StargateQueuedAsyncTask(world.getUID()) {
             @Override
             public void run() {
                 try {
@@ -1,5 +1,6 @@
 package org.sgrewritten.stargate.network;
 
+import org.sgrewritten.stargate.api.network.DestinationIndex;
 import org.sgrewritten.stargate.api.network.Network;
 import org.sgrewritten.stargate.api.network.NetworkRegistry;
 import org.sgrewritten.stargate.api.network.portal.Portal;
@@ -33,6 +34,7 @@ public class StargateNetworkRegistry implements NetworkRegistry {
     @Override
     public void unregisterNetwork(Network network) {
         networkMap.remove(network.getId());
+        DestinationIndex.forget(network);
         String networkName = NameHelper.getNormalizedName(network.getName());
         networkNameMap.remove(networkName);
         String personalNetworkName = personalNetworkNameConflicts.get(networkName);
@@ -83,6 +85,7 @@ public class StargateNetworkRegistry implements NetworkRegistry {
 
     @Override
     public void clear() {
+        networkMap.values().forEach(DestinationIndex::forget);
         networkMap.clear();
         networkNameMap.clear();
     }
@@ -20,13 +20,12 @@ import org.sgrewritten.stargate.api.network.RegistryAPI;
 import org.sgrewritten.stargate.api.network.portal.*;
 import org.sgrewritten.stargate.exception.UnimplementedFlagException;
 import org.sgrewritten.stargate.exception.database.StorageReadException;
-import org.sgrewritten.stargate.exception.database.StorageWriteException;
 import org.sgrewritten.stargate.exception.name.InvalidNameException;
 import org.sgrewritten.stargate.exception.name.NameLengthException;
 import org.sgrewritten.stargate.property.StargateConstant;
-import org.sgrewritten.stargate.thread.task.StargateQueuedAsyncTask;
 import org.sgrewritten.stargate.util.ExceptionHelper;
 import org.sgrewritten.stargate.util.VectorUtils;
+import org.sgrewritten.stargate.util.database.DatabaseHelper;
 
 import java.util.*;
 import java.util.logging.Level;
@@ -43,8 +42,8 @@ public class StargateRegistry implements RegistryAPI {
     private final BlockHandlerResolver blockHandlerResolver;
     private final NetworkRegistry networkRegistry = new StargateNetworkRegistry();
     private final NetworkRegistry bungeeNetworkRegistry = new StargateNetworkRegistry();
-    private final Map<GateStructureType, Map<BlockLocation, RealPortal>> portalFromStructureTypeMap = new EnumMap<>(GateStructureType.class);
-    private final Map<BlockLocation, PortalPosition> portalPositionMap = new HashMap<>();
+    private final Map<GateStructureType, BlockPositionIndex<RealPortal>> portalFromStructureTypeMap = new EnumMap<>(GateStructureType.class);
+    private final BlockPositionIndex<PortalPosition> portalPositionIndex = new BlockPositionIndex<>();
     private final Map<String, Map<BlockLocation, PortalPosition>> portalPositionPluginNameMap = new HashMap<>();
     private final Map<StargateChunk, Set<RealPortal>> chunkPortalMap = new HashMap<>();
 
@@ -56,6 +55,9 @@ public class StargateRegistry implements RegistryAPI {
     public StargateRegistry(StorageAPI storageAPI, BlockHandlerResolver blockHandlerResolver) {
         this.storageAPI = storageAPI;
         this.blockHandlerResolver = blockHandlerResolver;
+        for (GateStructureType structureType : GateStructureType.values()) {
+            portalFromStructureTypeMap.put(structureType, new BlockPositionIndex<>());
+        }
     }
 
     @Override
@@ -63,13 +65,14 @@ public class StargateRegistry implements RegistryAPI {
         if (!(portal instanceof RealPortal realPortal)) {
             return;
         }
+        GateAPI gate = realPortal.getGate();
         for (GateStructureType formatType : GateStructureType.values()) {
-            for (BlockLocation loc : realPortal.getGate().getLocations(formatType)) {
-                Stargate.log(Level.FINEST, "Unregistering type: " + formatType + " location, at: " + loc);
-                this.unRegisterLocation(formatType, loc);
-            }
+            Stargate.log(Level.FINEST, "Unregistering locations of type: " + formatType);
+            gate.visitLocations(formatType, (worldName, x, y, z) -> {
+                this.unRegisterLocation(formatType, new BlockLocation(worldName, x, y, z));
+                return true;
+            });
         }
-        GateAPI gate = realPortal.getGate();
         List<PortalPosition> portalPositions = gate.getPortalPositions();
         for (PortalPosition portalPosition : portalPositions) {
             Location location = gate.getLocation(portalPosition.getRelativePositionLocation());
@@ -100,11 +103,12 @@ public class StargateRegistry implements RegistryAPI {
     public void registerPortal(@NotNull RealPortal portal) {
         GateAPI gate = portal.getGate();
         for (GateStructureType key : GateStructureType.values()) {
-            List<BlockLocation> locations = gate.getLocations(key);
-            if (locations == null) {
-                continue;
-            }
-            this.registerLocations(key, generateLocationMap(locations, portal));
+            Map<BlockLocation, RealPortal> locationsMap = new HashMap<>();
+            gate.visitLocations(key, (worldName, x, y, z) -> {
+                locationsMap.put(new BlockLocation(worldName, x, y, z), portal);
+                return true;
+            });
+            this.registerLocations(key, locationsMap);
         }
         for (PortalPosition portalPosition : gate.getPortalPositions()) {
             Location location = gate.getLocation(portalPosition.getRelativePositionLocation());
@@ -134,21 +138,6 @@ public class StargateRegistry implements RegistryAPI {
         return getNetworkRegistry(storageType).getNetwork(id);
     }
 
-    /**
-     * Gets a map between the given block locations and the given portal
-     *
-     * @param locations <p>The locations related to the portal</p>
-     * @param portal    <p>The portal with blocks at the given locations</p>
-     * @return <p>The resulting location to portal mapping</p>
-     */
-    private Map<BlockLocation, RealPortal> generateLocationMap(List<BlockLocation> locations, RealPortal portal) {
-        Map<BlockLocation, RealPortal> output = new HashMap<>();
-        for (BlockLocation location : locations) {
-            output.put(location, portal);
-        }
-        return output;
-    }
-
     @Override
     public void updateAllPortals() {
         bungeeNetworkRegistry.updatePortals();
@@ -157,9 +146,6 @@ public class StargateRegistry implements RegistryAPI {
 
     @Override
     public RealPortal getPortal(BlockLocation blockLocation, GateStructureType structureType) {
-        if (!(portalFromStructureTypeMap.containsKey(structureType))) {
-            return null;
-        }
         return portalFromStructureTypeMap.get(structureType).get(blockLocation);
     }
 
@@ -176,24 +162,51 @@ public class StargateRegistry implements RegistryAPI {
 
     @Override
     public RealPortal getPortal(Location location, GateStructureType structureType) {
-        return getPortal(new BlockLocation(location), structureType);
+        return getPortal(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ(), structureType);
     }
 
     @Override
     public RealPortal getPortal(Location location, GateStructureType[] structureTypes) {
-        return getPortal(new BlockLocation(location), structureTypes);
+        for (GateStructureType key : structureTypes) {
+            RealPortal portal = getPortal(location, key);
+            if (portal != null) {
+                return portal;
+            }
+        }
+        return null;
     }
 
     @Override
     public RealPortal getPortal(Location location) {
-        PortalPosition portalPosition = this.getPortalPosition(location);
+        return getPortal(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    @Override
+    public RealPortal getPortal(World world, int x, int y, int z, GateStructureType structureType) {
+        return portalFromStructureTypeMap.get(structureType).get(world, x, y, z);
+    }
+
+    @Override
+    public RealPortal getPortal(World world, int x, int y, int z) {
+        PortalPosition portalPosition = portalPositionIndex.get(world, x, y, z);
         if (portalPosition != null) {
             return portalPosition.getPortal();
         }
-        return getPortal(location, GateStructureType.values());
+        for (GateStructureType structureType : GateStructureType.values()) {
+            RealPortal portal = getPortal(world, x, y, z, structureType);
+            if (portal != null) {
+                return portal;
+            }
+        }
+        return null;
     }
 
 
+    @Override
+    public boolean hasStructureInChunk(World world, int chunkX, int chunkZ, GateStructureType structureType) {
+        return portalFromStructureTypeMap.get(structureType).containsChunk(world, chunkX, chunkZ);
+    }
+
     @Override
     public boolean isPartOfPortal(List<Block> blocks) {
         for (Block block : blocks) {
@@ -214,8 +227,9 @@ public class StargateRegistry implements RegistryAPI {
     public List<RealPortal> getPortalsFromTouchingBlock(Location location, GateStructureType structureType) {
         List<RealPortal> portals = new ArrayList<>();
         for (BlockVector adjacentVector : VectorUtils.getAdjacentRelativePositions()) {
-            Location adjacentLocation = location.clone().add(adjacentVector);
-            RealPortal portal = getPortal(adjacentLocation, structureType);
+            RealPortal portal = getPortal(location.getWorld(), location.getBlockX() + adjacentVector.getBlockX(),
+                    location.getBlockY() + adjacentVector.getBlockY(), location.getBlockZ() + adjacentVector.getBlockZ(),
+                    structureType);
             if (portal != null) {
                 portals.add(portal);
             }
@@ -226,23 +240,21 @@ public class StargateRegistry implements RegistryAPI {
 
     @Override
     public void registerLocations(GateStructureType structureType, Map<BlockLocation, RealPortal> locationsMap) {
-        portalFromStructureTypeMap.putIfAbsent(structureType, new HashMap<>());
-        portalFromStructureTypeMap.get(structureType).putAll(locationsMap);
+        BlockPositionIndex<RealPortal> index = portalFromStructureTypeMap.get(structureType);
+        locationsMap.forEach(index::put);
     }
 
     @Override
     public void registerLocation(GateStructureType structureType, BlockLocation location, RealPortal portal) {
-        portalFromStructureTypeMap.putIfAbsent(structureType, new HashMap<>());
         portalFromStructureTypeMap.get(structureType).put(location, portal);
     }
 
     @Override
     public void unRegisterLocation(GateStructureType structureType, BlockLocation blockLocation) {
-        Map<BlockLocation, RealPortal> map = portalFromStructureTypeMap.get(structureType);
-        if (map != null && map.get(blockLocation) != null) {
-            Stargate.log(Level.FINER, "Unregistering portal " + map.get(blockLocation).getName() +
+        RealPortal removedPortal = portalFromStructureTypeMap.get(structureType).remove(blockLocation);
+        if (removedPortal != null) {
+            Stargate.log(Level.FINER, "Unregistering portal " + removedPortal.getName() +
                     " with structType " + structureType + " at location " + blockLocation.toString());
-            map.remove(blockLocation);
         }
     }
 
@@ -250,10 +262,9 @@ public class StargateRegistry implements RegistryAPI {
      * Clear this registry
      */
     public void clear() {
-        portalFromStructureTypeMap.clear();
-        portalPositionMap.clear();
+        portalFromStructureTypeMap.values().forEach(BlockPositionIndex::clear);
+        portalPositionIndex.clear();
         portalPositionPluginNameMap.clear();
-        portalFromStructureTypeMap.clear();
         networkRegistry.clear();
         bungeeNetworkRegistry.clear();
     }
@@ -290,7 +301,7 @@ public class StargateRegistry implements RegistryAPI {
 
     @Override
     public Map<BlockLocation, PortalPosition> getPortalPositions() {
-        return this.portalPositionMap;
+        return this.portalPositionIndex.toMap();
     }
 
     @Override
@@ -303,47 +314,30 @@ public class StargateRegistry implements RegistryAPI {
     public PortalPosition savePortalPosition(RealPortal portal, Location location, PositionType type, Plugin plugin) {
         BlockVector relativeVector = portal.getGate().getRelativeVector(location).toBlockVector();
         PortalPosition portalPosition = new PortalPosition(type, relativeVector, plugin.getName());
-        new StargateQueuedAsyncTask() {
-            @Override
-            public void run() {
-                try {
-                    storageAPI.addPortalPosition(portal, portal.getStorageType(), portalPosition);
-                } catch (StorageWriteException e) {
-                    Stargate.log(e);
-                }
-            }
-        }.runNow();
+        DatabaseHelper.runStorageWrite(storageAPI, portal.getNetwork(), () -> storageAPI.addPortalPosition(portal,
+                portal.getStorageType(), portalPosition));
         return portalPosition;
     }
 
     @Override
     public void removePortalPosition(Location location) {
         BlockLocation blockLocation = new BlockLocation(location);
-        PortalPosition portalPosition = portalPositionMap.get(blockLocation);
+        PortalPosition portalPosition = portalPositionIndex.remove(blockLocation);
         if (portalPosition == null) {
             return;
         }
-        portalPositionMap.remove(blockLocation);
         portalPositionPluginNameMap.get(portalPosition.getPluginName()).remove(blockLocation);
         RealPortal portal = portalPosition.getPortal();
         portal.getGate().removePortalPosition(portalPosition);
-        new StargateQueuedAsyncTask() {
-            @Override
-            public void run() {
-                try {
-                    storageAPI.removePortalPosition(portal, portal.getStorageType(), portalPosition);
-                } catch (StorageWriteException e) {
-                    Stargate.log(e);
-                }
-            }
-        }.runNow();
+        DatabaseHelper.runStorageWrite(storageAPI, portal.getNetwork(), () -> storageAPI.removePortalPosition(portal,
+                portal.getStorageType(), portalPosition));
     }
 
     @Override
     public void registerPortalPosition(PortalPosition portalPosition, Location location, RealPortal portal) {
         Stargate.log(Level.FINEST, String.format("Registering portal position at %s for portal %s", location.toString(), portal.getName()));
         BlockLocation blockLocation = new BlockLocation(location);
-        portalPositionMap.put(blockLocation, portalPosition);
+        portalPositionIndex.put(blockLocation, portalPosition);
         portalPositionPluginNameMap.putIfAbsent(portalPosition.getPluginName(), new HashMap<>());
         portalPositionPluginNameMap.get(portalPosition.getPluginName()).put(blockLocation, portalPosition);
         portalPosition.assignPortal(portal);
@@ -352,7 +346,7 @@ public class StargateRegistry implements RegistryAPI {
 
     @Override
     public PortalPosition getPortalPosition(Location location) {
-        return portalPositionMap.get(new BlockLocation(location));
+        return portalPositionIndex.get(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
     }
 
     @Override
@@ -0,0 +1,142 @@
+package org.sgrewritten.stargate.network.portal;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LeashHitch;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.WanderingTrader;
+import org.sgrewritten.stargate.property.StargateStatistic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the entities held in a leash by each player
+ *
+ * <p>The index is kept up to date from leash events, which do not cover entities leashed before the plugin was
+ * enabled. The surroundings of a player are therefore searched once, the first time the leashed entities of that
+ * player are needed. Wandering traders and leash hitches hold entities in a leash without any event, so their
+ * surroundings are searched every time. Any other entity only holds what has been remembered for it.</p>
+ */
+public final class LeashHolderIndex {
+
+    private static final double LOOK_FOR_LEASHED_RADIUS = 15;
+    private static final Map<UUID, Set<LivingEntity>> leashedByHolder = new ConcurrentHashMap<>();
+    private static final Map<UUID, UUID> holderByLeashed = new ConcurrentHashMap<>();
+    private static final Set<UUID> searchedHolders = ConcurrentHashMap.newKeySet();
+
+    private LeashHolderIndex() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Gets the entities held in a leash by the given holder
+     *
+     * @param holder <p>The leash holder</p>
+     * @return <p>The entities currently held in a leash by the holder</p>
+     */
+    public static List<LivingEntity> getLeashedEntities(Entity holder) {
+        if (holder instanceof WanderingTrader || holder instanceof LeashHitch) {
+            return searchSurroundings(holder);
+        }
+        if (holder instanceof Player && searchedHolders.add(holder.getUniqueId())) {
+            searchSurroundings(holder).forEach(leashed -> add(leashed, holder));
+        }
+        Set<LivingEntity> indexedEntities = leashedByHolder.get(holder.getUniqueId());
+        if (indexedEntities == null) {
+            return new ArrayList<>();
+        }
+        List<LivingEntity> leashedEntities = new ArrayList<>(indexedEntities.size());
+        for (LivingEntity entity : indexedEntities) {
+            if (entity.isValid() && entity.isLeashed() && entity.getLeashHolder() == holder) {
+                leashedEntities.add(entity);
+            } else if (holderByLeashed.remove(entity.getUniqueId(), holder.getUniqueId())) {
+                // The leash was removed without any event, as when changed by another plugin
+                indexedEntities.remove(entity);
+            }
+        }
+        return leashedEntities;
+    }
+
+    /**
+     * Remembers that the given entity is held in a leash by the given holder
+     *
+     * <p>Only entities held by players are remembered.</p>
+     *
+     * @param leashed <p>The entity held in a leash</p>
+     * @param holder  <p>The leash holder</p>
+     */
+    public static void add(LivingEntity leashed, Entity holder) {
+        remove(leashed);
+        if (!(holder instanceof Player)) {
+            return;
+        }
+        holderByLeashed.put(leashed.getUniqueId(), holder.getUniqueId());
+        leashedByHolder.computeIfAbsent(holder.getUniqueId(), id -> ConcurrentHashMap.newKeySet()).add(leashed);
+    }
+
+    /**
+     * Forgets the leash holder of the given entity
+     *
+     * @param leashed <p>The entity no longer held in a leash</p>
+     */
+    public static void remove(Entity leashed) {
+        UUID holderId = holderByLeashed.remove(leashed.getUniqueId());
+        if (holderId == null) {
+            return;
+        }
+        leashedByHolder.computeIfPresent(holderId, (id, leashedEntities) -> {
+            leashedEntities.removeIf(entity -> entity.getUniqueId().equals(leashed.getUniqueId()));
+            return leashedEntities.isEmpty() ? null : leashedEntities;
+        });
+    }
+
+    /**
+     * Forgets everything about an entity removed from its world, both as a leashed entity and as a leash holder
+     *
+     * @param entity <p>The removed entity</p>
+     */
+    public static void removeEntity(Entity entity) {
+        remove(entity);
+        searchedHolders.remove(entity.getUniqueId());
+        Set<LivingEntity> leashedEntities = leashedByHolder.remove(entity.getUniqueId());
+        if (leashedEntities == null) {
+            return;
+        }
+        for (LivingEntity leashed : leashedEntities) {
+            holderByLeashed.remove(leashed.getUniqueId(), entity.getUniqueId());
+        }
+    }
+
+    /**
+     * Forgets every leash
+     */
+    public static void clear() {
+        leashedByHolder.clear();
+        holderByLeashed.clear();
+        searchedHolders.clear();
+    }
+
+    /**
+     * Searches the surroundings of the given holder for entities held in a leash by it
+     *
+     * @param holder <p>The leash holder</p>
+     * @return <p>The entities around the holder held in a leash by it</p>
+     */
+    private static List<LivingEntity> searchSurroundings(Entity holder) {
+        StargateStatistic.LEASH_INDEX_SEARCHES.increment();
+        List<LivingEntity> leashedEntities = new ArrayList<>();
+        for (Entity entity : holder.getNearbyEntities(LOOK_FOR_LEASHED_RADIUS, LOOK_FOR_LEASHED_RADIUS,
+                LOOK_FOR_LEASHED_RADIUS)) {
+            if (entity instanceof LivingEntity livingEntity && livingEntity.isLeashed()
+                    && livingEntity.getLeashHolder() == holder) {
+                leashedEntities.add(livingEntity);
+            }
+        }
+        return leashedEntities;
+    }
+}
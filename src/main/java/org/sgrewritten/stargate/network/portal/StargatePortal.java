@@ -50,6 +50,7 @@ import org.sgrewritten.stargate.thread.task.StargateRegionTask;
 import org.sgrewritten.stargate.util.EconomyHelper;
 import org.sgrewritten.stargate.util.NameHelper;
 import org.sgrewritten.stargate.util.portal.PortalHelper;
+import org.sgrewritten.stargate.util.portal.SpawnLocationCache;
 
 import java.util.*;
 import java.util.logging.Level;
@@ -70,7 +71,10 @@ public class StargatePortal implements RealPortal {
      */
     public static final Set<PortalFlag> allUsedFlags = new HashSet<>();
 
-    private static final int OPEN_DELAY = 20 * 20; // ticks
+    /**
+     * How long a portal stays open before closing on its own
+     */
+    public static final int OPEN_DELAY = 20 * 20; // ticks
     private final UUID worldUuid;
     protected Network network;
     protected String name;
@@ -388,6 +392,7 @@ public class StargatePortal implements RealPortal {
         if (!(lineFormatter instanceof NoLineColorFormatter) && changedColor == null) {
             return;
         }
+        gate.invalidateRenderedPosition(portalPosition);
         Location positionLocation = gate.getLocation(portalPosition.getRelativePositionLocation());
         new StargateRegionTask(positionLocation) {
             @Override
@@ -428,7 +433,7 @@ public class StargatePortal implements RealPortal {
         }
         LineFormatter lineFormatter;
         if (NonLegacyClass.CHAT_COLOR.isImplemented()) {
-            lineFormatter = new LineColorFormatter(color, sign.getType());
+            lineFormatter = LineColorFormatter.of(color, sign.getType());
         } else {
             lineFormatter = new LegacyLineColorFormatter();
         }
@@ -444,6 +449,7 @@ public class StargatePortal implements RealPortal {
     public void destroy() {
         this.isDestroyed = true;
         behavior.onDestroy();
+        SpawnLocationCache.invalidate(this);
         this.close(true);
     }
 
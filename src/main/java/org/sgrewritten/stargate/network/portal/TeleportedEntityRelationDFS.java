@@ -14,7 +14,7 @@ import java.util.function.Function;
 public class TeleportedEntityRelationDFS {
 
     private final Function<Entity, Boolean> permissionFunction;
-    private final List<LivingEntity> nearbyLeashedEntities;
+    private final Function<Entity, List<LivingEntity>> leashedEntitiesFunction;
     private final Set<Entity> entitiesToTeleport;
 
     /**
@@ -25,8 +25,20 @@ public class TeleportedEntityRelationDFS {
      */
     public TeleportedEntityRelationDFS(Function<Entity, Boolean> permissionFunction,
                                        List<LivingEntity> nearbyLeashedEntities) {
+        this(permissionFunction, holder -> nearbyLeashedEntities.stream()
+                .filter(leashed -> leashed.getLeashHolder() == holder).toList());
+    }
+
+    /**
+     * Instantiates a new entity relation Depth-First-Search
+     *
+     * @param permissionFunction      <p>The permission function to use for checking permissions of an entity</p>
+     * @param leashedEntitiesFunction <p>The function to use for getting the entities held in a leash by an entity</p>
+     */
+    public TeleportedEntityRelationDFS(Function<Entity, Boolean> permissionFunction,
+                                       Function<Entity, List<LivingEntity>> leashedEntitiesFunction) {
         this.permissionFunction = permissionFunction;
-        this.nearbyLeashedEntities = nearbyLeashedEntities;
+        this.leashedEntitiesFunction = leashedEntitiesFunction;
         this.entitiesToTeleport = new HashSet<>();
     }
 
@@ -51,10 +63,8 @@ public class TeleportedEntityRelationDFS {
         }
 
         //Recurse through all entities held in a leash by the node
-        for (LivingEntity leashed : nearbyLeashedEntities) {
-            if (leashed.getLeashHolder() == node) {
-                isSuccess &= depthFirstSearch(leashed);
-            }
+        for (LivingEntity leashed : leashedEntitiesFunction.apply(node)) {
+            isSuccess &= depthFirstSearch(leashed);
         }
         return isSuccess;
     }
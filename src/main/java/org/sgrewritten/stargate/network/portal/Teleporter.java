@@ -27,6 +27,7 @@ import org.sgrewritten.stargate.property.NonLegacyMethod;
 import org.sgrewritten.stargate.thread.task.StargateEntityTask;
 import org.sgrewritten.stargate.util.MessageUtils;
 import org.sgrewritten.stargate.util.VectorUtils;
+import org.sgrewritten.stargate.util.portal.DestinationChunkPreloader;
 import org.sgrewritten.stargate.util.portal.TeleportationHelper;
 
 import java.util.*;
@@ -37,7 +38,6 @@ import java.util.logging.Level;
  */
 public class Teleporter {
 
-    private static final double LOOK_FOR_LEASHED_RADIUS = 15;
     private static final Set<Entity> boatsTeleporting = new HashSet<>();
 
     private Location exit;
@@ -49,10 +49,10 @@ public class Teleporter {
     boolean hasPermission;
     private String teleportMessage;
     private final Set<Entity> teleportedEntities = new HashSet<>();
-    private List<LivingEntity> nearbyLeashed;
     private final LanguageManager languageManager;
     private final StargateEconomyAPI economyManager;
     private List<Player> playersToRefund = new ArrayList<>();
+    private final Map<Entity, List<LivingEntity>> leashedEntitiesByHolder = new HashMap<>();
 
     /**
      * Instantiate a manager for advanced teleportation between a portal and a location
@@ -90,10 +90,8 @@ public class Teleporter {
         }
         final Entity baseEntity = target;
 
-
-        nearbyLeashed = getNearbyLeashedEntities(baseEntity);
-
-        TeleportedEntityRelationDFS dfs = new TeleportedEntityRelationDFS(this::hasPermissionAndBalance, nearbyLeashed);
+        TeleportedEntityRelationDFS dfs = new TeleportedEntityRelationDFS(this::hasPermissionAndBalance,
+                this::getLeashedEntities);
 
 
         hasPermission = dfs.depthFirstSearch(baseEntity);
@@ -190,18 +188,6 @@ public class Teleporter {
         return offset;
     }
 
-    private List<LivingEntity> getNearbyLeashedEntities(Entity origin) {
-        List<Entity> surroundingEntities = origin.getNearbyEntities(LOOK_FOR_LEASHED_RADIUS, LOOK_FOR_LEASHED_RADIUS,
-                LOOK_FOR_LEASHED_RADIUS);
-        List<LivingEntity> surroundingLeashedEntities = new ArrayList<>();
-        for (Entity entity : surroundingEntities) {
-            if (entity instanceof LivingEntity livingEntity && livingEntity.isLeashed()) {
-                surroundingLeashedEntities.add(livingEntity);
-            }
-        }
-        return surroundingLeashedEntities;
-    }
-
     /**
      * Teleports an entity with all its passengers and its vehicle
      *
@@ -229,7 +215,7 @@ public class Teleporter {
         }
 
         // To smooth the experienced for highly used portals, or entity teleportation
-        if (!exit.getChunk().isLoaded()) {
+        if (!DestinationChunkPreloader.checkLoaded(exit)) {
             exit.getChunk().load();
         }
 
@@ -258,7 +244,20 @@ public class Teleporter {
     }
 
     /**
-     * Looks for any entities in a 15-block radius and teleports them to the holding player
+     * Gets the entities held in a leash by the given holder
+     *
+     * <p>The entities of each holder are only looked up once per teleporter, as the same holder is looked up both when
+     * finding the entities to teleport and when teleporting them.</p>
+     *
+     * @param holder <p>The leash holder</p>
+     * @return <p>The entities held in a leash by the holder</p>
+     */
+    private List<LivingEntity> getLeashedEntities(Entity holder) {
+        return leashedEntitiesByHolder.computeIfAbsent(holder, LeashHolderIndex::getLeashedEntities);
+    }
+
+    /**
+     * Teleports any entities held in a leash by the given holder to the holder's exit
      *
      * @param holder   <p>The player that may hold entities in a leash</p>
      * @param rotation <p>The rotation to apply to teleported leashed entities, relative to its existing rotation</p>
@@ -267,7 +266,7 @@ public class Teleporter {
         if (!ConfigurationHelper.getBoolean(ConfigurationOption.HANDLE_LEASHES)) {
             return;
         }
-        for (LivingEntity entity : nearbyLeashed) {
+        for (LivingEntity entity : getLeashedEntities(holder)) {
             final Location modifiedExit;
             if (exit.getWorld() != entity.getWorld()) {
                 modifiedExit = TeleportationHelper.findViableSpawnLocation(entity, destination);
@@ -281,6 +280,7 @@ public class Teleporter {
                         entity.setLeashHolder(null);
                         betterTeleport(entity, modifiedExit, rotation);
                         entity.setLeashHolder(holder);
+                        LeashHolderIndex.add(entity, holder);
                     }
                 }.runNow();
             }
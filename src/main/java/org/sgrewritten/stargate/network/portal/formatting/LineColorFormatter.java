@@ -22,13 +22,21 @@ import org.sgrewritten.stargate.network.portal.VirtualPortal;
 import org.sgrewritten.stargate.api.container.Holder;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 public class LineColorFormatter implements LineFormatter {
     private static final ChatColor ERROR_COLOR = ChatColor.RED;
+    private static final StargateFlag[] FLAG_PRIORITY = new StargateFlag[]{StargateFlag.PRIVATE, StargateFlag.FREE,
+            StargateFlag.HIDDEN, StargateFlag.FORCE_SHOW, StargateFlag.BACKWARDS};
+    private static final Map<FormatterKey, LineColorFormatter> FORMATTERS = new ConcurrentHashMap<>();
     private final DyeColor dyeColor;
+    private final int pointerBehavior;
     private final ChatColor color;
     private final ChatColor pointerColor;
+    private final String boldColor;
+    private final Map<HighlightKey, HighlightTemplate> highlightTemplates = new ConcurrentHashMap<>();
 
     /**
      * Instantiates a new line color formatter for a sign
@@ -39,9 +47,33 @@ public class LineColorFormatter implements LineFormatter {
     public LineColorFormatter(DyeColor dyeColor, Material signMaterial) {
         Stargate.log(Level.FINER, "Instantiating a new LineColorFormatter with DyeColor " + dyeColor + " and sign Material " + signMaterial);
         this.dyeColor = dyeColor;
+        this.pointerBehavior = ConfigurationHelper.getInteger(ConfigurationOption.POINTER_BEHAVIOR);
 
         color = this.getColor();
         pointerColor = this.getPointerColor();
+        boldColor = color.toString() + ChatColor.BOLD;
+    }
+
+    /**
+     * Gets the shared line color formatter for a sign
+     *
+     * <p>Formatters are immutable once built, so every sign with the same dye and material shares one. The
+     * configuration is read when the formatter is built; {@link #clearCache()} needs to be called once it changes.</p>
+     *
+     * @param dyeColor     <p>The color of the dye applied to the sign</p>
+     * @param signMaterial <p>The material used for the sign</p>
+     * @return <p>A line color formatter for the sign</p>
+     */
+    public static LineColorFormatter of(DyeColor dyeColor, Material signMaterial) {
+        return FORMATTERS.computeIfAbsent(new FormatterKey(dyeColor, signMaterial),
+                key -> new LineColorFormatter(key.dyeColor(), key.signMaterial()));
+    }
+
+    /**
+     * Discards every shared formatter, so that formatters are built from the current configuration
+     */
+    public static void clearCache() {
+        FORMATTERS.clear();
     }
 
 
@@ -62,37 +94,24 @@ public class LineColorFormatter implements LineFormatter {
     private SignLine formatPortalName(PortalLineData lineData, HighlightingStyle highlightingStyle) {
         ChatColor pointerColorTemp = this.pointerColor;
         Portal portal = lineData.getPortal();
-        if (ConfigurationHelper.getInteger(ConfigurationOption.POINTER_BEHAVIOR) == 2 && getFlagColor(portal) != null) {
-            pointerColorTemp = getFlagColor(portal);
+        if (pointerBehavior == 2) {
+            ChatColor flagColor = getFlagColor(portal);
+            if (flagColor != null) {
+                pointerColorTemp = flagColor;
+            }
         }
         String portalName = (portal != null) ? portal.getName() : lineData.getText();
-        List<Holder<StargateComponent>> components = new ArrayList<>(List.of(
-                LegacyStargateComponent.of(pointerColorTemp + highlightingStyle.getPrefix()),
-                LegacyStargateComponent.of(color + portalName),
-                LegacyStargateComponent.of(pointerColorTemp + highlightingStyle.getSuffix())
-        ));
-        return new PortalLine(components, portal, lineData.getType());
+        HighlightTemplate template = getHighlightTemplate(highlightingStyle, pointerColorTemp, false);
+        return new PortalLine(template.surround(color + portalName), portal, lineData.getType());
     }
 
     private SignLine formatNetworkName(NetworkLineData networkLineData) {
         Network network = networkLineData.getNetwork();
         HighlightingStyle highlightingStyle = network.getHighlightingStyle();
         String networkName = network.getName();
-        String bold = (network.getStorageType() == StorageType.INTER_SERVER) ? ChatColor.BOLD.toString() : "";
-        List<Holder<StargateComponent>> components = new ArrayList<>(List.of(
-                LegacyStargateComponent.of(pointerColor + bold + highlightingStyle.getPrefix()),
-                LegacyStargateComponent.of(color + bold + networkName),
-                LegacyStargateComponent.of(pointerColor + bold + highlightingStyle.getSuffix())
-        ));
-        return new NetworkLine(components, network);
-    }
-
-    private List<Holder<StargateComponent>> formatStringWithHighlighting(String aString, HighlightingStyle highlightingStyle) {
-        return new ArrayList<>(List.of(
-                LegacyStargateComponent.of(pointerColor + highlightingStyle.getPrefix()),
-                LegacyStargateComponent.of(color + aString),
-                LegacyStargateComponent.of(pointerColor + highlightingStyle.getSuffix())
-        ));
+        boolean bold = network.getStorageType() == StorageType.INTER_SERVER;
+        HighlightTemplate template = getHighlightTemplate(highlightingStyle, pointerColor, bold);
+        return new NetworkLine(template.surround((bold ? boldColor : color) + networkName), network);
     }
 
     private List<Holder<StargateComponent>> formatLine(String line) {
@@ -100,11 +119,24 @@ public class LineColorFormatter implements LineFormatter {
     }
 
     private List<Holder<StargateComponent>> formatErrorLine(String error, HighlightingStyle highlightingStyle) {
-        return new ArrayList<>(List.of(
-                LegacyStargateComponent.of(ERROR_COLOR + highlightingStyle.getPrefix()),
-                LegacyStargateComponent.of(ERROR_COLOR + error),
-                LegacyStargateComponent.of(ERROR_COLOR + highlightingStyle.getSuffix())
-        ));
+        return getHighlightTemplate(highlightingStyle, ERROR_COLOR, false).surround(ERROR_COLOR + error);
+    }
+
+    /**
+     * Gets the prebuilt prefix and suffix of a highlighting style in the given color
+     *
+     * @param highlightingStyle <p>The highlighting style to get the prefix and suffix of</p>
+     * @param pointerColor      <p>The color of the prefix and suffix</p>
+     * @param bold              <p>Whether the prefix and suffix are bold</p>
+     * @return <p>The prefix and suffix components</p>
+     */
+    private HighlightTemplate getHighlightTemplate(HighlightingStyle highlightingStyle, ChatColor pointerColor,
+                                                   boolean bold) {
+        return highlightTemplates.computeIfAbsent(new HighlightKey(highlightingStyle, pointerColor, bold), key -> {
+            String start = key.pointerColor() + (key.bold() ? ChatColor.BOLD.toString() : "");
+            return new HighlightTemplate(new LegacyStargateComponent(start + key.style().getPrefix()),
+                    new LegacyStargateComponent(start + key.style().getSuffix()));
+        });
     }
 
     /**
@@ -126,12 +158,12 @@ public class LineColorFormatter implements LineFormatter {
      */
     private ChatColor getPointerColor() {
         if (shouldUseDyeColor()) {
-            if (ConfigurationHelper.getInteger(ConfigurationOption.POINTER_BEHAVIOR) == 3) {
+            if (pointerBehavior == 3) {
                 return ColorConverter.getInvertedChatColor(ColorConverter.getChatColorFromDyeColor(dyeColor));
             }
             return ColorConverter.getChatColorFromDyeColor(dyeColor);
         }
-        if (ConfigurationHelper.getInteger(ConfigurationOption.POINTER_BEHAVIOR) == 3) {
+        if (pointerBehavior == 3) {
             return ColorRegistry.DEFAULT_COLORS.get(ColorSelector.POINTER);
         }
         return ColorRegistry.DEFAULT_COLORS.get(ColorSelector.TEXT);
@@ -151,20 +183,38 @@ public class LineColorFormatter implements LineFormatter {
      * @return <p> A color corresponding to a portals flag. </p>
      */
     private ChatColor getFlagColor(Portal portal) {
-        StargateFlag[] flagPriority = new StargateFlag[]{StargateFlag.PRIVATE, StargateFlag.FREE, StargateFlag.HIDDEN,
-                StargateFlag.FORCE_SHOW, StargateFlag.BACKWARDS};
-
         if (portal == null) {
             return null;
         }
         if (portal instanceof VirtualPortal) {
             return ColorRegistry.FLAG_COLORS.get(StargateFlag.INTERSERVER);
         }
-        for (StargateFlag flag : flagPriority) {
+        for (StargateFlag flag : FLAG_PRIORITY) {
             if (portal.hasFlag(flag)) {
                 return ColorRegistry.FLAG_COLORS.get(flag);
             }
         }
         return null;
     }
+
+    private record FormatterKey(DyeColor dyeColor, Material signMaterial) {
+    }
+
+    private record HighlightKey(HighlightingStyle style, ChatColor pointerColor, boolean bold) {
+    }
+
+    /**
+     * The immutable prefix and suffix components of a highlighting style, shared by every line using them
+     */
+    private record HighlightTemplate(StargateComponent prefix, StargateComponent suffix) {
+
+        /**
+         * @param text <p>The formatted text to surround</p>
+         * @return <p>New line components, with the text surrounded by the prefix and suffix</p>
+         */
+        List<Holder<StargateComponent>> surround(String text) {
+            return new ArrayList<>(List.of(new Holder<>(prefix), LegacyStargateComponent.of(text),
+                    new Holder<>(suffix)));
+        }
+    }
 }
@@ -0,0 +1,32 @@
+package org.sgrewritten.stargate.network.portal.portaldata;
+
+import org.sgrewritten.stargate.network.StorageType;
+
+/**
+ * The undecoded column values of one row in the portal tables
+ *
+ * <p>Reading a row has to happen on the thread owning the result set, while decoding it into {@link PortalData} can
+ * happen on any thread.</p>
+ *
+ * @param name         The name of the portal.
+ * @param networkName  The name of the network that the portal is associated with.
+ * @param destination  The name of the portal stored as this portal's destination, or an empty string.
+ * @param serverUUID   The UUID of the server this portal was constructed on, or null if not inter-server.
+ * @param serverName   The name of the server this portal was constructed on, or null if not inter-server.
+ * @param worldUUID    The UUID of the world this portal is located in.
+ * @param x            The x coordinate of the top-left block of this portal.
+ * @param y            The y coordinate of the top-left block of this portal.
+ * @param z            The z coordinate of the top-left block of this portal.
+ * @param flags        The flag string of this portal.
+ * @param ownerUUID    The UUID of the player who owns this portal.
+ * @param gateFileName The file name of the gate format of this portal.
+ * @param flipZ        Whether this portal is flipped on the Z axis.
+ * @param facing       The ordinal of the direction that this portal is facing.
+ * @param portalType   The type associated with this portal.
+ * @param metaData     The metadata on this portal
+ */
+public record RawPortalData(String name, String networkName, String destination, String serverUUID,
+                            String serverName, String worldUUID, int x, int y, int z, String flags, String ownerUUID,
+                            String gateFileName, boolean flipZ, String facing, StorageType portalType,
+                            String metaData) {
+}
@@ -44,7 +44,14 @@ public enum NonLegacyMethod {
      *
      * <p>This was added to Paper to change a powered minecart's z-push</p>
      */
-    GET_FUEL(NonLegacyClass.POWERED_MINECART, "getFuel");
+    GET_FUEL(NonLegacyClass.POWERED_MINECART, "getFuel"),
+
+    /**
+     * The world getChunkAtAsync method
+     *
+     * <p>This was added to Paper to load chunks without blocking the main thread</p>
+     */
+    GET_CHUNK_AT_ASYNC(NonLegacyClass.WORLD, "getChunkAtAsync", int.class, int.class);
 
 
     private NonLegacyClass nonLegacyClass;
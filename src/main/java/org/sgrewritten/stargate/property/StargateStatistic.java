@@ -0,0 +1,141 @@
+package org.sgrewritten.stargate.property;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for the hot paths of Stargate, included in the output of the trace command
+ */
+public enum StargateStatistic {
+
+    /**
+     * Block changing movements checked for entering a Stargate
+     */
+    MOVE_EVENTS_CHECKED,
+
+    /**
+     * Block changing movements rejected early, as the destination chunk did not contain any iris
+     */
+    MOVE_EVENTS_REJECTED_EARLY,
+
+    /**
+     * Portal rows decoded while loading portals from storage
+     */
+    PORTALS_DECODED,
+
+    /**
+     * Nanoseconds spent reading portal rows from storage
+     */
+    PORTAL_LOAD_READ_NANOS,
+
+    /**
+     * Nanoseconds spent decoding portal rows, summed over all decoding threads
+     */
+    PORTAL_LOAD_DECODE_NANOS,
+
+    /**
+     * Nanoseconds spent registering the gates of loaded portals
+     */
+    PORTAL_LOAD_REGISTER_NANOS,
+
+    /**
+     * Nanoseconds spent capturing chunk snapshots for validating the gates of loaded portals
+     */
+    PORTAL_LOAD_SNAPSHOT_NANOS,
+
+    /**
+     * Nanoseconds spent validating the gates of loaded portals from chunk snapshots, off the thread owning the chunks
+     */
+    PORTAL_LOAD_VALIDATE_NANOS,
+
+    /**
+     * Network updates run, each updating every portal in a network
+     */
+    NETWORK_UPDATES,
+
+    /**
+     * Network updates requested while the network was already waiting for an update, and collapsed into that update
+     */
+    NETWORK_UPDATES_COLLAPSED,
+
+    /**
+     * Sign redraws requested while the sign was already waiting to be redrawn, and collapsed into that redraw
+     */
+    SIGN_REDRAWS_COLLAPSED,
+
+    /**
+     * Signs drawn
+     */
+    SIGN_REDRAWS,
+
+    /**
+     * Sign redraws skipped, as the sign already showed the same lines
+     */
+    SIGN_REDRAWS_SKIPPED,
+
+    /**
+     * Portal charges authorized from known balances, and carried out asynchronously
+     */
+    ECONOMY_CHARGES_DEFERRED,
+
+    /**
+     * Portal charges which could not be carried out after being authorized, and were recorded as debt
+     */
+    ECONOMY_DEBTS,
+
+    /**
+     * Spawn locations of arriving entities taken from the spawn location cache
+     */
+    SPAWN_CACHE_HITS,
+
+    /**
+     * Spawn locations of arriving entities searched for, as none was cached
+     */
+    SPAWN_CACHE_MISSES,
+
+    /**
+     * Teleports to a destination whose chunk was already loaded
+     */
+    CHUNK_PRELOAD_HITS,
+
+    /**
+     * Teleports to a destination whose chunk had to be loaded while teleporting
+     */
+    CHUNK_PRELOAD_MISSES,
+
+    /**
+     * Searches of the surroundings of a leash holder for entities leashed before the plugin was enabled
+     */
+    LEASH_INDEX_SEARCHES;
+
+    private final LongAdder counter = new LongAdder();
+
+    /**
+     * Increments this statistic by one
+     */
+    public void increment() {
+        counter.increment();
+    }
+
+    /**
+     * Increments this statistic by the given amount
+     *
+     * @param amount <p>The amount to increment by</p>
+     */
+    public void add(long amount) {
+        counter.add(amount);
+    }
+
+    /**
+     * @return <p>The current value of this statistic</p>
+     */
+    public long getValue() {
+        return counter.sum();
+    }
+
+    /**
+     * Resets this statistic to zero
+     */
+    public void reset() {
+        counter.reset();
+    }
+}
@@ -0,0 +1,17 @@
+package org.sgrewritten.stargate.thread;
+
+/**
+ * What runs asynchronous tasks, like database and file access
+ */
+public enum AsyncBackend {
+
+    /**
+     * Run asynchronous tasks on the thread pool of the server's asynchronous scheduler
+     */
+    BUKKIT,
+
+    /**
+     * Run asynchronous tasks on virtual threads
+     */
+    VIRTUAL_THREADS
+}
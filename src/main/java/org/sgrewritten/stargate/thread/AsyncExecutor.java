@@ -0,0 +1,115 @@
+package org.sgrewritten.stargate.thread;
+
+import org.sgrewritten.stargate.Stargate;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+
+/**
+ * Keeps track of which backend runs asynchronous tasks
+ *
+ * <p>Most asynchronous work in Stargate is blocking I/O, like database queries and file writes. On the server's
+ * asynchronous scheduler every blocked task holds a platform thread, while a blocked virtual thread only holds a bit
+ * of memory, which makes virtual threads a better fit when many tasks block at the same time.</p>
+ */
+public final class AsyncExecutor {
+
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = Thread.ofVirtual().name("Stargate virtual thread ", 0)
+            .factory();
+    private static final Set<Thread> blockingThreads = ConcurrentHashMap.newKeySet();
+    private static volatile AsyncBackend backend = AsyncBackend.BUKKIT;
+
+    private AsyncExecutor() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Sets the backend to run asynchronous tasks on
+     *
+     * @param requestedBackend <p>The backend to use</p>
+     */
+    public static void setBackend(AsyncBackend requestedBackend) {
+        backend = requestedBackend;
+    }
+
+    /**
+     * Sets the backend to run asynchronous tasks on from its name
+     *
+     * @param backendName <p>The name of the backend to use</p>
+     */
+    public static void setBackend(String backendName) {
+        try {
+            setBackend(AsyncBackend.valueOf(backendName.toUpperCase()));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            Stargate.log(Level.WARNING, "Unknown asynchronous backend '" + backendName + "', using " + AsyncBackend.BUKKIT);
+            backend = AsyncBackend.BUKKIT;
+        }
+    }
+
+    /**
+     * @return <p>The backend currently running asynchronous tasks</p>
+     */
+    public static AsyncBackend getBackend() {
+        return backend;
+    }
+
+    /**
+     * @return <p>True if asynchronous tasks should run on virtual threads</p>
+     */
+    public static boolean isUsingVirtualThreads() {
+        return backend == AsyncBackend.VIRTUAL_THREADS;
+    }
+
+    /**
+     * Starts the given task on a new virtual thread
+     *
+     * @param task <p>The task to run</p>
+     * @return <p>The started thread</p>
+     */
+    public static Thread startVirtualThread(Runnable task) {
+        Thread thread = VIRTUAL_THREAD_FACTORY.newThread(task);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Runs the given task asynchronously if using virtual threads, or on the calling thread otherwise
+     *
+     * <p>Used for blocking I/O which has always run on the calling thread. Virtual threads do not keep the server
+     * running, so {@link #awaitBlockingTasks()} needs to be called before shutting down.</p>
+     *
+     * @param task <p>The task to run</p>
+     */
+    public static void runBlocking(Runnable task) {
+        if (!isUsingVirtualThreads()) {
+            task.run();
+            return;
+        }
+        Thread thread = VIRTUAL_THREAD_FACTORY.newThread(() -> {
+            try {
+                task.run();
+            } finally {
+                blockingThreads.remove(Thread.currentThread());
+            }
+        });
+        blockingThreads.add(thread);
+        thread.start();
+    }
+
+    /**
+     * Waits for every task started by {@link #runBlocking(Runnable)} to finish
+     */
+    public static void awaitBlockingTasks() {
+        for (Thread thread : blockingThreads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Stargate.log(Level.WARNING, "Interrupted while waiting for asynchronous tasks to finish");
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
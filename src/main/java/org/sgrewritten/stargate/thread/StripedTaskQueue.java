@@ -0,0 +1,252 @@
+package org.sgrewritten.stargate.thread;
+
+import org.jetbrains.annotations.Nullable;
+import org.sgrewritten.stargate.Stargate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A set of task queues, each drained in order by its own worker
+ *
+ * <p>Tasks are assigned to a stripe by their key, so that tasks with the same key, like the same portal or network,
+ * always run in the order they were submitted, while tasks with different keys can run in parallel. Tasks without a
+ * key all run on the first stripe, in the order they were submitted.</p>
+ */
+public class StripedTaskQueue {
+
+    /**
+     * How long an idle worker waits for a task before checking whether it has been stopped
+     */
+    private static final long STOP_CHECK_MILLIS = 1000;
+    private final Stripe[] stripes;
+    private final AtomicInteger pendingTasks = new AtomicInteger();
+    private final Object emptyLock = new Object();
+
+    /**
+     * Instantiates a new striped task queue
+     *
+     * @param stripeCount <p>The amount of stripes, and thereby the maximum amount of tasks running in parallel</p>
+     */
+    public StripedTaskQueue(int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("A striped task queue needs at least one stripe");
+        }
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * @return <p>The amount of stripes in this queue</p>
+     */
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * Gets the stripe tasks with the given key are run on
+     *
+     * @param key <p>The key of the tasks, or null if the tasks have no key</p>
+     * @return <p>The index of the stripe</p>
+     */
+    public int getStripe(@Nullable Object key) {
+        if (key == null) {
+            return 0;
+        }
+        int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+
+    /**
+     * Adds a task to the end of the stripe of the given key
+     *
+     * @param key  <p>The key of the task, or null if the task has no key</p>
+     * @param task <p>The task to run</p>
+     * @throws InterruptedException <p>If interrupted while adding the task</p>
+     */
+    public void submit(@Nullable Object key, Runnable task) throws InterruptedException {
+        pendingTasks.incrementAndGet();
+        try {
+            stripes[getStripe(key)].queue.put(new QueuedTask(task, System.nanoTime(), -1));
+        } catch (InterruptedException e) {
+            onTaskDone();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the tasks of the given stripe on the calling thread, until stopped by {@link #stop(long)}
+     *
+     * @param stripe   <p>The index of the stripe to run the tasks of</p>
+     * @param workerId <p>The id used to stop this worker</p>
+     */
+    public void work(int stripe, long workerId) {
+        Stripe workedStripe = stripes[stripe];
+        do {
+            QueuedTask queuedTask;
+            try {
+                queuedTask = workedStripe.queue.poll(STOP_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (queuedTask == null) {
+                // Another worker of the stripe might have taken the stop signal of this worker
+                if (workedStripe.stoppedWorkerIds.remove(workerId)) {
+                    return;
+                }
+                continue;
+            }
+            if (queuedTask.isStopSignal()) {
+                if (queuedTask.workerId() == workerId) {
+                    workedStripe.stoppedWorkerIds.remove(workerId);
+                    runRemaining(workedStripe);
+                    return;
+                }
+                // The worker it is meant for notices it has been stopped once its stripe is idle
+                continue;
+            }
+            runTask(workedStripe, queuedTask);
+        } while (!Thread.currentThread().isInterrupted());
+    }
+
+    /**
+     * Stops the workers with the given id once they reach the current end of their stripe
+     *
+     * <p>Any tasks submitted afterwards, but before a stopping worker has reached the end of its stripe, are still run
+     * by that worker before it stops.</p>
+     *
+     * @param workerId <p>The id of the workers to stop</p>
+     */
+    public void stop(long workerId) {
+        for (Stripe stripe : stripes) {
+            stripe.stoppedWorkerIds.add(workerId);
+            stripe.queue.add(new QueuedTask(null, System.nanoTime(), workerId));
+        }
+    }
+
+    /**
+     * Waits until every submitted task has finished running or has been discarded
+     *
+     * @throws InterruptedException <p>If interrupted while waiting</p>
+     */
+    public void awaitEmpty() throws InterruptedException {
+        synchronized (emptyLock) {
+            while (pendingTasks.get() > 0) {
+                emptyLock.wait();
+            }
+        }
+    }
+
+    /**
+     * Gets the current statistics of the given stripe
+     *
+     * @param stripe <p>The index of the stripe</p>
+     * @return <p>The statistics of the stripe</p>
+     */
+    public StripeStatistics getStatistics(int stripe) {
+        Stripe statisticsStripe = stripes[stripe];
+        int queueDepth = 0;
+        for (QueuedTask queuedTask : statisticsStripe.queue) {
+            if (!queuedTask.isStopSignal()) {
+                queueDepth++;
+            }
+        }
+        return new StripeStatistics(queueDepth, statisticsStripe.completedTasks.sum(),
+                statisticsStripe.waitNanos.sum(), statisticsStripe.runNanos.sum(), statisticsStripe.maxLatencyNanos.get());
+    }
+
+    /**
+     * Runs all tasks in the given stripe, discarding the stop signals of other workers
+     */
+    private void runRemaining(Stripe stripe) {
+        List<QueuedTask> remaining = new ArrayList<>();
+        stripe.queue.drainTo(remaining);
+        for (QueuedTask queuedTask : remaining) {
+            if (!queuedTask.isStopSignal()) {
+                runTask(stripe, queuedTask);
+            }
+        }
+    }
+
+    /**
+     * Runs a task of the given stripe
+     *
+     * <p>Anything thrown by the task is logged, so that the worker keeps running the later tasks of its stripe.</p>
+     */
+    private void runTask(Stripe stripe, QueuedTask queuedTask) {
+        long startTime = System.nanoTime();
+        try {
+            queuedTask.task().run();
+        } catch (Throwable throwable) {
+            Stargate.log(throwable);
+        } finally {
+            stripe.recordCompletion(queuedTask.submitTime(), startTime, System.nanoTime());
+            onTaskDone();
+        }
+    }
+
+    private void onTaskDone() {
+        if (pendingTasks.decrementAndGet() == 0) {
+            synchronized (emptyLock) {
+                emptyLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * The statistics of one stripe
+     *
+     * @param queueDepth      <p>The amount of tasks waiting to run</p>
+     * @param completedTasks  <p>The amount of tasks which have finished running</p>
+     * @param totalWaitNanos  <p>The nanoseconds finished tasks spent waiting in the queue, summed</p>
+     * @param totalRunNanos   <p>The nanoseconds finished tasks spent running, summed</p>
+     * @param maxLatencyNanos <p>The longest time from submitting a task until it finished running</p>
+     */
+    public record StripeStatistics(int queueDepth, long completedTasks, long totalWaitNanos, long totalRunNanos,
+                                   long maxLatencyNanos) {
+
+        /**
+         * @return <p>The average time from submitting a task until it finished running, in nanoseconds</p>
+         */
+        public long averageLatencyNanos() {
+            return completedTasks == 0 ? 0 : (totalWaitNanos + totalRunNanos) / completedTasks;
+        }
+    }
+
+    /**
+     * A submitted task, or a signal for a worker to stop if it has no task
+     */
+    private record QueuedTask(@Nullable Runnable task, long submitTime, long workerId) {
+
+        private boolean isStopSignal() {
+            return task == null;
+        }
+    }
+
+    private static class Stripe {
+        private final BlockingQueue<QueuedTask> queue = new LinkedBlockingQueue<>();
+        private final LongAdder completedTasks = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAdder runNanos = new LongAdder();
+        private final AtomicLong maxLatencyNanos = new AtomicLong();
+        private final Set<Long> stoppedWorkerIds = ConcurrentHashMap.newKeySet();
+
+        private void recordCompletion(long submitTime, long startTime, long endTime) {
+            completedTasks.increment();
+            waitNanos.add(startTime - submitTime);
+            runNanos.add(endTime - startTime);
+            maxLatencyNanos.accumulateAndGet(endTime - submitTime, Math::max);
+        }
+    }
+}
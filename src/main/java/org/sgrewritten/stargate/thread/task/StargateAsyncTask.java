@@ -2,6 +2,7 @@ package org.sgrewritten.stargate.thread.task;
 
 import org.bukkit.Bukkit;
 import org.sgrewritten.stargate.Stargate;
+import org.sgrewritten.stargate.thread.AsyncExecutor;
 
 import java.util.concurrent.TimeUnit;
 
@@ -18,7 +19,10 @@ public abstract class StargateAsyncTask extends StargateTask {
 
     @Override
     public void runNow() {
-        if (USING_FOLIA) {
+        if (AsyncExecutor.isUsingVirtualThreads()) {
+            super.registerTask();
+            AsyncExecutor.startVirtualThread(super::runTask);
+        } else if (USING_FOLIA) {
             super.registerFoliaTask(Bukkit.getServer().getAsyncScheduler().runNow(plugin, super::runTask));
         } else {
             super.registerBukkitTask(new StargateBukkitRunnable(super::runTask)).runTaskAsynchronously(plugin);
@@ -1,33 +1,49 @@
 package org.sgrewritten.stargate.thread.task;
 
+import org.jetbrains.annotations.Nullable;
 import org.sgrewritten.stargate.Stargate;
-
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import org.sgrewritten.stargate.thread.StripedTaskQueue;
 
 /**
  * Runs asynchronous tasks in a queue (an attempt to avoid race conditions, and probably better than not doing this)
+ *
+ * <p>Tasks with the same key run in the order they were queued, while tasks with different keys may run in parallel.
+ * Tasks without a key all run in the order they were queued.</p>
  */
 public abstract class StargateQueuedAsyncTask extends StargateTask {
-    public static final BlockingQueue<Runnable> asyncQueue = new LinkedBlockingQueue<>();
+    private static final int STRIPE_COUNT = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+    private static final StripedTaskQueue asyncQueue = new StripedTaskQueue(STRIPE_COUNT);
+    private final Object key;
 
     protected StargateQueuedAsyncTask() {
+        this(null);
+    }
+
+    /**
+     * @param key <p>The key to order this task by, like the portal or network it changes</p>
+     */
+    protected StargateQueuedAsyncTask(@Nullable Object key) {
+        this.key = key;
     }
 
+    /**
+     * Waits until every queued task has finished running
+     */
     public static void waitForEmptyQueue() {
-        while (true) {
-            if (asyncQueue.peek() == null) {
-                return;
-            }
-            try {
-                Thread.sleep(5);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                return;
-            }
+        try {
+            asyncQueue.awaitEmpty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
+    /**
+     * @return <p>The queue all queued tasks are run from</p>
+     */
+    public static StripedTaskQueue getAsyncQueue() {
+        return asyncQueue;
+    }
+
     @Override
     public void runDelayed(long delay) {
         StargateQueuedAsyncTask task = this;
@@ -43,7 +59,7 @@ public abstract class StargateQueuedAsyncTask extends StargateTask {
     public void runNow() {
         try {
             super.registerTask();
-            asyncQueue.put(super::runTask);
+            asyncQueue.submit(key, super::runTask);
         } catch (InterruptedException e) {
             Stargate.log(e);
             Thread.currentThread().interrupt();
@@ -63,55 +79,18 @@ public abstract class StargateQueuedAsyncTask extends StargateTask {
     }
 
     public static void disableAsyncQueue(long id) {
-        try {
-            asyncQueue.put(new DisableQueueTask(id));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        asyncQueue.stop(id);
     }
 
     public static void enableAsyncQueue(long id) {
-        new StargateAsyncTask() {
-            @Override
-            public void run() {
-                StargateQueuedAsyncTask.cycleThroughAsyncQueue(id);
-            }
-        }.runNow();
-    }
-
-    private static void cycleThroughAsyncQueue(long id) {
-        do {
-            try {
-                Runnable runnable = asyncQueue.take();
-                if (runnable instanceof DisableQueueTask disableQueueTask && !disableQueueTask.hasId(id)) {
-                    asyncQueue.put(runnable);
-                    continue;
+        for (int stripe = 0; stripe < asyncQueue.getStripeCount(); stripe++) {
+            int workedStripe = stripe;
+            new StargateAsyncTask() {
+                @Override
+                public void run() {
+                    asyncQueue.work(workedStripe, id);
                 }
-                runnable.run();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            } catch (Exception e) {
-                Stargate.log(e);
-            }
-        } while (!Thread.currentThread().isInterrupted());
-    }
-
-    private static class DisableQueueTask implements Runnable {
-        private final long id;
-
-        public DisableQueueTask(long id) {
-            this.id = id;
-        }
-
-        @Override
-        public void run() {
-            Thread.currentThread().interrupt();
-            asyncQueue.clear();
-        }
-
-        public boolean hasId(long id) {
-            return this.id == id;
+            }.runNow();
         }
     }
 }
@@ -78,7 +78,9 @@ public abstract class StargateTask implements Runnable {
      */
     private void cancelIfTaskHasBeenScheduled(boolean bukkit) {
         if (bukkit) {
-            scheduledBukkitTask.cancel();
+            if (scheduledBukkitTask != null) {
+                scheduledBukkitTask.cancel();
+            }
         } else if (scheduledTask != null) {
             scheduledTask.cancel();
         }
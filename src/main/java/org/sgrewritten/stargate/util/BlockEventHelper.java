@@ -12,6 +12,7 @@ import org.sgrewritten.stargate.api.event.portal.StargateDestroyPortalEvent;
 import org.sgrewritten.stargate.api.network.portal.RealPortal;
 import org.sgrewritten.stargate.config.ConfigurationHelper;
 import org.sgrewritten.stargate.property.BlockEventType;
+import org.sgrewritten.stargate.util.portal.SpawnLocationCache;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -34,7 +35,9 @@ public class BlockEventHelper {
      * @param stargateAPI <p> The stargate api </p>
      */
     public static boolean onAnyBlockChangeEvent(Cancellable event, BlockEventType type, Location location, StargateAPI stargateAPI) {
-        RealPortal portal = stargateAPI.getRegistry().getPortal(location);
+        SpawnLocationCache.invalidate(location);
+        RealPortal portal = stargateAPI.getRegistry().getPortal(location.getWorld(), location.getBlockX(),
+                location.getBlockY(), location.getBlockZ());
         if (portal == null) {
             return false;
         }
@@ -78,7 +81,8 @@ public class BlockEventHelper {
             canDestroy = ConfigurationHelper.getBoolean(ConfigurationOption.DESTROY_ON_EXPLOSION);
         }
         for (Block block : blocks) {
-            RealPortal portal = stargateAPI.getRegistry().getPortal(block.getLocation());
+            SpawnLocationCache.invalidate(block);
+            RealPortal portal = stargateAPI.getRegistry().getPortal(block.getWorld(), block.getX(), block.getY(), block.getZ());
             if (portal != null) {
                 if (!canDestroy) {
                     event.setCancelled(true);
@@ -0,0 +1,53 @@
+package org.sgrewritten.stargate.util;
+
+import org.bukkit.Material;
+
+import java.util.function.Predicate;
+
+/**
+ * A helper class for storing sets of materials as bitsets indexed by material ordinal
+ *
+ * <p>Several sets can be laid out after each other in one flat array, each taking {@link #WORDS} longs.</p>
+ */
+public final class MaterialBitSet {
+
+    private static final Material[] MATERIALS = Material.values();
+
+    /**
+     * The amount of longs used by one set of materials
+     */
+    public static final int WORDS = (MATERIALS.length + Long.SIZE - 1) / Long.SIZE;
+
+    private MaterialBitSet() {
+
+    }
+
+    /**
+     * Adds all non-legacy materials accepted by the given filter to a set in the given array
+     *
+     * @param bits   <p>The array containing the set</p>
+     * @param offset <p>The index of the set's first long in the array</p>
+     * @param filter <p>The filter deciding which materials to add</p>
+     */
+    public static void addAll(long[] bits, int offset, Predicate<Material> filter) {
+        for (Material material : MATERIALS) {
+            if (!material.isLegacy() && filter.test(material)) {
+                int ordinal = material.ordinal();
+                bits[offset + (ordinal >>> 6)] |= 1L << ordinal;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a set in the given array contains the given material
+     *
+     * @param bits     <p>The array containing the set</p>
+     * @param offset   <p>The index of the set's first long in the array</p>
+     * @param material <p>The material to check for</p>
+     * @return <p>True if the set contains the material</p>
+     */
+    public static boolean contains(long[] bits, int offset, Material material) {
+        int ordinal = material.ordinal();
+        return (bits[offset + (ordinal >>> 6)] & (1L << ordinal)) != 0;
+    }
+}
@@ -2,6 +2,7 @@ package org.sgrewritten.stargate.util.database;
 
 import org.sgrewritten.stargate.Stargate;
 import org.sgrewritten.stargate.api.config.ConfigurationOption;
+import org.sgrewritten.stargate.api.database.StorageAPI;
 import org.sgrewritten.stargate.api.network.portal.flag.StargateFlag;
 import org.sgrewritten.stargate.api.network.portal.PositionType;
 import org.sgrewritten.stargate.config.ConfigurationHelper;
@@ -11,8 +12,11 @@ import org.sgrewritten.stargate.database.MySqlDatabase;
 import org.sgrewritten.stargate.database.SQLDatabaseAPI;
 import org.sgrewritten.stargate.database.SQLQueryGenerator;
 import org.sgrewritten.stargate.database.SQLiteDatabase;
+import org.sgrewritten.stargate.database.WriteBehindStorage;
 import org.sgrewritten.stargate.exception.StargateInitializationException;
+import org.sgrewritten.stargate.exception.database.StorageWriteException;
 import org.sgrewritten.stargate.network.StorageType;
+import org.sgrewritten.stargate.thread.task.StargateQueuedAsyncTask;
 
 import java.io.File;
 import java.sql.Connection;
@@ -28,6 +32,38 @@ public class DatabaseHelper {
         throw new IllegalStateException("Utility class");
     }
 
+    /**
+     * Runs a write to the given storage
+     *
+     * <p>A write-behind storage only records the write, so it runs on the calling thread. Any other storage writes
+     * immediately, so it runs in the asynchronous queue, to keep the database off the main thread. Writes with the same
+     * key run in the order they were requested.</p>
+     *
+     * @param storageAPI <p>The storage to write to</p>
+     * @param key        <p>The key to order the write by, like the network of the changed portal</p>
+     * @param write      <p>The write to run</p>
+     */
+    public static void runStorageWrite(StorageAPI storageAPI, Object key, StorageWrite write) {
+        if (storageAPI instanceof WriteBehindStorage) {
+            runAndLog(write);
+            return;
+        }
+        new StargateQueuedAsyncTask(key) {
+            @Override
+            public void run() {
+                runAndLog(write);
+            }
+        }.runNow();
+    }
+
+    private static void runAndLog(StorageWrite write) {
+        try {
+            write.run();
+        } catch (StorageWriteException e) {
+            Stargate.log(e);
+        }
+    }
+
     /**
      * Executes and closes the given statement
      *
@@ -203,4 +239,18 @@ public class DatabaseHelper {
         String serverPrefix = usingRemoteDatabase ? Stargate.getServerUUID() : "";
         return new TableNameConfiguration(prefix, serverPrefix.replace("-", ""));
     }
+
+    /**
+     * A write to a storage
+     */
+    @FunctionalInterface
+    public interface StorageWrite {
+
+        /**
+         * Runs the write
+         *
+         * @throws StorageWriteException <p>If unable to write</p>
+         */
+        void run() throws StorageWriteException;
+    }
 }
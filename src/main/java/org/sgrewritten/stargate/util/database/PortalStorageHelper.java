@@ -18,6 +18,7 @@ import org.sgrewritten.stargate.exception.PortalLoadException;
 import org.sgrewritten.stargate.network.StorageType;
 import org.sgrewritten.stargate.network.portal.portaldata.GateData;
 import org.sgrewritten.stargate.network.portal.portaldata.PortalData;
+import org.sgrewritten.stargate.network.portal.portaldata.RawPortalData;
 import org.sgrewritten.stargate.property.StargateConstant;
 import org.sgrewritten.stargate.util.LegacyDataHandler;
 
@@ -26,6 +27,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.logging.Level;
 
 public class PortalStorageHelper {
@@ -43,6 +45,17 @@ public class PortalStorageHelper {
      * @throws PortalLoadException <p>See {@link PortalLoadException.FailureType} for causes</p>
      */
     public static @NotNull PortalData loadPortalData(ResultSet resultSet, StorageType portalType) throws SQLException, PortalLoadException {
+        return decodePortalData(readRawPortalData(resultSet, portalType));
+    }
+
+    /**
+     * Read the column values of one portal from sql result set, without decoding them
+     * @param resultSet <p>Sql result set representing one row in the portals table</p>
+     * @param portalType <p>How the portal is stored</p>
+     * @return <p>The raw column values of the row</p>
+     * @throws SQLException <p>If any sql problem</p>
+     */
+    public static @NotNull RawPortalData readRawPortalData(ResultSet resultSet, StorageType portalType) throws SQLException {
         String name = resultSet.getString("name");
         String networkName = resultSet.getString("network");
         String destination = resultSet.getString("destination");
@@ -54,34 +67,68 @@ public class PortalStorageHelper {
         String serverName = null;
         if (portalType == StorageType.INTER_SERVER) {
             serverUUID = resultSet.getString("homeServerId");
+            serverName = resultSet.getString("serverName");
+        }
+        return new RawPortalData(name, networkName, destination, serverUUID, serverName, resultSet.getString("world"),
+                resultSet.getInt("x"), resultSet.getInt("y"), resultSet.getInt("z"), resultSet.getString("flags"),
+                resultSet.getString("ownerUUID"), resultSet.getString("gateFileName"), resultSet.getBoolean("flipZ"),
+                resultSet.getString("facing"), portalType, resultSet.getString("metaData"));
+    }
+
+    /**
+     * Decode the raw column values of one portal
+     *
+     * @param rawPortalData <p>The raw column values of one row in the portals table</p>
+     * @return <p>Portal data which can be used to create a portal</p>
+     * @throws PortalLoadException <p>See {@link PortalLoadException.FailureType} for causes</p>
+     */
+    public static @NotNull PortalData decodePortalData(RawPortalData rawPortalData) throws PortalLoadException {
+        return decodePortalData(rawPortalData, Bukkit::getWorld);
+    }
+
+    /**
+     * Decode the raw column values of one portal
+     *
+     * <p>Does not touch the result set the values were read from, nor the server if the given world lookup does not,
+     * and can therefore run on any thread.</p>
+     * @param rawPortalData <p>The raw column values of one row in the portals table</p>
+     * @param worldLookup   <p>Gets the world with the given id, or null if there is no such world</p>
+     * @return <p>Portal data which can be used to create a portal</p>
+     * @throws PortalLoadException <p>See {@link PortalLoadException.FailureType} for causes</p>
+     */
+    public static @NotNull PortalData decodePortalData(RawPortalData rawPortalData,
+                                                       Function<UUID, World> worldLookup) throws PortalLoadException {
+        String name = rawPortalData.name();
+        String networkName = rawPortalData.networkName();
+        String serverUUID = rawPortalData.serverUUID();
+        String serverName = null;
+        if (rawPortalData.portalType() == StorageType.INTER_SERVER) {
             Stargate.log(Level.FINEST, "serverUUID = " + serverUUID);
             if (!serverUUID.equals(Stargate.getServerUUID())) {
-                serverName = resultSet.getString("serverName");
+                serverName = rawPortalData.serverName();
             }
         }
-        World world = Bukkit.getWorld(UUID.fromString(resultSet.getString("world")));
+        World world = worldLookup.apply(UUID.fromString(rawPortalData.worldUUID()));
         // Avoid the use of unecessary queries if server is not this server
         if (world == null && serverName == null) {
             Stargate.log(Level.FINE, "World does not exist for portal: " + networkName + ":" + name);
             throw new PortalLoadException(PortalLoadException.FailureType.WORLD);
         }
-        Location topLeft = new Location(world, resultSet.getInt("x"), resultSet.getInt("y"), resultSet.getInt("z"));
-
-        String flagString = resultSet.getString("flags");
-        Set<PortalFlag> flags = PortalFlag.parseFlags(flagString);
-        UUID ownerUUID = UUID.fromString(resultSet.getString("ownerUUID"));
-        String gateFileName = resultSet.getString("gateFileName");
-        boolean flipZ = resultSet.getBoolean("flipZ");
-        BlockFace facing = getBlockFaceFromOrdinal(Integer.parseInt(resultSet.getString("facing")));
-        String metadata = resultSet.getString("metaData");
+        Location topLeft = new Location(world, rawPortalData.x(), rawPortalData.y(), rawPortalData.z());
+
+        Set<PortalFlag> flags = PortalFlag.parseFlags(rawPortalData.flags());
+        UUID ownerUUID = UUID.fromString(rawPortalData.ownerUUID());
+        String gateFileName = rawPortalData.gateFileName();
+        BlockFace facing = getBlockFaceFromOrdinal(Integer.parseInt(rawPortalData.facing()));
         GateFormatAPI format = GateFormatRegistry.getFormat(gateFileName);
         if (format == null) {
             Stargate.log(Level.WARNING, String.format("Could not find the format ''%s''. Check the full startup " +
                     "log for more information", gateFileName));
             throw new PortalLoadException(PortalLoadException.FailureType.GATE_FORMAT);
         }
-        GateData gateData = new GateData(format, flipZ, topLeft, facing);
-        return new PortalData(gateData, name, networkName, destination, flags, ownerUUID, serverUUID, serverName, portalType, metadata);
+        GateData gateData = new GateData(format, rawPortalData.flipZ(), topLeft, facing);
+        return new PortalData(gateData, name, networkName, rawPortalData.destination(), flags, ownerUUID, serverUUID,
+                serverName, rawPortalData.portalType(), rawPortalData.metaData());
     }
 
     /**
@@ -105,6 +152,18 @@ public class PortalStorageHelper {
 
     public static void addPortalPosition(PreparedStatement addPositionStatement, RealPortal portal, PortalPosition portalPosition) throws SQLException {
         Stargate.log(Level.FINEST, "Saving portal position, " + portalPosition + " for portal " + portal.getName() + ":" + portal.getNetwork().getName());
+        setPortalPositionParameters(addPositionStatement, portal, portalPosition);
+        addPositionStatement.execute();
+    }
+
+    /**
+     * Set the parameters of a statement adding a portal position, without executing it
+     * @param addPositionStatement <p>The statement to set the parameters of</p>
+     * @param portal <p>The portal owning the portal position</p>
+     * @param portalPosition <p>The portal position to add</p>
+     * @throws SQLException <p>If unable to set the parameters</p>
+     */
+    public static void setPortalPositionParameters(PreparedStatement addPositionStatement, RealPortal portal, PortalPosition portalPosition) throws SQLException {
         addPositionStatement.setString(1, portal.getName());
         addPositionStatement.setString(2, portal.getNetwork().getId());
         addPositionStatement.setString(3, String.valueOf(portalPosition.getRelativePositionLocation().getBlockX()));
@@ -113,7 +172,6 @@ public class PortalStorageHelper {
         addPositionStatement.setString(6, portalPosition.getPositionType().name());
         addPositionStatement.setString(7, "");
         addPositionStatement.setString(8, portalPosition.getPluginName());
-        addPositionStatement.execute();
     }
 
     /**
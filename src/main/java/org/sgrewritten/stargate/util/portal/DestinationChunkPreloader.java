@@ -0,0 +1,132 @@
+package org.sgrewritten.stargate.util.portal;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.Nullable;
+import org.sgrewritten.stargate.Stargate;
+import org.sgrewritten.stargate.api.network.portal.Portal;
+import org.sgrewritten.stargate.api.network.portal.RealPortal;
+import org.sgrewritten.stargate.network.portal.StargatePortal;
+import org.sgrewritten.stargate.property.NonLegacyMethod;
+import org.sgrewritten.stargate.property.StargateStatistic;
+import org.sgrewritten.stargate.thread.task.StargateRegionTask;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Loads the chunks of selected destinations in the background, so that they are loaded once an entity teleports
+ *
+ * <p>A loaded chunk is kept loaded by a plugin chunk ticket, which is released once the destination could no longer
+ * be used without being selected again.</p>
+ */
+public final class DestinationChunkPreloader {
+
+    /**
+     * How long loading a chunk may take before its ticket is added
+     */
+    private static final long LOAD_MARGIN = 5 * 20; // ticks
+    /**
+     * How long a chunk is kept loaded after its destination was selected, which outlasts both an activated and an open
+     * portal, even when the ticket is added late because the chunk took a while to load
+     */
+    static final long TICKET_DURATION = StargatePortal.OPEN_DELAY + LOAD_MARGIN; // ticks
+    private static final Map<ChunkKey, Long> heldTickets = new ConcurrentHashMap<>();
+    private static final AtomicLong ticketCounter = new AtomicLong();
+
+    private DestinationChunkPreloader() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Starts loading the chunk of the exit of the given destination, and keeps it loaded for a while
+     *
+     * <p>Selecting a destination whose chunk is already kept loaded only extends how long it is kept loaded.</p>
+     *
+     * @param destination <p>The selected destination</p>
+     */
+    public static void preload(@Nullable Portal destination) {
+        if (!(destination instanceof RealPortal realPortal) || !NonLegacyMethod.GET_CHUNK_AT_ASYNC.isImplemented()) {
+            return;
+        }
+        Location exit = realPortal.getExit();
+        World world = exit.getWorld();
+        if (world == null) {
+            return;
+        }
+        int chunkX = exit.getBlockX() >> 4;
+        int chunkZ = exit.getBlockZ() >> 4;
+        ChunkKey key = new ChunkKey(world.getUID(), chunkX, chunkZ);
+        long ticket = ticketCounter.incrementAndGet();
+        if (heldTickets.put(key, ticket) == null) {
+            world.getChunkAtAsync(chunkX, chunkZ).thenAccept(chunk -> {
+                // The ticket might have been released before the chunk finished loading, so it is only added while
+                // holding the entry, which the release also changes under
+                heldTickets.computeIfPresent(key, (heldKey, heldTicket) -> {
+                    world.addPluginChunkTicket(chunkX, chunkZ, Stargate.getInstance());
+                    return heldTicket;
+                });
+            }).exceptionally(throwable -> {
+                Stargate.log(Level.FINE, "Unable to preload chunk " + chunkX + ", " + chunkZ + " in world " + world.getName());
+                Stargate.log(Level.FINE, throwable);
+                heldTickets.remove(key, ticket);
+                return null;
+            });
+        }
+        new StargateRegionTask(exit) {
+            @Override
+            public void run() {
+                // Only the last selection of the destination releases the ticket
+                heldTickets.computeIfPresent(key, (heldKey, heldTicket) -> {
+                    if (heldTicket != ticket) {
+                        return heldTicket;
+                    }
+                    world.removePluginChunkTicket(chunkX, chunkZ, Stargate.getInstance());
+                    return null;
+                });
+            }
+        }.runDelayed(TICKET_DURATION);
+    }
+
+    /**
+     * Checks whether the chunk at the given location is loaded, and counts whether the chunk was ready for an entity
+     * teleporting there
+     *
+     * @param location <p>The location an entity is teleporting to</p>
+     * @return <p>True if the chunk at the location is loaded</p>
+     */
+    public static boolean checkLoaded(Location location) {
+        World world = location.getWorld();
+        if (world != null && world.isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4)) {
+            StargateStatistic.CHUNK_PRELOAD_HITS.increment();
+            return true;
+        }
+        StargateStatistic.CHUNK_PRELOAD_MISSES.increment();
+        return false;
+    }
+
+    /**
+     * Forgets every held chunk ticket, as when the plugin is disabled and its chunk tickets are removed
+     */
+    public static void clear() {
+        heldTickets.clear();
+    }
+
+    /**
+     * Checks whether the chunk at the given location is being kept loaded
+     *
+     * @param location <p>The location to check</p>
+     * @return <p>True if the chunk at the location is being kept loaded</p>
+     */
+    static boolean isHeld(Location location) {
+        World world = location.getWorld();
+        return world != null && heldTickets.containsKey(new ChunkKey(world.getUID(), location.getBlockX() >> 4,
+                location.getBlockZ() >> 4));
+    }
+
+    private record ChunkKey(UUID worldId, int x, int z) {
+    }
+}
@@ -40,27 +40,38 @@ public final class PortalHelper {
      * @return <p>True if the portal is valid</p>
      */
     public static boolean portalValidityCheck(RealPortal portal, NetworkManager networkManager) {
-        PortalValidity portalValidity = PortalValidity.valueOf(ConfigurationHelper.getString(ConfigurationOption.PORTAL_VALIDITY).toUpperCase());
         try {
-            boolean isValid = portal.getGate().isValid();
-            return switch (portalValidity){
-                case IGNORE -> isValid;
-                case REMOVE -> {
-                    if(!isValid){
-                        networkManager.destroyPortal(portal);
-                    }
-                    yield isValid;
-                }
-                case REPAIR -> {
-                    if(!isValid){
-                        portal.getGate().forceGenerateStructure();
-                    }
-                    yield true;
-                }
-            };
+            return portalValidityCheck(portal, networkManager, portal.getGate().isValid());
         } catch (GateConflictException e) {
             return false;
         }
     }
 
+    /**
+     * Handles the validity of a portal whose gate has already been checked, as specified in config
+     *
+     * @param portal         <p>The portal to check</p>
+     * @param networkManager <p>The network manager to destroy invalid portals with</p>
+     * @param isValid        <p>Whether the gate of the portal is valid</p>
+     * @return <p>True if the portal should be kept</p>
+     */
+    public static boolean portalValidityCheck(RealPortal portal, NetworkManager networkManager, boolean isValid) {
+        PortalValidity portalValidity = PortalValidity.valueOf(ConfigurationHelper.getString(ConfigurationOption.PORTAL_VALIDITY).toUpperCase());
+        return switch (portalValidity) {
+            case IGNORE -> isValid;
+            case REMOVE -> {
+                if (!isValid) {
+                    networkManager.destroyPortal(portal);
+                }
+                yield isValid;
+            }
+            case REPAIR -> {
+                if (!isValid) {
+                    portal.getGate().forceGenerateStructure();
+                }
+                yield true;
+            }
+        };
+    }
+
 }
@@ -0,0 +1,198 @@
+package org.sgrewritten.stargate.util.portal;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.Nullable;
+import org.sgrewritten.stargate.api.network.portal.RealPortal;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the spawn locations found for entities of each size exiting each portal
+ *
+ * <p>Every spawn location is stored with the region of blocks searched to find it, and is forgotten as soon as any
+ * block in that region changes.</p>
+ */
+public final class SpawnLocationCache {
+
+    private static final Map<SpawnKey, CachedSpawn> spawnLocations = new ConcurrentHashMap<>();
+    private static final Map<ChunkKey, Set<SpawnKey>> spawnKeysByChunk = new ConcurrentHashMap<>();
+
+    private SpawnLocationCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Gets the spawn location found for entities of the given size exiting the given portal
+     *
+     * @param portal <p>The portal the entity exits from</p>
+     * @param width  <p>The width of the entity, in whole blocks</p>
+     * @param height <p>The height of the entity, in whole blocks</p>
+     * @return <p>A copy of the found spawn location, or null if none is known</p>
+     */
+    public static @Nullable Location get(RealPortal portal, int width, int height) {
+        CachedSpawn cachedSpawn = spawnLocations.get(new SpawnKey(portal, width, height));
+        return cachedSpawn == null ? null : cachedSpawn.spawnLocation().clone();
+    }
+
+    /**
+     * Remembers the spawn location found for entities of the given size exiting the given portal
+     *
+     * @param portal         <p>The portal the entity exits from</p>
+     * @param width          <p>The width of the entity, in whole blocks</p>
+     * @param height         <p>The height of the entity, in whole blocks</p>
+     * @param spawnLocation  <p>The found spawn location</p>
+     * @param searchedRegion <p>The region of blocks read while searching for the spawn location</p>
+     */
+    public static void put(RealPortal portal, int width, int height, Location spawnLocation, Region searchedRegion) {
+        World world = spawnLocation.getWorld();
+        if (world == null) {
+            return;
+        }
+        SpawnKey key = new SpawnKey(portal, width, height);
+        CachedSpawn previous = spawnLocations.put(key, new CachedSpawn(spawnLocation.clone(), world.getUID(),
+                searchedRegion));
+        if (previous != null) {
+            removeFromChunks(key, previous);
+        }
+        for (int chunkX = searchedRegion.minX() >> 4; chunkX <= searchedRegion.maxX() >> 4; chunkX++) {
+            for (int chunkZ = searchedRegion.minZ() >> 4; chunkZ <= searchedRegion.maxZ() >> 4; chunkZ++) {
+                spawnKeysByChunk.computeIfAbsent(new ChunkKey(world.getUID(), chunkX, chunkZ),
+                        chunkKey -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+        }
+    }
+
+    /**
+     * Forgets every spawn location found by searching a region containing the given block
+     *
+     * @param block <p>The block which changed</p>
+     */
+    public static void invalidate(Block block) {
+        invalidate(block.getWorld().getUID(), block.getX(), block.getY(), block.getZ());
+    }
+
+    /**
+     * Forgets every spawn location found by searching a region containing the given location
+     *
+     * @param location <p>The location of the block which changed</p>
+     */
+    public static void invalidate(Location location) {
+        World world = location.getWorld();
+        if (world == null) {
+            return;
+        }
+        invalidate(world.getUID(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    /**
+     * Forgets every spawn location found for the given portal
+     *
+     * @param portal <p>The portal to forget the spawn locations of</p>
+     */
+    public static void invalidate(RealPortal portal) {
+        spawnLocations.keySet().removeIf(key -> {
+            if (key.portal() != portal) {
+                return false;
+            }
+            CachedSpawn cachedSpawn = spawnLocations.get(key);
+            if (cachedSpawn != null) {
+                removeFromChunks(key, cachedSpawn);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Forgets every found spawn location
+     */
+    public static void invalidateAll() {
+        spawnLocations.clear();
+        spawnKeysByChunk.clear();
+    }
+
+    private static void invalidate(UUID worldId, int x, int y, int z) {
+        if (spawnKeysByChunk.isEmpty()) {
+            return;
+        }
+        Set<SpawnKey> keys = spawnKeysByChunk.get(new ChunkKey(worldId, x >> 4, z >> 4));
+        if (keys == null) {
+            return;
+        }
+        for (SpawnKey key : keys) {
+            CachedSpawn cachedSpawn = spawnLocations.get(key);
+            if (cachedSpawn != null && cachedSpawn.searchedRegion().contains(x, y, z)
+                    && spawnLocations.remove(key, cachedSpawn)) {
+                removeFromChunks(key, cachedSpawn);
+            }
+        }
+    }
+
+    private static void removeFromChunks(SpawnKey key, CachedSpawn cachedSpawn) {
+        Region region = cachedSpawn.searchedRegion();
+        for (int chunkX = region.minX() >> 4; chunkX <= region.maxX() >> 4; chunkX++) {
+            for (int chunkZ = region.minZ() >> 4; chunkZ <= region.maxZ() >> 4; chunkZ++) {
+                spawnKeysByChunk.computeIfPresent(new ChunkKey(cachedSpawn.worldId(), chunkX, chunkZ),
+                        (chunkKey, keys) -> {
+                            keys.remove(key);
+                            return keys.isEmpty() ? null : keys;
+                        });
+            }
+        }
+    }
+
+    /**
+     * A region of blocks, with inclusive bounds
+     *
+     * @param minX <p>The lowest x-coordinate in the region</p>
+     * @param minY <p>The lowest y-coordinate in the region</p>
+     * @param minZ <p>The lowest z-coordinate in the region</p>
+     * @param maxX <p>The highest x-coordinate in the region</p>
+     * @param maxY <p>The highest y-coordinate in the region</p>
+     * @param maxZ <p>The highest z-coordinate in the region</p>
+     */
+    public record Region(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+
+        /**
+         * Gets the smallest region containing both this region and the given region
+         *
+         * @param other <p>The region to include, or null to include nothing</p>
+         * @return <p>The smallest region containing both regions</p>
+         */
+        public Region union(@Nullable Region other) {
+            if (other == null) {
+                return this;
+            }
+            return new Region(Math.min(minX, other.minX), Math.min(minY, other.minY), Math.min(minZ, other.minZ),
+                    Math.max(maxX, other.maxX), Math.max(maxY, other.maxY), Math.max(maxZ, other.maxZ));
+        }
+
+        private boolean contains(int x, int y, int z) {
+            return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+        }
+    }
+
+    private record SpawnKey(RealPortal portal, int width, int height) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof SpawnKey key && key.portal == portal && key.width == width
+                    && key.height == height;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(portal) + width) + height;
+        }
+    }
+
+    private record CachedSpawn(Location spawnLocation, UUID worldId, Region searchedRegion) {
+    }
+
+    private record ChunkKey(UUID worldId, int x, int z) {
+    }
+}
@@ -9,6 +9,7 @@ import org.bukkit.util.BlockVector;
 import org.bukkit.util.Vector;
 import org.sgrewritten.stargate.api.gate.GateStructureType;
 import org.sgrewritten.stargate.api.network.portal.RealPortal;
+import org.sgrewritten.stargate.property.StargateStatistic;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -36,34 +37,46 @@ public class TeleportationHelper {
      * @return <p>A possible spawn location, or null if no viable location could be found</p>
      */
     public static Location findViableSpawnLocation(Entity entity, RealPortal destinationPortal) {
+        int width = (int) Math.ceil(entity.getWidth());
+        int height = (int) Math.ceil(entity.getHeight());
+        Location cachedSpawnLocation = SpawnLocationCache.get(destinationPortal, width, height);
+        //Blocks might change without any event, so the remembered location is checked once more
+        if (cachedSpawnLocation != null && isViableSpawnLocation(width, height, cachedSpawnLocation)
+                && isInsideWorldBorder(cachedSpawnLocation)) {
+            StargateStatistic.SPAWN_CACHE_HITS.increment();
+            return cachedSpawnLocation;
+        }
+        StargateStatistic.SPAWN_CACHE_MISSES.increment();
+
         BlockVector forward = destinationPortal.getExitFacing().getOppositeFace().getDirection().toBlockVector();
         BlockVector left = forward.clone().rotateAroundY(Math.PI / 2).toBlockVector();
         BlockVector right = forward.clone().rotateAroundY(-Math.PI / 2).toBlockVector();
         BlockVector up = new BlockVector(0, 1, 0);
         BlockVector down = new BlockVector(0, -1, 0);
 
+        World world = destinationPortal.getExit().getWorld();
         List<Location> irisLocations = new ArrayList<>();
         //Add locations of all iris blocks in the Stargate
         //TODO: Limit checking of iris blocks far from the ground
-        destinationPortal.getGate().getLocations(GateStructureType.IRIS).forEach(
-                (blockLocation) -> irisLocations.add(blockLocation.getLocation()));
+        destinationPortal.getGate().visitLocations(GateStructureType.IRIS,
+                (worldName, x, y, z) -> irisLocations.add(new Location(world, x, y, z)));
         //TODO: Add the blocks beneath the iris as well
-        int width = (int) Math.ceil(entity.getWidth());
-        int height = (int) Math.ceil(entity.getHeight());
         Vector centerOffset = width % 2 != 0 ? new Vector(0.5, 0, 0.5) : new Vector();
         Location portalCenter = destinationPortal.getGate().getExit();
-        World world = destinationPortal.getExit().getWorld();
         WorldBorder worldBorder = world != null ? world.getWorldBorder() : null;
 
         //skip first layer as that was the origin of issue https://github.com/stargate-rewritten/Stargate-Bukkit/issues/231
         List<Location> coneLocations = getDirectionalConeLayer(irisLocations, forward, left, right, up, down, 0, portalCenter);
+        SpawnLocationCache.Region searchedRegion = null;
         //Give up after reaching the max cone length
         for (int coneHeight = 1; coneHeight <= CONE_LENGTH; coneHeight++) {
             coneLocations = getDirectionalConeLayer(coneLocations, forward, left, right, up, down, coneHeight, portalCenter);
             for (Location possibleSpawnLocation : coneLocations) {
                 Location modifiedPossibleSpawnLocation = possibleSpawnLocation.clone().add(centerOffset);
+                searchedRegion = getCheckedRegion(width, height, modifiedPossibleSpawnLocation).union(searchedRegion);
                 if (isViableSpawnLocation(width, height, modifiedPossibleSpawnLocation) &&
                         (worldBorder == null || worldBorder.isInside(modifiedPossibleSpawnLocation))) {
+                    SpawnLocationCache.put(destinationPortal, width, height, modifiedPossibleSpawnLocation, searchedRegion);
                     return modifiedPossibleSpawnLocation;
                 }
             }
@@ -71,6 +84,27 @@ public class TeleportationHelper {
         return null;
     }
 
+    private static boolean isInsideWorldBorder(Location location) {
+        World world = location.getWorld();
+        return world == null || world.getWorldBorder().isInside(location);
+    }
+
+    /**
+     * Gets the region of blocks checked when checking whether an entity will be safe at the specified location
+     *
+     * @param width  <p>The width of the entity</p>
+     * @param height <p>The height of the entity</p>
+     * @param center <p>The entity's coordinates</p>
+     * @return <p>The region of blocks checked by {@link #isViableSpawnLocation(int, int, Location)}</p>
+     */
+    protected static SpawnLocationCache.Region getCheckedRegion(int width, int height, Location center) {
+        Location corner = center.clone().subtract(width / 2.0, 0, width / 2.0);
+        int minX = corner.getBlockX();
+        int minY = corner.getBlockY() - 1;
+        int minZ = corner.getBlockZ();
+        return new SpawnLocationCache.Region(minX, minY, minZ, minX + width - 1, minY + height, minZ + width - 1);
+    }
+
     /**
      * Gets the next layer in a cone going out from the given set of location in the given direction (outwards)
      *
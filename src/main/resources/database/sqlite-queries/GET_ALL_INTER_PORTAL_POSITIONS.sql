@@ -0,0 +1,13 @@
+SELECT *,
+
+   (
+      SELECT
+         {PositionType}.positionName
+      FROM
+         {PositionType}
+      WHERE
+         {PositionType}.id = positionType
+   ) as
+positionName
+FROM
+   {InterPortalPosition};
\ No newline at end of file
@@ -0,0 +1,29 @@
+SELECT *,
+
+   (
+      SELECT
+         {PositionType}.positionName
+      FROM
+         {PositionType}
+      WHERE
+         {PositionType}.id = positionType
+   ) as
+positionName
+FROM
+   {InterPortalPosition}
+WHERE
+   EXISTS
+   (
+      SELECT
+         1
+      FROM
+         {InterPortal}
+      WHERE
+         {InterPortal}.name = {InterPortalPosition}.portalName
+      AND
+         {InterPortal}.network = {InterPortalPosition}.networkName
+      AND
+         {InterPortal}.world = ?
+      AND
+         {InterPortal}.homeServerId = ?
+   );
\ No newline at end of file
@@ -0,0 +1,27 @@
+SELECT *,
+
+   (
+      SELECT
+         {PositionType}.positionName
+      FROM
+         {PositionType}
+      WHERE
+         {PositionType}.id = positionType
+   ) as
+positionName
+FROM
+   {PortalPosition}
+WHERE
+   EXISTS
+   (
+      SELECT
+         1
+      FROM
+         {Portal}
+      WHERE
+         {Portal}.name = {PortalPosition}.portalName
+      AND
+         {Portal}.network = {PortalPosition}.networkName
+      AND
+         {Portal}.world = ?
+   );
\ No newline at end of file
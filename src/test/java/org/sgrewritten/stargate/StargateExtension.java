@@ -8,6 +8,7 @@ import org.junit.jupiter.api.extension.ParameterContext;
 import org.junit.jupiter.api.extension.ParameterResolutionException;
 import org.sgrewritten.stargate.api.gate.GateFormatRegistry;
 import org.sgrewritten.stargate.gate.GateFormatHandler;
+import org.sgrewritten.stargate.network.NetworkUpdateScheduler;
 import org.sgrewritten.stargate.thread.task.StargateQueuedAsyncTask;
 
 import java.io.File;
@@ -67,6 +68,7 @@ public class StargateExtension extends MockBukkitExtension {
         if (!hadPluginField) {
             StargateQueuedAsyncTask.disableAsyncQueue(id);
         }
+        NetworkUpdateScheduler.clear();
         super.afterEach(context);
     }
 
@@ -0,0 +1,118 @@
+package org.sgrewritten.stargate.api.network;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sgrewritten.stargate.api.network.portal.Portal;
+import org.sgrewritten.stargate.util.portal.PortalMock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+class DestinationIndexTest {
+
+    private DestinationIndex index;
+    private Map<String, Portal> portals;
+
+    @BeforeEach
+    void setUp() {
+        index = new DestinationIndex();
+        portals = new HashMap<>();
+    }
+
+    @Test
+    void putAndRemove_sameAsSortedList() {
+        Random random = new Random(1234);
+        for (int i = 0; i < 500; i++) {
+            String id = "portal" + random.nextInt(100);
+            if (random.nextBoolean()) {
+                Portal portal = new PortalMock();
+                portals.put(id, portal);
+                index.put(id, portal);
+            } else {
+                portals.remove(id);
+                index.remove(id);
+            }
+            Assertions.assertEquals(getExpectedDestinations(null), index.getSnapshot().getDestinations(null));
+        }
+    }
+
+    @Test
+    void getDestinations_excludesRequester() {
+        for (String id : List.of("c", "a", "d", "b")) {
+            Portal portal = new PortalMock();
+            portals.put(id, portal);
+            index.put(id, portal);
+        }
+        List<Portal> destinations = index.getSnapshot().getDestinations("b");
+        Assertions.assertEquals(getExpectedDestinations("b"), destinations);
+        Assertions.assertEquals(-1, destinations.indexOf(portals.get("b")));
+        Assertions.assertEquals(2, destinations.indexOf(portals.get("d")));
+        Assertions.assertEquals(-1, destinations.indexOf(null));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> destinations.get(3));
+    }
+
+    @Test
+    void getSnapshot_versionChangesOnlyOnChange() {
+        DestinationIndex.Snapshot initialSnapshot = index.getSnapshot();
+        index.remove("missing");
+        Assertions.assertSame(initialSnapshot, index.getSnapshot());
+
+        index.put("a", new PortalMock());
+        DestinationIndex.Snapshot snapshot = index.getSnapshot();
+        Assertions.assertTrue(snapshot.getVersion() > initialSnapshot.getVersion());
+        Assertions.assertEquals(0, initialSnapshot.size());
+        Assertions.assertEquals(1, snapshot.size());
+
+        index.clear();
+        Assertions.assertTrue(index.getSnapshot().getVersion() > snapshot.getVersion());
+        Assertions.assertEquals(0, index.getSnapshot().size());
+    }
+
+    @Test
+    void replaceAll_sortsAndMatchesContents() {
+        List<Portal> portalList = new ArrayList<>();
+        for (String id : List.of("c", "a", "b")) {
+            Portal portal = new IdentifiedPortalMock(id);
+            portals.put(id, portal);
+            portalList.add(portal);
+        }
+        index.replaceAll(portalList);
+        Assertions.assertEquals(getExpectedDestinations(null), index.getSnapshot().getDestinations(null));
+        Assertions.assertTrue(index.getSnapshot().contains(portalList));
+
+        portalList.set(0, new IdentifiedPortalMock("c"));
+        Assertions.assertFalse(index.getSnapshot().contains(portalList));
+        portalList.remove(0);
+        Assertions.assertFalse(index.getSnapshot().contains(portalList));
+    }
+
+    private List<Portal> getExpectedDestinations(String excludedId) {
+        List<String> ids = new ArrayList<>(portals.keySet());
+        ids.remove(excludedId);
+        Collections.sort(ids);
+        List<Portal> output = new ArrayList<>();
+        for (String id : ids) {
+            output.add(portals.get(id));
+        }
+        return output;
+    }
+
+    private static class IdentifiedPortalMock extends PortalMock {
+
+        private final String id;
+
+        IdentifiedPortalMock(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.sgrewritten.stargate.api.network.portal.behavior;
+
+import be.seeseemelk.mockbukkit.MockBukkitInject;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.sgrewritten.stargate.Stargate;
+import org.sgrewritten.stargate.StargateAPIMock;
+import org.sgrewritten.stargate.StargateExtension;
+import org.sgrewritten.stargate.StargateInject;
+import org.sgrewritten.stargate.api.event.portal.StargateListPortalEvent;
+import org.sgrewritten.stargate.api.network.RegistryAPI;
+import org.sgrewritten.stargate.api.network.portal.Portal;
+import org.sgrewritten.stargate.api.network.portal.RealPortal;
+import org.sgrewritten.stargate.exception.GateConflictException;
+import org.sgrewritten.stargate.exception.InvalidStructureException;
+import org.sgrewritten.stargate.exception.NoFormatFoundException;
+import org.sgrewritten.stargate.exception.TranslatableException;
+import org.sgrewritten.stargate.network.NetworkType;
+import org.sgrewritten.stargate.network.StargateNetwork;
+import org.sgrewritten.stargate.network.StorageType;
+import org.sgrewritten.stargate.network.portal.TestPortalBuilder;
+import org.sgrewritten.stargate.util.LanguageManagerMock;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@ExtendWith(StargateExtension.class)
+class RandomBehaviorTest {
+
+    private static final int DESTINATIONS = 10;
+
+    @MockBukkitInject
+    private ServerMock server;
+    @StargateInject
+    private Stargate plugin;
+    private RealPortal origin;
+    private ListListener listener;
+
+    @BeforeEach
+    void setUp() throws TranslatableException, InvalidStructureException, GateConflictException,
+            NoFormatFoundException {
+        WorldMock world = server.addSimpleWorld("world");
+        RegistryAPI registry = new StargateAPIMock().getRegistry();
+        StargateNetwork network = new StargateNetwork("network", NetworkType.CUSTOM, StorageType.LOCAL);
+        new TestPortalBuilder(registry, world).setNetwork(network).setName("destination")
+                .buildMultiple(DESTINATIONS);
+        origin = new TestPortalBuilder(registry, world).setNetwork(network).setName("origin")
+                .setBehavior(new RandomBehavior(new LanguageManagerMock())).build();
+        network.addPortal(origin);
+        listener = new ListListener();
+        server.getPluginManager().registerEvents(listener, plugin);
+    }
+
+    @Test
+    void getDestination_listsOnlyChosenDestination() {
+        Portal destination = origin.getBehavior().getDestination();
+        Assertions.assertNotNull(destination);
+        Assertions.assertNotEquals(origin, destination);
+        Assertions.assertEquals(1, listener.listedPortals.size());
+    }
+
+    @Test
+    void getDestination_skipsDeniedDestinations() {
+        Portal allowed = origin.getNetwork().getPortal("destination3");
+        listener.allowed = allowed;
+        for (int i = 0; i < DESTINATIONS; i++) {
+            Assertions.assertEquals(allowed, origin.getBehavior().getDestination());
+        }
+    }
+
+    @Test
+    void getDestination_allDenied() {
+        listener.denyAll = true;
+        Assertions.assertNull(origin.getBehavior().getDestination());
+        Assertions.assertEquals(DESTINATIONS, listener.listedPortals.size());
+    }
+
+    public static class ListListener implements Listener {
+
+        private final Set<Portal> listedPortals = new HashSet<>();
+        private Portal allowed;
+        private boolean denyAll;
+
+        @EventHandler
+        public void onListPortal(StargateListPortalEvent event) {
+            listedPortals.add(event.getListedPortal());
+            if (denyAll || (allowed != null && event.getListedPortal() != allowed)) {
+                event.setDeny(true);
+            }
+        }
+    }
+}
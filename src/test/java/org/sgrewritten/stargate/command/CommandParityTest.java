@@ -18,6 +18,8 @@ import org.sgrewritten.stargate.StargateExtension;
 import org.sgrewritten.stargate.StargateInject;
 import org.sgrewritten.stargate.database.property.PropertiesDatabase;
 import org.sgrewritten.stargate.database.property.StoredProperty;
+import org.sgrewritten.stargate.thread.AsyncBackend;
+import org.sgrewritten.stargate.thread.AsyncExecutor;
 import org.sgrewritten.stargate.util.LanguageManagerMock;
 
 import java.io.File;
@@ -74,4 +76,19 @@ class CommandParityTest {
         Assertions.assertTrue(new File(pluginsFolder, "StargateMapper-1.0-SNAPSHOT.jar").exists());
     }
 
+    @Test
+    void onCommandParityTrue_virtualThreads() {
+        AsyncExecutor.setBackend(AsyncBackend.VIRTUAL_THREADS);
+        try {
+            properties.setProperty(StoredProperty.PARITY_UPGRADES_AVAILABLE, "true");
+            Assertions.assertTrue(command.onCommand(console, fakeCommand, "", new String[]{""}));
+            AsyncExecutor.awaitBlockingTasks();
+        } finally {
+            AsyncExecutor.setBackend(AsyncBackend.BUKKIT);
+        }
+        File pluginsFolder = plugin.getDataFolder().getParentFile();
+        Assertions.assertTrue(new File(pluginsFolder, "StargateMechanics-1.0-SNAPSHOT.jar").exists());
+        Assertions.assertTrue(new File(pluginsFolder, "StargateMapper-1.0-SNAPSHOT.jar").exists());
+    }
+
 }
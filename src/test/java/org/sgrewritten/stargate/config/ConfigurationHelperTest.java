@@ -0,0 +1,49 @@
+package org.sgrewritten.stargate.config;
+
+import be.seeseemelk.mockbukkit.MockBukkitInject;
+import be.seeseemelk.mockbukkit.ServerMock;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.sgrewritten.stargate.Stargate;
+import org.sgrewritten.stargate.StargateExtension;
+import org.sgrewritten.stargate.StargateInject;
+import org.sgrewritten.stargate.api.config.ConfigurationOption;
+
+import java.util.List;
+
+@ExtendWith(StargateExtension.class)
+class ConfigurationHelperTest {
+
+    @MockBukkitInject
+    private ServerMock server;
+    @StargateInject
+    private Stargate plugin;
+
+    @Test
+    void setConfigurationOptionValue_updatesSnapshot() {
+        plugin.setConfigurationOptionValue(ConfigurationOption.HANDLE_LEASHES, false);
+        Assertions.assertFalse(ConfigurationHelper.getBoolean(ConfigurationOption.HANDLE_LEASHES));
+        plugin.setConfigurationOptionValue(ConfigurationOption.HANDLE_LEASHES, true);
+        Assertions.assertTrue(ConfigurationHelper.getBoolean(ConfigurationOption.HANDLE_LEASHES));
+
+        plugin.setConfigurationOptionValue(ConfigurationOption.GATE_EXIT_SPEED_MULTIPLIER, 2.5);
+        Assertions.assertEquals(2.5, ConfigurationHelper.getDouble(ConfigurationOption.GATE_EXIT_SPEED_MULTIPLIER));
+    }
+
+    @Test
+    void reloadConfig_updatesSnapshot() {
+        plugin.setConfigurationOptionValue(ConfigurationOption.DEFAULT_NETWORK, "changed");
+        Assertions.assertEquals("changed", ConfigurationHelper.getString(ConfigurationOption.DEFAULT_NETWORK));
+        plugin.reloadConfig();
+        Assertions.assertNotEquals("changed", ConfigurationHelper.getString(ConfigurationOption.DEFAULT_NETWORK));
+    }
+
+    @Test
+    void getStringList_unmodifiable() {
+        plugin.setConfigurationOptionValue(ConfigurationOption.SPECIFIC_PROTECTION_OVERRIDE, List.of("TNT"));
+        List<String> values = ConfigurationHelper.getStringList(ConfigurationOption.SPECIFIC_PROTECTION_OVERRIDE);
+        Assertions.assertEquals(List.of("TNT"), values);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> values.add("CREEPER"));
+    }
+}
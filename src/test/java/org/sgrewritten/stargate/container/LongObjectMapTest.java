@@ -0,0 +1,100 @@
+package org.sgrewritten.stargate.container;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sgrewritten.stargate.network.BlockPositionIndex;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+class LongObjectMapTest {
+
+    private LongObjectMap<String> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new LongObjectMap<>();
+    }
+
+    @Test
+    void putGet() {
+        Assertions.assertNull(map.put(1L, "one"));
+        Assertions.assertEquals("one", map.get(1L));
+        Assertions.assertEquals("one", map.put(1L, "uno"));
+        Assertions.assertEquals("uno", map.get(1L));
+        Assertions.assertEquals(1, map.size());
+    }
+
+    @Test
+    void get_notFound() {
+        Assertions.assertNull(map.get(42L));
+        Assertions.assertFalse(map.containsKey(42L));
+    }
+
+    @Test
+    void put_nullValue() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> map.put(1L, null));
+    }
+
+    @Test
+    void remove() {
+        map.put(1L, "one");
+        Assertions.assertEquals("one", map.remove(1L));
+        Assertions.assertNull(map.get(1L));
+        Assertions.assertNull(map.remove(1L));
+        Assertions.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void clear() {
+        map.put(1L, "one");
+        map.put(2L, "two");
+        map.clear();
+        Assertions.assertTrue(map.isEmpty());
+        Assertions.assertNull(map.get(2L));
+    }
+
+    @Test
+    void randomOperations_matchHashMap() {
+        Random random = new Random(1);
+        Map<Long, String> expected = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            long key = BlockPositionIndex.pack(random.nextInt(64) - 32, random.nextInt(16), random.nextInt(64) - 32);
+            if (random.nextInt(3) == 0) {
+                Assertions.assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = String.valueOf(i);
+                Assertions.assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+        Assertions.assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> Assertions.assertEquals(value, map.get(key)));
+    }
+
+    @Test
+    void forEach_visitsEveryEntry() {
+        map.put(1L, "one");
+        map.put(-2L, "two");
+        Map<Long, String> visited = new HashMap<>();
+        map.forEach(visited::put);
+        Assertions.assertEquals(Map.of(1L, "one", -2L, "two"), visited);
+    }
+
+    @Test
+    void unpack_matchesPackedCoordinates() {
+        long packed = BlockPositionIndex.pack(-30000000, -64, 30000000);
+        Assertions.assertEquals(-30000000, BlockPositionIndex.unpackX(packed));
+        Assertions.assertEquals(-64, BlockPositionIndex.unpackY(packed));
+        Assertions.assertEquals(30000000, BlockPositionIndex.unpackZ(packed));
+    }
+
+    @Test
+    void pack_distinctForNegativeCoordinates() {
+        Assertions.assertNotEquals(BlockPositionIndex.pack(-1, 0, 0), BlockPositionIndex.pack(0, 0, -1));
+        Assertions.assertNotEquals(BlockPositionIndex.pack(0, -64, 0), BlockPositionIndex.pack(0, 0, 0));
+        Assertions.assertNotEquals(BlockPositionIndex.pack(-30000000, 319, 30000000),
+                BlockPositionIndex.pack(30000000, 319, -30000000));
+    }
+}
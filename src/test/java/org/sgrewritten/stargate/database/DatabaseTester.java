@@ -23,6 +23,7 @@ import org.sgrewritten.stargate.exception.NoFormatFoundException;
 import org.sgrewritten.stargate.exception.PortalLoadException;
 import org.sgrewritten.stargate.exception.TranslatableException;
 import org.sgrewritten.stargate.exception.UnimplementedFlagException;
+import org.sgrewritten.stargate.exception.database.StorageReadException;
 import org.sgrewritten.stargate.exception.database.StorageWriteException;
 import org.sgrewritten.stargate.exception.name.InvalidNameException;
 import org.sgrewritten.stargate.exception.name.NameLengthException;
@@ -43,6 +44,7 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -246,6 +248,24 @@ public class DatabaseTester {
         return output;
     }
 
+    void getAllPortalPositions(StorageType type) throws SQLException {
+        Map<String, RealPortal> portals = (type == StorageType.LOCAL) ? localPortals : interServerPortals;
+        Map<String, List<PortalPosition>> allPortalPositions = new HashMap<>();
+        try (PreparedStatement statement = generator.generateGetAllPortalPositionsStatement(connection, type)) {
+            ResultSet portalPositionsData = statement.executeQuery();
+            while (portalPositionsData.next()) {
+                String key = portalPositionsData.getString("networkName") + ":" + portalPositionsData.getString("portalName");
+                allPortalPositions.computeIfAbsent(key, k -> new ArrayList<>()).add(PortalStorageHelper.loadPortalPosition(portalPositionsData));
+            }
+        }
+        for (RealPortal portal : portals.values()) {
+            List<PortalPosition> expected = fetchPortalPositions(portal, type);
+            List<PortalPosition> fetched = allPortalPositions.getOrDefault(portal.getNetwork().getName() + ":" + portal.getName(), new ArrayList<>());
+            Assertions.assertEquals(expected.size(), fetched.size(), "Bulk loaded portal positions differ in size");
+            Assertions.assertTrue(fetched.containsAll(expected), "Bulk loaded portal positions differ");
+        }
+    }
+
     void addAndRemovePortalPosition(StorageType type) throws SQLException {
         Map<String, RealPortal> portals = (type == StorageType.LOCAL) ? localPortals : interServerPortals;
 
@@ -529,6 +549,76 @@ public class DatabaseTester {
 
     }
 
+    void writeBehindTest(StorageType portalType) throws SQLException, InvalidStructureException, TranslatableException, StorageWriteException, StorageReadException, GateConflictException, NoFormatFoundException {
+        connection.close();
+        connection = database.getConnection();
+        String table = portalType == StorageType.LOCAL ? nameConfig.getPortalTableName() :
+                nameConfig.getInterPortalTableName();
+        String portalPositionTable = portalType == StorageType.LOCAL ? nameConfig.getPortalPositionTableName() : nameConfig.getInterPortalPositionTableName();
+        Network network = null;
+        try {
+            network = new StargateNetwork("writeBehind", NetworkType.CUSTOM, portalType);
+        } catch (InvalidNameException e) {
+            Stargate.log(e);
+            fail();
+        }
+        TestPortalBuilder testPortalBuilder = new TestPortalBuilder(stargateAPI.getRegistry(), world);
+        ExplicitGateBuilder gateBuilder = new ExplicitGateBuilder(stargateAPI.getRegistry(), new Location(world, 300, 100, 400), GateFormatRegistry.getFormat("nether.gate"));
+        gateBuilder.setGenerateButtonPositions(true).setCalculatePortalPositions(true);
+        testPortalBuilder.setGateBuilder(gateBuilder).setNetwork(network).setStorageType(portalType);
+        RealPortal cancelledPortal = testPortalBuilder.setName("cancelled").build();
+        RealPortal savedPortal = testPortalBuilder.setName("saved").build();
+        WriteBehindStorage writeBehindStorage = new WriteBehindStorage((SQLDatabase) portalDatabaseAPI, 1000, 1000);
+
+        writeBehindStorage.savePortalToStorage(cancelledPortal);
+        writeBehindStorage.removePortalFromStorage(cancelledPortal);
+        Assertions.assertEquals(0, writeBehindStorage.getPendingPortalCount(), "A saved and removed portal should cancel out");
+        writeBehindStorage.savePortalToStorage(savedPortal);
+        SQLTestHelper.checkIfHasNot(table, savedPortal.getName(), network.getId(), connection);
+        writeBehindStorage.flush();
+        SQLTestHelper.checkIfHasNot(table, cancelledPortal.getName(), network.getId(), connection);
+        SQLTestHelper.checkIfHas(table, savedPortal.getName(), network.getId(), connection);
+        SQLTestHelper.checkIfHas(portalPositionTable, savedPortal.getName(), network.getId(), connection);
+
+        writeBehindStorage.setPortalMetaData(savedPortal, "first", portalType);
+        writeBehindStorage.setPortalMetaData(savedPortal, "second", portalType);
+        Assertions.assertEquals("second", writeBehindStorage.getPortalMetaData(savedPortal, portalType));
+        writeBehindStorage.flush();
+        Assertions.assertEquals("second", getPortalMetaData(savedPortal, portalType));
+
+        writeBehindStorage.removePortalFromStorage(savedPortal);
+        writeBehindStorage.flush();
+        SQLTestHelper.checkIfHasNot(table, savedPortal.getName(), network.getId(), connection);
+        SQLTestHelper.checkIfHasNot(portalPositionTable, savedPortal.getName(), network.getId(), connection);
+    }
+
+    void writeBehindSaveThenSetMetaDataTest(StorageType portalType) throws SQLException, InvalidStructureException, TranslatableException, StorageWriteException, StorageReadException, GateConflictException, NoFormatFoundException {
+        connection.close();
+        connection = database.getConnection();
+        Network network = null;
+        try {
+            network = new StargateNetwork("writeBehindMeta", NetworkType.CUSTOM, portalType);
+        } catch (InvalidNameException e) {
+            Stargate.log(e);
+            fail();
+        }
+        TestPortalBuilder testPortalBuilder = new TestPortalBuilder(stargateAPI.getRegistry(), world);
+        ExplicitGateBuilder gateBuilder = new ExplicitGateBuilder(stargateAPI.getRegistry(), new Location(world, 300, 100, 500), GateFormatRegistry.getFormat("nether.gate"));
+        gateBuilder.setGenerateButtonPositions(true).setCalculatePortalPositions(true);
+        testPortalBuilder.setGateBuilder(gateBuilder).setNetwork(network).setStorageType(portalType);
+        RealPortal portal = testPortalBuilder.setName("savedWithMeta").build();
+        WriteBehindStorage writeBehindStorage = new WriteBehindStorage((SQLDatabase) portalDatabaseAPI, 1000, 1000);
+
+        writeBehindStorage.savePortalToStorage(portal);
+        writeBehindStorage.setPortalMetaData(portal, "meta", portalType);
+        Assertions.assertEquals("meta", writeBehindStorage.getPortalMetaData(portal, portalType));
+        writeBehindStorage.flush();
+        Assertions.assertEquals("meta", getPortalMetaData(portal, portalType));
+
+        writeBehindStorage.removePortalFromStorage(portal);
+        writeBehindStorage.flush();
+    }
+
     /**
      * Tests that information about a server can be updated
      *
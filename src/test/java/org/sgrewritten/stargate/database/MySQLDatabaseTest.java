@@ -6,6 +6,7 @@ import org.sgrewritten.stargate.Stargate;
 import org.sgrewritten.stargate.StargateExtension;
 import org.sgrewritten.stargate.config.TableNameConfiguration;
 import org.sgrewritten.stargate.exception.*;
+import org.sgrewritten.stargate.exception.database.StorageReadException;
 import org.sgrewritten.stargate.exception.database.StorageWriteException;
 import org.sgrewritten.stargate.network.StorageType;
 
@@ -57,7 +58,7 @@ public class MySQLDatabaseTest {
     }
 
     @Test
-    void integrationTest() throws SQLException, TranslatableException, StorageWriteException, InvalidStructureException, GateConflictException, NoFormatFoundException {
+    void integrationTest() throws SQLException, TranslatableException, StorageWriteException, StorageReadException, InvalidStructureException, GateConflictException, NoFormatFoundException {
         tester.addPortalTableTest();
         tester.addInterPortalTableTest();
         tester.createFlagTableTest();
@@ -82,6 +83,8 @@ public class MySQLDatabaseTest {
         tester.addInterPortalTest();
         tester.getPortalTest();
         tester.getInterPortalTest();
+        tester.getAllPortalPositions(StorageType.LOCAL);
+        tester.getAllPortalPositions(StorageType.INTER_SERVER);
         tester.addAndRemovePortalPosition(StorageType.LOCAL);
         tester.addAndRemovePortalPosition(StorageType.INTER_SERVER);
         tester.setPortalMetaDataTest(StorageType.LOCAL);
@@ -90,6 +93,10 @@ public class MySQLDatabaseTest {
         tester.setPortalPositionMetaTest(StorageType.INTER_SERVER);
         tester.changeNames(StorageType.LOCAL);
         tester.changeNames(StorageType.INTER_SERVER);
+        tester.writeBehindTest(StorageType.LOCAL);
+        tester.writeBehindTest(StorageType.INTER_SERVER);
+        tester.writeBehindSaveThenSetMetaDataTest(StorageType.LOCAL);
+        tester.writeBehindSaveThenSetMetaDataTest(StorageType.INTER_SERVER);
         tester.destroyPortalTest();
         tester.destroyInterPortalTest();
     }
@@ -0,0 +1,109 @@
+package org.sgrewritten.stargate.database;
+
+import org.bukkit.util.BlockVector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sgrewritten.stargate.api.network.portal.PortalPosition;
+import org.sgrewritten.stargate.api.network.portal.PositionType;
+import org.sgrewritten.stargate.network.StorageType;
+
+import java.util.List;
+
+class PendingPortalWriteTest {
+
+    private PendingPortalWrite pendingWrite;
+    private PortalPosition position;
+
+    @BeforeEach
+    void setUp() {
+        pendingWrite = new PendingPortalWrite(null, StorageType.LOCAL);
+        position = new PortalPosition(PositionType.BUTTON, new BlockVector(1, 2, 3), "Stargate");
+    }
+
+    @Test
+    void saveThenRemove_cancelsOut() {
+        pendingWrite.save(null, null);
+        Assertions.assertTrue(pendingWrite.remove());
+    }
+
+    @Test
+    void removeThenSaveThenRemove_keepsRemove() {
+        Assertions.assertFalse(pendingWrite.remove());
+        pendingWrite.save(null, null);
+        Assertions.assertFalse(pendingWrite.remove());
+        Assertions.assertTrue(pendingWrite.isRemove());
+        Assertions.assertFalse(pendingWrite.isSave());
+    }
+
+    @Test
+    void addThenRemovePosition_cancelsOut() {
+        pendingWrite.addPosition(null, position);
+        pendingWrite.removePosition(position);
+        Assertions.assertTrue(pendingWrite.getAddedPositions().isEmpty());
+        Assertions.assertTrue(pendingWrite.getRemovedPositions().isEmpty());
+    }
+
+    @Test
+    void removeThenAddPosition_replacesStoredPosition() {
+        pendingWrite.removePosition(position);
+        pendingWrite.addPosition(null, position);
+        Assertions.assertEquals(List.of(position), pendingWrite.getRemovedPositions());
+        Assertions.assertEquals(List.of(position), pendingWrite.getAddedPositions());
+    }
+
+    @Test
+    void save_includesLaterChanges() {
+        pendingWrite.save(null, new PendingPortalWrite.PortalSnapshot(List.of(), "", null));
+        pendingWrite.addPosition(null, position);
+        pendingWrite.setMetaData("data");
+        Assertions.assertEquals(List.of(position), pendingWrite.getSnapshot().positions());
+        Assertions.assertEquals("data", pendingWrite.getSnapshot().metaData());
+        Assertions.assertEquals("data", pendingWrite.getPendingMetaData());
+        Assertions.assertTrue(pendingWrite.getAddedPositions().isEmpty());
+        Assertions.assertFalse(pendingWrite.isMetaDataSet());
+    }
+
+    @Test
+    void save_removesLaterRemovedPosition() {
+        pendingWrite.save(null, new PendingPortalWrite.PortalSnapshot(List.of(position), "", null));
+        pendingWrite.removePosition(new PortalPosition(PositionType.SIGN, new BlockVector(1, 2, 3), "Stargate"));
+        Assertions.assertTrue(pendingWrite.getSnapshot().positions().isEmpty());
+        Assertions.assertTrue(pendingWrite.getRemovedPositions().isEmpty());
+    }
+
+    @Test
+    void setMetaData_keepsLatest() {
+        pendingWrite.setMetaData("first");
+        pendingWrite.setMetaData("second");
+        Assertions.assertTrue(pendingWrite.isMetaDataSet());
+        Assertions.assertEquals("second", pendingWrite.getMetaData());
+    }
+
+    @Test
+    void addLaterChanges_laterRemoveCancelsSave() {
+        pendingWrite.save(null, null);
+        PendingPortalWrite later = new PendingPortalWrite(null, StorageType.LOCAL);
+        later.remove();
+        Assertions.assertTrue(pendingWrite.addLaterChanges(later));
+    }
+
+    @Test
+    void addLaterChanges_keepsEarlierChanges() {
+        pendingWrite.removePosition(position);
+        PendingPortalWrite later = new PendingPortalWrite(null, StorageType.LOCAL);
+        later.setMetaData("data");
+        Assertions.assertFalse(pendingWrite.addLaterChanges(later));
+        Assertions.assertEquals(List.of(position), pendingWrite.getRemovedPositions());
+        Assertions.assertEquals("data", pendingWrite.getMetaData());
+    }
+
+    @Test
+    void addLaterChanges_keepsFailedAttempts() {
+        pendingWrite.recordFailedAttempt();
+        PendingPortalWrite later = new PendingPortalWrite(null, StorageType.LOCAL);
+        later.setMetaData("data");
+        Assertions.assertFalse(pendingWrite.addLaterChanges(later));
+        Assertions.assertEquals(2, pendingWrite.recordFailedAttempt());
+    }
+}
@@ -0,0 +1,118 @@
+package org.sgrewritten.stargate.database;
+
+import be.seeseemelk.mockbukkit.MockBukkitInject;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.sgrewritten.stargate.StargateExtension;
+import org.sgrewritten.stargate.network.StorageType;
+import org.sgrewritten.stargate.network.portal.portaldata.PortalData;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+@ExtendWith(StargateExtension.class)
+class PortalDecodePipelineTest {
+
+    private static final int PORTAL_COUNT = 1000;
+    private static final String MISSING_WORLD = UUID.randomUUID().toString();
+    private static final String MISSING_GATE_FORMAT = "missing.gate";
+
+    @MockBukkitInject
+    private ServerMock server;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        WorldMock world = server.addSimpleWorld("world");
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE portal (name TEXT, network TEXT, destination TEXT, world TEXT, x INTEGER, " +
+                    "y INTEGER, z INTEGER, flags TEXT, ownerUUID TEXT, gateFileName TEXT, flipZ BOOLEAN, facing TEXT, " +
+                    "metaData TEXT)");
+        }
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO portal VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < PORTAL_COUNT; i++) {
+                statement.setString(1, "portal" + i);
+                statement.setString(2, "network");
+                statement.setString(3, null);
+                statement.setString(4, i % 100 == 1 ? MISSING_WORLD : world.getUID().toString());
+                statement.setInt(5, i);
+                statement.setInt(6, 10);
+                statement.setInt(7, 0);
+                statement.setString(8, "");
+                statement.setString(9, UUID.randomUUID().toString());
+                statement.setString(10, i % 100 == 2 ? MISSING_GATE_FORMAT : "nether.gate");
+                statement.setBoolean(11, false);
+                statement.setString(12, "0");
+                statement.setString(13, null);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void decode(int parallelism) throws SQLException {
+        SQLDatabase.PortalLoadData portalLoadData;
+        try (Statement statement = connection.createStatement()) {
+            ResultSet resultSet = statement.executeQuery("SELECT * FROM portal");
+            portalLoadData = new PortalDecodePipeline(parallelism).decode(resultSet, StorageType.LOCAL);
+        }
+
+        List<PortalData> loadedPortals = List.copyOf(portalLoadData.loadedPortals());
+        Assertions.assertEquals(PORTAL_COUNT - 2 * PORTAL_COUNT / 100, loadedPortals.size());
+        for (int i = 1; i < loadedPortals.size(); i++) {
+            Assertions.assertTrue(loadedPortals.get(i - 1).gateData().topLeft().getBlockX()
+                    < loadedPortals.get(i).gateData().topLeft().getBlockX(), "Decoded portals are out of order");
+        }
+        Assertions.assertEquals("", loadedPortals.get(0).destination());
+        Assertions.assertEquals(List.of(MISSING_WORLD), List.copyOf(portalLoadData.invalidWorlds()));
+        Assertions.assertEquals(List.of(MISSING_GATE_FORMAT), List.copyOf(portalLoadData.invalidGates()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void decode_invalidRowThrows(int parallelism) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("UPDATE portal SET ownerUUID = 'invalid' WHERE name = 'portal500'");
+            ResultSet resultSet = statement.executeQuery("SELECT * FROM portal");
+            PortalDecodePipeline pipeline = new PortalDecodePipeline(parallelism);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> pipeline.decode(resultSet, StorageType.LOCAL));
+        }
+    }
+
+    @Test
+    void decode_afterShutdown() throws SQLException {
+        PortalDecodePipeline.shutdown();
+        try (Statement statement = connection.createStatement()) {
+            ResultSet resultSet = statement.executeQuery("SELECT * FROM portal");
+            SQLDatabase.PortalLoadData portalLoadData = new PortalDecodePipeline(4).decode(resultSet, StorageType.LOCAL);
+            Assertions.assertEquals(PORTAL_COUNT - 2 * PORTAL_COUNT / 100, portalLoadData.loadedPortals().size());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1})
+    void invalidParallelism(int parallelism) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PortalDecodePipeline(parallelism));
+    }
+}
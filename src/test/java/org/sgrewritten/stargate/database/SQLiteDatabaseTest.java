@@ -9,6 +9,7 @@ import org.sgrewritten.stargate.exception.GateConflictException;
 import org.sgrewritten.stargate.exception.InvalidStructureException;
 import org.sgrewritten.stargate.exception.NoFormatFoundException;
 import org.sgrewritten.stargate.exception.TranslatableException;
+import org.sgrewritten.stargate.exception.database.StorageReadException;
 import org.sgrewritten.stargate.exception.database.StorageWriteException;
 import org.sgrewritten.stargate.network.StorageType;
 
@@ -42,7 +43,7 @@ public class SQLiteDatabaseTest {
     }
 
     @Test
-    void integrationTest() throws SQLException, TranslatableException, StorageWriteException, InvalidStructureException, GateConflictException, NoFormatFoundException {
+    void integrationTest() throws SQLException, TranslatableException, StorageWriteException, StorageReadException, InvalidStructureException, GateConflictException, NoFormatFoundException {
         tester.addPortalTableTest();
         tester.addInterPortalTableTest();
         tester.createFlagTableTest();
@@ -67,6 +68,8 @@ public class SQLiteDatabaseTest {
         tester.addInterPortalTest();
         tester.getPortalTest();
         tester.getInterPortalTest();
+        tester.getAllPortalPositions(StorageType.LOCAL);
+        tester.getAllPortalPositions(StorageType.INTER_SERVER);
         tester.addAndRemovePortalPosition(StorageType.LOCAL);
         tester.addAndRemovePortalPosition(StorageType.INTER_SERVER);
         tester.setPortalMetaDataTest(StorageType.LOCAL);
@@ -75,6 +78,10 @@ public class SQLiteDatabaseTest {
         tester.setPortalPositionMetaTest(StorageType.INTER_SERVER);
         tester.changeNames(StorageType.LOCAL);
         tester.changeNames(StorageType.INTER_SERVER);
+        tester.writeBehindTest(StorageType.LOCAL);
+        tester.writeBehindTest(StorageType.INTER_SERVER);
+        tester.writeBehindSaveThenSetMetaDataTest(StorageType.LOCAL);
+        tester.writeBehindSaveThenSetMetaDataTest(StorageType.INTER_SERVER);
         tester.destroyPortalTest();
         tester.destroyInterPortalTest();
     }
@@ -0,0 +1,137 @@
+package org.sgrewritten.stargate.economy;
+
+import be.seeseemelk.mockbukkit.MockBukkitInject;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.sgrewritten.stargate.StargateExtension;
+import org.sgrewritten.stargate.thread.task.StargateQueuedAsyncTask;
+import org.sgrewritten.stargate.util.LanguageManagerMock;
+
+import java.util.concurrent.CountDownLatch;
+
+@ExtendWith(StargateExtension.class)
+class ChargePipelineTest {
+
+    private static final String PORTAL_NAME = "portal";
+
+    @MockBukkitInject
+    private ServerMock server;
+    private LocalEconomyManager economy;
+    private ChargePipeline pipeline;
+    private PlayerMock payer;
+    private PlayerMock owner;
+
+    @BeforeEach
+    void setUp() {
+        economy = new LocalEconomyManager(new LanguageManagerMock(), 0);
+        pipeline = new ChargePipeline(economy);
+        payer = server.addPlayer();
+        owner = server.addPlayer();
+        economy.setBalance(payer, 10);
+    }
+
+    @Test
+    void charge_paysOwner() {
+        Assertions.assertTrue(pipeline.charge(payer, owner, 4, PORTAL_NAME));
+        StargateQueuedAsyncTask.waitForEmptyQueue();
+        Assertions.assertEquals(6, economy.getBalance(payer));
+        Assertions.assertEquals(4, economy.getBalance(owner));
+    }
+
+    @Test
+    void charge_authorizedInMemory() {
+        Assertions.assertTrue(pipeline.charge(payer, null, 4, PORTAL_NAME));
+        StargateQueuedAsyncTask.waitForEmptyQueue();
+        int calls = economy.getCalls();
+        Assertions.assertTrue(pipeline.charge(payer, null, 4, PORTAL_NAME));
+        Assertions.assertEquals(calls, economy.getCalls());
+        StargateQueuedAsyncTask.waitForEmptyQueue();
+        Assertions.assertEquals(2, economy.getBalance(payer));
+    }
+
+    @Test
+    void charge_reservesPendingCharges() {
+        Assertions.assertTrue(pipeline.charge(payer, null, 6, PORTAL_NAME));
+        Assertions.assertFalse(pipeline.charge(payer, null, 6, PORTAL_NAME));
+        StargateQueuedAsyncTask.waitForEmptyQueue();
+        Assertions.assertEquals(4, economy.getBalance(payer));
+    }
+
+    @Test
+    void charge_retriesFailedWithdrawals() {
+        economy.setFailingWithdrawals(2);
+        Assertions.assertTrue(pipeline.charge(payer, null, 4, PORTAL_NAME));
+        StargateQueuedAsyncTask.waitForEmptyQueue();
+        Assertions.assertEquals(6, economy.getBalance(payer));
+        Assertions.assertEquals(0, pipeline.getDebt(payer));
+    }
+
+    @Test
+    void charge_failedDepositNotRepeated() {
+        economy.setFailingDeposits(1);
+        Assertions.assertTrue(pipeline.charge(payer, owner, 4, PORTAL_NAME));
+        StargateQueuedAsyncTask.waitForEmptyQueue();
+        Assertions.assertEquals(6, economy.getBalance(payer));
+        Assertions.assertEquals(4, economy.getBalance(owner));
+    }
+
+    @Test
+    void invalidateBalances_keepsReservations() {
+        CountDownLatch queueBlocked = blockQueue(payer.getUniqueId());
+        Assertions.assertTrue(pipeline.charge(payer, null, 6, PORTAL_NAME));
+        pipeline.invalidateBalances();
+        Assertions.assertFalse(pipeline.charge(payer, null, 6, PORTAL_NAME));
+        queueBlocked.countDown();
+        StargateQueuedAsyncTask.waitForEmptyQueue();
+        Assertions.assertEquals(4, economy.getBalance(payer));
+    }
+
+    @Test
+    void charge_recordsDebt() {
+        CountDownLatch queueBlocked = blockQueue(payer.getUniqueId());
+        Assertions.assertTrue(pipeline.charge(payer, null, 4, PORTAL_NAME));
+        // The balance changes before the charge is carried out
+        economy.setBalance(payer, 1);
+        queueBlocked.countDown();
+        StargateQueuedAsyncTask.waitForEmptyQueue();
+        Assertions.assertEquals(4, pipeline.getDebt(payer));
+        Assertions.assertFalse(pipeline.charge(payer, null, 4, PORTAL_NAME));
+
+        economy.setBalance(payer, 10);
+        Assertions.assertTrue(pipeline.charge(payer, null, 4, PORTAL_NAME));
+        StargateQueuedAsyncTask.waitForEmptyQueue();
+        Assertions.assertEquals(0, pipeline.getDebt(payer));
+        Assertions.assertEquals(2, economy.getBalance(payer));
+    }
+
+    @Test
+    void refund_afterCharge() {
+        Assertions.assertTrue(pipeline.charge(payer, owner, 4, PORTAL_NAME));
+        pipeline.refund(payer, owner, 4);
+        StargateQueuedAsyncTask.waitForEmptyQueue();
+        Assertions.assertEquals(10, economy.getBalance(payer));
+        Assertions.assertEquals(0, economy.getBalance(owner));
+    }
+
+    /**
+     * Keeps the tasks queued with the given key from running until the returned latch is counted down
+     */
+    private CountDownLatch blockQueue(Object key) {
+        CountDownLatch latch = new CountDownLatch(1);
+        new StargateQueuedAsyncTask(key) {
+            @Override
+            public void run() {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }.runNow();
+        return latch;
+    }
+}
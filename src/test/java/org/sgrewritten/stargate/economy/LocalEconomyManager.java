@@ -0,0 +1,125 @@
+package org.sgrewritten.stargate.economy;
+
+import org.bukkit.OfflinePlayer;
+import org.sgrewritten.stargate.api.formatting.LanguageManager;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An economy keeping balances in memory, where every call to the economy takes a configurable time
+ *
+ * <p>Stands in for economy plugins storing balances in a database, to test and benchmark the economy code.</p>
+ */
+public class LocalEconomyManager extends EconomyManager {
+
+    private final Map<UUID, Double> balances = new ConcurrentHashMap<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile long latencyNanos;
+    private volatile int failingWithdrawals;
+    private volatile int failingDeposits;
+
+    /**
+     * @param languageManager <p>The language manager to use for any messages</p>
+     * @param latencyMillis   <p>How long every call to the economy takes</p>
+     */
+    public LocalEconomyManager(LanguageManager languageManager, long latencyMillis) {
+        super(languageManager);
+        this.latencyNanos = TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+    }
+
+    @Override
+    public boolean has(OfflinePlayer target, double amount) {
+        return getBalance(target) >= amount;
+    }
+
+    @Override
+    public double getBalance(OfflinePlayer target) {
+        call();
+        return balances.getOrDefault(target.getUniqueId(), 0D);
+    }
+
+    @Override
+    public boolean chargePlayer(OfflinePlayer offlinePlayer, double amount) {
+        call();
+        if (failingWithdrawals > 0) {
+            failingWithdrawals--;
+            throw new IllegalStateException("Simulated economy failure");
+        }
+        boolean[] charged = new boolean[1];
+        balances.compute(offlinePlayer.getUniqueId(), (id, balance) -> {
+            double current = balance == null ? 0 : balance;
+            charged[0] = current >= amount;
+            return charged[0] ? current - amount : current;
+        });
+        return charged[0];
+    }
+
+    @Override
+    public boolean depositPlayer(OfflinePlayer player, double amount) {
+        call();
+        balances.merge(player.getUniqueId(), amount, Double::sum);
+        if (failingDeposits > 0) {
+            failingDeposits--;
+            throw new IllegalStateException("Simulated economy failure");
+        }
+        return true;
+    }
+
+    /**
+     * Sets the balance of a player, without taking any time
+     *
+     * @param player  <p>The player to set the balance of</p>
+     * @param balance <p>The new balance</p>
+     */
+    public void setBalance(OfflinePlayer player, double balance) {
+        balances.put(player.getUniqueId(), balance);
+    }
+
+    /**
+     * Makes the next withdrawals fail with an exception, without withdrawing anything
+     *
+     * @param failingWithdrawals <p>The amount of withdrawals to fail</p>
+     */
+    public void setFailingWithdrawals(int failingWithdrawals) {
+        this.failingWithdrawals = failingWithdrawals;
+    }
+
+    /**
+     * Makes the next deposits fail with an exception, after depositing the amount
+     *
+     * @param failingDeposits <p>The amount of deposits to fail</p>
+     */
+    public void setFailingDeposits(int failingDeposits) {
+        this.failingDeposits = failingDeposits;
+    }
+
+    /**
+     * @param latencyMillis <p>How long every call to the economy takes</p>
+     */
+    public void setLatency(long latencyMillis) {
+        this.latencyNanos = TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+    }
+
+    /**
+     * @return <p>The amount of calls made to this economy</p>
+     */
+    public int getCalls() {
+        return calls.get();
+    }
+
+    private void call() {
+        calls.incrementAndGet();
+        if (latencyNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(latencyNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.sgrewritten.stargate.gate;
+
+import be.seeseemelk.mockbukkit.MockBukkitInject;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.sgrewritten.stargate.StargateExtension;
+import org.sgrewritten.stargate.api.gate.GateFormatRegistry;
+import org.sgrewritten.stargate.api.gate.GateStructureType;
+import org.sgrewritten.stargate.exception.GateConflictException;
+import org.sgrewritten.stargate.exception.InvalidStructureException;
+import org.sgrewritten.stargate.network.RegistryMock;
+import org.sgrewritten.stargate.network.portal.PortalBlockGenerator;
+
+@ExtendWith(StargateExtension.class)
+class ChunkSnapshotCacheTest {
+
+    @MockBukkitInject
+    private ServerMock server;
+    private WorldMock world;
+    private Gate gate;
+    private ChunkSnapshotCache snapshotCache;
+
+    @BeforeEach
+    void setUp() throws InvalidStructureException, GateConflictException {
+        world = server.addSimpleWorld("world");
+        Block signBlock = PortalBlockGenerator.generatePortal(new Location(world, 0, 3, 0));
+        gate = new Gate(GateFormatRegistry.getFormat("nether.gate"), signBlock.getLocation(), BlockFace.SOUTH, false,
+                new RegistryMock());
+        snapshotCache = new ChunkSnapshotCache();
+    }
+
+    @Test
+    void capture_matchesWorld() {
+        ChunkSnapshotCache.GateSnapshot snapshot = capture();
+        Assertions.assertNotNull(snapshot);
+        Assertions.assertTrue(gate.getFormat().matches(gate.getConverter(), gate.getTopLeft(), snapshot));
+        Assertions.assertTrue(gate.visitLocations(GateStructureType.FRAME, (worldName, x, y, z) -> {
+            Assertions.assertEquals(world.getBlockAt(x, y, z).getType(), snapshot.getType(x, y, z));
+            return true;
+        }));
+    }
+
+    @Test
+    void capture_changesAfterCaptureIgnored() {
+        ChunkSnapshotCache.GateSnapshot snapshot = capture();
+        Assertions.assertNotNull(snapshot);
+        new Location(world, 1, 3, 0).getBlock().setType(Material.DIRT);
+        Assertions.assertTrue(gate.getFormat().matches(gate.getConverter(), gate.getTopLeft(), snapshot));
+
+        // Captured while the first snapshot is in use, so the chunk snapshot is shared
+        ChunkSnapshotCache.GateSnapshot sharedSnapshot = capture();
+        Assertions.assertNotNull(sharedSnapshot);
+        Assertions.assertTrue(gate.getFormat().matches(gate.getConverter(), gate.getTopLeft(), sharedSnapshot));
+        snapshot.release();
+        sharedSnapshot.release();
+
+        ChunkSnapshotCache.GateSnapshot newSnapshot = capture();
+        Assertions.assertNotNull(newSnapshot);
+        Assertions.assertFalse(gate.getFormat().matches(gate.getConverter(), gate.getTopLeft(), newSnapshot));
+        newSnapshot.release();
+    }
+
+    @Test
+    void release_discardsUnusedSnapshots() {
+        ChunkSnapshotCache.GateSnapshot firstSnapshot = capture();
+        ChunkSnapshotCache.GateSnapshot secondSnapshot = capture();
+        Assertions.assertNotNull(firstSnapshot);
+        Assertions.assertNotNull(secondSnapshot);
+        int snapshotCount = snapshotCache.getSnapshotCount();
+        Assertions.assertTrue(snapshotCount > 0);
+
+        firstSnapshot.release();
+        firstSnapshot.release();
+        Assertions.assertEquals(snapshotCount, snapshotCache.getSnapshotCount());
+        Assertions.assertThrows(IllegalStateException.class, () -> firstSnapshot.getType(0, 3, 0));
+        secondSnapshot.release();
+        Assertions.assertEquals(0, snapshotCache.getSnapshotCount());
+    }
+
+    @Test
+    void capture_outsideWorldBorder() {
+        world.getWorldBorder().setSize(1);
+        world.getWorldBorder().setCenter(1000, 1000);
+        Assertions.assertNull(capture());
+    }
+
+    private ChunkSnapshotCache.GateSnapshot capture() {
+        return snapshotCache.capture(gate.getConverter(), gate.getTopLeft(), gate.getFormat().getBoundingBox());
+    }
+}
@@ -0,0 +1,89 @@
+package org.sgrewritten.stargate.gate;
+
+import be.seeseemelk.mockbukkit.MockBukkitInject;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.sgrewritten.stargate.StargateExtension;
+import org.sgrewritten.stargate.api.gate.GateFormatRegistry;
+import org.sgrewritten.stargate.api.gate.GateStructureType;
+import org.sgrewritten.stargate.exception.GateConflictException;
+import org.sgrewritten.stargate.exception.InvalidStructureException;
+import org.sgrewritten.stargate.network.RegistryMock;
+import org.sgrewritten.stargate.network.portal.PortalBlockGenerator;
+
+import java.util.HashSet;
+import java.util.List;
+
+@ExtendWith(StargateExtension.class)
+class GateFormatMatcherTest {
+
+    @MockBukkitInject
+    private ServerMock server;
+    private WorldMock world;
+    private Block signBlock;
+
+    @BeforeEach
+    void setUp() {
+        world = server.addSimpleWorld("world");
+        signBlock = PortalBlockGenerator.generatePortal(new Location(world, 0, 3, 0));
+    }
+
+    @Test
+    void findMatches_sameAsGate() throws InvalidStructureException, GateConflictException {
+        GateFormatMatcher matcher = GateFormatRegistry.getMatcherFromControlBlockMaterial(Material.OBSIDIAN);
+        List<GateFormatMatcher.Match> matches = matcher.findMatches(signBlock.getLocation(), BlockFace.SOUTH);
+        Assertions.assertFalse(matches.isEmpty());
+
+        GateFormatMatcher.Match match = matches.get(0);
+        Gate matchedGate = Gate.ofMatchedFormat(match.format(), match.topLeft(), match.facing(), match.flipZ(), false,
+                new RegistryMock());
+        Gate gate = new Gate(match.format(), signBlock.getLocation(), BlockFace.SOUTH, false, new RegistryMock());
+        Assertions.assertEquals(gate.getTopLeft(), matchedGate.getTopLeft());
+        Assertions.assertEquals(gate.getFlipZ(), matchedGate.getFlipZ());
+        for (GateStructureType structureType : GateStructureType.values()) {
+            Assertions.assertEquals(new HashSet<>(gate.getLocations(structureType)),
+                    new HashSet<>(matchedGate.getLocations(structureType)));
+        }
+        Assertions.assertTrue(match.isInsideWorldBorder());
+    }
+
+    @Test
+    void findMatches_onlyMatchingFormats() throws InvalidStructureException {
+        List<GateFormat> formats = GateFormatRegistry.getPossibleGateFormatsFromControlBlockMaterial(Material.OBSIDIAN);
+        GateFormatMatcher matcher = GateFormatMatcher.compile(formats);
+        for (GateFormatMatcher.Match match : matcher.findMatches(signBlock.getLocation(), BlockFace.SOUTH)) {
+            Assertions.assertDoesNotThrow(() -> new Gate(match.format(), signBlock.getLocation(), BlockFace.SOUTH,
+                    false, new RegistryMock()));
+        }
+    }
+
+    @Test
+    void findMatches_brokenFrame() throws InvalidStructureException {
+        new Location(world, 1, 3, 0).getBlock().setType(Material.DIRT);
+        GateFormatMatcher matcher = GateFormatRegistry.getMatcherFromControlBlockMaterial(Material.OBSIDIAN);
+        Assertions.assertTrue(matcher.findMatches(signBlock.getLocation(), BlockFace.SOUTH).isEmpty());
+    }
+
+    @Test
+    void findMatches_invalidFacing() {
+        GateFormatMatcher matcher = GateFormatRegistry.getMatcherFromControlBlockMaterial(Material.OBSIDIAN);
+        Assertions.assertThrows(InvalidStructureException.class,
+                () -> matcher.findMatches(signBlock.getLocation(), BlockFace.UP));
+    }
+
+    @Test
+    void compile_skipsMirroredSymmetricFormats() {
+        GateFormat format = GateFormatRegistry.getFormat("nether.gate");
+        Assertions.assertTrue(format.isMirrorSymmetric());
+        GateFormatMatcher matcher = GateFormatMatcher.compile(List.of(format));
+        Assertions.assertEquals(format.getControlBlocks().size(), matcher.getCandidateCount());
+    }
+}
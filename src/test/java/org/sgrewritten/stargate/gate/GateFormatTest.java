@@ -1,6 +1,8 @@
 package org.sgrewritten.stargate.gate;
 
 import be.seeseemelk.mockbukkit.MockBukkitExtension;
+import org.bukkit.Material;
+import org.bukkit.util.BlockVector;
 import org.bukkit.util.BoundingBox;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -12,6 +14,13 @@ import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.sgrewritten.stargate.api.gate.GateFormatRegistry;
 import org.sgrewritten.stargate.api.gate.structure.GateFormatStructureType;
+import org.sgrewritten.stargate.exception.ParsingErrorException;
+import org.sgrewritten.stargate.gate.structure.GateFrame;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Scanner;
+import java.util.Set;
 
 @ExtendWith(MockBukkitExtension.class)
 class GateFormatTest {
@@ -76,6 +85,37 @@ class GateFormatTest {
         Assertions.assertNotNull(gateFormat.getIrisMaterial(open));
     }
 
+    @Test
+    void isMirrorSymmetric() {
+        Assertions.assertTrue(gateFormat.isMirrorSymmetric());
+    }
+
+    @Test
+    void isMirrorSymmetric_asymmetricDesign() throws ParsingErrorException {
+        String design = """
+                X=OBSIDIAN
+                Y=GLOWSTONE
+                -=OBSIDIAN
+
+                XXXX
+                X..Y
+                -..-
+                X*.X
+                XXXX""";
+        GateFormat asymmetricFormat = new GateFormatParser(new Scanner(design), "asymmetric.gate").parseGateFormat();
+        Assertions.assertFalse(asymmetricFormat.isMirrorSymmetric());
+    }
+
+    @Test
+    void frameValidationOrder_rejectsOtherControlBlockFirst() {
+        GateFrame frame = (GateFrame) gateFormat.getStructure(GateFormatStructureType.FRAME);
+        BlockVector firstPosition = frame.getStructureTypePositions().get(0);
+        List<BlockVector> controlBlocks = gateFormat.getControlBlocks();
+        BlockVector shift = controlBlocks.get(1).clone().subtract(controlBlocks.get(0)).toBlockVector();
+        Set<Material> shiftedMaterials = frame.getPartMaterials(firstPosition.clone().add(shift).toBlockVector());
+        Assertions.assertTrue(shiftedMaterials == null || Collections.disjoint(frame.getPartMaterials(firstPosition), shiftedMaterials));
+    }
+
     @ParameterizedTest
     @EnumSource
     void getStructure(GateFormatStructureType structureType) {
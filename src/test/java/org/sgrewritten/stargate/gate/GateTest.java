@@ -18,6 +18,8 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.sgrewritten.stargate.StargateExtension;
 import org.sgrewritten.stargate.api.gate.GateFormatRegistry;
+import org.sgrewritten.stargate.api.gate.GateStructureType;
+import org.sgrewritten.stargate.api.network.portal.BlockLocation;
 import org.sgrewritten.stargate.api.network.portal.PortalPosition;
 import org.sgrewritten.stargate.api.network.portal.PositionType;
 import org.sgrewritten.stargate.exception.GateConflictException;
@@ -26,6 +28,10 @@ import org.sgrewritten.stargate.network.RegistryMock;
 import org.sgrewritten.stargate.network.portal.PortalBlockGenerator;
 import org.sgrewritten.stargate.network.portal.portaldata.GateData;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
 @ExtendWith(StargateExtension.class)
 class GateTest {
     private @NotNull WorldMock world;
@@ -85,6 +91,44 @@ class GateTest {
         Assertions.assertTrue(gate.isValid(), "Gate was not created on a valid structure");
     }
 
+    @ParameterizedTest
+    @EnumSource(value = BlockFace.class, names = {"EAST", "WEST", "SOUTH", "NORTH"})
+    void getLocations_matchesFormat(BlockFace facing) throws InvalidStructureException {
+        for (boolean flipZ : new boolean[]{false, true}) {
+            GateData rotatedGateData = new GateData(gateData.gateFormat(), flipZ, new Location(world, 100, 10, 100), facing);
+            Gate gate = createLoadedGate(rotatedGateData);
+            for (GateStructureType structureType : GateStructureType.values()) {
+                List<BlockLocation> expected = new ArrayList<>();
+                for (BlockVector vector : gate.getFormat().getStructure(structureType.getGateFormatEquivalent()).getStructureTypePositions()) {
+                    expected.add(new BlockLocation(gate.getLocation(vector)));
+                }
+                Assertions.assertEquals(expected, gate.getLocations(structureType));
+
+                List<BlockLocation> visited = new ArrayList<>();
+                Assertions.assertTrue(gate.visitLocations(structureType, (worldName, x, y, z) -> visited.add(new BlockLocation(worldName, x, y, z))));
+                Assertions.assertEquals(expected, visited);
+            }
+        }
+    }
+
+    @Test
+    void visitLocations_stopsEarly() throws InvalidStructureException {
+        Gate gate = createLoadedGate(gateData);
+        int[] visitedCount = new int[1];
+        Assertions.assertFalse(gate.visitLocations(GateStructureType.FRAME, (worldName, x, y, z) -> ++visitedCount[0] < 2));
+        Assertions.assertEquals(2, visitedCount[0]);
+    }
+
+    @Test
+    void getLocations_createdGate() throws InvalidStructureException, GateConflictException {
+        Gate loadedGate = createLoadedGate(gateData);
+        Gate createdGate = createCreatedGate(gateData);
+        for (GateStructureType structureType : GateStructureType.values()) {
+            Assertions.assertEquals(new HashSet<>(loadedGate.getLocations(structureType)),
+                    new HashSet<>(createdGate.getLocations(structureType)));
+        }
+    }
+
     Gate createLoadedGate(GateData gateData) throws InvalidStructureException {
         return new Gate(gateData, new RegistryMock());
     }
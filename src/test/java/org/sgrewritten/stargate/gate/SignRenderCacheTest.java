@@ -0,0 +1,61 @@
+package org.sgrewritten.stargate.gate;
+
+import org.bukkit.util.BlockVector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sgrewritten.stargate.api.network.portal.PortalPosition;
+import org.sgrewritten.stargate.api.network.portal.PositionType;
+import org.sgrewritten.stargate.api.network.portal.formatting.SignLine;
+import org.sgrewritten.stargate.api.network.portal.formatting.TextLine;
+
+class SignRenderCacheTest {
+
+    private SignRenderCache renderCache;
+    private PortalPosition position;
+
+    @BeforeEach
+    void setUp() {
+        renderCache = new SignRenderCache();
+        position = new PortalPosition(PositionType.SIGN, new BlockVector(1, 2, 3), "Stargate");
+    }
+
+    @Test
+    void isRendered_sameLines() {
+        Assertions.assertFalse(renderCache.isRendered(position, lines("portal", "network")));
+        renderCache.setRendered(position, lines("portal", "network"));
+        Assertions.assertTrue(renderCache.isRendered(position, lines("portal", "network")));
+        Assertions.assertFalse(renderCache.isRendered(position, lines("portal", "other")));
+    }
+
+    @Test
+    void isRendered_otherPosition() {
+        renderCache.setRendered(position, lines("portal"));
+        PortalPosition otherPosition = new PortalPosition(PositionType.SIGN, new BlockVector(3, 2, 1), "Stargate");
+        Assertions.assertFalse(renderCache.isRendered(otherPosition, lines("portal")));
+    }
+
+    @Test
+    void invalidate() {
+        renderCache.setRendered(position, lines("portal"));
+        renderCache.invalidate(position);
+        Assertions.assertFalse(renderCache.isRendered(position, lines("portal")));
+    }
+
+    @Test
+    void invalidateAll() {
+        renderCache.setRendered(position, lines("portal"));
+        SignRenderCache.invalidateAll();
+        Assertions.assertFalse(renderCache.isRendered(position, lines("portal")));
+        renderCache.setRendered(position, lines("portal"));
+        Assertions.assertTrue(renderCache.isRendered(position, lines("portal")));
+    }
+
+    private static SignLine[] lines(String... texts) {
+        SignLine[] lines = new SignLine[texts.length];
+        for (int i = 0; i < texts.length; i++) {
+            lines[i] = new TextLine(texts[i]);
+        }
+        return lines;
+    }
+}
@@ -42,6 +42,7 @@ import org.sgrewritten.stargate.api.network.PortalBuilder;
 import org.sgrewritten.stargate.api.network.RegistryAPI;
 import org.sgrewritten.stargate.api.network.portal.PositionType;
 import org.sgrewritten.stargate.api.network.portal.RealPortal;
+import org.sgrewritten.stargate.database.WriteBehindStorage;
 import org.sgrewritten.stargate.exception.GateConflictException;
 import org.sgrewritten.stargate.exception.InvalidStructureException;
 import org.sgrewritten.stargate.exception.NoFormatFoundException;
@@ -123,6 +124,22 @@ class BlockEventListenerTest {
         checkLines(signState2, new String[]{portalName, "", "", ""});
     }
 
+    @Test
+    void portalCreation_signsDrawnBeforeWrite() {
+        String portalName = "test";
+        BlockMock signBlock = (BlockMock) PortalBlockGenerator.generatePortal(new Location(world, 0, 1, 0));
+        blockEventListener.onSignChange(new SignChangeEvent(signBlock, player, new String[]{portalName, "",
+                CUSTOM_NETNAME, ""}));
+        server.getScheduler().performTicks(1);
+
+        WriteBehindStorage storage = (WriteBehindStorage) stargateAPI.getStorageAPI();
+        Assertions.assertEquals(1, storage.getPendingPortalCount(), "The portal should not have been written yet");
+        Network network = registry.getNetwork(CUSTOM_NETNAME, StorageType.LOCAL);
+        Assertions.assertNotNull(network);
+        checkLines((SignMock) signBlock.getState(), new String[]{HighlightingStyle.MINUS_SIGN.getHighlightedName(portalName),
+                "Right click", "to use gate", network.getHighlightingStyle().getHighlightedName(network.getName())});
+    }
+
 
     private void checkLines(Sign state, String[] expectedLines) {
         for (int i = 0; i < 4; i++) {
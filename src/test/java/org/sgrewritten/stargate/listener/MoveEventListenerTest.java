@@ -33,6 +33,7 @@ import org.sgrewritten.stargate.exception.InvalidStructureException;
 import org.sgrewritten.stargate.exception.NoFormatFoundException;
 import org.sgrewritten.stargate.exception.TranslatableException;
 import org.sgrewritten.stargate.network.portal.PortalBlockGenerator;
+import org.sgrewritten.stargate.property.StargateStatistic;
 
 @ExtendWith(StargateExtension.class)
 class MoveEventListenerTest {
@@ -109,4 +110,20 @@ class MoveEventListenerTest {
         server.getScheduler().performOneTick();
         Assertions.assertTrue(vehicle.hasTeleported());
     }
+
+    @Test
+    void onPlayerMove_noIrisInChunk() {
+        Location from = new Location(iris.getWorld(), 1600, 10, 1600);
+        Location to = from.clone().add(1, 0, 0);
+        long rejectedBefore = StargateStatistic.MOVE_EVENTS_REJECTED_EARLY.getValue();
+        listener.onPlayerMove(new PlayerMoveEvent(player, from, to));
+        Assertions.assertEquals(rejectedBefore + 1, StargateStatistic.MOVE_EVENTS_REJECTED_EARLY.getValue());
+    }
+
+    @Test
+    void onPlayerMove_irisInChunk() {
+        long rejectedBefore = StargateStatistic.MOVE_EVENTS_REJECTED_EARLY.getValue();
+        listener.onPlayerMove(new PlayerMoveEvent(player, outsideIris, iris));
+        Assertions.assertEquals(rejectedBefore, StargateStatistic.MOVE_EVENTS_REJECTED_EARLY.getValue());
+    }
 }
@@ -0,0 +1,65 @@
+package org.sgrewritten.stargate.manager;
+
+import be.seeseemelk.mockbukkit.MockBukkitInject;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.sgrewritten.stargate.Stargate;
+import org.sgrewritten.stargate.StargateExtension;
+import org.sgrewritten.stargate.StargateInject;
+import org.sgrewritten.stargate.api.config.ConfigurationOption;
+import org.sgrewritten.stargate.listener.PermissionCacheListener;
+import org.sgrewritten.stargate.network.NetworkType;
+import org.sgrewritten.stargate.util.LanguageManagerMock;
+
+@ExtendWith(StargateExtension.class)
+class PermissionDecisionCacheTest {
+
+    private static final String DEFAULT_NETWORK_PERMISSION = "sg.create.network.default";
+
+    @MockBukkitInject
+    private ServerMock server;
+    @StargateInject
+    private Stargate plugin;
+    private PlayerMock player;
+
+    @BeforeEach
+    void setUp() {
+        player = server.addPlayer();
+    }
+
+    @Test
+    void disabledByDefault() {
+        Assertions.assertFalse(canCreateInDefaultNetwork());
+        player.addAttachment(plugin, DEFAULT_NETWORK_PERMISSION, true);
+        Assertions.assertTrue(canCreateInDefaultNetwork());
+    }
+
+    @Test
+    void invalidate() {
+        plugin.setConfigurationOptionValue(ConfigurationOption.PERMISSION_CACHE_DURATION, 60);
+        Assertions.assertFalse(canCreateInDefaultNetwork());
+        player.addAttachment(plugin, DEFAULT_NETWORK_PERMISSION, true);
+        Assertions.assertFalse(canCreateInDefaultNetwork());
+        PermissionDecisionCache.invalidate(player.getUniqueId());
+        Assertions.assertTrue(canCreateInDefaultNetwork());
+    }
+
+    @Test
+    void onPlayerQuit() {
+        plugin.setConfigurationOptionValue(ConfigurationOption.PERMISSION_CACHE_DURATION, 60);
+        Assertions.assertFalse(canCreateInDefaultNetwork());
+        player.addAttachment(plugin, DEFAULT_NETWORK_PERMISSION, true);
+        new PermissionCacheListener().onPlayerQuit(new PlayerQuitEvent(player, "quit"));
+        Assertions.assertTrue(canCreateInDefaultNetwork());
+    }
+
+    private boolean canCreateInDefaultNetwork() {
+        return new StargatePermissionManager(player, new LanguageManagerMock()).canCreateInNetwork("",
+                NetworkType.DEFAULT);
+    }
+}
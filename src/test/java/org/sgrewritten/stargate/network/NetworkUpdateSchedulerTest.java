@@ -0,0 +1,81 @@
+package org.sgrewritten.stargate.network;
+
+import be.seeseemelk.mockbukkit.MockBukkitInject;
+import be.seeseemelk.mockbukkit.ServerMock;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.sgrewritten.stargate.StargateExtension;
+import org.sgrewritten.stargate.exception.UnimplementedFlagException;
+import org.sgrewritten.stargate.exception.name.InvalidNameException;
+import org.sgrewritten.stargate.exception.name.NameLengthException;
+import org.sgrewritten.stargate.property.StargateStatistic;
+
+@ExtendWith(StargateExtension.class)
+class NetworkUpdateSchedulerTest {
+
+    @MockBukkitInject
+    private ServerMock server;
+    private CountingNetwork firstNetwork;
+    private CountingNetwork secondNetwork;
+
+    @BeforeEach
+    void setUp() throws InvalidNameException, UnimplementedFlagException, NameLengthException {
+        firstNetwork = new CountingNetwork("first");
+        secondNetwork = new CountingNetwork("second");
+        StargateStatistic.NETWORK_UPDATES_COLLAPSED.reset();
+    }
+
+    @Test
+    void scheduleUpdate_oncePerTick() {
+        NetworkUpdateScheduler.scheduleUpdate(firstNetwork);
+        NetworkUpdateScheduler.scheduleUpdate(firstNetwork);
+        NetworkUpdateScheduler.scheduleUpdate(firstNetwork);
+        NetworkUpdateScheduler.scheduleUpdate(secondNetwork);
+        Assertions.assertEquals(0, firstNetwork.updates);
+        server.getScheduler().performOneTick();
+        Assertions.assertEquals(1, firstNetwork.updates);
+        Assertions.assertEquals(1, secondNetwork.updates);
+        Assertions.assertEquals(2, StargateStatistic.NETWORK_UPDATES_COLLAPSED.getValue());
+
+        NetworkUpdateScheduler.scheduleUpdate(firstNetwork);
+        server.getScheduler().performOneTick();
+        Assertions.assertEquals(2, firstNetwork.updates);
+        Assertions.assertEquals(1, secondNetwork.updates);
+    }
+
+    @Test
+    void updateDirtyNetworks_failingNetworkKeepsOthersUpdating() throws InvalidNameException, UnimplementedFlagException, NameLengthException {
+        CountingNetwork failingNetwork = new CountingNetwork("failing") {
+            @Override
+            public void updatePortals() {
+                throw new IllegalStateException("Failing network");
+            }
+        };
+        NetworkUpdateScheduler.scheduleUpdate(failingNetwork);
+        NetworkUpdateScheduler.scheduleUpdate(firstNetwork);
+        NetworkUpdateScheduler.scheduleUpdate(secondNetwork);
+        server.getScheduler().performOneTick();
+        Assertions.assertEquals(1, firstNetwork.updates);
+        Assertions.assertEquals(1, secondNetwork.updates);
+
+        NetworkUpdateScheduler.scheduleUpdate(firstNetwork);
+        server.getScheduler().performOneTick();
+        Assertions.assertEquals(2, firstNetwork.updates);
+    }
+
+    private static class CountingNetwork extends StargateNetwork {
+
+        private int updates = 0;
+
+        CountingNetwork(String name) throws InvalidNameException, UnimplementedFlagException, NameLengthException {
+            super(name, NetworkType.CUSTOM, StorageType.LOCAL);
+        }
+
+        @Override
+        public void updatePortals() {
+            updates++;
+        }
+    }
+}
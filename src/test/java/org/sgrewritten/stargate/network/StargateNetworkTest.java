@@ -3,18 +3,25 @@ package org.sgrewritten.stargate.network;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.sgrewritten.stargate.StargateExtension;
+import org.sgrewritten.stargate.api.network.DestinationIndex;
 import org.sgrewritten.stargate.api.network.Network;
+import org.sgrewritten.stargate.api.network.portal.Portal;
 import org.sgrewritten.stargate.exception.UnimplementedFlagException;
 import org.sgrewritten.stargate.exception.name.InvalidNameException;
+import org.sgrewritten.stargate.exception.name.NameConflictException;
 import org.sgrewritten.stargate.exception.name.NameLengthException;
+import org.sgrewritten.stargate.network.portal.VirtualPortal;
 import org.sgrewritten.stargate.network.proxy.InterServerMessageSender;
 import org.sgrewritten.stargate.network.proxy.LocalNetworkMessageSender;
 import org.sgrewritten.stargate.property.StargateConstant;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.UUID;
 
 @ExtendWith(StargateExtension.class)
@@ -42,6 +49,24 @@ public class StargateNetworkTest {
         Assertions.assertInstanceOf(LocalNetworkMessageSender.class, network.getPluginMessageSender());
     }
 
+    @Test
+    void destinationIndex_followsPortals() throws InvalidNameException, UnimplementedFlagException,
+            NameLengthException, NameConflictException {
+        Network network = new StargateNetwork(NET_NAME, NetworkType.CUSTOM, StorageType.LOCAL);
+        Portal portal = new VirtualPortal("server", "portal", network, new HashSet<>(), UUID.randomUUID());
+        network.addPortal(portal);
+        DestinationIndex.Snapshot snapshot = network.getDestinationIndex().getSnapshot();
+        Assertions.assertEquals(List.of(portal), snapshot.getDestinations(null));
+
+        network.renamePortal("renamed", portal.getId());
+        Assertions.assertEquals(List.of(portal), network.getDestinationIndex().getSnapshot().getDestinations(null));
+        Assertions.assertEquals(0, network.getDestinationIndex().getSnapshot().indexOf("renamed"));
+
+        network.removePortal(portal);
+        Assertions.assertEquals(0, network.getDestinationIndex().getSnapshot().size());
+        Assertions.assertEquals(1, snapshot.size());
+    }
+
     private String nameFromNetworkType(NetworkType type) {
         return switch (type) {
             case CUSTOM -> NET_NAME;
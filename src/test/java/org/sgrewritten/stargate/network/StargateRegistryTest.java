@@ -31,6 +31,8 @@ import org.sgrewritten.stargate.thread.task.StargateQueuedAsyncTask;
 import org.sgrewritten.stargate.util.StargateTestHelper;
 import org.sgrewritten.stargate.util.portal.PortalMock;
 
+import java.util.Map;
+
 @ExtendWith(StargateExtension.class)
 class StargateRegistryTest {
 
@@ -77,6 +79,18 @@ class StargateRegistryTest {
         Assertions.assertNull(registry.getPortal(location));
     }
 
+    @ParameterizedTest
+    @EnumSource
+    void getPortal_blockCoordinates(GateStructureType type) {
+        PortalMock portal = new PortalMock();
+        BlockLocation blockLocation = new BlockLocation(new Location(world, -5, 70, 12));
+        registry.registerLocation(type, blockLocation, portal);
+        Assertions.assertEquals(portal, registry.getPortal(world, -5, 70, 12, type));
+        Assertions.assertEquals(portal, registry.getPortal(world, -5, 70, 12));
+        Assertions.assertNull(registry.getPortal(world, -5, 71, 12, type));
+        Assertions.assertNull(registry.getPortal(server.addSimpleWorld("other"), -5, 70, 12, type));
+    }
+
     @ParameterizedTest
     @EnumSource
     void registerPortalPosition(PositionType type) {
@@ -87,6 +101,16 @@ class StargateRegistryTest {
         Assertions.assertNotNull(this.registry.getPortalPosition(location));
     }
 
+    @Test
+    void getPortalPositions_matchesRegisteredPositions() {
+        PortalPosition portalPosition = new PortalPosition(PositionType.BUTTON, new BlockVector(1, 1, 1), "Stargate");
+        Location location = new Location(world, -5, -64, 12);
+        this.registry.registerPortalPosition(portalPosition, location, new PortalMock());
+        Assertions.assertEquals(Map.of(new BlockLocation(location), portalPosition), registry.getPortalPositions());
+        registry.removePortalPosition(location);
+        Assertions.assertTrue(registry.getPortalPositions().isEmpty());
+    }
+
     @ParameterizedTest
     @EnumSource
     void saveDeletePortalPosition(PositionType type) {
@@ -0,0 +1,79 @@
+package org.sgrewritten.stargate.network.portal;
+
+import be.seeseemelk.mockbukkit.MockBukkitInject;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import be.seeseemelk.mockbukkit.entity.HorseMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.bukkit.Location;
+import org.bukkit.entity.EntityType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.sgrewritten.stargate.StargateExtension;
+import org.sgrewritten.stargate.property.StargateStatistic;
+
+import java.util.List;
+
+@ExtendWith(StargateExtension.class)
+class LeashHolderIndexTest {
+
+    @MockBukkitInject
+    private ServerMock server;
+    private PlayerMock player;
+    private HorseMock horse;
+
+    @BeforeEach
+    void setUp() {
+        WorldMock world = server.addSimpleWorld("world");
+        player = server.addPlayer();
+        player.teleport(new Location(world, 0, 5, 0));
+        horse = (HorseMock) world.spawnEntity(new Location(world, 2, 5, 0), EntityType.HORSE);
+        LeashHolderIndex.clear();
+    }
+
+    @Test
+    void getLeashedEntities_searchesOnce() {
+        horse.setLeashHolder(player);
+        long searches = StargateStatistic.LEASH_INDEX_SEARCHES.getValue();
+        Assertions.assertEquals(List.of(horse), LeashHolderIndex.getLeashedEntities(player));
+        Assertions.assertEquals(List.of(horse), LeashHolderIndex.getLeashedEntities(player));
+        Assertions.assertEquals(searches + 1, StargateStatistic.LEASH_INDEX_SEARCHES.getValue());
+    }
+
+    @Test
+    void add_afterSearch() {
+        Assertions.assertTrue(LeashHolderIndex.getLeashedEntities(player).isEmpty());
+        horse.setLeashHolder(player);
+        LeashHolderIndex.add(horse, player);
+        Assertions.assertEquals(List.of(horse), LeashHolderIndex.getLeashedEntities(player));
+    }
+
+    @Test
+    void getLeashedEntities_unleashedWithoutEvent() {
+        horse.setLeashHolder(player);
+        Assertions.assertEquals(List.of(horse), LeashHolderIndex.getLeashedEntities(player));
+        horse.setLeashHolder(null);
+        Assertions.assertTrue(LeashHolderIndex.getLeashedEntities(player).isEmpty());
+    }
+
+    @Test
+    void removeEntity_holder() {
+        horse.setLeashHolder(player);
+        LeashHolderIndex.add(horse, player);
+        LeashHolderIndex.removeEntity(player);
+        long searches = StargateStatistic.LEASH_INDEX_SEARCHES.getValue();
+        LeashHolderIndex.getLeashedEntities(player);
+        Assertions.assertEquals(searches + 1, StargateStatistic.LEASH_INDEX_SEARCHES.getValue());
+    }
+
+    @Test
+    void getLeashedEntities_ordinaryMobNotSearched() {
+        HorseMock holder = (HorseMock) horse.getWorld().spawnEntity(horse.getLocation(), EntityType.HORSE);
+        horse.setLeashHolder(holder);
+        long searches = StargateStatistic.LEASH_INDEX_SEARCHES.getValue();
+        Assertions.assertTrue(LeashHolderIndex.getLeashedEntities(holder).isEmpty());
+        Assertions.assertEquals(searches, StargateStatistic.LEASH_INDEX_SEARCHES.getValue());
+    }
+}
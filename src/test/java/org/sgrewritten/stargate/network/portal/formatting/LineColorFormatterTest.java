@@ -0,0 +1,54 @@
+package org.sgrewritten.stargate.network.portal.formatting;
+
+import be.seeseemelk.mockbukkit.MockBukkitInject;
+import be.seeseemelk.mockbukkit.ServerMock;
+import net.md_5.bungee.api.ChatColor;
+import org.bukkit.DyeColor;
+import org.bukkit.Material;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.sgrewritten.stargate.Stargate;
+import org.sgrewritten.stargate.StargateExtension;
+import org.sgrewritten.stargate.StargateInject;
+import org.sgrewritten.stargate.api.network.portal.formatting.LegacyStargateComponent;
+import org.sgrewritten.stargate.api.network.portal.formatting.SignLine;
+import org.sgrewritten.stargate.api.network.portal.formatting.SignLineType;
+import org.sgrewritten.stargate.api.network.portal.formatting.data.TextLineData;
+
+@ExtendWith(StargateExtension.class)
+class LineColorFormatterTest {
+
+    @MockBukkitInject
+    private ServerMock server;
+    @StargateInject
+    private Stargate plugin;
+
+    @Test
+    void of_sharesFormatters() {
+        LineColorFormatter formatter = LineColorFormatter.of(DyeColor.RED, Material.OAK_WALL_SIGN);
+        Assertions.assertSame(formatter, LineColorFormatter.of(DyeColor.RED, Material.OAK_WALL_SIGN));
+        Assertions.assertNotSame(formatter, LineColorFormatter.of(DyeColor.BLUE, Material.OAK_WALL_SIGN));
+        LineColorFormatter.clearCache();
+        Assertions.assertNotSame(formatter, LineColorFormatter.of(DyeColor.RED, Material.OAK_WALL_SIGN));
+    }
+
+    @Test
+    void convertToSignLine_sharesHighlightComponents() {
+        LineColorFormatter formatter = LineColorFormatter.of(DyeColor.RED, Material.OAK_WALL_SIGN);
+        SignLine firstLine = formatter.convertToSignLine(new TextLineData("first", SignLineType.ERROR));
+        SignLine secondLine = formatter.convertToSignLine(new TextLineData("second", SignLineType.ERROR));
+
+        Assertions.assertEquals(ChatColor.RED + HighlightingStyle.SQUARE_BRACKETS.getPrefix(),
+                getText(firstLine, 0));
+        Assertions.assertEquals(ChatColor.RED + "first", getText(firstLine, 1));
+        Assertions.assertEquals(ChatColor.RED + HighlightingStyle.SQUARE_BRACKETS.getSuffix(),
+                getText(firstLine, 2));
+        Assertions.assertSame(firstLine.getComponents().get(0).value, secondLine.getComponents().get(0).value);
+        Assertions.assertNotSame(firstLine.getComponents().get(0), secondLine.getComponents().get(0));
+    }
+
+    private static String getText(SignLine line, int index) {
+        return ((LegacyStargateComponent) line.getComponents().get(index).value).getText();
+    }
+}
@@ -0,0 +1,63 @@
+package org.sgrewritten.stargate.thread;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.sgrewritten.stargate.StargateExtension;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@ExtendWith(StargateExtension.class)
+class AsyncExecutorTest {
+
+    @AfterEach
+    void tearDown() {
+        AsyncExecutor.setBackend(AsyncBackend.BUKKIT);
+    }
+
+    @Test
+    void runBlocking_virtualThreads() throws ExecutionException, InterruptedException, TimeoutException {
+        AsyncExecutor.setBackend("virtual_threads");
+        Assertions.assertTrue(AsyncExecutor.isUsingVirtualThreads());
+        CompletableFuture<Boolean> ranOnVirtualThread = new CompletableFuture<>();
+        AsyncExecutor.runBlocking(() -> ranOnVirtualThread.complete(Thread.currentThread().isVirtual()));
+        Assertions.assertTrue(ranOnVirtualThread.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void awaitBlockingTasks() {
+        AsyncExecutor.setBackend(AsyncBackend.VIRTUAL_THREADS);
+        AtomicBoolean finished = new AtomicBoolean();
+        AsyncExecutor.runBlocking(() -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finished.set(true);
+        });
+        AsyncExecutor.awaitBlockingTasks();
+        Assertions.assertTrue(finished.get());
+    }
+
+    @Test
+    void runBlocking_bukkit() {
+        AsyncExecutor.setBackend(AsyncBackend.BUKKIT);
+        Thread callingThread = Thread.currentThread();
+        Thread[] runningThread = new Thread[1];
+        AsyncExecutor.runBlocking(() -> runningThread[0] = Thread.currentThread());
+        Assertions.assertSame(callingThread, runningThread[0]);
+    }
+
+    @Test
+    void setBackend_unknown() {
+        AsyncExecutor.setBackend(AsyncBackend.VIRTUAL_THREADS);
+        AsyncExecutor.setBackend("unknown");
+        Assertions.assertEquals(AsyncBackend.BUKKIT, AsyncExecutor.getBackend());
+    }
+}
@@ -0,0 +1,146 @@
+package org.sgrewritten.stargate.thread;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class StripedTaskQueueTest {
+
+    private static final int STRIPE_COUNT = 4;
+    private static final long WORKER_ID = 1;
+    private StripedTaskQueue queue;
+    private List<Thread> workers;
+
+    @BeforeEach
+    void setUp() {
+        queue = new StripedTaskQueue(STRIPE_COUNT);
+        workers = new ArrayList<>();
+        for (int stripe = 0; stripe < STRIPE_COUNT; stripe++) {
+            int workedStripe = stripe;
+            Thread worker = new Thread(() -> queue.work(workedStripe, WORKER_ID));
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        queue.stop(WORKER_ID);
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    @Test
+    void submit_sameKeyKeepsOrder() throws InterruptedException {
+        List<Integer> ranTasks = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 1000; i++) {
+            int task = i;
+            queue.submit("portal", () -> ranTasks.add(task));
+        }
+        queue.awaitEmpty();
+        Assertions.assertEquals(1000, ranTasks.size());
+        for (int i = 0; i < ranTasks.size(); i++) {
+            Assertions.assertEquals(i, ranTasks.get(i));
+        }
+    }
+
+    @Test
+    void submit_differentStripesRunInParallel() throws InterruptedException {
+        int otherKey = 1;
+        while (queue.getStripe(otherKey) == queue.getStripe(0)) {
+            otherKey++;
+        }
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Boolean> results = Collections.synchronizedList(new ArrayList<>());
+        queue.submit(0, () -> {
+            try {
+                results.add(latch.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        queue.submit(otherKey, latch::countDown);
+        queue.awaitEmpty();
+        Assertions.assertEquals(List.of(true), results);
+    }
+
+    @Test
+    void getStatistics_countsCompletedTasks() throws InterruptedException {
+        for (int i = 0; i < 10; i++) {
+            queue.submit(null, () -> {
+            });
+        }
+        queue.awaitEmpty();
+        StripedTaskQueue.StripeStatistics statistics = queue.getStatistics(queue.getStripe(null));
+        Assertions.assertEquals(10, statistics.completedTasks());
+        Assertions.assertEquals(0, statistics.queueDepth());
+        Assertions.assertTrue(statistics.maxLatencyNanos() >= statistics.averageLatencyNanos());
+    }
+
+    @Test
+    void work_keepsRunningAfterError() throws InterruptedException {
+        List<Integer> ranTasks = Collections.synchronizedList(new ArrayList<>());
+        queue.submit("portal", () -> {
+            throw new AssertionError("Failing task");
+        });
+        queue.submit("portal", () -> ranTasks.add(1));
+        queue.awaitEmpty();
+        Assertions.assertEquals(List.of(1), ranTasks);
+    }
+
+    @Test
+    void stop_runsTasksSubmittedBeforeReachingEnd() throws InterruptedException {
+        List<Integer> ranTasks = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(1);
+        queue.submit("portal", () -> {
+            try {
+                latch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        queue.stop(WORKER_ID);
+        queue.submit("portal", () -> ranTasks.add(1));
+        latch.countDown();
+        queue.awaitEmpty();
+        Assertions.assertEquals(List.of(1), ranTasks);
+    }
+
+    @Test
+    void stop_otherWorkerIgnored() throws InterruptedException {
+        List<Integer> ranTasks = Collections.synchronizedList(new ArrayList<>());
+        queue.stop(WORKER_ID + 1);
+        queue.submit("portal", () -> ranTasks.add(1));
+        queue.awaitEmpty();
+        Assertions.assertEquals(List.of(1), ranTasks);
+        for (Thread worker : workers) {
+            Assertions.assertTrue(worker.isAlive());
+        }
+    }
+
+    @Test
+    void stop_signalTakenByOtherWorker() throws InterruptedException {
+        Thread otherWorker = new Thread(() -> queue.work(0, WORKER_ID + 1));
+        otherWorker.start();
+        List<Integer> ranTasks = Collections.synchronizedList(new ArrayList<>());
+        queue.stop(WORKER_ID + 1);
+        queue.submit(null, () -> ranTasks.add(1));
+        queue.awaitEmpty();
+        otherWorker.join(TimeUnit.SECONDS.toMillis(5));
+        Assertions.assertFalse(otherWorker.isAlive());
+        Assertions.assertEquals(List.of(1), ranTasks);
+    }
+
+    @Test
+    void invalidStripeCount() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new StripedTaskQueue(0));
+    }
+}
@@ -0,0 +1,36 @@
+package org.sgrewritten.stargate.util;
+
+import org.bukkit.Material;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+class MaterialBitSetTest {
+
+    @Test
+    void contains_sameAsSet() {
+        Set<Material> firstSet = Set.of(Material.OBSIDIAN, Material.AIR, Material.STONE);
+        Set<Material> secondSet = Set.of(Material.CRYING_OBSIDIAN, Material.WATER);
+        long[] bits = new long[MaterialBitSet.WORDS * 2];
+        MaterialBitSet.addAll(bits, 0, firstSet::contains);
+        MaterialBitSet.addAll(bits, MaterialBitSet.WORDS, secondSet::contains);
+        for (Material material : Material.values()) {
+            if (material.isLegacy()) {
+                continue;
+            }
+            Assertions.assertEquals(firstSet.contains(material), MaterialBitSet.contains(bits, 0, material));
+            Assertions.assertEquals(secondSet.contains(material), MaterialBitSet.contains(bits, MaterialBitSet.WORDS,
+                    material));
+        }
+    }
+
+    @Test
+    void addAll_skipsLegacyMaterials() {
+        long[] bits = new long[MaterialBitSet.WORDS];
+        MaterialBitSet.addAll(bits, 0, material -> true);
+        for (Material material : Material.values()) {
+            Assertions.assertEquals(!material.isLegacy(), MaterialBitSet.contains(bits, 0, material));
+        }
+    }
+}
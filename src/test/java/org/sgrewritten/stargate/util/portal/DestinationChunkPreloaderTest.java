@@ -0,0 +1,82 @@
+package org.sgrewritten.stargate.util.portal;
+
+import be.seeseemelk.mockbukkit.MockBukkitInject;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import org.bukkit.Location;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.sgrewritten.stargate.Stargate;
+import org.sgrewritten.stargate.StargateAPIMock;
+import org.sgrewritten.stargate.StargateExtension;
+import org.sgrewritten.stargate.StargateInject;
+import org.sgrewritten.stargate.api.network.portal.RealPortal;
+import org.sgrewritten.stargate.exception.GateConflictException;
+import org.sgrewritten.stargate.exception.InvalidStructureException;
+import org.sgrewritten.stargate.exception.NoFormatFoundException;
+import org.sgrewritten.stargate.exception.TranslatableException;
+import org.sgrewritten.stargate.network.NetworkType;
+import org.sgrewritten.stargate.network.StargateNetwork;
+import org.sgrewritten.stargate.network.StorageType;
+import org.sgrewritten.stargate.network.portal.StargatePortal;
+import org.sgrewritten.stargate.network.portal.TestPortalBuilder;
+import org.sgrewritten.stargate.property.StargateStatistic;
+
+@ExtendWith(StargateExtension.class)
+class DestinationChunkPreloaderTest {
+
+    private static final long TICKET_TICKS = DestinationChunkPreloader.TICKET_DURATION;
+
+    @MockBukkitInject
+    private ServerMock server;
+    @StargateInject
+    private Stargate plugin;
+    private WorldMock world;
+    private RealPortal destination;
+
+    @BeforeEach
+    void setUp() throws TranslatableException, InvalidStructureException, GateConflictException,
+            NoFormatFoundException {
+        world = server.addSimpleWorld("world");
+        destination = new TestPortalBuilder(new StargateAPIMock().getRegistry(), world).setName("destination")
+                .setNetwork(new StargateNetwork("network", NetworkType.CUSTOM, StorageType.LOCAL)).build();
+        DestinationChunkPreloader.clear();
+    }
+
+    @Test
+    void preload_releasedAfterTimeout() {
+        DestinationChunkPreloader.preload(destination);
+        Assertions.assertTrue(DestinationChunkPreloader.isHeld(destination.getExit()));
+        server.getScheduler().performTicks(TICKET_TICKS + 2);
+        Assertions.assertFalse(DestinationChunkPreloader.isHeld(destination.getExit()));
+    }
+
+    @Test
+    void preload_outlastsOpenPortal() {
+        DestinationChunkPreloader.preload(destination);
+        server.getScheduler().performTicks(StargatePortal.OPEN_DELAY + 2);
+        Assertions.assertTrue(DestinationChunkPreloader.isHeld(destination.getExit()));
+    }
+
+    @Test
+    void preload_extendedWhenSelectedAgain() {
+        DestinationChunkPreloader.preload(destination);
+        server.getScheduler().performTicks(TICKET_TICKS / 2);
+        DestinationChunkPreloader.preload(destination);
+        server.getScheduler().performTicks(TICKET_TICKS / 2 + 2);
+        Assertions.assertTrue(DestinationChunkPreloader.isHeld(destination.getExit()));
+        server.getScheduler().performTicks(TICKET_TICKS / 2);
+        Assertions.assertFalse(DestinationChunkPreloader.isHeld(destination.getExit()));
+    }
+
+    @Test
+    void checkLoaded_countsHits() {
+        Location exit = destination.getExit();
+        exit.getChunk().load();
+        long hits = StargateStatistic.CHUNK_PRELOAD_HITS.getValue();
+        Assertions.assertTrue(DestinationChunkPreloader.checkLoaded(exit));
+        Assertions.assertEquals(hits + 1, StargateStatistic.CHUNK_PRELOAD_HITS.getValue());
+    }
+}
@@ -0,0 +1,99 @@
+package org.sgrewritten.stargate.util.portal;
+
+import be.seeseemelk.mockbukkit.MockBukkitInject;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.sgrewritten.stargate.StargateAPIMock;
+import org.sgrewritten.stargate.StargateExtension;
+import org.sgrewritten.stargate.api.gate.ExplicitGateBuilder;
+import org.sgrewritten.stargate.api.gate.GateFormatRegistry;
+import org.sgrewritten.stargate.api.network.RegistryAPI;
+import org.sgrewritten.stargate.api.network.portal.RealPortal;
+import org.sgrewritten.stargate.exception.GateConflictException;
+import org.sgrewritten.stargate.exception.InvalidStructureException;
+import org.sgrewritten.stargate.exception.NoFormatFoundException;
+import org.sgrewritten.stargate.exception.TranslatableException;
+import org.sgrewritten.stargate.network.NetworkType;
+import org.sgrewritten.stargate.network.StargateNetwork;
+import org.sgrewritten.stargate.network.StorageType;
+import org.sgrewritten.stargate.network.portal.TestPortalBuilder;
+import org.sgrewritten.stargate.property.StargateStatistic;
+
+@ExtendWith(StargateExtension.class)
+class SpawnLocationCacheTest {
+
+    @MockBukkitInject
+    private ServerMock server;
+    private WorldMock world;
+    private RealPortal portal;
+    private Entity entity;
+
+    @BeforeEach
+    void setUp() throws TranslatableException, InvalidStructureException, GateConflictException,
+            NoFormatFoundException {
+        world = server.addSimpleWorld("world");
+        Location topLeft = new Location(world, -1, 5, -3);
+        RegistryAPI registry = new StargateAPIMock().getRegistry();
+        TestPortalBuilder testPortalBuilder = new TestPortalBuilder(registry, world);
+        ExplicitGateBuilder explicitGateBuilder = new ExplicitGateBuilder(registry, topLeft,
+                GateFormatRegistry.getFormat("nether.gate"));
+        explicitGateBuilder.setFacing(BlockFace.EAST);
+        testPortalBuilder.setName("aName").setGateBuilder(explicitGateBuilder);
+        testPortalBuilder.setNetwork(new StargateNetwork("network", NetworkType.CUSTOM, StorageType.LOCAL));
+        portal = testPortalBuilder.build();
+        entity = world.spawnEntity(topLeft, EntityType.BAT);
+        SpawnLocationCache.invalidateAll();
+    }
+
+    @Test
+    void findViableSpawnLocation_cached() {
+        Location spawnLocation = TeleportationHelper.findViableSpawnLocation(entity, portal);
+        Assertions.assertNotNull(spawnLocation);
+        long hits = StargateStatistic.SPAWN_CACHE_HITS.getValue();
+        Assertions.assertEquals(spawnLocation, TeleportationHelper.findViableSpawnLocation(entity, portal));
+        Assertions.assertEquals(hits + 1, StargateStatistic.SPAWN_CACHE_HITS.getValue());
+    }
+
+    @Test
+    void invalidate_blockInSearchedRegion() {
+        Location spawnLocation = TeleportationHelper.findViableSpawnLocation(entity, portal);
+        Assertions.assertNotNull(spawnLocation);
+        SpawnLocationCache.invalidate(spawnLocation.clone().add(0, -1, 0));
+        Assertions.assertNull(SpawnLocationCache.get(portal, 1, 1));
+    }
+
+    @Test
+    void invalidate_blockOutsideSearchedRegion() {
+        Location spawnLocation = TeleportationHelper.findViableSpawnLocation(entity, portal);
+        Assertions.assertNotNull(spawnLocation);
+        SpawnLocationCache.invalidate(spawnLocation.clone().add(0, 20, 0));
+        SpawnLocationCache.invalidate(spawnLocation.clone().add(100, 0, 0));
+        Assertions.assertEquals(spawnLocation, SpawnLocationCache.get(portal, 1, 1));
+    }
+
+    @Test
+    void invalidate_portal() {
+        Assertions.assertNotNull(TeleportationHelper.findViableSpawnLocation(entity, portal));
+        SpawnLocationCache.invalidate(portal);
+        Assertions.assertNull(SpawnLocationCache.get(portal, 1, 1));
+    }
+
+    @Test
+    void findViableSpawnLocation_blockedWithoutEvent() {
+        Location spawnLocation = TeleportationHelper.findViableSpawnLocation(entity, portal);
+        Assertions.assertNotNull(spawnLocation);
+        spawnLocation.getBlock().setType(Material.OAK_PLANKS);
+        Location newSpawnLocation = TeleportationHelper.findViableSpawnLocation(entity, portal);
+        Assertions.assertNotNull(newSpawnLocation);
+        Assertions.assertNotEquals(spawnLocation, newSpawnLocation);
+    }
+}
@@ -0,0 +1,98 @@
+package org.sgrewritten.stargate.vectorlogic;
+
+import org.bukkit.block.BlockFace;
+import org.bukkit.util.BlockVector;
+import org.bukkit.util.Vector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.sgrewritten.stargate.api.vectorlogic.IntegerVectorOperation;
+import org.sgrewritten.stargate.api.vectorlogic.MatrixVectorOperation;
+import org.sgrewritten.stargate.api.vectorlogic.VectorOperation;
+import org.sgrewritten.stargate.exception.InvalidStructureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+class IntegerVectorOperationTest {
+
+    private static final double EPSILON = 1e-9;
+    private static VectorOperationTester vectorOperationTester;
+    private static List<Vector> testVectors;
+    private static List<BlockVector> testBlockVectors;
+
+    @BeforeAll
+    static void setUp() {
+        testVectors = new ArrayList<>();
+        testBlockVectors = new ArrayList<>();
+        Random random = new Random(1234);
+        int maxBound = 2000;
+        for (int i = 0; i < 10000; i++) {
+            testVectors.add(new Vector(random.nextInt(maxBound), -random.nextInt(maxBound), random.nextInt(maxBound)));
+            testBlockVectors.add(new BlockVector(random.nextInt(-maxBound, maxBound), random.nextInt(-maxBound, maxBound),
+                    random.nextInt(-maxBound, maxBound)));
+            testVectors.add(new Vector(random.nextDouble(-maxBound, maxBound), random.nextDouble(-maxBound, maxBound),
+                    random.nextDouble(-maxBound, maxBound)));
+        }
+        vectorOperationTester = new VectorOperationTester(testVectors);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BlockFace.class, names = {"EAST", "SOUTH", "WEST", "NORTH"})
+    void sameAsMatrixOperation(BlockFace facing) throws InvalidStructureException {
+        for (boolean flipZ : new boolean[]{false, true}) {
+            VectorOperation expected = new MatrixVectorOperation(facing);
+            expected.setFlipZAxis(flipZ);
+            VectorOperation actual = new IntegerVectorOperation(facing);
+            actual.setFlipZAxis(flipZ);
+            Assertions.assertEquals(expected.getFacing(), actual.getFacing());
+            Assertions.assertEquals(expected.getIrisNormal(), actual.getIrisNormal());
+
+            for (Vector vector : testVectors) {
+                assertVectorEquals(expected.performToRealSpaceOperation(vector), actual.performToRealSpaceOperation(vector));
+                assertVectorEquals(expected.performToAbstractSpaceOperation(vector), actual.performToAbstractSpaceOperation(vector));
+            }
+            for (BlockVector vector : testBlockVectors) {
+                BlockVector expectedVector = expected.performToRealSpaceOperation(vector);
+                Assertions.assertEquals(expectedVector, actual.performToRealSpaceOperation(vector));
+                int x = vector.getBlockX();
+                int y = vector.getBlockY();
+                int z = vector.getBlockZ();
+                Assertions.assertEquals(expectedVector.getBlockX(), actual.getRealSpaceBlockX(x, y, z));
+                Assertions.assertEquals(expectedVector.getBlockY(), actual.getRealSpaceBlockY(x, y, z));
+                Assertions.assertEquals(expectedVector.getBlockZ(), actual.getRealSpaceBlockZ(x, y, z));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BlockFace.class, names = {"EAST", "SOUTH", "WEST", "NORTH"})
+    void inverseOperationTest(BlockFace facing) throws InvalidStructureException {
+        vectorOperationTester.inverseOperationTest(new IntegerVectorOperation(facing));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BlockFace.class, names = {"EAST", "SOUTH", "WEST", "NORTH"})
+    void flipTest(BlockFace facing) throws InvalidStructureException {
+        vectorOperationTester.flipTest(new IntegerVectorOperation(facing));
+    }
+
+    @Test
+    void originalVectorNotModifiedTest() throws InvalidStructureException {
+        vectorOperationTester.originalVectorNotModifiedTest(new IntegerVectorOperation(BlockFace.SOUTH));
+    }
+
+    @Test
+    void invalidFacing() {
+        Assertions.assertThrows(InvalidStructureException.class, () -> new IntegerVectorOperation(BlockFace.UP));
+    }
+
+    private static void assertVectorEquals(Vector expected, Vector actual) {
+        Assertions.assertEquals(expected.getX(), actual.getX(), EPSILON);
+        Assertions.assertEquals(expected.getY(), actual.getY(), EPSILON);
+        Assertions.assertEquals(expected.getZ(), actual.getZ(), EPSILON);
+    }
+}